@@ -0,0 +1,121 @@
+package bench;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Arnes minimo de micro-benchmarks: por cada operacion ejecuta iteraciones de
+ * calentamiento (para que el JIT compile) y luego iteraciones medidas. La preparacion
+ * de cada iteracion no se cronometra y el resultado de la operacion se consume para que
+ * el JIT no la elimine.
+ */
+final class ArnesMedicion {
+
+    private final int calentamiento;
+    private final int mediciones;
+    private final List<Medicion> resultados = new ArrayList<>();
+
+    /** Valor acumulado de los resultados, solo para que no se descarten. */
+    private static volatile int sumidero;
+
+    ArnesMedicion(int calentamiento, int mediciones) {
+        if (calentamiento < 0 || mediciones <= 0) {
+            throw new IllegalArgumentException("Iteraciones invalidas");
+        }
+        this.calentamiento = calentamiento;
+        this.mediciones = mediciones;
+    }
+
+    /**
+     * Mide una operacion.
+     * @param nombre nombre del benchmark
+     * @param escala descripcion de los parametros (tamano de la escuela)
+     * @param preparar crea el estado de cada iteracion (fuera del cronometro)
+     * @param operacion operacion cronometrada
+     */
+    <T> Medicion medir(String nombre, String escala, Supplier<T> preparar, Function<T, ?> operacion) {
+        for (int i = 0; i < calentamiento; i++) {
+            consumir(operacion.apply(preparar.get()));
+        }
+        long[] tiempos = new long[mediciones];
+        for (int i = 0; i < mediciones; i++) {
+            T estado = preparar.get();
+            long inicio = System.nanoTime();
+            Object resultado = operacion.apply(estado);
+            tiempos[i] = System.nanoTime() - inicio;
+            consumir(resultado);
+        }
+        Medicion medicion = new Medicion(nombre, escala, tiempos);
+        resultados.add(medicion);
+        return medicion;
+    }
+
+    List<Medicion> getResultados() {
+        return resultados;
+    }
+
+    private static void consumir(Object resultado) {
+        sumidero += resultado == null ? 0 : resultado.hashCode();
+    }
+
+    /** Tiempos de una operacion en una escala; se reportan en milisegundos por operacion. */
+    static final class Medicion {
+        private final String nombre;
+        private final String escala;
+        private final long[] tiempos;
+
+        Medicion(String nombre, String escala, long[] tiempos) {
+            this.nombre = nombre;
+            this.escala = escala;
+            this.tiempos = tiempos.clone();
+            Arrays.sort(this.tiempos);
+        }
+
+        double promedioMs() {
+            double suma = 0;
+            for (long t : tiempos) {
+                suma += t;
+            }
+            return suma / tiempos.length / 1e6;
+        }
+
+        double desviacionMs() {
+            double promedio = promedioMs();
+            double suma = 0;
+            for (long t : tiempos) {
+                double d = t / 1e6 - promedio;
+                suma += d * d;
+            }
+            return Math.sqrt(suma / tiempos.length);
+        }
+
+        double minimoMs() {
+            return tiempos[0] / 1e6;
+        }
+
+        double medianaMs() {
+            return tiempos[tiempos.length / 2] / 1e6;
+        }
+
+        static void encabezado(PrintStream salida) {
+            salida.printf(Locale.ROOT, "%-20s %-44s %12s %12s %12s %10s%n",
+                    "benchmark", "escala", "prom ms/op", "mediana", "minimo", "desv");
+        }
+
+        void imprimir(PrintStream salida) {
+            salida.printf(Locale.ROOT, "%-20s %-44s %12.3f %12.3f %12.3f %10.3f%n",
+                    nombre, escala, promedioMs(), medianaMs(), minimoMs(), desviacionMs());
+        }
+
+        String csv() {
+            return String.format(Locale.ROOT, "%s,%s,%d,%.4f,%.4f,%.4f,%.4f",
+                    nombre, escala.replace(',', ' '), tiempos.length,
+                    promedioMs(), medianaMs(), minimoMs(), desviacionMs());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package bench;
+
+import src.AdaptadorGraficaDeHorarios;
+import src.AsignadorHorasLocalTime;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.ConfiguracionProyecto;
+import src.EstrategiaColoracion;
+import src.HorarioDia;
+import src.HorarioSemana;
+import src.ProyectoDatos;
+import src.ValidadorDeHorarios;
+import src.ValidadorPorHora;
+import src.ValidadorPorProfesor;
+import src.ValidadorPorSalon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Benchmarks de las fases de generacion y persistencia sobre escuelas de distintos
+ * tamanos: construccion de la grafica, coloracion, generacion completa, asignacion de
+ * horas, validacion y serializacion de proyectos.
+ * <p>
+ * Uso: {@code ant bench -Dbench.args="--escalas pequena,mediana --mediciones 10"}.
+ * Opciones: {@code --escalas} (nombres predefinidos o nombre=gruposPorGrado,profesores,salones,
+ * materias,regimen separados por ';'), {@code --solo} (benchmarks separados por ','),
+ * {@code --calentamiento}, {@code --mediciones}, {@code --semilla} y {@code --csv archivo}.
+ */
+public final class BenchmarkHorarios {
+
+    private static final List<String> DIAS = Arrays.asList("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
+
+    private BenchmarkHorarios() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<EscuelaBenchmark> escalas = new ArrayList<>();
+        Set<String> solo = new HashSet<>();
+        int calentamiento = 5;
+        int mediciones = 10;
+        long semilla = 42L;
+        Path csv = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--escalas" -> {
+                    for (String parte : args[++i].split(";")) {
+                        // Los nombres predefinidos tambien pueden separarse por comas.
+                        List<String> nombres = parte.contains("=") ? List.of(parte) : Arrays.asList(parte.split(","));
+                        for (String escala : nombres) {
+                            escalas.add(EscuelaBenchmark.parse(escala.trim()));
+                        }
+                    }
+                }
+                case "--solo" -> solo.addAll(Arrays.asList(args[++i].split(",")));
+                case "--calentamiento" -> calentamiento = Integer.parseInt(args[++i]);
+                case "--mediciones" -> mediciones = Integer.parseInt(args[++i]);
+                case "--semilla" -> semilla = Long.parseLong(args[++i]);
+                case "--csv" -> csv = Paths.get(args[++i]);
+                default -> throw new IllegalArgumentException("Opcion desconocida: " + args[i]);
+            }
+        }
+        if (escalas.isEmpty()) {
+            escalas.add(EscuelaBenchmark.predefinida("pequena"));
+            escalas.add(EscuelaBenchmark.predefinida("mediana"));
+        }
+
+        PrintStream consola = System.out;
+        ArnesMedicion arnes = new ArnesMedicion(calentamiento, mediciones);
+        ArnesMedicion.Medicion.encabezado(consola);
+        for (EscuelaBenchmark escala : escalas) {
+            ejecutar(arnes, escala, semilla, solo, consola);
+        }
+
+        if (csv != null) {
+            List<String> lineas = new ArrayList<>();
+            lineas.add("benchmark,escala,mediciones,promedioMs,medianaMs,minimoMs,desviacionMs");
+            for (ArnesMedicion.Medicion medicion : arnes.getResultados()) {
+                lineas.add(medicion.csv());
+            }
+            Files.write(csv, lineas, StandardCharsets.UTF_8);
+            consola.println("Resultados en " + csv);
+        }
+    }
+
+    /** Ejecuta todos los benchmarks (o los elegidos) sobre una escala. */
+    private static void ejecutar(ArnesMedicion arnes, EscuelaBenchmark escala, long semilla,
+                                 Set<String> solo, PrintStream consola) throws IOException {
+        // El validador de preferencias consulta el catalogo unico, asi que la escuela se carga ahi.
+        CatalogoRecursos catalogo = CatalogoRecursos.getInstance();
+        catalogo.reset();
+        escala.poblar(catalogo, semilla);
+        List<BloqueHorario> bloques = catalogo.getTodosLosBloques();
+        String etiqueta = escala + " b=" + bloques.size();
+
+        if (incluir(solo, "construirGrafica")) {
+            arnes.medir("construirGrafica", etiqueta,
+                    () -> new AdaptadorGraficaDeHorarios(bloques, catalogo),
+                    grafica -> {
+                        grafica.construirGraficaAutomaticamente();
+                        return grafica.obtenerNumeroAristas();
+                    }).imprimir(consola);
+        }
+
+        AdaptadorGraficaDeHorarios construida = new AdaptadorGraficaDeHorarios(bloques, catalogo);
+        construida.construirGraficaAutomaticamente();
+        if (incluir(solo, "colorear")) {
+            arnes.medir("colorear", etiqueta, () -> construida, AdaptadorGraficaDeHorarios::colorear)
+                    .imprimir(consola);
+        }
+        if (incluir(solo, "colorearConDSatur")) {
+            arnes.medir("colorearConDSatur", etiqueta, () -> construida, AdaptadorGraficaDeHorarios::colorearConDSatur)
+                    .imprimir(consola);
+        }
+
+        if (incluir(solo, "generarHorario")) {
+            arnes.medir("generarHorario", etiqueta,
+                    () -> new AdaptadorGraficaDeHorarios(copiar(bloques), catalogo),
+                    grafica -> new EstrategiaColoracion().generarHorario(grafica)).imprimir(consola);
+        }
+
+        // Un horario generado sirve de base para asignar horas y validar.
+        HorarioSemana generado = new EstrategiaColoracion()
+                .generarHorario(new AdaptadorGraficaDeHorarios(copiar(bloques), catalogo));
+        Map<String, String> diaPorBloque = new HashMap<>();
+        for (BloqueHorario bloque : generado.getBloques()) {
+            diaPorBloque.put(bloque.getId(), bloque.getDia());
+        }
+        if (incluir(solo, "asignarHoras")) {
+            AsignadorHorasLocalTime asignador = new AsignadorHorasLocalTime(catalogo,
+                    LocalTime.of(7, 0), LocalTime.of(15, 0),
+                    Arrays.asList(new ValidadorPorProfesor(), new ValidadorPorSalon(), new ValidadorPorHora()));
+            arnes.medir("asignarHoras", etiqueta,
+                    () -> semanaConDias(copiar(bloques), diaPorBloque),
+                    semana -> {
+                        asignador.asignarHoras(semana);
+                        return semana.getBloques().size();
+                    }).imprimir(consola);
+        }
+        if (incluir(solo, "validar")) {
+            ValidadorDeHorarios validador = new ValidadorDeHorarios();
+            arnes.medir("validar", etiqueta, () -> generado, validador::validar).imprimir(consola);
+        }
+
+        ConfiguracionProyecto configuracion = new ConfiguracionProyecto();
+        if (incluir(solo, "toJson")) {
+            arnes.medir("toJson", etiqueta, () -> new ProyectoDatos(configuracion, catalogo), ProyectoDatos::toJson)
+                    .imprimir(consola);
+        }
+        if (incluir(solo, "fromJson")) {
+            String json = new ProyectoDatos(configuracion, catalogo).toJson();
+            arnes.medir("fromJson", etiqueta + " " + json.length() / 1024 + "KB", () -> json, ProyectoDatos::fromJson)
+                    .imprimir(consola);
+        }
+        if (incluir(solo, "fromBinario")) {
+            ByteArrayOutputStream binario = new ByteArrayOutputStream();
+            new ProyectoDatos(configuracion, catalogo).escribirBinario(binario);
+            byte[] bytes = binario.toByteArray();
+            arnes.medir("fromBinario", etiqueta + " " + bytes.length / 1024 + "KB",
+                    () -> ByteBuffer.wrap(bytes), ProyectoDatos::leerBinario).imprimir(consola);
+        }
+    }
+
+    private static boolean incluir(Set<String> solo, String nombre) {
+        return solo.isEmpty() || solo.contains(nombre);
+    }
+
+    /** Copias independientes de los bloques (la generacion modifica dia y horas). */
+    private static List<BloqueHorario> copiar(List<BloqueHorario> bloques) {
+        List<BloqueHorario> copia = new ArrayList<>(bloques.size());
+        for (BloqueHorario bloque : bloques) {
+            copia.add(new BloqueHorario(bloque.getId(), bloque.getHoraInicio(), bloque.getHoraFin(),
+                    bloque.getMateria(), bloque.getProfesorId(), bloque.getSalonId(), bloque.getGrupoId(), true));
+        }
+        return copia;
+    }
+
+    /** Reparte los bloques en los dias indicados, como lo hace la fase de coloracion. */
+    private static HorarioSemana semanaConDias(List<BloqueHorario> bloques, Map<String, String> diaPorBloque) {
+        HorarioSemana semana = new HorarioSemana();
+        for (String dia : DIAS) {
+            semana.agregarDia(new HorarioDia(dia));
+        }
+        for (BloqueHorario bloque : bloques) {
+            String dia = diaPorBloque.get(bloque.getId());
+            if (dia != null) {
+                bloque.setDia(dia);
+                semana.agregarBloqueEnDia(dia, bloque);
+            } else {
+                semana.agregarBloqueSinAsignar(bloque);
+            }
+        }
+        return semana;
+    }
+}
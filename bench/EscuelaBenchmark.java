@@ -0,0 +1,78 @@
+package bench;
+
+import src.CatalogoRecursos;
+import src.GeneradorEscuelaSintetica;
+
+import java.util.Locale;
+
+/**
+ * Parametros de tamano de una escuela para los benchmarks; la escuela se construye con
+ * {@link GeneradorEscuelaSintetica}, asi que la misma semilla produce la misma instancia.
+ */
+final class EscuelaBenchmark {
+
+    final String nombre;
+    final int gruposPorGrado;
+    final int profesores;
+    final int salones;
+    final int materias;
+    final GeneradorEscuelaSintetica.Regimen regimen;
+
+    EscuelaBenchmark(String nombre, int gruposPorGrado, int profesores, int salones, int materias,
+                     GeneradorEscuelaSintetica.Regimen regimen) {
+        this.nombre = nombre;
+        this.gruposPorGrado = gruposPorGrado;
+        this.profesores = profesores;
+        this.salones = salones;
+        this.materias = materias;
+        this.regimen = regimen;
+    }
+
+    /** Escalas predefinidas: la pequena equivale a las pruebas de integracion, la grande a una escuela real. */
+    static EscuelaBenchmark predefinida(String nombre) {
+        return switch (nombre) {
+            case "pequena" -> new EscuelaBenchmark(nombre, 1, 10, 3, 6, GeneradorEscuelaSintetica.Regimen.HOLGADO);
+            case "mediana" -> new EscuelaBenchmark(nombre, 5, 30, 15, 10, GeneradorEscuelaSintetica.Regimen.HOLGADO);
+            case "grande" -> new EscuelaBenchmark(nombre, 20, 100, 60, 10, GeneradorEscuelaSintetica.Regimen.HOLGADO);
+            case "ajustada" -> new EscuelaBenchmark(nombre, 20, 100, 60, 10, GeneradorEscuelaSintetica.Regimen.AJUSTADO);
+            default -> throw new IllegalArgumentException("Escala desconocida: " + nombre);
+        };
+    }
+
+    /**
+     * Lee una escala "nombre=gruposPorGrado,profesores,salones,materias,regimen" o un nombre
+     * predefinido.
+     */
+    static EscuelaBenchmark parse(String texto) {
+        int igual = texto.indexOf('=');
+        if (igual < 0) {
+            return predefinida(texto);
+        }
+        String[] partes = texto.substring(igual + 1).split(",");
+        if (partes.length != 5) {
+            throw new IllegalArgumentException(
+                    "Formato de escala: nombre=gruposPorGrado,profesores,salones,materias,holgado|ajustado");
+        }
+        return new EscuelaBenchmark(texto.substring(0, igual),
+                Integer.parseInt(partes[0].trim()), Integer.parseInt(partes[1].trim()),
+                Integer.parseInt(partes[2].trim()), Integer.parseInt(partes[3].trim()),
+                GeneradorEscuelaSintetica.Regimen.valueOf(partes[4].trim().toUpperCase(Locale.ROOT)));
+    }
+
+    /** Reemplaza el contenido del catalogo con la escuela; misma semilla, misma escuela. */
+    void poblar(CatalogoRecursos catalogo, long semilla) {
+        new GeneradorEscuelaSintetica(semilla)
+                .setGruposPorGrado(gruposPorGrado)
+                .setProfesores(profesores)
+                .setSalones(salones)
+                .setMaterias(materias)
+                .setRegimen(regimen)
+                .poblar(catalogo);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s(g=%d p=%d s=%d m=%d %s)", nombre, gruposPorGrado * 3,
+                profesores, salones, materias, regimen.name().toLowerCase(Locale.ROOT));
+    }
+}
@@ -71,29 +71,16 @@ public class AdaptadorGraficaDeHorarios implements GraficaHorario {
     /**
      * Genera aristas automaticamente entre bloques que entran en conflicto
      * (mismo profesor, salon o grupo con solapamiento de horario).
+     * Solo compara bloques que comparten algun recurso.
      */
     public void construirGraficaAutomaticamente() {
-        List<String> ids = new ArrayList<>(nodos.keySet());
-
-        for (int i = 0; i < ids.size(); i++) {
-            for (int j = i + 1; j < ids.size(); j++) {
-                String idA = ids.get(i);
-                String idB = ids.get(j);
-
-                BloqueHorario bloqueA = nodos.get(idA);
-                BloqueHorario bloqueB = nodos.get(idB);
-
-                if (hayConflicto(bloqueA, bloqueB)) {
-                    agregarArista(idA, idB);
-                }
-            }
-        }
+        new ConstructorGraficaPorRecursos().construir(this);
     }
 
     /**
      * Determina si dos bloques tienen conflicto por tiempo y recursos.
      */
-    private boolean hayConflicto(BloqueHorario a, BloqueHorario b) {
+    public boolean hayConflicto(BloqueHorario a, BloqueHorario b) {
         boolean seSolapanEnTiempo;
         if (a.getHoraInicio() == null || a.getHoraFin() == null ||
             b.getHoraInicio() == null || b.getHoraFin() == null) {
@@ -141,11 +128,72 @@ public class AdaptadorGraficaDeHorarios implements GraficaHorario {
     }
 
     /**
-     * Devuelve una copia del mapa de adyacencias.
+     * Devuelve una vista viva de solo lectura del mapa de adyacencias: ni el mapa ni los
+     * conjuntos de vecinos se pueden modificar, y ambos reflejan las aristas agregadas
+     * despues. Quien necesite una foto fija debe copiarla.
      */
     @Override
     public Map<String, Set<String>> obtenerAdyacencias() {
-        return new HashMap<>(adyacencias);
+        return vistaAdyacencias;
+    }
+
+    /** Vista de {@link #adyacencias} que envuelve cada conjunto de vecinos al leerlo. */
+    private final Map<String, Set<String>> vistaAdyacencias = new AbstractMap<>() {
+        @Override
+        public Set<String> get(Object id) {
+            Set<String> vecinos = adyacencias.get(id);
+            return vecinos != null ? Collections.unmodifiableSet(vecinos) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object id) {
+            return adyacencias.containsKey(id);
+        }
+
+        @Override
+        public int size() {
+            return adyacencias.size();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(adyacencias.keySet());
+        }
+
+        @Override
+        public Set<Map.Entry<String, Set<String>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, Set<String>>> iterator() {
+                    Iterator<Map.Entry<String, Set<String>>> entradas = adyacencias.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return entradas.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Set<String>> next() {
+                            Map.Entry<String, Set<String>> entrada = entradas.next();
+                            return new AbstractMap.SimpleImmutableEntry<>(entrada.getKey(),
+                                    Collections.unmodifiableSet(entrada.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return adyacencias.size();
+                }
+            };
+        }
+    };
+
+    /**
+     * Crea una copia compacta (indices enteros y CSR) del estado actual de la grafica.
+     */
+    public GraficaHorarioCompacta compactar() {
+        return new GraficaHorarioCompacta(this);
     }
 
     /**
@@ -257,6 +305,7 @@ public class AdaptadorGraficaDeHorarios implements GraficaHorario {
 
     /**
      * Aplica coloracion usando el algoritmo DSatur, devolviendo color por id de bloque.
+     * En empate de saturacion y grado se elige el id lexicograficamente menor.
      */
     public Map<String, Integer> colorearConDSatur() {
         Map<String, Integer> colores = new HashMap<>();
@@ -264,65 +313,11 @@ public class AdaptadorGraficaDeHorarios implements GraficaHorario {
             return colores;
         }
 
-        Map<String, Integer> saturacion = new HashMap<>();
-        Map<String, Integer> grado = new HashMap<>();
-        List<String> nodosNoColoreados = new ArrayList<>(nodos.keySet());
-
-        for (String id : nodosNoColoreados) {
-            saturacion.put(id, 0);
-            grado.put(id, adyacencias.get(id).size());
+        GraficaHorarioCompacta compacta = compactar();
+        int[] colorPorIndice = new MotorDSatur(compacta).colorear();
+        for (int i = 0; i < colorPorIndice.length; i++) {
+            colores.put(compacta.idDe(i), colorPorIndice[i]);
         }
-
-        while (colores.size() < nodos.size()) {
-            Collections.sort(nodosNoColoreados);
-
-            String nodoAColorear = null;
-            int maxSat = -1;
-            int maxGrad = -1;
-
-            for (String id : nodosNoColoreados) {
-                int satActual = saturacion.get(id);
-                int gradActual = grado.get(id);
-
-                if (satActual > maxSat || (satActual == maxSat && gradActual > maxGrad)) {
-                    maxSat = satActual;
-                    maxGrad = gradActual;
-                    nodoAColorear = id;
-                }
-            }
-
-            if (nodoAColorear == null) {
-                break;
-            }
-
-            Set<Integer> coloresDeVecinos = new HashSet<>();
-            for (String vecinoId : adyacencias.get(nodoAColorear)) {
-                if (colores.containsKey(vecinoId)) {
-                    coloresDeVecinos.add(colores.get(vecinoId));
-                }
-            }
-
-            int colorAsignado = 0;
-            while (coloresDeVecinos.contains(colorAsignado)) {
-                colorAsignado++;
-            }
-
-            colores.put(nodoAColorear, colorAsignado);
-            nodosNoColoreados.remove(nodoAColorear);
-
-            for (String vecinoId : adyacencias.get(nodoAColorear)) {
-                if (!colores.containsKey(vecinoId)) {
-                    Set<Integer> coloresVecino = new HashSet<>();
-                    for (String v : adyacencias.get(vecinoId)) {
-                        if (colores.containsKey(v)) {
-                            coloresVecino.add(colores.get(v));
-                        }
-                    }
-                    saturacion.put(vecinoId, coloresVecino.size());
-                }
-            }
-        }
-
         return colores;
     }
 }
@@ -1,7 +1,6 @@
 package src;
 
 import java.time.*;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 /**
@@ -10,11 +9,21 @@ import java.util.*;
  */
 public class AsignadorHorasLocalTime {
 
+    /** Maximo de minutos seguidos (o traslapados) de una misma materia en un dia. */
+    private static final long MAX_MINUTOS_SEGUIDOS_MATERIA = 180;
+    /** Maximo de minutos de una misma materia en un dia, aunque haya huecos. */
+    private static final long MAX_MINUTOS_DIARIOS_MATERIA = 300;
+
     private final CatalogoRecursos catalogo;
     private final LocalTime horaInicioDia;
     private final LocalTime horaFinDia;
     private final List<Validador> validadoresHora;
 
+    /** Validadores que no se resuelven con la rejilla y se evaluan por pares. */
+    private final List<Validador> validadoresPorPares;
+    /** Validadores de recurso que la rejilla resuelve en cada intento (para las metricas). */
+    private final int validadoresEnRejilla;
+
     /**
      * Inicializa el asignador con el catalogo, rango de horario diario y validadores.
      */
@@ -30,27 +39,48 @@ public class AsignadorHorasLocalTime {
         this.validadoresHora =
                 validadoresHora != null ? new ArrayList<>(validadoresHora)
                                         : new ArrayList<>();
+
+        // Los validadores de recurso conocidos equivalen a "mismo recurso + solape" y
+        // ValidadorPorHora a "solape": con la rejilla la ocupacion global ya descarta
+        // cualquier solape, asi que todos quedan cubiertos por ella.
+        this.validadoresPorPares = new ArrayList<>();
+        int enRejilla = 0;
+        for (Validador v : this.validadoresHora) {
+            if (v.getClass() == ValidadorPorProfesor.class
+                    || v.getClass() == ValidadorPorSalon.class
+                    || v.getClass() == ValidadorPorGrupo.class) {
+                enRejilla++;
+            } else if (v.getClass() != ValidadorPorHora.class) {
+                validadoresPorPares.add(v);
+            }
+        }
+        this.validadoresEnRejilla = enRejilla;
     }
 
     /**
      * Asigna horas a cada dia del horario semanal.
      */
     public void asignarHoras(HorarioSemana semana) {
+        asignarHoras(semana, null);
+    }
+
+    /**
+     * Asigna horas a cada dia contando intentos de colocacion, invocaciones de validadores
+     * y bloques sin hora en las metricas (pueden ser null).
+     */
+    public void asignarHoras(HorarioSemana semana, MetricasGeneracion metricas) {
         for (HorarioDia dia : semana.getDiasSemana()) {
-            asignarHorasEnDia(dia);
+            asignarHorasEnDia(dia, metricas);
         }
     }
 
     /**
      * Asigna horas a los bloques de un dia dado priorizando restricciones y evitando conflictos.
      */
-    private void asignarHorasEnDia(HorarioDia dia) {
-        System.out.println("\n  Asignando horas para " + dia.getDia() + "...");
-
+    private void asignarHorasEnDia(HorarioDia dia, MetricasGeneracion metricas) {
         List<BloqueHorario> bloques = new ArrayList<>(dia.getBloques());
 
         if (bloques.isEmpty()) {
-            System.out.println("    (sin bloques)");
             return;
         }
 
@@ -65,24 +95,29 @@ public class AsignadorHorasLocalTime {
         });
 
         List<BloqueHorario> asignados = new ArrayList<>();
-        int bloquesExitosos = 0;
+        RejillaDia rejilla = RejillaDia.crear(horaInicioDia, horaFinDia);
+        if (rejilla != null) {
+            // La suma diaria por materia cuenta todos los bloques del dia con horas, tambien
+            // los que aun no se colocan (con las horas que traian).
+            for (BloqueHorario bloque : bloques) {
+                rejilla.sumarMinutos(bloque.getMateria(), minutosEnSumaDiaria(bloque));
+            }
+        }
 
         for (BloqueHorario bloque : bloques) {
-            boolean pudo = intentarColocarBloque(dia, bloque, asignados, bloques);
+            boolean pudo = intentarColocarBloque(dia, bloque, asignados, bloques, rejilla, metricas);
 
-            if (pudo) {
-                bloquesExitosos++;
-                System.out.println("    ✓ " + bloque.getMateria() +
-                                 " (" + bloque.getHoraInicio() + "-" + bloque.getHoraFin() + ")");
-            } else {
-                System.out.println("    ✗ " + bloque.getMateria() +
-                                 " (no se pudo asignar hora)");
+            if (!pudo) {
+                if (metricas != null) {
+                    metricas.contarBloqueSinHora();
+                }
                 asignados.add(bloque);
+                if (rejilla != null) {
+                    rejilla.ocupar(bloque);
+                }
             }
         }
 
-        System.out.println("    Total: " + bloquesExitosos + "/" + bloques.size() + " bloques asignados");
-
         dia.getBloques().clear();
         dia.getBloques().addAll(asignados);
     }
@@ -96,8 +131,7 @@ public class AsignadorHorasLocalTime {
         Profesor profesor = catalogo.obtenerProfesorPorId(bloque.getProfesorId());
         if (profesor == null) return false;
 
-        List<String> horas = profesor.getHorasDisponibles();
-        return horas != null && !horas.isEmpty();
+        return profesor.getDisponibilidad().tieneRestriccionHoras();
     }
 
     /**
@@ -106,7 +140,9 @@ public class AsignadorHorasLocalTime {
     private boolean intentarColocarBloque(HorarioDia dia,
                                           BloqueHorario bloque,
                                           List<BloqueHorario> asignados,
-                                          List<BloqueHorario> todosLosBloquesDelDia) {
+                                          List<BloqueHorario> todosLosBloquesDelDia,
+                                          RejillaDia rejilla,
+                                          MetricasGeneracion metricas) {
 
         Duration dur = bloque.getDuracion();
         LocalTime tiempo = horaInicioDia;
@@ -115,14 +151,14 @@ public class AsignadorHorasLocalTime {
 
         if (!horasPreferidas.isEmpty()) {
             for (LocalTime horaPreferida : horasPreferidas) {
-                if (intentarAsignarEnHora(bloque, horaPreferida, dur, dia, asignados, todosLosBloquesDelDia)) {
+                if (intentarAsignarEnHora(bloque, horaPreferida, dur, dia, asignados, todosLosBloquesDelDia, rejilla, metricas)) {
                     return true;
                 }
             }
         }
 
         while (!tiempo.plus(dur).isAfter(horaFinDia)) {
-            if (intentarAsignarEnHora(bloque, tiempo, dur, dia, asignados, todosLosBloquesDelDia)) {
+            if (intentarAsignarEnHora(bloque, tiempo, dur, dia, asignados, todosLosBloquesDelDia, rejilla, metricas)) {
                 return true;
             }
             tiempo = tiempo.plusMinutes(50);
@@ -133,6 +169,9 @@ public class AsignadorHorasLocalTime {
 
     /**
      * Intenta asignar un bloque en una hora concreta evaluando solapes y reglas.
+     * Con rejilla, el solape (y con el los validadores de recurso) se resuelve con mascaras
+     * de bits y los limites por materia con los acumulados de la rejilla; sin ella (o fuera
+     * de su rango) se recorre la lista de asignados.
      */
     private boolean intentarAsignarEnHora(
             BloqueHorario bloque,
@@ -140,15 +179,25 @@ public class AsignadorHorasLocalTime {
             Duration dur,
             HorarioDia dia,
             List<BloqueHorario> asignados,
-            List<BloqueHorario> todosLosBloquesDelDia) {
+            List<BloqueHorario> todosLosBloquesDelDia,
+            RejillaDia rejilla,
+            MetricasGeneracion metricas) {
 
+        if (metricas != null) {
+            metricas.contarIntentoColocacion();
+        }
         LocalTime fin = inicio.plus(dur);
 
         if (fin.isAfter(horaFinDia)) {
             return false;
         }
 
-        if (hayEmpalmeCon(inicio, fin, asignados)) {
+        boolean usarRejilla = rejilla != null && rejilla.cubre(inicio, fin);
+        if (usarRejilla) {
+            if (!rejilla.estaLibre(inicio, fin)) {
+                return false;
+            }
+        } else if (hayEmpalmeCon(inicio, fin, asignados)) {
             return false;
         }
 
@@ -158,33 +207,56 @@ public class AsignadorHorasLocalTime {
 
         LocalTime inicioOriginal = bloque.getHoraInicio();
         LocalTime finOriginal = bloque.getHoraFin();
+        long minutosOriginales = minutosEnSumaDiaria(bloque);
 
         bloque.actualizarIntervalo(inicio, fin);
 
-        boolean valido = true;
+        boolean valido;
+        if (usarRejilla && rejilla.rachasExactas(bloque.getMateria())) {
+            valido = !rejilla.excedeRacha(bloque.getMateria(), inicio, fin);
+        } else {
+            valido = !excedeMaximoConsecutivoMateria(bloque, asignados);
+        }
 
-        if (excedeMaximoConsecutivoMateria(bloque, asignados)) {
-            valido = false;
+        if (valido) {
+            if (rejilla != null) {
+                // La suma de la rejilla incluye al bloque con sus horas originales; se descuentan.
+                valido = bloque.getMateria() == null
+                        || dur.toMinutes() + rejilla.minutosDe(bloque.getMateria()) - minutosOriginales
+                                <= MAX_MINUTOS_DIARIOS_MATERIA;
+            } else {
+                valido = !excedeMaximoDiarioMateria(bloque, asignados, todosLosBloquesDelDia, dur);
+            }
         }
 
-        if (valido && excedeMaximoDiarioMateria(bloque, asignados, todosLosBloquesDelDia, dur)) {
-            valido = false;
+        if (valido && usarRejilla && metricas != null) {
+            metricas.contarInvocacionesValidador(validadoresEnRejilla);
         }
 
-        for (BloqueHorario other : asignados) {
-            if (other == bloque) continue;
+        List<Validador> porPares = usarRejilla ? validadoresPorPares : validadoresHora;
+        if (valido && !porPares.isEmpty()) {
+            for (BloqueHorario other : asignados) {
+                if (other == bloque) continue;
 
-            for (Validador v : validadoresHora) {
-                if (!v.validar(bloque, other, null).isEmpty()) {
-                    valido = false;
-                    break;
+                for (Validador v : porPares) {
+                    if (metricas != null) {
+                        metricas.contarInvocacionesValidador(1);
+                    }
+                    if (!v.validar(bloque, other, null).isEmpty()) {
+                        valido = false;
+                        break;
+                    }
                 }
+                if (!valido) break;
             }
-            if (!valido) break;
         }
 
         if (valido) {
             asignados.add(bloque);
+            if (rejilla != null) {
+                rejilla.ocupar(bloque);
+                rejilla.sumarMinutos(bloque.getMateria(), minutosEnSumaDiaria(bloque) - minutosOriginales);
+            }
             return true;
         }
 
@@ -199,7 +271,8 @@ public class AsignadorHorasLocalTime {
     }
 
     /**
-     * Verifica si se exceden 2 horas consecutivas de la misma materia en el dia.
+     * Verifica si se exceden 3 horas consecutivas de la misma materia en el dia recorriendo
+     * los asignados (sin rejilla, o si las rachas de la materia no caben en ella).
      */
     private boolean excedeMaximoConsecutivoMateria(BloqueHorario bloque, List<BloqueHorario> asignados) {
         if (bloque.getMateria() == null || bloque.getHoraInicio() == null || bloque.getHoraFin() == null) {
@@ -232,12 +305,13 @@ public class AsignadorHorasLocalTime {
                 cadenaFin = actual.getHoraFin();
             }
 
-            if (Duration.between(cadenaInicio, cadenaFin).toMinutes() > 180) {
+            if (Duration.between(cadenaInicio, cadenaFin).toMinutes() > MAX_MINUTOS_SEGUIDOS_MATERIA) {
                 return true;
             }
         }
 
-        if (Duration.between(mismos.get(0).getHoraInicio(), mismos.get(0).getHoraFin()).toMinutes() > 180) {
+        if (Duration.between(mismos.get(0).getHoraInicio(), mismos.get(0).getHoraFin()).toMinutes()
+                > MAX_MINUTOS_SEGUIDOS_MATERIA) {
             return true;
         }
 
@@ -245,7 +319,8 @@ public class AsignadorHorasLocalTime {
     }
 
     /**
-     * Verifica que la suma diaria de una materia no supere 120 minutos aunque haya huecos.
+     * Verifica que la suma diaria de una materia no supere 300 minutos aunque haya huecos,
+     * recorriendo los bloques del dia (solo sin rejilla).
      */
     private boolean excedeMaximoDiarioMateria(BloqueHorario bloque,
                                               List<BloqueHorario> asignados,
@@ -282,7 +357,15 @@ public class AsignadorHorasLocalTime {
             }
         }
 
-        return minutos > 300;
+        return minutos > MAX_MINUTOS_DIARIOS_MATERIA;
+    }
+
+    /** Minutos con que un bloque cuenta en la suma diaria de su materia (0 sin id u horas). */
+    private static long minutosEnSumaDiaria(BloqueHorario bloque) {
+        if (bloque.getId() == null || bloque.getHoraInicio() == null || bloque.getHoraFin() == null) {
+            return 0;
+        }
+        return Duration.between(bloque.getHoraInicio(), bloque.getHoraFin()).toMinutes();
     }
 
     private LocalTime max(LocalTime a, LocalTime b) {
@@ -304,34 +387,17 @@ public class AsignadorHorasLocalTime {
             return horas;
         }
 
-        List<String> diasDisp = profesor.getDiasDisponibles();
-        if (diasDisp != null && !diasDisp.isEmpty()) {
-            boolean diaDisponible = diasDisp.stream()
-                    .anyMatch(d -> d.equalsIgnoreCase(dia));
-            if (!diaDisponible) {
-                return horas;
-            }
-        }
-
-        List<String> horasDisp = profesor.getHorasDisponibles();
-        if (horasDisp == null || horasDisp.isEmpty()) {
+        Profesor.Disponibilidad disponibilidad = profesor.getDisponibilidad();
+        if (!disponibilidad.diaPermitidoIgnorandoMayusculas(dia)) {
             return horas;
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("H:mm");
-        for (String horaStr : horasDisp) {
-            try {
-                LocalTime hora = LocalTime.parse(horaStr, formatter);
-                if (!hora.isBefore(horaInicioDia) &&
-                    !hora.plus(bloque.getDuracion()).isAfter(horaFinDia)) {
-                    horas.add(hora);
-                }
-            } catch (Exception e) {
-                System.err.println("Error parseando hora: " + horaStr);
+        for (LocalTime hora : disponibilidad.getHorasPreferidas()) {
+            if (!hora.isBefore(horaInicioDia) &&
+                !hora.plus(bloque.getDuracion()).isAfter(horaFinDia)) {
+                horas.add(hora);
             }
         }
-
-        horas.sort(LocalTime::compareTo);
         return horas;
     }
 
@@ -367,25 +433,222 @@ public class AsignadorHorasLocalTime {
         if (profesorId != null) {
             Profesor profesor = catalogo.obtenerProfesorPorId(profesorId);
             if (profesor != null) {
-                List<String> diasDisponibles = profesor.getDiasDisponibles();
-                if (diasDisponibles != null && !diasDisponibles.isEmpty()) {
-                    boolean diaValido = diasDisponibles.stream()
-                            .anyMatch(d -> d.equalsIgnoreCase(dia));
-                    if (!diaValido) {
-                        return false;
-                    }
+                return profesor.getDisponibilidad().disponible(dia, hora);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Rejilla de un dia con resolucion de un minuto: una mascara de ocupacion (comprobar un
+     * intervalo son pocas operaciones AND) y, por materia, los minutos del dia y las rachas
+     * de bloques seguidos, de modo que los limites por materia se revisan en O(1).
+     * Como ningun bloque colocado se solapa con otro, la ocupacion tambien resuelve las
+     * reglas de profesor, salon y grupo. Los bloques con intervalo vacio se guardan aparte
+     * y se comparan como antes.
+     */
+    private static final class RejillaDia {
+        private final int inicioMinuto;
+        private final int finMinuto;
+        private final long[] ocupacion;
+        private final List<BloqueHorario> irregulares = new ArrayList<>();
+        private final Map<String, Long> minutosPorMateria = new HashMap<>();
+        private final Map<String, Rachas> rachasPorMateria = new HashMap<>();
+        /** Materias con algun bloque fuera de la rejilla: sus rachas se revisan recorriendo. */
+        private final Set<String> materiasSinRachas = new HashSet<>();
+
+        private RejillaDia(int inicioMinuto, int finMinuto) {
+            this.inicioMinuto = inicioMinuto;
+            this.finMinuto = finMinuto;
+            this.ocupacion = new long[(finMinuto - inicioMinuto + 63) / 64];
+        }
+
+        /** Crea la rejilla, o null si el rango del dia no esta alineado a minutos. */
+        static RejillaDia crear(LocalTime inicio, LocalTime fin) {
+            if (!alineado(inicio) || !alineado(fin) || !inicio.isBefore(fin)) {
+                return null;
+            }
+            return new RejillaDia(minutoPiso(inicio), minutoPiso(fin));
+        }
+
+        /** Indica si el intervalo candidato esta alineado a minutos y dentro de la rejilla. */
+        boolean cubre(LocalTime inicio, LocalTime fin) {
+            return alineado(inicio) && alineado(fin) && inicio.isBefore(fin)
+                && minutoPiso(inicio) >= inicioMinuto && minutoPiso(fin) <= finMinuto;
+        }
+
+        boolean estaLibre(LocalTime inicio, LocalTime fin) {
+            if (!libre(ocupacion, minutoPiso(inicio) - inicioMinuto, minutoPiso(fin) - inicioMinuto)) {
+                return false;
+            }
+            for (BloqueHorario b : irregulares) {
+                if (inicio.isBefore(b.getHoraFin()) && b.getHoraInicio().isBefore(fin)) {
+                    return false;
                 }
+            }
+            return true;
+        }
 
-                List<String> horasDisponibles = profesor.getHorasDisponibles();
-                if (horasDisponibles != null && !horasDisponibles.isEmpty()) {
-                    String horaFormateada = hora.format(DateTimeFormatter.ofPattern("H:mm"));
-                    if (!horasDisponibles.contains(horaFormateada)) {
-                        return false;
-                    }
+        /** Suma (o resta) minutos al total diario de la materia. */
+        void sumarMinutos(String materia, long minutos) {
+            if (materia != null && minutos != 0) {
+                minutosPorMateria.merge(clave(materia), minutos, Long::sum);
+            }
+        }
+
+        /** Minutos del dia de la materia, sin distinguir mayusculas. */
+        long minutosDe(String materia) {
+            return minutosPorMateria.getOrDefault(clave(materia), 0L);
+        }
+
+        /** Indica si las rachas de la materia estan completas en la rejilla. */
+        boolean rachasExactas(String materia) {
+            return materia == null || !materiasSinRachas.contains(clave(materia));
+        }
+
+        /**
+         * Indica si colocar la materia en el intervalo (cubierto por la rejilla) forma una
+         * racha de mas del maximo de minutos seguidos, o si ya habia una.
+         */
+        boolean excedeRacha(String materia, LocalTime inicio, LocalTime fin) {
+            if (materia == null) {
+                return false;
+            }
+            Rachas rachas = rachasPorMateria.get(clave(materia));
+            int desde = minutoPiso(inicio) - inicioMinuto;
+            int hasta = minutoPiso(fin) - inicioMinuto;
+            if (rachas == null) {
+                return hasta - desde > MAX_MINUTOS_SEGUIDOS_MATERIA;
+            }
+            return rachas.excedida || rachas.hasta(hasta) - rachas.desde(desde) > MAX_MINUTOS_SEGUIDOS_MATERIA;
+        }
+
+        /** Marca el intervalo del bloque (recortado al dia) como ocupado y lo suma a su racha. */
+        void ocupar(BloqueHorario bloque) {
+            LocalTime inicio = bloque.getHoraInicio();
+            LocalTime fin = bloque.getHoraFin();
+            if (inicio == null || fin == null) {
+                return;
+            }
+            agregarARacha(bloque.getMateria(), inicio, fin);
+            if (!inicio.isBefore(fin)) {
+                irregulares.add(bloque);
+                return;
+            }
+            int desde = Math.max(minutoPiso(inicio), inicioMinuto) - inicioMinuto;
+            int hasta = Math.min(minutoTecho(fin), finMinuto) - inicioMinuto;
+            if (desde >= hasta) {
+                return;
+            }
+            marcar(ocupacion, desde, hasta);
+        }
+
+        private void agregarARacha(String materia, LocalTime inicio, LocalTime fin) {
+            if (materia == null || inicio.equals(fin)) {
+                // Un bloque vacio no alarga ninguna racha.
+                return;
+            }
+            String clave = clave(materia);
+            if (materiasSinRachas.contains(clave)) {
+                return;
+            }
+            if (!cubre(inicio, fin)) {
+                materiasSinRachas.add(clave);
+                rachasPorMateria.remove(clave);
+                return;
+            }
+            rachasPorMateria.computeIfAbsent(clave, k -> new Rachas(finMinuto - inicioMinuto))
+                    .agregar(minutoPiso(inicio) - inicioMinuto, minutoPiso(fin) - inicioMinuto);
+        }
+
+        /**
+         * Clave de materia que coincide cuando {@link String#equalsIgnoreCase} lo hace
+         * (compara caracter a caracter en mayusculas y luego en minusculas).
+         */
+        private static String clave(String materia) {
+            char[] caracteres = materia.toCharArray();
+            for (int i = 0; i < caracteres.length; i++) {
+                caracteres[i] = Character.toLowerCase(Character.toUpperCase(caracteres[i]));
+            }
+            return new String(caracteres);
+        }
+
+        /** Indica si ningun bit del rango [desde, hasta) esta encendido. */
+        private static boolean libre(long[] mascara, int desde, int hasta) {
+            int primera = desde >>> 6;
+            int ultima = (hasta - 1) >>> 6;
+            for (int w = primera; w <= ultima; w++) {
+                if ((mascara[w] & rango(w, desde, hasta)) != 0) {
+                    return false;
                 }
             }
+            return true;
         }
 
-        return true;
+        private static void marcar(long[] mascara, int desde, int hasta) {
+            int primera = desde >>> 6;
+            int ultima = (hasta - 1) >>> 6;
+            for (int w = primera; w <= ultima; w++) {
+                mascara[w] |= rango(w, desde, hasta);
+            }
+        }
+
+        /** Mascara de los bits de la palabra w que caen dentro de [desde, hasta). */
+        private static long rango(int w, int desde, int hasta) {
+            int base = w << 6;
+            int bajo = Math.max(desde - base, 0);
+            int alto = Math.min(hasta - base, 64);
+            long mascaraAlta = alto == 64 ? -1L : (1L << alto) - 1;
+            return mascaraAlta & (-1L << bajo);
+        }
+
+        private static boolean alineado(LocalTime t) {
+            return t.getSecond() == 0 && t.getNano() == 0;
+        }
+
+        private static int minutoPiso(LocalTime t) {
+            return t.getHour() * 60 + t.getMinute();
+        }
+
+        private static int minutoTecho(LocalTime t) {
+            return minutoPiso(t) + (alineado(t) ? 0 : 1);
+        }
+    }
+
+    /**
+     * Rachas de una materia en la rejilla: cada minuto ocupado guarda el inicio y el fin de
+     * la racha que lo contiene. Los bloques que se tocan o se solapan forman una sola racha.
+     */
+    private static final class Rachas {
+        private final int[] inicios;
+        private final int[] fines;
+        /** True si alguna racha ya supera el maximo (la regla falla para cualquier intervalo). */
+        private boolean excedida;
+
+        Rachas(int minutos) {
+            inicios = new int[minutos];
+            fines = new int[minutos];
+            Arrays.fill(inicios, -1);
+        }
+
+        /** Inicio de la racha que tocaria un intervalo que empieza en el minuto indicado. */
+        int desde(int minuto) {
+            return minuto > 0 && inicios[minuto - 1] >= 0 ? inicios[minuto - 1] : minuto;
+        }
+
+        /** Fin de la racha que tocaria un intervalo que termina en el minuto indicado. */
+        int hasta(int minuto) {
+            return minuto < inicios.length && inicios[minuto] >= 0 ? fines[minuto] : minuto;
+        }
+
+        /** Une [desde, hasta) con las rachas que toca y marca la racha resultante. */
+        void agregar(int desde, int hasta) {
+            int inicio = desde(desde);
+            int fin = hasta(hasta);
+            Arrays.fill(inicios, inicio, fin, inicio);
+            Arrays.fill(fines, inicio, fin, fin);
+            excedida |= fin - inicio > MAX_MINUTOS_SEGUIDOS_MATERIA;
+        }
     }
 }
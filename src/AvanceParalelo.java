@@ -0,0 +1,78 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * Combina el avance de varias busquedas TabuCol que corren en paralelo (componentes
+ * conexas o variantes del portafolio) en un solo aviso de {@link ProgresoGeneracion}
+ * dentro del rango de porcentaje de la fase de coloracion. Limita los avisos a uno
+ * cada {@link #INTERVALO_MS} milisegundos.
+ */
+final class AvanceParalelo {
+
+    /** Intervalo minimo entre avisos. */
+    static final long INTERVALO_MS = 50;
+
+    private final ProgresoGeneracion progreso;
+    private final int desde;
+    private final int hasta;
+    private final boolean sumarConflictos;
+    private final double[] fracciones;
+    private final int[] conflictos;
+    private long ultimoAviso;
+
+    /**
+     * @param progreso destino de los avisos
+     * @param tareas numero de busquedas paralelas
+     * @param desde porcentaje al iniciar
+     * @param hasta porcentaje al terminar todas las tareas
+     * @param sumarConflictos true si las tareas resuelven partes distintas (se suman sus
+     *                        conflictos); false si compiten por el mismo problema (se toma el minimo)
+     */
+    AvanceParalelo(ProgresoGeneracion progreso, int tareas, int desde, int hasta, boolean sumarConflictos) {
+        this.progreso = progreso;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.sumarConflictos = sumarConflictos;
+        this.fracciones = new double[tareas];
+        this.conflictos = new int[tareas];
+        Arrays.fill(conflictos, -1);
+    }
+
+    /** Avance de la tarea {@code indice}, para pasarlo al reparador. */
+    ReparadorTabuCol.Avance tarea(int indice) {
+        return (fraccion, mejoresConflictos) -> actualizar(indice, fraccion, mejoresConflictos);
+    }
+
+    /** Marca la tarea como terminada sin haber necesitado reparacion. */
+    void terminar(int indice) {
+        actualizar(indice, 1.0, 0);
+    }
+
+    private synchronized void actualizar(int indice, double fraccion, int mejoresConflictos) {
+        fracciones[indice] = Math.min(1.0, fraccion);
+        conflictos[indice] = mejoresConflictos;
+        long ahora = System.nanoTime();
+        if (ahora - ultimoAviso < INTERVALO_MS * 1_000_000L && fraccion < 1.0) {
+            return;
+        }
+        ultimoAviso = ahora;
+
+        double suma = 0;
+        int total = sumarConflictos ? 0 : -1;
+        for (int i = 0; i < fracciones.length; i++) {
+            suma += fracciones[i];
+            if (conflictos[i] < 0) {
+                continue;
+            }
+            if (sumarConflictos) {
+                total += conflictos[i];
+            } else if (total < 0 || conflictos[i] < total) {
+                total = conflictos[i];
+            }
+        }
+        double promedio = fracciones.length == 0 ? 1.0 : suma / fracciones.length;
+        progreso.actualizar(MetricasGeneracion.Fase.COLORACION,
+                desde + (int) Math.round(promedio * (hasta - desde)), total);
+    }
+}
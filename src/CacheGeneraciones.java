@@ -0,0 +1,519 @@
+package src;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de horarios generados indexada por el contenido de la entrada: la clave es un
+ * SHA-256 de los bloques (sin su posicion), la disponibilidad de sus profesores, sus
+ * salones, la plantilla horaria y la descripcion de la estrategia (ver {@link #clave}).
+ * Cada entrada guarda el dia y las horas en que quedo cada bloque y las metricas de la
+ * generacion original.
+ * <p>
+ * Hay una LRU en memoria de capacidad fija y, opcionalmente, un directorio donde cada
+ * entrada es un archivo JSON nombrado por su clave, para reutilizarla entre ejecuciones.
+ * Cualquier cambio en la entrada produce otra clave, asi que no hace falta invalidar a
+ * mano: las entradas viejas dejan de pedirse y salen por antiguedad (en disco se
+ * conservan las mas recientes hasta su limite). Es segura entre hilos.
+ */
+public class CacheGeneraciones {
+
+    /** Version del calculo de la clave y del formato en disco; cambiarla invalida todo. */
+    private static final int FORMATO = 1;
+    private static final String EXTENSION = ".json";
+    private static final int SIN_HORA = -1;
+
+    private final int capacidad;
+    private final Path directorio;
+    private final int capacidadDisco;
+    private final Map<String, Entrada> memoria;
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+
+    /**
+     * Cache solo en memoria.
+     * @param capacidad entradas que se conservan (las menos usadas salen primero)
+     */
+    public CacheGeneraciones(int capacidad) {
+        this(capacidad, null, 0);
+    }
+
+    /**
+     * Cache en memoria respaldada por un directorio.
+     * @param capacidad entradas que se conservan en memoria
+     * @param directorio donde se guardan las entradas (null = solo memoria); se crea si no existe
+     * @param capacidadDisco archivos que se conservan en el directorio
+     */
+    public CacheGeneraciones(int capacidad, Path directorio, int capacidadDisco) {
+        if (capacidad <= 0 || (directorio != null && capacidadDisco <= 0)) {
+            throw new IllegalArgumentException("La capacidad de la cache debe ser positiva");
+        }
+        this.capacidad = capacidad;
+        this.directorio = directorio;
+        this.capacidadDisco = capacidadDisco;
+        this.memoria = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> mayor) {
+                return size() > CacheGeneraciones.this.capacidad;
+            }
+        };
+    }
+
+    /**
+     * Clave de una generacion: cambia si cambia cualquier dato que la estrategia usa para
+     * ubicar los bloques. De cada bloque entran id, materia, profesor, salon, grupo y
+     * duracion (no su dia ni sus horas, que son el resultado); de cada profesor referido,
+     * sus dias y horas disponibles; de cada salon referido, su capacidad. El orden de los
+     * bloques no importa.
+     */
+    public static String clave(List<BloqueHorario> bloques, CatalogoRecursos catalogo, String descripcionEstrategia) {
+        Huella huella = new Huella();
+        huella.entero(FORMATO);
+        huella.texto(descripcionEstrategia);
+        huella.entero(PlantillaHoraria.BLOQUES_ESTANDAR.size());
+        for (LocalTime hora : PlantillaHoraria.BLOQUES_ESTANDAR) {
+            huella.entero(hora.toSecondOfDay());
+        }
+        huella.entero((int) PlantillaHoraria.DURACION_BLOQUE.toMinutes());
+
+        List<BloqueHorario> ordenados = new ArrayList<>(bloques);
+        ordenados.sort(Comparator.comparing(BloqueHorario::getId));
+        TreeMap<String, Profesor> profesores = new TreeMap<>();
+        TreeMap<String, Salon> salones = new TreeMap<>();
+        huella.entero(ordenados.size());
+        for (BloqueHorario bloque : ordenados) {
+            huella.texto(bloque.getId());
+            huella.texto(bloque.getMateria());
+            huella.texto(bloque.getProfesorId());
+            huella.texto(bloque.getSalonId());
+            huella.texto(bloque.getGrupoId());
+            huella.entero((int) bloque.getDuracion().toMinutes());
+            if (bloque.getProfesorId() != null && !profesores.containsKey(bloque.getProfesorId())) {
+                profesores.put(bloque.getProfesorId(), catalogo.obtenerProfesorPorId(bloque.getProfesorId()));
+            }
+            if (bloque.getSalonId() != null && !salones.containsKey(bloque.getSalonId())) {
+                salones.put(bloque.getSalonId(), catalogo.obtenerSalonPorId(bloque.getSalonId()));
+            }
+        }
+
+        huella.entero(profesores.size());
+        for (Map.Entry<String, Profesor> entrada : profesores.entrySet()) {
+            huella.texto(entrada.getKey());
+            Profesor profesor = entrada.getValue();
+            huella.entero(profesor != null ? 1 : 0);
+            if (profesor != null) {
+                huella.lista(profesor.getDiasDisponibles());
+                huella.lista(profesor.getHorasDisponibles());
+            }
+        }
+        huella.entero(salones.size());
+        for (Map.Entry<String, Salon> entrada : salones.entrySet()) {
+            huella.texto(entrada.getKey());
+            huella.entero(entrada.getValue() != null ? entrada.getValue().getCapacidad() : -1);
+        }
+        return huella.hex();
+    }
+
+    /** Entrada de la clave (primero en memoria, luego en disco) y cuenta el acierto o fallo. */
+    Optional<Entrada> buscar(String clave) {
+        Entrada entrada;
+        synchronized (memoria) {
+            entrada = memoria.get(clave);
+        }
+        if (entrada == null && directorio != null) {
+            entrada = leer(clave);
+            if (entrada != null) {
+                synchronized (memoria) {
+                    memoria.put(clave, entrada);
+                }
+            }
+        }
+        (entrada != null ? aciertos : fallos).incrementAndGet();
+        return Optional.ofNullable(entrada);
+    }
+
+    /** Guarda la entrada en memoria y, si hay directorio, en disco. */
+    void guardar(String clave, Entrada entrada) {
+        synchronized (memoria) {
+            memoria.put(clave, entrada);
+        }
+        if (directorio != null) {
+            escribir(clave, entrada);
+        }
+    }
+
+    /** Vacia la memoria y borra los archivos de la cache. */
+    public void limpiar() {
+        synchronized (memoria) {
+            memoria.clear();
+        }
+        if (directorio != null) {
+            for (Path archivo : archivosEnDisco()) {
+                try {
+                    Files.deleteIfExists(archivo);
+                } catch (IOException e) {
+                    System.err.println("No se pudo borrar " + archivo.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    /** Entradas en memoria. */
+    public int getTamano() {
+        synchronized (memoria) {
+            return memoria.size();
+        }
+    }
+
+    private Entrada leer(String clave) {
+        Path archivo = directorio.resolve(clave + EXTENSION);
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            Entrada entrada = Entrada.leerJson(new LectorJson(lector));
+            // La fecha de modificacion sirve como ultimo uso para recortar el directorio.
+            Files.setLastModifiedTime(archivo, FileTime.fromMillis(System.currentTimeMillis()));
+            return entrada;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Entrada de cache ilegible " + archivo.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void escribir(String clave, Entrada entrada) {
+        try {
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, clave, ".tmp");
+            try (BufferedWriter destino = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                EscritorJson json = new EscritorJson(destino);
+                entrada.escribirJson(json);
+                json.flush();
+            }
+            Files.move(temporal, directorio.resolve(clave + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recortarDisco();
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar la entrada de cache: " + e.getMessage());
+        }
+    }
+
+    /** Borra los archivos usados hace mas tiempo hasta dejar {@code capacidadDisco}. */
+    private void recortarDisco() throws IOException {
+        List<Path> archivos = archivosEnDisco();
+        if (archivos.size() <= capacidadDisco) {
+            return;
+        }
+        Map<Path, FileTime> usos = new LinkedHashMap<>();
+        for (Path archivo : archivos) {
+            try {
+                usos.put(archivo, Files.getLastModifiedTime(archivo));
+            } catch (NoSuchFileException e) {
+                // Otro proceso ya lo borro.
+            }
+        }
+        List<Path> porUso = new ArrayList<>(usos.keySet());
+        porUso.sort(Comparator.comparing(usos::get));
+        for (int i = 0; i < porUso.size() - capacidadDisco; i++) {
+            Files.deleteIfExists(porUso.get(i));
+        }
+    }
+
+    private List<Path> archivosEnDisco() {
+        List<Path> archivos = new ArrayList<>();
+        if (!Files.isDirectory(directorio)) {
+            return archivos;
+        }
+        try (DirectoryStream<Path> contenido = Files.newDirectoryStream(directorio, "*" + EXTENSION)) {
+            contenido.forEach(archivos::add);
+        } catch (IOException e) {
+            System.err.println("No se pudo listar la cache: " + e.getMessage());
+        }
+        return archivos;
+    }
+
+    /**
+     * Resultado guardado de una generacion: los dias de la semana, la posicion de cada
+     * bloque en el orden en que quedo en el horario (por dia y luego sin asignar) y las
+     * metricas de calidad.
+     */
+    static final class Entrada {
+
+        /** Dia (null = sin asignar) y horas, en minutos desde medianoche, de un bloque. */
+        static final class Posicion {
+            final String id;
+            final String dia;
+            final int inicio;
+            final int fin;
+
+            Posicion(String id, String dia, int inicio, int fin) {
+                this.id = id;
+                this.dia = dia;
+                this.inicio = inicio;
+                this.fin = fin;
+            }
+
+            static Posicion de(BloqueHorario bloque) {
+                return new Posicion(bloque.getId(), bloque.getDia(), minutos(bloque.getHoraInicio()),
+                        minutos(bloque.getHoraFin()));
+            }
+        }
+
+        final List<String> dias;
+        final List<Posicion> posiciones;
+        /** Las primeras {@code asignados} posiciones estan en un dia; el resto, sin asignar. */
+        final int asignados;
+        final int nodos;
+        final int aristas;
+        final int coloresUsados;
+        final int bloquesSinDia;
+        final long bloquesSinHora;
+        final int conflictos;
+
+        Entrada(List<String> dias, List<Posicion> posiciones, int asignados, int nodos, int aristas,
+                int coloresUsados, int bloquesSinDia, long bloquesSinHora, int conflictos) {
+            if (asignados < 0 || asignados > posiciones.size()) {
+                throw new IllegalArgumentException("Cantidad de bloques asignados invalida: " + asignados);
+            }
+            this.dias = dias;
+            this.posiciones = posiciones;
+            this.asignados = asignados;
+            this.nodos = nodos;
+            this.aristas = aristas;
+            this.coloresUsados = coloresUsados;
+            this.bloquesSinDia = bloquesSinDia;
+            this.bloquesSinHora = bloquesSinHora;
+            this.conflictos = conflictos;
+        }
+
+        /** Captura el horario y las metricas de un resultado recien generado. */
+        static Entrada de(ResultadoGeneracion resultado) {
+            HorarioSemana horario = resultado.getHorario();
+            List<String> dias = new ArrayList<>();
+            for (HorarioDia dia : horario.getDiasSemana()) {
+                dias.add(dia.getDia());
+            }
+            List<Posicion> posiciones = new ArrayList<>();
+            for (HorarioDia dia : horario.getDiasSemana()) {
+                for (BloqueHorario bloque : dia.getBloques()) {
+                    posiciones.add(Posicion.de(bloque));
+                }
+            }
+            int asignados = posiciones.size();
+            for (BloqueHorario bloque : horario.getBloquesSinAsignar()) {
+                posiciones.add(Posicion.de(bloque));
+            }
+            MetricasGeneracion metricas = resultado.getMetricas();
+            return new Entrada(dias, posiciones, asignados, metricas.getNodos(), metricas.getAristas(),
+                    metricas.getColoresUsados(), metricas.getBloquesSinDia(), metricas.getBloquesSinHora(),
+                    metricas.getConflictos());
+        }
+
+        /**
+         * Coloca los bloques donde quedaron en la generacion guardada y arma el horario.
+         * Los bloques de un dia se agregan directamente a su {@link HorarioDia}, como hace
+         * el asignador de horas, para conservar tambien los que quedaron traslapados.
+         * @return null si los bloques no son exactamente los de la entrada
+         */
+        ResultadoGeneracion aplicar(List<BloqueHorario> bloques) {
+            Map<String, BloqueHorario> porId = new LinkedHashMap<>();
+            for (BloqueHorario bloque : bloques) {
+                porId.put(bloque.getId(), bloque);
+            }
+            if (porId.size() != posiciones.size() || bloques.size() != posiciones.size()) {
+                return null;
+            }
+            Map<String, HorarioDia> porDia = new LinkedHashMap<>();
+            for (String dia : dias) {
+                porDia.put(dia, new HorarioDia(dia));
+            }
+            for (int i = 0; i < posiciones.size(); i++) {
+                Posicion posicion = posiciones.get(i);
+                if (!porId.containsKey(posicion.id) || (i < asignados && !porDia.containsKey(posicion.dia))) {
+                    return null;
+                }
+            }
+
+            for (int i = 0; i < asignados; i++) {
+                Posicion posicion = posiciones.get(i);
+                BloqueHorario bloque = porId.get(posicion.id);
+                bloque.actualizarPosicion(posicion.dia, hora(posicion.inicio), hora(posicion.fin));
+                porDia.get(posicion.dia).getBloques().add(bloque);
+            }
+            HorarioSemana horario = new HorarioSemana();
+            for (HorarioDia dia : porDia.values()) {
+                horario.agregarDia(dia);
+            }
+            for (int i = asignados; i < posiciones.size(); i++) {
+                Posicion posicion = posiciones.get(i);
+                BloqueHorario bloque = porId.get(posicion.id);
+                horario.agregarBloqueSinAsignar(bloque);
+                // Un bloque que su dia rechazo por traslape conserva ese dia aunque quede sin asignar.
+                bloque.actualizarPosicion(posicion.dia, hora(posicion.inicio), hora(posicion.fin));
+            }
+
+            MetricasGeneracion metricas = new MetricasGeneracion();
+            metricas.registrarGrafica(nodos, aristas);
+            metricas.registrarColoracion(coloresUsados, bloquesSinDia);
+            metricas.registrarBloquesSinHora(bloquesSinHora);
+            metricas.registrarConflictos(conflictos);
+            metricas.marcarDesdeCache();
+            return new ResultadoGeneracion(horario, metricas);
+        }
+
+        void escribirJson(EscritorJson json) throws IOException {
+            json.inicioObjeto()
+                .campo("asignados", asignados)
+                .campo("nodos", nodos)
+                .campo("aristas", aristas)
+                .campo("coloresUsados", coloresUsados)
+                .campo("bloquesSinDia", bloquesSinDia)
+                .campo("bloquesSinHora", bloquesSinHora)
+                .campo("conflictos", conflictos);
+            json.nombre("dias").inicioArreglo();
+            for (String dia : dias) {
+                json.valor(dia);
+            }
+            json.finArreglo();
+            json.nombre("bloques").inicioArreglo();
+            for (Posicion posicion : posiciones) {
+                json.inicioObjeto().campo("id", posicion.id);
+                if (posicion.dia != null) {
+                    json.campo("dia", posicion.dia);
+                }
+                json.campo("inicio", posicion.inicio).campo("fin", posicion.fin).finObjeto();
+            }
+            json.finArreglo().finObjeto();
+        }
+
+        static Entrada leerJson(LectorJson lector) throws IOException {
+            int[] metricas = new int[7];
+            List<String> dias = new ArrayList<>();
+            List<Posicion> posiciones = new ArrayList<>();
+            lector.objeto(nombre -> {
+                switch (nombre) {
+                    case "nodos" -> metricas[0] = lector.entero();
+                    case "aristas" -> metricas[1] = lector.entero();
+                    case "coloresUsados" -> metricas[2] = lector.entero();
+                    case "bloquesSinDia" -> metricas[3] = lector.entero();
+                    case "bloquesSinHora" -> metricas[4] = lector.entero();
+                    case "conflictos" -> metricas[5] = lector.entero();
+                    case "asignados" -> metricas[6] = lector.entero();
+                    case "dias" -> lector.arreglo(() -> dias.add(lector.cadena()));
+                    case "bloques" -> lector.arreglo(() -> posiciones.add(leerPosicion(lector)));
+                    default -> lector.saltar();
+                }
+            });
+            return new Entrada(dias, posiciones, metricas[6], metricas[0], metricas[1], metricas[2],
+                    metricas[3], metricas[4], metricas[5]);
+        }
+
+        private static Posicion leerPosicion(LectorJson lector) throws IOException {
+            String[] textos = new String[2];
+            int[] horas = {SIN_HORA, SIN_HORA};
+            lector.objeto(nombre -> {
+                switch (nombre) {
+                    case "id" -> textos[0] = lector.cadena();
+                    case "dia" -> textos[1] = lector.cadena();
+                    case "inicio" -> horas[0] = lector.entero();
+                    case "fin" -> horas[1] = lector.entero();
+                    default -> lector.saltar();
+                }
+            });
+            if (textos[0] == null) {
+                throw new IllegalArgumentException("Bloque sin id en la cache");
+            }
+            LocalTime inicio = hora(horas[0]);
+            LocalTime fin = hora(horas[1]);
+            if (inicio != null && fin != null && inicio.isAfter(fin)) {
+                throw new IllegalArgumentException("Intervalo invalido en la cache para " + textos[0]);
+            }
+            return new Posicion(textos[0], textos[1], horas[0], horas[1]);
+        }
+
+        private static int minutos(LocalTime hora) {
+            return hora != null ? hora.getHour() * 60 + hora.getMinute() : SIN_HORA;
+        }
+
+        private static LocalTime hora(int minutos) {
+            if (minutos == SIN_HORA) {
+                return null;
+            }
+            if (minutos < 0 || minutos >= 24 * 60) {
+                throw new IllegalArgumentException("Hora fuera de rango en la cache: " + minutos);
+            }
+            return LocalTime.of(minutos / 60, minutos % 60);
+        }
+    }
+
+    /** Acumula datos en un SHA-256; cada texto lleva su largo para que no haya ambiguedad. */
+    private static final class Huella {
+        private final MessageDigest digest;
+        private final ByteBuffer entero = ByteBuffer.allocate(Integer.BYTES);
+
+        Huella() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 no disponible", e);
+            }
+        }
+
+        void entero(int valor) {
+            entero.clear();
+            digest.update(entero.putInt(valor).array());
+        }
+
+        void texto(String valor) {
+            if (valor == null) {
+                entero(-1);
+                return;
+            }
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            entero(bytes.length);
+            digest.update(bytes);
+        }
+
+        void lista(List<String> valores) {
+            entero(valores.size());
+            for (String valor : valores) {
+                texto(valor);
+            }
+        }
+
+        String hex() {
+            StringBuilder sb = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package src;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Senal para detener una generacion en curso. La estrategia la consulta en sus ciclos
+ * largos y, al detenerse, completa el horario con la mejor solucion encontrada hasta ese
+ * momento (no lo descarta).
+ */
+public class CancelacionGeneracion implements BooleanSupplier {
+
+    private volatile boolean cancelada;
+
+    /** Pide detener la generacion; puede llamarse desde cualquier hilo. */
+    public void cancelar() {
+        cancelada = true;
+    }
+
+    public boolean isCancelada() {
+        return cancelada;
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return cancelada;
+    }
+}
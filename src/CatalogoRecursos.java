@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -25,6 +26,20 @@ public class CatalogoRecursos {
     private final Map<String, Materia> materias = new ConcurrentHashMap<>();
     private final Map<String, AsignacionAcademica> asignaciones = new ConcurrentHashMap<>();
     private final Map<String, List<String>> asignacionABloques = new ConcurrentHashMap<>();
+    private final List<CambioListener> cambioListeners = new CopyOnWriteArrayList<>();
+
+    /** Tipo de dato del catalogo que cambio. */
+    public enum Entidad { PROFESOR, SALON, GRUPO, MATERIA, ASIGNACION, BLOQUE, TODO }
+
+    /** Observa altas, modificaciones y bajas del catalogo (p. ej. para el autoguardado). */
+    public interface CambioListener {
+        /**
+         * Se invoca despues de cada cambio.
+         * @param entidad tipo de dato afectado ({@code TODO} = se reemplazo el catalogo completo)
+         * @param id ID del dato; si ya no esta en el catalogo fue eliminado (null para {@code TODO})
+         */
+        void onCatalogoCambiado(Entidad entidad, String id);
+    }
 
     private CatalogoRecursos() {
         inicializarMateriasBase();
@@ -70,6 +85,41 @@ public class CatalogoRecursos {
         return instance;
     }
 
+    /**
+     * Crea un catalogo nuevo, independiente de la instancia unica (p. ej. para generar
+     * varios proyectos en paralelo sin interfaz).
+     */
+    public static CatalogoRecursos crearIndependiente() {
+        return new CatalogoRecursos();
+    }
+
+    /**
+     * Registra un listener de cambios del catalogo.
+     */
+    public void addCambioListener(CambioListener listener) {
+        if (!cambioListeners.contains(listener)) {
+            cambioListeners.add(listener);
+        }
+    }
+
+    /**
+     * Desregistra un listener de cambios del catalogo.
+     */
+    public void removeCambioListener(CambioListener listener) {
+        cambioListeners.remove(listener);
+    }
+
+    private void notificarCambio(Entidad entidad, String id) {
+        for (CambioListener listener : cambioListeners) {
+            try {
+                listener.onCatalogoCambiado(entidad, id);
+            } catch (Exception e) {
+                System.err.println("Error notificando cambio del catalogo: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
     // --- PROFESORES ---
 
     /**
@@ -77,6 +127,7 @@ public class CatalogoRecursos {
      */
     public void addProfesor(Profesor profesor) {
         profesores.put(profesor.getId(), profesor);
+        notificarCambio(Entidad.PROFESOR, profesor.getId());
     }
 
     /**
@@ -85,6 +136,7 @@ public class CatalogoRecursos {
     public void removeProfesor(String id) {
         profesores.remove(id);
         eliminarAsignaciones(asignacion -> id != null && id.equals(asignacion.getProfesorId()));
+        notificarCambio(Entidad.PROFESOR, id);
     }
 
     /**
@@ -107,7 +159,10 @@ public class CatalogoRecursos {
     /**
      * Agrega o reemplaza un salon.
      */
-    public void addSalon(Salon salon) { salones.put(salon.getId(), salon); }
+    public void addSalon(Salon salon) {
+        salones.put(salon.getId(), salon);
+        notificarCambio(Entidad.SALON, salon.getId());
+    }
 
     /**
      * Elimina un salon y limpia asignaciones que lo usen.
@@ -115,6 +170,7 @@ public class CatalogoRecursos {
     public void removeSalon(String id) {
         salones.remove(id);
         eliminarAsignaciones(asignacion -> id != null && id.equals(asignacion.getSalonId()));
+        notificarCambio(Entidad.SALON, id);
     }
 
     /**
@@ -137,7 +193,10 @@ public class CatalogoRecursos {
     /**
      * Agrega o reemplaza un grupo.
      */
-    public void addGrupo(GrupoEstudiantes grupo) { grupos.put(grupo.getId(), grupo); }
+    public void addGrupo(GrupoEstudiantes grupo) {
+        grupos.put(grupo.getId(), grupo);
+        notificarCambio(Entidad.GRUPO, grupo.getId());
+    }
 
     /**
      * Elimina un grupo y limpia asignaciones que lo usen.
@@ -145,6 +204,7 @@ public class CatalogoRecursos {
     public void removeGrupo(String id) {
         grupos.remove(id);
         eliminarAsignaciones(asignacion -> id != null && id.equals(asignacion.getGrupoId()));
+        notificarCambio(Entidad.GRUPO, id);
     }
 
     /**
@@ -178,6 +238,7 @@ public class CatalogoRecursos {
      */
     public void addMateria(Materia materia) {
         materias.put(materia.getId(), materia);
+        notificarCambio(Entidad.MATERIA, materia.getId());
     }
 
     /**
@@ -185,6 +246,7 @@ public class CatalogoRecursos {
      */
     public void removeMateria(String id) {
         materias.remove(id);
+        notificarCambio(Entidad.MATERIA, id);
     }
 
     /**
@@ -215,6 +277,7 @@ public class CatalogoRecursos {
         Materia materia = materias.get(materiaId);
         if (materia != null) {
             materia.setHorasSugeridas(horas);
+            notificarCambio(Entidad.MATERIA, materiaId);
         }
     }
 
@@ -226,6 +289,7 @@ public class CatalogoRecursos {
     public AsignacionAcademica addAsignacionAcademica(AsignacionAcademica asignacion) {
         asignaciones.put(asignacion.getId(), asignacion);
         reconstruirBloquesDeAsignacion(asignacion);
+        notificarCambio(Entidad.ASIGNACION, asignacion.getId());
         return asignacion;
     }
 
@@ -236,6 +300,7 @@ public class CatalogoRecursos {
         removeBloquesPorAsignacion(asignacionActualizada.getId());
         asignaciones.put(asignacionActualizada.getId(), asignacionActualizada);
         reconstruirBloquesDeAsignacion(asignacionActualizada);
+        notificarCambio(Entidad.ASIGNACION, asignacionActualizada.getId());
     }
 
     /**
@@ -244,6 +309,7 @@ public class CatalogoRecursos {
     public void removeAsignacion(String id) {
         removeBloquesPorAsignacion(id);
         asignaciones.remove(id);
+        notificarCambio(Entidad.ASIGNACION, id);
     }
 
     /**
@@ -278,12 +344,18 @@ public class CatalogoRecursos {
     /**
      * Agrega o reemplaza un bloque de horario.
      */
-    public void addBloqueHorario(BloqueHorario bloque) { bloques.put(bloque.getId(), bloque); }
+    public void addBloqueHorario(BloqueHorario bloque) {
+        bloques.put(bloque.getId(), bloque);
+        notificarCambio(Entidad.BLOQUE, bloque.getId());
+    }
 
     /**
      * Elimina un bloque por ID.
      */
-    public void removeBloqueHorario(String id) { bloques.remove(id); }
+    public void removeBloqueHorario(String id) {
+        bloques.remove(id);
+        notificarCambio(Entidad.BLOQUE, id);
+    }
 
     /**
      * Obtiene un bloque por ID.
@@ -338,6 +410,7 @@ public class CatalogoRecursos {
         asignaciones.clear();
         materias.clear();
         inicializarMateriasBase();
+        notificarCambio(Entidad.TODO, null);
     }
 
     /**
@@ -384,6 +457,7 @@ public class CatalogoRecursos {
             asignacionesDatos.forEach(asignacion ->
                 asignacionABloques.put(asignacion.getId(), new ArrayList<>(asignacion.getBloqueIds())));
         }
+        notificarCambio(Entidad.TODO, null);
     }
 
     /**
@@ -412,7 +486,7 @@ public class CatalogoRecursos {
      */
     public void removeBloquesByProfesorId(String id) {
         List<String> idsARemover = bloques.values().stream().filter(b -> id != null && id.equals(b.getProfesorId())).map(BloqueHorario::getId).collect(Collectors.toList());
-        idsARemover.forEach(bloques::remove);
+        idsARemover.forEach(this::removeBloqueHorario);
     }
 
     /**
@@ -455,6 +529,6 @@ public class CatalogoRecursos {
         if (ids == null) {
             return;
         }
-        ids.forEach(bloques::remove);
+        ids.forEach(this::removeBloqueHorario);
     }
 }
@@ -0,0 +1,65 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Construye las aristas de una grafica de conflictos agrupando los bloques
+ * por profesor, salon y grupo. Solo se comparan pares dentro de cada cubeta,
+ * ya que dos bloques sin recursos en comun nunca generan conflicto.
+ */
+public class ConstructorGraficaPorRecursos {
+
+    /**
+     * Genera en la grafica las mismas aristas que la comparacion de todos los pares,
+     * con costo proporcional a la suma de los cuadrados del tamano de cada cubeta.
+     */
+    public void construir(AdaptadorGraficaDeHorarios grafica) {
+        List<BloqueHorario> bloques = grafica.obtenerTodosLosBloques();
+
+        conectarCubetas(grafica, agrupar(bloques, BloqueHorario::getProfesorId));
+        conectarCubetas(grafica, agrupar(bloques, BloqueHorario::getSalonId));
+        conectarCubetas(grafica, agrupar(bloques, BloqueHorario::getGrupoId));
+    }
+
+    /**
+     * Agrupa los bloques por la clave indicada, ignorando los que no la tienen.
+     */
+    private Map<String, List<BloqueHorario>> agrupar(List<BloqueHorario> bloques,
+                                                     Function<BloqueHorario, String> clave) {
+        Map<String, List<BloqueHorario>> cubetas = new LinkedHashMap<>();
+        for (BloqueHorario bloque : bloques) {
+            String valor = clave.apply(bloque);
+            if (valor != null) {
+                cubetas.computeIfAbsent(valor, k -> new ArrayList<>()).add(bloque);
+            }
+        }
+        return cubetas;
+    }
+
+    /**
+     * Compara los pares de cada cubeta y agrega arista cuando hay conflicto.
+     */
+    private void conectarCubetas(AdaptadorGraficaDeHorarios grafica,
+                                 Map<String, List<BloqueHorario>> cubetas) {
+        for (List<BloqueHorario> cubeta : cubetas.values()) {
+            for (int i = 0; i < cubeta.size(); i++) {
+                BloqueHorario a = cubeta.get(i);
+                for (int j = i + 1; j < cubeta.size(); j++) {
+                    BloqueHorario b = cubeta.get(j);
+
+                    // El par pudo conectarse ya desde otra cubeta (p. ej. mismo profesor y grupo).
+                    if (grafica.sonAdyacentes(a.getId(), b.getId())) {
+                        continue;
+                    }
+                    if (grafica.hayConflicto(a, b)) {
+                        grafica.agregarArista(a.getId(), b.getId());
+                    }
+                }
+            }
+        }
+    }
+}
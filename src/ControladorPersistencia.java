@@ -1,22 +1,30 @@
 package src;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
  * Controla la persistencia de horarios y proyectos en disco
- * (serializacion sencilla a JSON).
+ * (serializacion sencilla a JSON, o binaria para proyectos con extension .hrb).
  */
 public class ControladorPersistencia {
 
+    /** Extension de los proyectos en formato binario; el resto se guarda como JSON. */
+    public static final String EXTENSION_BINARIA = ".hrb";
+
     private static final Path ARCHIVO_POR_DEFECTO =
             Paths.get(System.getProperty("user.dir"), "horario_guardado.json");
 
@@ -40,8 +48,9 @@ public class ControladorPersistencia {
 
         try {
             Files.createDirectories(destino.getParent());
-            String json = serializarHorario(horario);
-            Files.writeString(destino, json, StandardCharsets.UTF_8);
+            try (Writer escritor = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+                escribirHorario(horario, escritor);
+            }
         } catch (IOException e) {
             throw new RuntimeException("No se pudo guardar el horario en " + destino, e);
         }
@@ -58,16 +67,16 @@ public class ControladorPersistencia {
         if (!Files.exists(origen)) {
             throw new IllegalArgumentException("No se encontro el archivo: " + ruta);
         }
-        try {
-            String data = Files.readString(origen, StandardCharsets.UTF_8);
-            return deserializarHorario(data);
+        try (Reader lector = Files.newBufferedReader(origen, StandardCharsets.UTF_8)) {
+            return leerHorario(lector);
         } catch (IOException e) {
             throw new RuntimeException("No se pudo leer el archivo " + ruta, e);
         }
     }
 
     /**
-     * Guarda los datos completos de proyecto (JSON) en la ruta indicada.
+     * Guarda los datos completos de proyecto en la ruta indicada: en formato binario si
+     * termina en {@value #EXTENSION_BINARIA}, si no como JSON.
      */
     public void guardarProyecto(ProyectoDatos datos, String ruta) throws IOException {
         if (datos == null) {
@@ -81,11 +90,20 @@ public class ControladorPersistencia {
         if (parent != null) {
             Files.createDirectories(parent);
         }
-        Files.writeString(destino, datos.toJson(), StandardCharsets.UTF_8);
+        if (esBinario(destino)) {
+            try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(destino))) {
+                datos.escribirBinario(salida);
+            }
+            return;
+        }
+        try (Writer escritor = Files.newBufferedWriter(destino, StandardCharsets.UTF_8)) {
+            datos.escribirJson(escritor);
+        }
     }
 
     /**
-     * Carga un proyecto desde JSON en disco.
+     * Carga un proyecto desde disco. Los archivos {@value #EXTENSION_BINARIA} se mapean en
+     * memoria y se leen sin copiarlos ni interpretar texto; los demas se leen como JSON.
      */
     public ProyectoDatos cargarProyecto(String ruta) throws IOException {
         if (ruta == null || ruta.isBlank()) {
@@ -95,167 +113,107 @@ public class ControladorPersistencia {
         if (!Files.exists(origen)) {
             throw new IllegalArgumentException("No se encontro el archivo: " + ruta);
         }
-        String contenido = Files.readString(origen, StandardCharsets.UTF_8);
-        return ProyectoDatos.fromJson(contenido);
+        if (esBinario(origen)) {
+            try (FileChannel canal = FileChannel.open(origen, StandardOpenOption.READ)) {
+                return ProyectoDatos.leerBinario(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+            }
+        }
+        try (Reader lector = Files.newBufferedReader(origen, StandardCharsets.UTF_8)) {
+            return ProyectoDatos.leerJson(lector);
+        }
+    }
+
+    /** True si la ruta corresponde a un proyecto en formato binario. */
+    public static boolean esBinario(Path ruta) {
+        return ruta.getFileName() != null
+                && ruta.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(EXTENSION_BINARIA);
     }
 
     /**
-     * Serializa un HorarioSemana a un JSON simple.
+     * Escribe un HorarioSemana como JSON simple directamente en el destino. Solo se
+     * escapan comillas y barras invertidas, como en el formato original.
      */
-    private String serializarHorario(HorarioSemana horario) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{\"bloques\":[");
-        List<BloqueHorario> bloques = horario.getBloques();
-        for (int i = 0; i < bloques.size(); i++) {
-            BloqueHorario bloque = bloques.get(i);
-            sb.append("{")
-                    .append("\"id\":\"").append(escape(bloque.getId())).append("\",")
-                    .append("\"materia\":\"").append(escape(nullToEmpty(bloque.getMateria()))).append("\",")
-                    .append("\"dia\":\"").append(escape(nullToEmpty(bloque.getDia()))).append("\",")
-                    .append("\"horaInicio\":\"").append(formatHora(bloque.getHoraInicio())).append("\",")
-                    .append("\"horaFin\":\"").append(formatHora(bloque.getHoraFin())).append("\",")
-                    .append("\"profesorId\":\"").append(escape(nullToEmpty(bloque.getProfesorId()))).append("\",")
-                    .append("\"salonId\":\"").append(escape(nullToEmpty(bloque.getSalonId()))).append("\",")
-                    .append("\"grupoId\":\"").append(escape(nullToEmpty(bloque.getGrupoId()))).append("\",")
-                    .append("\"profesor\":\"").append(escape(nullToEmpty(bloque.getProfesor()))).append("\",")
-                    .append("\"salon\":\"").append(escape(nullToEmpty(bloque.getSalon()))).append("\",")
-                    .append("\"grupo\":\"").append(escape(nullToEmpty(bloque.getGrupo()))).append("\"")
-                    .append("}");
-            if (i < bloques.size() - 1) {
-                sb.append(",");
-            }
-        }
-        sb.append("]}");
-        return sb.toString();
+    private void escribirHorario(HorarioSemana horario, Writer destino) throws IOException {
+        EscritorJson json = new EscritorJson(destino, false);
+        json.inicioObjeto().nombre("bloques").inicioArreglo();
+        for (BloqueHorario bloque : horario.getBloques()) {
+            json.inicioObjeto()
+                    .campo("id", bloque.getId())
+                    .campo("materia", nullToEmpty(bloque.getMateria()))
+                    .campo("dia", nullToEmpty(bloque.getDia()))
+                    .campo("horaInicio", formatHora(bloque.getHoraInicio()))
+                    .campo("horaFin", formatHora(bloque.getHoraFin()))
+                    .campo("profesorId", nullToEmpty(bloque.getProfesorId()))
+                    .campo("salonId", nullToEmpty(bloque.getSalonId()))
+                    .campo("grupoId", nullToEmpty(bloque.getGrupoId()))
+                    .campo("profesor", nullToEmpty(bloque.getProfesor()))
+                    .campo("salon", nullToEmpty(bloque.getSalon()))
+                    .campo("grupo", nullToEmpty(bloque.getGrupo()))
+                    .finObjeto();
+        }
+        json.finArreglo().finObjeto();
+        json.flush();
     }
 
     /**
-     * Deserializa un JSON simple a HorarioSemana.
+     * Lee un HorarioSemana en una sola pasada: cada bloque del arreglo "bloques" se crea y
+     * se ubica en cuanto se terminan de leer sus campos. Tambien acepta el arreglo de
+     * bloques como raiz; un archivo vacio da un horario vacio.
      */
-    private HorarioSemana deserializarHorario(String json) {
+    private HorarioSemana leerHorario(Reader origen) throws IOException {
         HorarioSemana horario = new HorarioSemana();
         Map<String, HorarioDia> diasCreados = new HashMap<>();
-        for (Map<String, String> bloqueData : extraerObjetos(json)) {
-            LocalTime inicio = parseHora(bloqueData.get("horaInicio"));
-            LocalTime fin = parseHora(bloqueData.get("horaFin"));
-            String materia = bloqueData.getOrDefault("materia", "");
-            String profesorId = emptyToNull(bloqueData.get("profesorId"));
-            String salonId = emptyToNull(bloqueData.get("salonId"));
-            String grupoId = emptyToNull(bloqueData.get("grupoId"));
-
-            BloqueHorario bloque = new BloqueHorario(inicio, fin, materia,
-                    profesorId, salonId, grupoId, true);
-            bloque.setProfesor(emptyToNull(bloqueData.get("profesor")));
-            bloque.setSalon(emptyToNull(bloqueData.get("salon")));
-            bloque.setGrupo(emptyToNull(bloqueData.get("grupo")));
-
-            String diaAsignado = emptyToNull(bloqueData.get("dia"));
-            if (diaAsignado == null) {
-                horario.agregarBloqueSinAsignar(bloque);
-            } else {
-                HorarioDia dia = diasCreados.computeIfAbsent(diaAsignado, nombre -> {
-                    HorarioDia nuevo = new HorarioDia(nombre);
-                    horario.agregarDia(nuevo);
-                    return nuevo;
-                });
-                dia.agregar(bloque);
-            }
+        LectorJson lector = new LectorJson(origen);
+        LectorJson.Elemento bloque = () -> agregarBloqueLeido(leerCamposBloque(lector), horario, diasCreados);
+
+        switch (lector.siguienteTipo()) {
+            case OBJETO -> lector.objeto(nombre -> {
+                if (nombre.equals("bloques")) {
+                    lector.arreglo(bloque);
+                } else {
+                    lector.saltar();
+                }
+            });
+            case ARREGLO -> lector.arreglo(bloque);
+            case FIN -> { }
+            default -> lector.saltar();
         }
         return horario;
     }
 
-    private List<Map<String, String>> extraerObjetos(String json) {
-        List<Map<String, String>> objetos = new ArrayList<>();
-        if (json == null || json.isBlank()) {
-            return objetos;
-        }
-        int start = json.indexOf('[');
-        int end = json.lastIndexOf(']');
-        if (start == -1 || end == -1 || start >= end) {
-            return objetos;
-        }
-        String contenido = json.substring(start + 1, end);
-        int nivel = 0;
-        StringBuilder actual = new StringBuilder();
-        for (int i = 0; i < contenido.length(); i++) {
-            char c = contenido.charAt(i);
-            if (c == '{') {
-                nivel++;
-                if (nivel == 1) {
-                    actual.setLength(0);
-                    continue;
-                }
-            }
-            if (c == '}') {
-                nivel--;
-                if (nivel == 0) {
-                    objetos.add(parseObjeto(actual.toString()));
-                    continue;
-                }
-            }
-            if (nivel >= 1) {
-                actual.append(c);
-            }
-        }
-        return objetos;
+    /** Campos de texto de un bloque, en un mapa pequeno por objeto. */
+    private Map<String, String> leerCamposBloque(LectorJson lector) throws IOException {
+        Map<String, String> valores = new HashMap<>();
+        lector.objeto(nombre -> valores.put(nombre, lector.cadena()));
+        return valores;
     }
 
-    private Map<String, String> parseObjeto(String contenido) {
-        Map<String, String> valores = new HashMap<>();
-        int i = 0;
-        while (i < contenido.length()) {
-            while (i < contenido.length() && (Character.isWhitespace(contenido.charAt(i)) || contenido.charAt(i) == ',')) {
-                i++;
-            }
-            if (i >= contenido.length() || contenido.charAt(i) != '"') {
-                break;
-            }
-            int finClave = contenido.indexOf('"', i + 1);
-            if (finClave == -1) {
-                break;
-            }
-            String clave = unescape(contenido.substring(i + 1, finClave));
-            i = finClave + 1;
-            int idxDosPuntos = contenido.indexOf(':', i);
-            if (idxDosPuntos == -1) {
-                break;
-            }
-            i = idxDosPuntos + 1;
-            while (i < contenido.length() && Character.isWhitespace(contenido.charAt(i))) {
-                i++;
-            }
-            String valor;
-            if (i < contenido.length() && contenido.charAt(i) == '"') {
-                i++; 
-                StringBuilder sb = new StringBuilder();
-                boolean escapar = false;
-                while (i < contenido.length()) {
-                    char c = contenido.charAt(i);
-                    if (escapar) {
-                        sb.append(c);
-                        escapar = false;
-                    } else if (c == '\\') {
-                        escapar = true;
-                    } else if (c == '"') {
-                        break;
-                    } else {
-                        sb.append(c);
-                    }
-                    i++;
-                }
-                valor = unescape(sb.toString());
-                i++; 
-            } else {
-                int finValor = i;
-                while (finValor < contenido.length() && contenido.charAt(finValor) != ',') {
-                    finValor++;
-                }
-                valor = contenido.substring(i, finValor).trim();
-                i = finValor;
-            }
-            valores.put(clave, valor);
+    private void agregarBloqueLeido(Map<String, String> bloqueData, HorarioSemana horario,
+                                    Map<String, HorarioDia> diasCreados) {
+        LocalTime inicio = parseHora(bloqueData.get("horaInicio"));
+        LocalTime fin = parseHora(bloqueData.get("horaFin"));
+        String materia = bloqueData.getOrDefault("materia", "");
+        String profesorId = emptyToNull(bloqueData.get("profesorId"));
+        String salonId = emptyToNull(bloqueData.get("salonId"));
+        String grupoId = emptyToNull(bloqueData.get("grupoId"));
+
+        BloqueHorario bloque = new BloqueHorario(inicio, fin, materia,
+                profesorId, salonId, grupoId, true);
+        bloque.setProfesor(emptyToNull(bloqueData.get("profesor")));
+        bloque.setSalon(emptyToNull(bloqueData.get("salon")));
+        bloque.setGrupo(emptyToNull(bloqueData.get("grupo")));
+
+        String diaAsignado = emptyToNull(bloqueData.get("dia"));
+        if (diaAsignado == null) {
+            horario.agregarBloqueSinAsignar(bloque);
+        } else {
+            HorarioDia dia = diasCreados.computeIfAbsent(diaAsignado, nombre -> {
+                HorarioDia nuevo = new HorarioDia(nombre);
+                horario.agregarDia(nuevo);
+                return nuevo;
+            });
+            dia.agregar(bloque);
         }
-        return valores;
     }
 
     private String formatHora(LocalTime hora) {
@@ -277,12 +235,4 @@ public class ControladorPersistencia {
     private String emptyToNull(String valor) {
         return (valor == null || valor.isBlank()) ? null : valor;
     }
-
-    private String escape(String valor) {
-        return valor.replace("\\", "\\\\").replace("\"", "\\\"");
-    }
-
-    private String unescape(String valor) {
-        return valor.replace("\\\"", "\"").replace("\\\\", "\\");
-    }
 }
@@ -0,0 +1,105 @@
+package src;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Frame;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingConstants;
+
+/**
+ * Dialogo modal que muestra el avance real de una generacion (fase, porcentaje y
+ * conflictos de la mejor solucion) y permite detenerla conservando lo mejor hallado.
+ * Sus metodos deben llamarse desde el hilo de eventos; los avisos del generador llegan
+ * a traves de {@link Aviso} con publish/process de un SwingWorker.
+ */
+public class DialogoProgresoGeneracion extends JDialog {
+
+    private final CancelacionGeneracion cancelacion = new CancelacionGeneracion();
+    private final JProgressBar barra = new JProgressBar(0, 100);
+    private final JLabel lblFase = new JLabel("Preparando...", SwingConstants.CENTER);
+    private final JButton btnDetener = new JButton("Detener y conservar mejor");
+
+    public DialogoProgresoGeneracion(Frame padre, String titulo) {
+        super(padre, "Procesando...", true);
+
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        panel.add(new JLabel(titulo, SwingConstants.CENTER), BorderLayout.NORTH);
+
+        barra.setStringPainted(true);
+        JPanel centro = new JPanel(new BorderLayout(5, 5));
+        centro.add(barra, BorderLayout.CENTER);
+        centro.add(lblFase, BorderLayout.SOUTH);
+        panel.add(centro, BorderLayout.CENTER);
+
+        btnDetener.addActionListener(e -> detener());
+        JPanel botones = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        botones.add(btnDetener);
+        panel.add(botones, BorderLayout.SOUTH);
+
+        add(panel);
+        setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                detener();
+            }
+        });
+        pack();
+        setSize(Math.max(getWidth(), 380), getHeight());
+        setLocationRelativeTo(padre);
+    }
+
+    /** Token que la estrategia consulta; se activa con el boton o al cerrar el dialogo. */
+    public CancelacionGeneracion getCancelacion() {
+        return cancelacion;
+    }
+
+    /** Muestra el aviso mas reciente. */
+    public void mostrar(Aviso aviso) {
+        barra.setValue(aviso.porcentaje);
+        if (cancelacion.isCancelada()) {
+            return;
+        }
+        String texto = nombreFase(aviso.fase);
+        if (aviso.conflictos >= 0) {
+            texto += " - mejor solución: " + aviso.conflictos + " conflictos";
+        }
+        lblFase.setText(texto);
+    }
+
+    private void detener() {
+        cancelacion.cancelar();
+        btnDetener.setEnabled(false);
+        lblFase.setText("Deteniendo y conservando la mejor solución...");
+    }
+
+    private static String nombreFase(MetricasGeneracion.Fase fase) {
+        return switch (fase) {
+            case GRAFICA -> "Construyendo gráfica de conflictos";
+            case COLORACION -> "Asignando días";
+            case HORAS -> "Asignando horas";
+            case VALIDACION -> "Validando";
+        };
+    }
+
+    /** Aviso de avance inmutable, para pasarlo del hilo del generador al de eventos. */
+    public static final class Aviso {
+        private final MetricasGeneracion.Fase fase;
+        private final int porcentaje;
+        private final int conflictos;
+
+        public Aviso(MetricasGeneracion.Fase fase, int porcentaje, int conflictos) {
+            this.fase = fase;
+            this.porcentaje = porcentaje;
+            this.conflictos = conflictos;
+        }
+    }
+}
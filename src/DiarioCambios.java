@@ -0,0 +1,681 @@
+package src;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Autoguardado por diario de cambios (write-ahead log). Cada alta, modificacion o baja del
+ * catalogo y cada cambio de posicion de un bloque en el gestor se agrega como una linea
+ * JSON al segmento actual, en lugar de reescribir el proyecto completo.
+ * <p>
+ * Los registros se arman en el hilo que hace el cambio y se escriben en un hilo propio, que
+ * agrupa lo pendiente y hace un solo {@code force} por lote. Cuando un segmento supera su
+ * limite se cierra y otro hilo lo compacta: parte de la ultima base (.hrb), le aplica los
+ * segmentos cerrados y guarda una base nueva. Al iniciar, {@link #recuperar(Path)} carga la
+ * ultima base y aplica los segmentos posteriores.
+ * <p>
+ * Archivos en el directorio: {@code base-N.hrb} (estado al empezar el segmento N) y
+ * {@code diario-N.log} (cambios del segmento N).
+ */
+public class DiarioCambios implements CatalogoRecursos.CambioListener, GestorHorarios.HorarioChangeListener,
+        AutoCloseable {
+
+    /** Tamano a partir del cual se cierra el segmento y se compacta. */
+    public static final long LIMITE_SEGMENTO_POR_DEFECTO = 1024 * 1024;
+    /** Espera maxima para juntar registros antes de forzarlos a disco. */
+    private static final long ESPERA_LOTE_MS = 100;
+
+    private static final String PREFIJO_BASE = "base-";
+    private static final String PREFIJO_SEGMENTO = "diario-";
+    private static final String EXTENSION_SEGMENTO = ".log";
+
+    private final Path directorio;
+    private final Supplier<ProyectoDatos> estadoActual;
+    private final long limiteSegmento;
+    private final BlockingQueue<Object> pendientes = new LinkedBlockingQueue<>();
+    private final Thread escritor;
+    private final ExecutorService compactador;
+
+    private volatile CatalogoRecursos catalogo;
+    private volatile GestorHorarios gestor;
+
+    // Solo los usa el hilo escritor.
+    private long segmento;
+    private FileChannel canal;
+    private CompletableFuture<Void> compactacion = CompletableFuture.completedFuture(null);
+    private volatile IOException errorEscritura;
+
+    /** Pide reemplazar la base por un estado completo (p. ej. al abrir otro proyecto). */
+    private static final class NuevaBase {
+        private final ProyectoDatos datos;
+
+        private NuevaBase(ProyectoDatos datos) {
+            this.datos = datos;
+        }
+    }
+
+    /** Marca que se completa cuando todo lo anterior esta en disco (o compactado). */
+    private static final class Marca {
+        private final boolean compactar;
+        private final CompletableFuture<Void> hecho = new CompletableFuture<>();
+
+        private Marca(boolean compactar) {
+            this.compactar = compactar;
+        }
+    }
+
+    private static final Object FIN = new Object();
+
+    /**
+     * Abre un diario nuevo en {@code directorio} tomando el estado actual como base; borra
+     * lo que hubiera de una sesion anterior (recuperarlo antes con {@link #recuperar(Path)}).
+     * @param estadoActual copia del proyecto sin efectos secundarios; se usa como base y
+     *                     cada vez que el catalogo se reemplaza completo
+     */
+    public DiarioCambios(Path directorio, Supplier<ProyectoDatos> estadoActual) throws IOException {
+        this(directorio, estadoActual, LIMITE_SEGMENTO_POR_DEFECTO);
+    }
+
+    /** Igual que el anterior, con el tamano de segmento que dispara la compactacion. */
+    public DiarioCambios(Path directorio, Supplier<ProyectoDatos> estadoActual, long limiteSegmento) throws IOException {
+        if (directorio == null || estadoActual == null) {
+            throw new IllegalArgumentException("Directorio y estado actual son obligatorios");
+        }
+        this.directorio = directorio;
+        this.estadoActual = estadoActual;
+        this.limiteSegmento = limiteSegmento;
+        Files.createDirectories(directorio);
+
+        long ultimo = -1;
+        for (long numero : archivos(directorio, PREFIJO_BASE, ControladorPersistencia.EXTENSION_BINARIA).keySet()) {
+            ultimo = Math.max(ultimo, numero);
+        }
+        for (long numero : archivos(directorio, PREFIJO_SEGMENTO, EXTENSION_SEGMENTO).keySet()) {
+            ultimo = Math.max(ultimo, numero);
+        }
+        segmento = ultimo;
+        nuevaBase(estadoActual.get());
+
+        compactador = Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "compactador-diario");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        escritor = new Thread(this::escribirPendientes, "diario-cambios");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /** Empieza a registrar los cambios del catalogo y del gestor. */
+    public void conectar(CatalogoRecursos catalogo, GestorHorarios gestor) {
+        this.catalogo = catalogo;
+        this.gestor = gestor;
+        catalogo.addCambioListener(this);
+        gestor.addListener(this);
+    }
+
+    /** Deja de registrar cambios (no cierra el diario). */
+    public void desconectar() {
+        if (catalogo != null) {
+            catalogo.removeCambioListener(this);
+        }
+        if (gestor != null) {
+            gestor.removeListener(this);
+        }
+    }
+
+    /** Registra la configuracion del proyecto (no la notifica el catalogo). */
+    public void registrarConfiguracion(ConfiguracionProyecto configuracion) {
+        encolar(json -> {
+            json.campo("entidad", "configuracion").nombre("datos");
+            ProyectoDatos.escribirConfiguracion(json, configuracion);
+        });
+    }
+
+    @Override
+    public void onCatalogoCambiado(CatalogoRecursos.Entidad entidad, String id) {
+        CatalogoRecursos fuente = catalogo;
+        if (fuente == null) {
+            return;
+        }
+        switch (entidad) {
+            case TODO -> pendientes.add(new NuevaBase(estadoActual.get()));
+            case PROFESOR -> registrar("profesor", id, fuente.obtenerProfesorPorId(id),
+                    ProyectoDatos::escribirProfesor);
+            case SALON -> registrar("salon", id, fuente.obtenerSalonPorId(id),
+                    ProyectoDatos::escribirSalon);
+            case GRUPO -> registrar("grupo", id, fuente.obtenerGrupoPorId(id),
+                    ProyectoDatos::escribirGrupo);
+            case MATERIA -> registrar("materia", id, fuente.obtenerMateriaPorId(id),
+                    ProyectoDatos::escribirMateria);
+            case ASIGNACION -> registrar("asignacion", id, buscarAsignacion(fuente, id), (json, asignacion) -> {
+                ProyectoDatos.escribirAsignacion(json, asignacion);
+                json.campo("bloques", String.join("|", asignacion.getBloqueIds()));
+            });
+            case BLOQUE -> registrar("bloque", id, fuente.getBloqueHorarioById(id),
+                    (json, bloque) -> ProyectoDatos.escribirBloque(json, bloque, null));
+        }
+    }
+
+    @Override
+    public void onBloquesChanged(String grupoId, GestorHorarios.TipoCambio tipoCambio, BloqueHorario bloque) {
+        GestorHorarios fuente = gestor;
+        if (fuente == null || tipoCambio == GestorHorarios.TipoCambio.BLOQUE_ELIMINADO) {
+            // Quitar un bloque del horario no lo quita del proyecto; su baja la notifica el catalogo.
+            return;
+        }
+        if (bloque != null) {
+            registrarPosicion(bloque);
+            return;
+        }
+        Collection<String> grupos = grupoId != null ? List.of(grupoId) : fuente.getGruposConHorarios();
+        for (String grupo : grupos) {
+            for (BloqueHorario afectado : fuente.getBloquesGrupo(grupo)) {
+                registrarPosicion(afectado);
+            }
+        }
+    }
+
+    /** Espera a que todo lo registrado hasta ahora este escrito y forzado a disco. */
+    public void sincronizar() throws IOException {
+        esperar(new Marca(false));
+    }
+
+    /**
+     * Cierra el segmento actual y espera a que se compacte en una base nueva (normalmente
+     * ocurre solo, al superar el limite del segmento).
+     */
+    public void compactar() throws IOException {
+        esperar(new Marca(true));
+    }
+
+    /** Escribe lo pendiente, espera la compactacion en curso y detiene los hilos. */
+    @Override
+    public void close() throws IOException {
+        desconectar();
+        if (!escritor.isAlive()) {
+            return;
+        }
+        pendientes.add(FIN);
+        try {
+            escritor.join();
+            compactador.shutdown();
+            compactador.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Cierre del diario interrumpido", e);
+        }
+        if (errorEscritura != null) {
+            throw errorEscritura;
+        }
+    }
+
+    /**
+     * Reconstruye el ultimo estado guardado en {@code directorio}: la base mas reciente mas
+     * los cambios de los segmentos posteriores. Una linea final incompleta (corte durante
+     * la escritura) se descarta.
+     * @return vacio si no hay ninguna base
+     */
+    public static Optional<ProyectoDatos> recuperar(Path directorio) throws IOException {
+        if (directorio == null || !Files.isDirectory(directorio)) {
+            return Optional.empty();
+        }
+        TreeMap<Long, Path> bases = archivos(directorio, PREFIJO_BASE, ControladorPersistencia.EXTENSION_BINARIA);
+        if (bases.isEmpty()) {
+            return Optional.empty();
+        }
+        Map.Entry<Long, Path> base = bases.lastEntry();
+        Reproduccion reproduccion = new Reproduccion(leerBase(base.getValue()));
+        for (Path archivo : archivos(directorio, PREFIJO_SEGMENTO, EXTENSION_SEGMENTO)
+                .tailMap(base.getKey(), true).values()) {
+            reproduccion.aplicarSegmento(archivo);
+        }
+        return Optional.of(reproduccion.resultado());
+    }
+
+    // ---------- Registro (hilo que hace el cambio) ----------
+
+    @FunctionalInterface
+    private interface EscritorDatos<T> {
+        void escribir(EscritorJson json, T dato) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Contenido {
+        void escribir(EscritorJson json) throws IOException;
+    }
+
+    private <T> void registrar(String entidad, String id, T dato, EscritorDatos<T> escritorDatos) {
+        if (dato == null) {
+            encolar(json -> json.campo("entidad", entidad).campo("baja", id));
+        } else {
+            encolar(json -> {
+                json.campo("entidad", entidad).nombre("datos");
+                escritorDatos.escribir(json, dato);
+            });
+        }
+    }
+
+    private void registrarPosicion(BloqueHorario bloque) {
+        String dia = bloque.getDia();
+        LocalTime inicio = bloque.getHoraInicio();
+        LocalTime fin = bloque.getHoraFin();
+        encolar(json -> json.campo("entidad", "posicion")
+                .campo("id", bloque.getId())
+                .campo("dia", dia == null ? "" : dia)
+                .campo("horaInicio", inicio == null ? "" : inicio.toString())
+                .campo("horaFin", fin == null ? "" : fin.toString()));
+    }
+
+    /** Arma la linea del registro y la deja para el hilo escritor. */
+    private void encolar(Contenido contenido) {
+        StringWriter linea = new StringWriter(128);
+        try {
+            EscritorJson json = new EscritorJson(linea);
+            json.inicioObjeto();
+            contenido.escribir(json);
+            json.finObjeto().flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo armar el registro del diario", e);
+        }
+        linea.write('\n');
+        pendientes.add(linea.toString());
+    }
+
+    private static AsignacionAcademica buscarAsignacion(CatalogoRecursos catalogo, String id) {
+        for (AsignacionAcademica asignacion : catalogo.getAsignaciones()) {
+            if (asignacion.getId().equals(id)) {
+                return asignacion;
+            }
+        }
+        return null;
+    }
+
+    private void esperar(Marca marca) throws IOException {
+        if (!escritor.isAlive()) {
+            throw new IllegalStateException("El diario esta cerrado");
+        }
+        pendientes.add(marca);
+        try {
+            marca.hecho.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Espera del diario interrumpida", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+    }
+
+    // ---------- Escritura (hilo del diario) ----------
+
+    /** Junta lo pendiente durante un momento, lo escribe de una vez y lo fuerza a disco. */
+    private void escribirPendientes() {
+        List<Object> lote = new ArrayList<>();
+        StringBuilder texto = new StringBuilder();
+        boolean activo = true;
+        while (activo) {
+            lote.clear();
+            try {
+                lote.add(pendientes.take());
+                long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ESPERA_LOTE_MS);
+                while (!(lote.get(lote.size() - 1) instanceof Marca) && lote.get(lote.size() - 1) != FIN) {
+                    Object siguiente = pendientes.poll(limite - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (siguiente == null) {
+                        break;
+                    }
+                    lote.add(siguiente);
+                }
+            } catch (InterruptedException e) {
+                lote.add(FIN);
+            }
+
+            try {
+                texto.setLength(0);
+                for (Object elemento : lote) {
+                    if (elemento instanceof String linea) {
+                        texto.append(linea);
+                        continue;
+                    }
+                    escribir(texto);
+                    if (elemento instanceof NuevaBase base) {
+                        nuevaBase(base.datos);
+                    } else if (elemento instanceof Marca marca) {
+                        if (marca.compactar) {
+                            rotar().get();
+                        }
+                        marca.hecho.complete(null);
+                    } else if (elemento == FIN) {
+                        activo = false;
+                    }
+                }
+                escribir(texto);
+                if (canal.size() >= limiteSegmento && compactacion.isDone()) {
+                    rotar();
+                }
+            } catch (IOException | InterruptedException | ExecutionException e) {
+                errorEscritura = e instanceof IOException io ? io : new IOException(e);
+                System.err.println("Error escribiendo el diario de cambios: " + e.getMessage());
+                for (Object elemento : lote) {
+                    if (elemento instanceof Marca marca) {
+                        marca.hecho.completeExceptionally(errorEscritura);
+                    }
+                }
+            }
+        }
+        try {
+            compactacion.get();
+            canal.close();
+        } catch (IOException | InterruptedException | ExecutionException e) {
+            System.err.println("Error cerrando el diario de cambios: " + e.getMessage());
+        }
+    }
+
+    /** Agrega el texto al segmento actual y lo fuerza a disco. */
+    private void escribir(StringBuilder texto) throws IOException {
+        if (texto.length() == 0) {
+            return;
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(texto.toString());
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        canal.force(false);
+        texto.setLength(0);
+    }
+
+    /** Guarda {@code datos} como base de un segmento nuevo y borra todo lo anterior. */
+    private void nuevaBase(ProyectoDatos datos) throws IOException {
+        if (canal != null) {
+            canal.close();
+        }
+        segmento++;
+        escribirBase(directorio, segmento, datos);
+        abrirSegmento();
+        borrarAnteriores(directorio, segmento);
+    }
+
+    /** Cierra el segmento actual y compacta en otro hilo los segmentos cerrados. */
+    private CompletableFuture<Void> rotar() throws IOException {
+        canal.close();
+        segmento++;
+        abrirSegmento();
+        long hasta = segmento;
+        compactacion = compactacion.exceptionally(e -> null).thenRunAsync(() -> {
+            try {
+                compactarHasta(directorio, hasta);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo compactar el diario de cambios", e);
+            }
+        }, compactador);
+        return compactacion;
+    }
+
+    private void abrirSegmento() throws IOException {
+        canal = FileChannel.open(archivo(directorio, PREFIJO_SEGMENTO, segmento, EXTENSION_SEGMENTO),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // ---------- Compactacion y recuperacion ----------
+
+    /**
+     * Aplica a la ultima base anterior a {@code hasta} los segmentos cerrados y guarda el
+     * resultado como base de {@code hasta}. Si otra base mas nueva ya reemplazo a la
+     * usada, no hace nada.
+     */
+    private static void compactarHasta(Path directorio, long hasta) throws IOException {
+        Map.Entry<Long, Path> base = archivos(directorio, PREFIJO_BASE, ControladorPersistencia.EXTENSION_BINARIA)
+                .floorEntry(hasta);
+        if (base == null || base.getKey() == hasta) {
+            return;
+        }
+        Reproduccion reproduccion = new Reproduccion(leerBase(base.getValue()));
+        for (Path archivo : archivos(directorio, PREFIJO_SEGMENTO, EXTENSION_SEGMENTO)
+                .subMap(base.getKey(), true, hasta, false).values()) {
+            reproduccion.aplicarSegmento(archivo);
+        }
+        escribirBase(directorio, hasta, reproduccion.resultado());
+        borrarAnteriores(directorio, hasta);
+    }
+
+    /** Escribe la base en un temporal y la mueve de forma atomica. */
+    private static void escribirBase(Path directorio, long numero, ProyectoDatos datos) throws IOException {
+        Path destino = archivo(directorio, PREFIJO_BASE, numero, ControladorPersistencia.EXTENSION_BINARIA);
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (FileChannel salida = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream bytes = new BufferedOutputStream(Channels.newOutputStream(salida));
+            datos.escribirBinario(bytes);
+            bytes.flush();
+            salida.force(true);
+        }
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ProyectoDatos leerBase(Path archivo) throws IOException {
+        try (FileChannel entrada = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return ProyectoDatos.leerBinario(entrada.map(FileChannel.MapMode.READ_ONLY, 0, entrada.size()));
+        }
+    }
+
+    /** Borra bases y segmentos con numero menor a {@code numero}. */
+    private static void borrarAnteriores(Path directorio, long numero) throws IOException {
+        for (Path archivo : archivos(directorio, PREFIJO_BASE, ControladorPersistencia.EXTENSION_BINARIA)
+                .headMap(numero).values()) {
+            Files.deleteIfExists(archivo);
+        }
+        for (Path archivo : archivos(directorio, PREFIJO_SEGMENTO, EXTENSION_SEGMENTO).headMap(numero).values()) {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    private static Path archivo(Path directorio, String prefijo, long numero, String extension) {
+        return directorio.resolve(String.format(Locale.ROOT, "%s%08d%s", prefijo, numero, extension));
+    }
+
+    /** Archivos {@code prefijo + numero + extension} del directorio, ordenados por numero. */
+    private static TreeMap<Long, Path> archivos(Path directorio, String prefijo, String extension) throws IOException {
+        TreeMap<Long, Path> encontrados = new TreeMap<>();
+        try (DirectoryStream<Path> contenido = Files.newDirectoryStream(directorio, prefijo + "*" + extension)) {
+            for (Path archivo : contenido) {
+                String nombre = archivo.getFileName().toString();
+                try {
+                    encontrados.put(Long.parseLong(nombre.substring(prefijo.length(),
+                            nombre.length() - extension.length())), archivo);
+                } catch (NumberFormatException e) {
+                    // No es un archivo del diario.
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    /** Estado mutable que se obtiene al aplicar registros sobre una base. */
+    private static final class Reproduccion {
+        private ConfiguracionProyecto configuracion;
+        private final Map<String, Profesor> profesores = new LinkedHashMap<>();
+        private final Map<String, Salon> salones = new LinkedHashMap<>();
+        private final Map<String, GrupoEstudiantes> grupos = new LinkedHashMap<>();
+        private final Map<String, Materia> materias = new LinkedHashMap<>();
+        private final Map<String, AsignacionAcademica> asignaciones = new LinkedHashMap<>();
+        private final Map<String, BloqueHorario> bloques = new LinkedHashMap<>();
+        private final Map<String, List<String>> asignacionBloques = new HashMap<>();
+
+        private Reproduccion(ProyectoDatos base) {
+            configuracion = base.getConfiguracion();
+            base.getProfesores().forEach(p -> profesores.put(p.getId(), p));
+            base.getSalones().forEach(s -> salones.put(s.getId(), s));
+            base.getGrupos().forEach(g -> grupos.put(g.getId(), g));
+            base.getMaterias().forEach(m -> materias.put(m.getId(), m));
+            base.getAsignaciones().forEach(a -> asignaciones.put(a.getId(), a));
+            base.getBloques().forEach(b -> bloques.put(b.getId(), b));
+            base.getAsignacionBloques().forEach((id, ids) -> asignacionBloques.put(id, new ArrayList<>(ids)));
+        }
+
+        /** Aplica las lineas del segmento; se detiene en la primera que no se pueda leer. */
+        private void aplicarSegmento(Path archivo) throws IOException {
+            // InputStreamReader reemplaza bytes invalidos, asi un caracter cortado no aborta la lectura.
+            try (BufferedReader lector = new BufferedReader(
+                    new InputStreamReader(Files.newInputStream(archivo), StandardCharsets.UTF_8))) {
+                String linea;
+                while ((linea = lector.readLine()) != null) {
+                    if (linea.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        aplicar(new LectorJson(new StringReader(linea)));
+                    } catch (IllegalArgumentException e) {
+                        System.err.println("Registro incompleto en " + archivo.getFileName() + ": se descarta el resto");
+                        return;
+                    }
+                }
+            }
+        }
+
+        /** Lee un registro completo y lo aplica (el campo "entidad" siempre va primero). */
+        private void aplicar(LectorJson lector) throws IOException {
+            String[] texto = {"", null, null, "", "", "", null};  // entidad, baja, id, dia, inicio, fin, bloques
+            Object[] datos = {null};
+            lector.objeto(nombre -> {
+                switch (nombre) {
+                    case "entidad" -> texto[0] = lector.cadena();
+                    case "baja" -> texto[1] = lector.cadena();
+                    case "id" -> texto[2] = lector.cadena();
+                    case "dia" -> texto[3] = lector.cadena();
+                    case "horaInicio" -> texto[4] = lector.cadena();
+                    case "horaFin" -> texto[5] = lector.cadena();
+                    case "bloques" -> texto[6] = lector.cadena();
+                    case "datos" -> datos[0] = leerDatos(texto[0], lector);
+                    default -> lector.saltar();
+                }
+            });
+
+            if (texto[1] != null) {
+                baja(texto[0], texto[1]);
+            } else if (texto[0].equals("posicion")) {
+                posicion(texto[2], texto[3], texto[4], texto[5]);
+            } else if (datos[0] != null) {
+                alta(datos[0], texto[6]);
+            }
+        }
+
+        private static Object leerDatos(String entidad, LectorJson lector) throws IOException {
+            return switch (entidad) {
+                case "configuracion" -> ProyectoDatos.leerConfiguracion(lector);
+                case "profesor" -> ProyectoDatos.leerProfesor(lector);
+                case "salon" -> ProyectoDatos.leerSalon(lector);
+                case "grupo" -> ProyectoDatos.leerGrupo(lector);
+                case "materia" -> ProyectoDatos.leerMateria(lector);
+                case "asignacion" -> ProyectoDatos.leerAsignacion(lector);
+                case "bloque" -> ProyectoDatos.leerBloque(lector, new HashMap<>(), new HashMap<>());
+                default -> {
+                    lector.saltar();
+                    yield null;
+                }
+            };
+        }
+
+        private void alta(Object dato, String idsBloques) {
+            if (dato instanceof ConfiguracionProyecto config) {
+                configuracion = config;
+            } else if (dato instanceof Profesor profesor) {
+                profesores.put(profesor.getId(), profesor);
+            } else if (dato instanceof Salon salon) {
+                salones.put(salon.getId(), salon);
+            } else if (dato instanceof GrupoEstudiantes grupo) {
+                grupos.put(grupo.getId(), grupo);
+            } else if (dato instanceof Materia materia) {
+                materias.put(materia.getId(), materia);
+            } else if (dato instanceof AsignacionAcademica asignacion) {
+                asignaciones.put(asignacion.getId(), asignacion);
+                List<String> ids = new ArrayList<>();
+                if (idsBloques != null) {
+                    for (String id : idsBloques.split("\\|")) {
+                        if (!id.isBlank()) {
+                            ids.add(id);
+                        }
+                    }
+                }
+                asignacionBloques.put(asignacion.getId(), ids);
+            } else if (dato instanceof BloqueHorario bloque) {
+                bloques.put(bloque.getId(), bloque);
+            }
+        }
+
+        private void baja(String entidad, String id) {
+            switch (entidad) {
+                case "profesor" -> profesores.remove(id);
+                case "salon" -> salones.remove(id);
+                case "grupo" -> grupos.remove(id);
+                case "materia" -> materias.remove(id);
+                case "asignacion" -> {
+                    asignaciones.remove(id);
+                    asignacionBloques.remove(id);
+                }
+                case "bloque" -> bloques.remove(id);
+                default -> { }
+            }
+        }
+
+        /** Ubica el bloque como lo dejo el gestor; un intervalo invalido se ignora. */
+        private void posicion(String id, String dia, String inicio, String fin) {
+            BloqueHorario bloque = id != null ? bloques.get(id) : null;
+            if (bloque == null) {
+                return;
+            }
+            try {
+                bloque.actualizarPosicion(dia.isBlank() ? null : dia, hora(inicio), hora(fin));
+            } catch (IllegalArgumentException e) {
+                // Se conserva la posicion anterior.
+            }
+        }
+
+        private static LocalTime hora(String valor) {
+            try {
+                return valor.isBlank() ? null : LocalTime.parse(valor);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        private ProyectoDatos resultado() {
+            List<AsignacionAcademica> listaAsignaciones = new ArrayList<>(asignaciones.values());
+            ProyectoDatos.vincularBloques(listaAsignaciones, bloques, asignacionBloques);
+            return new ProyectoDatos(configuracion, new ArrayList<>(profesores.values()),
+                    new ArrayList<>(salones.values()), new ArrayList<>(grupos.values()),
+                    new ArrayList<>(materias.values()), listaAsignaciones,
+                    new ArrayList<>(bloques.values()), asignacionBloques);
+        }
+    }
+}
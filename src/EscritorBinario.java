@@ -0,0 +1,120 @@
+package src;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritor del formato binario de proyecto (.hrb). Las cadenas se guardan una sola vez en
+ * una tabla y los registros las referencian por indice; los dias van en una tabla aparte
+ * referenciada con un byte y las horas como minutos del dia en un short.
+ * <p>
+ * Estructura (big-endian): cabecera {@code "HRB\0"}, version (short), reservado (short);
+ * tabla de cadenas (int cantidad y, por cadena, int largo + bytes UTF-8); tabla de dias
+ * (byte cantidad + int por dia); int largo del cuerpo y el cuerpo. El cuerpo se arma en
+ * memoria mientras se llena la tabla y se vuelca al final con {@link #volcar(OutputStream)}.
+ */
+final class EscritorBinario {
+
+    static final int MAGIA = 0x48524200;
+    static final short VERSION = 1;
+    /** Indice de cadena, dia u hora que representa null. */
+    static final int NULO = -1;
+
+    private final Map<String, Integer> indiceCadenas = new HashMap<>();
+    private final List<String> cadenas = new ArrayList<>();
+    private final Map<String, Integer> indiceDias = new HashMap<>();
+    private final List<String> dias = new ArrayList<>();
+    private final ByteArrayOutputStream bytesCuerpo = new ByteArrayOutputStream(64 * 1024);
+    private final DataOutputStream cuerpo = new DataOutputStream(bytesCuerpo);
+
+    void entero(int valor) throws IOException {
+        cuerpo.writeInt(valor);
+    }
+
+    /**
+     * Encabezado de una seccion de registros de ancho fijo: cantidad y bytes por registro,
+     * para que un lector pueda saltar campos que no conoce.
+     */
+    void registros(int cantidad, int bytesPorRegistro) throws IOException {
+        entero(cantidad);
+        entero(bytesPorRegistro);
+    }
+
+    /** Referencia a la cadena en la tabla (la agrega si es nueva). */
+    void cadena(String valor) throws IOException {
+        cuerpo.writeInt(valor == null ? NULO : indice(valor));
+    }
+
+    /** Cantidad y referencias de la lista (null se escribe como lista vacia). */
+    void lista(List<String> valores) throws IOException {
+        if (valores == null) {
+            entero(0);
+            return;
+        }
+        entero(valores.size());
+        for (String valor : valores) {
+            cadena(valor);
+        }
+    }
+
+    /** Dia como byte con su indice en la tabla de dias. */
+    void dia(String dia) throws IOException {
+        if (dia == null) {
+            cuerpo.writeByte(NULO);
+            return;
+        }
+        Integer indice = indiceDias.get(dia);
+        if (indice == null) {
+            if (dias.size() == Byte.MAX_VALUE) {
+                throw new IllegalStateException("Demasiados dias distintos para el formato binario");
+            }
+            indice = dias.size();
+            dias.add(dia);
+            indiceDias.put(dia, indice);
+            indice(dia);
+        }
+        cuerpo.writeByte(indice);
+    }
+
+    /** Hora como minutos desde medianoche en un short (se descartan los segundos). */
+    void hora(LocalTime hora) throws IOException {
+        cuerpo.writeShort(hora == null ? NULO : hora.getHour() * 60 + hora.getMinute());
+    }
+
+    /** Escribe cabecera, tablas y cuerpo en el destino. No lo cierra. */
+    void volcar(OutputStream destino) throws IOException {
+        cuerpo.flush();
+        DataOutputStream salida = new DataOutputStream(destino);
+        salida.writeInt(MAGIA);
+        salida.writeShort(VERSION);
+        salida.writeShort(0);
+        salida.writeInt(cadenas.size());
+        for (String cadena : cadenas) {
+            byte[] bytes = cadena.getBytes(StandardCharsets.UTF_8);
+            salida.writeInt(bytes.length);
+            salida.write(bytes);
+        }
+        salida.writeByte(dias.size());
+        for (String dia : dias) {
+            salida.writeInt(indiceCadenas.get(dia));
+        }
+        salida.writeInt(bytesCuerpo.size());
+        bytesCuerpo.writeTo(salida);
+        salida.flush();
+    }
+
+    private int indice(String cadena) {
+        return indiceCadenas.computeIfAbsent(cadena, c -> {
+            cadenas.add(c);
+            return cadenas.size() - 1;
+        });
+    }
+}
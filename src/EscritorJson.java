@@ -0,0 +1,205 @@
+package src;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Escritor JSON en flujo: escribe objetos, arreglos y valores al {@link Writer} por
+ * tramos de un buffer propio de tamano fijo (sin armar el documento en memoria), con las
+ * comas y el escape de cadenas resueltos en una sola pasada. No agrega espacios, igual
+ * que los formatos que ya se guardaban. Hay que llamar a {@link #flush()} al terminar.
+ */
+final class EscritorJson {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer destino;
+    private final char[] buffer = new char[8192];
+    private int usados;
+    private final boolean escaparControl;
+    /** conElementos[n] = el contenedor abierto en el nivel n ya tiene algun elemento. */
+    private boolean[] conElementos = new boolean[8];
+    private int nivel;
+    /** True justo despues de escribir un nombre: el valor siguiente no lleva coma. */
+    private boolean despuesDeNombre;
+
+    /** Escritor con escape completo (comillas, barra invertida y caracteres de control). */
+    EscritorJson(Writer destino) {
+        this(destino, true);
+    }
+
+    /**
+     * @param destino donde se escribe
+     * @param escaparControl false para escapar solo comillas y barra invertida, como el
+     *                       formato de horario original
+     */
+    EscritorJson(Writer destino, boolean escaparControl) {
+        this.destino = destino;
+        this.escaparControl = escaparControl;
+    }
+
+    EscritorJson inicioObjeto() throws IOException {
+        return abrir('{');
+    }
+
+    EscritorJson finObjeto() throws IOException {
+        return cerrar('}');
+    }
+
+    EscritorJson inicioArreglo() throws IOException {
+        return abrir('[');
+    }
+
+    EscritorJson finArreglo() throws IOException {
+        return cerrar(']');
+    }
+
+    /** Escribe el nombre de la siguiente propiedad del objeto abierto. */
+    EscritorJson nombre(String nombre) throws IOException {
+        separar();
+        cadena(nombre);
+        escribir(':');
+        despuesDeNombre = true;
+        return this;
+    }
+
+    /** Escribe una cadena (null se escribe como cadena vacia). */
+    EscritorJson valor(String valor) throws IOException {
+        separar();
+        cadena(valor == null ? "" : valor);
+        return this;
+    }
+
+    EscritorJson valor(long valor) throws IOException {
+        separar();
+        escribir(Long.toString(valor));
+        return this;
+    }
+
+    EscritorJson campo(String nombre, String valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    EscritorJson campo(String nombre, long valor) throws IOException {
+        return nombre(nombre).valor(valor);
+    }
+
+    /** Pasa lo pendiente al destino y lo vacia, sin cerrarlo. */
+    void flush() throws IOException {
+        vaciar();
+        destino.flush();
+    }
+
+    private void escribir(char c) throws IOException {
+        if (usados == buffer.length) {
+            vaciar();
+        }
+        buffer[usados++] = c;
+    }
+
+    private void escribir(String texto) throws IOException {
+        escribir(texto, 0, texto.length());
+    }
+
+    private void escribir(String texto, int inicio, int largo) throws IOException {
+        while (largo > 0) {
+            if (usados == buffer.length) {
+                vaciar();
+            }
+            int tramo = Math.min(largo, buffer.length - usados);
+            texto.getChars(inicio, inicio + tramo, buffer, usados);
+            usados += tramo;
+            inicio += tramo;
+            largo -= tramo;
+        }
+    }
+
+    private void vaciar() throws IOException {
+        if (usados > 0) {
+            destino.write(buffer, 0, usados);
+            usados = 0;
+        }
+    }
+
+    private EscritorJson abrir(char apertura) throws IOException {
+        separar();
+        escribir(apertura);
+        if (++nivel == conElementos.length) {
+            conElementos = Arrays.copyOf(conElementos, nivel * 2);
+        }
+        conElementos[nivel] = false;
+        return this;
+    }
+
+    private EscritorJson cerrar(char cierre) throws IOException {
+        if (nivel == 0) {
+            throw new IllegalStateException("No hay objeto ni arreglo abierto");
+        }
+        nivel--;
+        escribir(cierre);
+        return this;
+    }
+
+    /** Escribe la coma entre elementos del contenedor actual. */
+    private void separar() throws IOException {
+        if (despuesDeNombre) {
+            despuesDeNombre = false;
+            return;
+        }
+        if (conElementos[nivel]) {
+            escribir(',');
+        }
+        conElementos[nivel] = true;
+    }
+
+    /** Escribe la cadena entre comillas copiando por tramos lo que no necesita escape. */
+    private void cadena(String valor) throws IOException {
+        escribir('"');
+        int inicio = 0;
+        int largo = valor.length();
+        for (int i = 0; i < largo; i++) {
+            char c = valor.charAt(i);
+            String escape = escape(c);
+            if (escape == null) {
+                continue;
+            }
+            if (i > inicio) {
+                escribir(valor, inicio, i - inicio);
+            }
+            if (escape.isEmpty()) {
+                escribir("\\u00");
+                escribir(HEX[c >> 4]);
+                escribir(HEX[c & 0xF]);
+            } else {
+                escribir(escape);
+            }
+            inicio = i + 1;
+        }
+        if (largo > inicio) {
+            escribir(valor, inicio, largo - inicio);
+        }
+        escribir('"');
+    }
+
+    /** Secuencia de escape del caracter; "" = usar \\u00XX; null = no se escapa. */
+    private String escape(char c) {
+        if (c == '"') {
+            return "\\\"";
+        }
+        if (c == '\\') {
+            return "\\\\";
+        }
+        if (!escaparControl || c >= 32) {
+            return null;
+        }
+        return switch (c) {
+            case '\n' -> "\\n";
+            case '\r' -> "\\r";
+            case '\t' -> "\\t";
+            case '\b' -> "\\b";
+            case '\f' -> "\\f";
+            default -> "";
+        };
+    }
+}
@@ -2,6 +2,8 @@ package src;
 
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 import java.util.stream.Collectors;
 
 /**
@@ -11,28 +13,86 @@ import java.util.stream.Collectors;
  */
 public class EstrategiaColoracion implements EstrategiaGeneracion {
     
+    /** Porcentaje de avance al iniciar la coloracion. */
+    static final int PORCENTAJE_COLORACION = 5;
+    /** Porcentaje de avance al iniciar la asignacion de horas. */
+    static final int PORCENTAJE_HORAS = 85;
+    /** Porcentaje de avance al iniciar la validacion final. */
+    static final int PORCENTAJE_VALIDACION = 95;
+    
+    /** Dias de la semana en los que se colorea (un color por dia). */
+    static final List<String> DIAS = List.of("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
+    /** Inicio y fin de la jornada en la que se asignan horas. */
+    static final LocalTime INICIO_JORNADA = LocalTime.of(7, 0);
+    static final LocalTime FIN_JORNADA = LocalTime.of(15, 0);
+    
+    private final ReparadorTabuCol reparador;
+    
+    /**
+     * Crea la estrategia con el presupuesto de reparacion por defecto.
+     */
+    public EstrategiaColoracion() {
+        this(new ReparadorTabuCol());
+    }
+    
+    /**
+     * Crea la estrategia con un reparador TabuCol configurado (presupuesto de tiempo o iteraciones).
+     */
+    public EstrategiaColoracion(ReparadorTabuCol reparador) {
+        if (reparador == null) {
+            throw new IllegalArgumentException("El reparador no puede ser nulo");
+        }
+        this.reparador = reparador;
+    }
+    
+    /** Incluye el reparador, los dias y la jornada, que determinan el resultado. */
+    @Override
+    public String descripcion() {
+        return getClass().getName() + ";" + reparador + ";dias=" + DIAS
+                + ";jornada=" + INICIO_JORNADA + "-" + FIN_JORNADA;
+    }
+
     @Override
     public HorarioSemana generarHorario(AdaptadorGraficaDeHorarios horarioGrafica) {
-        
+        return generarConMetricas(horarioGrafica).getHorario();
+    }
+
+    /**
+     * Genera el horario cronometrando cada fase: grafica, coloracion (dias), horas y una
+     * validacion final que cuenta los conflictos que quedaron.
+     */
+    @Override
+    public ResultadoGeneracion generarConMetricas(AdaptadorGraficaDeHorarios horarioGrafica) {
+        return generarHorario(horarioGrafica, ProgresoGeneracion.NINGUNO, new CancelacionGeneracion());
+    }
+
+    /**
+     * Genera el horario informando el avance de cada fase; durante la coloracion se
+     * informan tambien los conflictos de la mejor solucion. Si se cancela, la busqueda
+     * TabuCol se detiene en milisegundos conservando la mejor coloracion y las fases de
+     * horas y validacion se completan con ella (los bloques sin dia quedan sin asignar).
+     */
+    @Override
+    public ResultadoGeneracion generarHorario(
+            AdaptadorGraficaDeHorarios horarioGrafica,
+            ProgresoGeneracion progreso,
+            CancelacionGeneracion cancelacion) {
+        MetricasGeneracion metricas = new MetricasGeneracion();
+        long inicio = System.nanoTime();
+
         // FASE 1: Construir grafica de conflictos
-        System.out.println("\n=== FASE 1: Construccion de grafica ===");
+        progreso.actualizar(MetricasGeneracion.Fase.GRAFICA, 0, -1);
         horarioGrafica.construirGraficaAutomaticamente();
-        System.out.println("Grafica construida con " + horarioGrafica.obtenerNumeroNodos() + 
-                           " nodos y " + horarioGrafica.obtenerNumeroAristas() + " aristas");
+        metricas.registrarGrafica(horarioGrafica.obtenerNumeroNodos(), horarioGrafica.obtenerNumeroAristas());
+        long marca = metricas.terminarFase(MetricasGeneracion.Fase.GRAFICA, inicio);
 
         // FASE 2: Colorear grafo respetando disponibilidad de profesores
-        System.out.println("\n=== FASE 2: Coloracion con DSatur (asignacion de dias) ===");
-        
-        List<String> dias = Arrays.asList("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
-        Map<String, Integer> colores = colorearConDisponibilidad(horarioGrafica, dias);
-        
-        int maxColor = colores.values().stream().max(Integer::compare).orElse(-1);
-        int numColoresUsados = maxColor + 1;
-        System.out.println("Se necesitaron " + numColoresUsados + " colores (dias)");
-        
-        if (numColoresUsados > dias.size()) {
-            System.out.println("ADVERTENCIA: Se necesitan " + numColoresUsados + 
-                             " dias pero solo hay " + dias.size() + " disponibles");
+        progreso.actualizar(MetricasGeneracion.Fase.COLORACION, PORCENTAJE_COLORACION, -1);
+        List<String> dias = DIAS;
+        GraficaHorarioCompacta compacta = horarioGrafica.compactar();
+        Map<String, Integer> colores = asignarDias(horarioGrafica, compacta, dias, progreso, cancelacion);
+        if (cancelacion.isCancelada()) {
+            metricas.marcarDetenida();
         }
         
         HorarioSemana horarioSemana = new HorarioSemana();
@@ -41,24 +101,32 @@ public class EstrategiaColoracion implements EstrategiaGeneracion {
         }
         
         // Asignar bloques a dias segun color
+        boolean[] usados = new boolean[dias.size()];
+        int sinDia = 0;
         for (Map.Entry<String, Integer> entry : colores.entrySet()) {
             String bloqueId = entry.getKey();
             int color = entry.getValue();
             BloqueHorario bloque = horarioGrafica.obtenerBloque(bloqueId);
             
-            if (color < dias.size()) {
+            if (color >= 0 && color < dias.size()) {
                 String dia = dias.get(color);
                 bloque.setDia(dia);
                 horarioSemana.agregarBloqueEnDia(dia, bloque);
-                System.out.println("  Bloque " + bloque.getMateria() + " -> " + dia);
+                usados[color] = true;
             } else {
-                System.out.println("  Bloque " + bloque.getMateria() + " -> SIN ASIGNAR (color " + color + ")");
                 horarioSemana.agregarBloqueSinAsignar(bloque);
+                sinDia++;
             }
         }
+        int coloresUsados = 0;
+        for (boolean usado : usados) {
+            coloresUsados += usado ? 1 : 0;
+        }
+        metricas.registrarColoracion(coloresUsados, sinDia);
+        marca = metricas.terminarFase(MetricasGeneracion.Fase.COLORACION, marca);
         
         // FASE 3: Asignar horas dentro de cada dia
-        System.out.println("\n=== FASE 3: Asignacion de horas ===");
+        progreso.actualizar(MetricasGeneracion.Fase.HORAS, PORCENTAJE_HORAS, -1);
         List<Validador> validadores = Arrays.asList(
             new ValidadorPorProfesor(),
             new ValidadorPorSalon(),
@@ -67,145 +135,234 @@ public class EstrategiaColoracion implements EstrategiaGeneracion {
         
         AsignadorHorasLocalTime asignadorHoras = new AsignadorHorasLocalTime(
             horarioGrafica.getCatalogo(), 
-            LocalTime.of(7, 0),
-            LocalTime.of(15, 0),
+            INICIO_JORNADA,
+            FIN_JORNADA,
             validadores
         );
         
-        asignadorHoras.asignarHoras(horarioSemana);
-        System.out.println("Horas asignadas exitosamente");
+        asignadorHoras.asignarHoras(horarioSemana, metricas);
+        marca = metricas.terminarFase(MetricasGeneracion.Fase.HORAS, marca);
+
+        // FASE 4: Contar los conflictos que quedaron entre bloques con dia y horas
+        progreso.actualizar(MetricasGeneracion.Fase.VALIDACION, PORCENTAJE_VALIDACION, -1);
+        metricas.registrarConflictos(contarConflictos(horarioSemana));
+        metricas.terminarFase(MetricasGeneracion.Fase.VALIDACION, marca);
+        progreso.actualizar(MetricasGeneracion.Fase.VALIDACION, 100, metricas.getConflictos());
+
+        metricas.terminar(inicio);
+        MonitorGeneracion.registrar(metricas);
+        return new ResultadoGeneracion(horarioSemana, metricas);
+    }
+
+    /**
+     * Pares de bloques ubicados (dia y horas) que comparten recurso y se solapan.
+     */
+    private static int contarConflictos(HorarioSemana horario) {
+        List<BloqueHorario> ubicados = new ArrayList<>();
+        for (BloqueHorario bloque : horario.getBloques()) {
+            if (bloque.getDia() != null && bloque.getHoraInicio() != null && bloque.getHoraFin() != null) {
+                ubicados.add(bloque);
+            }
+        }
+        return new MotorValidacionBarrido(ubicados).paresEnConflicto().size();
+    }
+    
+    /**
+     * Asigna un color (indice de dia) a cada bloque: DSatur y, si se exceden los dias,
+     * reparacion TabuCol. Un color negativo o fuera de rango deja el bloque sin asignar.
+     * Las componentes conexas de la grafica no comparten recursos, asi que se colorean
+     * por separado y en paralelo. Las subclases pueden reemplazar esta fase conservando
+     * la construccion y la asignacion de horas; deben informar el avance entre
+     * {@link #PORCENTAJE_COLORACION} y {@link #PORCENTAJE_HORAS} y atender la cancelacion.
+     */
+    protected Map<String, Integer> asignarDias(
+            AdaptadorGraficaDeHorarios horarioGrafica,
+            GraficaHorarioCompacta compacta,
+            List<String> dias,
+            ProgresoGeneracion progreso,
+            CancelacionGeneracion cancelacion) {
+        
+        CatalogoRecursos catalogo = horarioGrafica.getCatalogo();
+        int[] prioridad = prioridadPorRecorrido(horarioGrafica, compacta);
+        List<int[]> componentes = compacta.componentesConexas();
+        AvanceParalelo avance = new AvanceParalelo(progreso, Math.max(1, componentes.size()),
+                PORCENTAJE_COLORACION, PORCENTAJE_HORAS, true);
+        
+        if (componentes.size() <= 1) {
+            return colorearComponente(compacta, prioridad, catalogo, dias, cancelacion, avance, 0);
+        }
+        
+        Map<String, Integer> colores = new HashMap<>();
+        IntStream.range(0, componentes.size()).parallel()
+            .mapToObj(c -> {
+                int[] nodos = componentes.get(c);
+                int[] prioridadComponente = new int[nodos.length];
+                for (int i = 0; i < nodos.length; i++) {
+                    prioridadComponente[i] = prioridad[nodos[i]];
+                }
+                return colorearComponente(compacta.subgrafica(nodos), prioridadComponente, catalogo, dias,
+                                          cancelacion, avance, c);
+            })
+            .forEachOrdered(colores::putAll);
+        return colores;
+    }
+    
+    /**
+     * Colorea una grafica (o componente) con DSatur y la repara con TabuCol si excede los dias.
+     */
+    private Map<String, Integer> colorearComponente(
+            GraficaHorarioCompacta compacta,
+            int[] prioridad,
+            CatalogoRecursos catalogo,
+            List<String> dias,
+            CancelacionGeneracion cancelacion,
+            AvanceParalelo avance,
+            int tarea) {
+        
+        Map<String, Integer> colores = colorearConDisponibilidad(compacta, prioridad, catalogo, dias);
+        
+        int maxColor = colores.values().stream().max(Integer::compare).orElse(-1);
+        int numColoresUsados = maxColor + 1;
         
-        return horarioSemana;
+        if (numColoresUsados > dias.size()) {
+            repararConTabuCol(compacta, colores, catalogo, dias, cancelacion, avance.tarea(tarea));
+        } else {
+            avance.terminar(tarea);
+        }
+        return colores;
+    }
+    
+    /**
+     * Mascara de dias permitidos por nodo segun la disponibilidad del profesor
+     * (bit i = dia i de la lista; sin restricciones se permiten todos).
+     */
+    long[] calcularDiasPermitidos(GraficaHorarioCompacta compacta, CatalogoRecursos catalogo, List<String> dias) {
+        int n = compacta.obtenerNumeroNodos();
+        long[] permitidos = new long[n];
+        for (int i = 0; i < n; i++) {
+            permitidos[i] = mascaraDiasProfesor(compacta.bloqueDe(i), catalogo, dias);
+        }
+        return permitidos;
     }
     
     /**
      * Colorea la grafica respetando disponibilidad de profesor y conflictos.
+     * Usa el motor DSatur; los empates se resuelven por el orden de iteracion
+     * de las adyacencias, igual que la seleccion por recorrido completo.
      */
-    private Map<String, Integer> colorearConDisponibilidad(
+    Map<String, Integer> colorearConDisponibilidad(
             AdaptadorGraficaDeHorarios grafica, 
+            GraficaHorarioCompacta compacta,
+            List<String> dias) {
+        return colorearConDisponibilidad(compacta, prioridadPorRecorrido(grafica, compacta),
+                                         grafica.getCatalogo(), dias);
+    }
+    
+    private Map<String, Integer> colorearConDisponibilidad(
+            GraficaHorarioCompacta compacta,
+            int[] prioridad,
+            CatalogoRecursos catalogo,
             List<String> dias) {
         
         Map<String, Integer> colores = new HashMap<>();
-        Map<String, Set<String>> adyacencias = grafica.obtenerAdyacencias();
-        List<String> nodos = new ArrayList<>(adyacencias.keySet());
+        int n = compacta.obtenerNumeroNodos();
         
-        if (nodos.isEmpty()) {
+        if (n == 0) {
             return colores;
         }
         
-        Map<String, Set<Integer>> saturacion = new HashMap<>();
-        for (String id : nodos) {
-            saturacion.put(id, new HashSet<>());
-        }
-        
-        String primero = nodos.stream()
-                .max(Comparator.comparingInt(id -> adyacencias.get(id).size()))
-                .orElse(nodos.get(0));
+        int[] colorPorIndice = new MotorDSatur(compacta).colorear(prioridad,
+                (nodo, prohibido) -> asignarMejorColor(compacta.bloqueDe(nodo), catalogo, dias, prohibido));
         
-        int colorPrimero = asignarMejorColor(primero, grafica, colores, dias, saturacion.get(primero));
-        colores.put(primero, colorPrimero);
-        
-        for (String vecino : adyacencias.get(primero)) {
-            saturacion.get(vecino).add(colorPrimero);
+        for (int i = 0; i < n; i++) {
+            colores.put(compacta.idDe(i), colorPorIndice[i]);
         }
+        return colores;
+    }
+    
+    /**
+     * Prioridad de desempate por nodo: posicion del bloque en el recorrido de las adyacencias.
+     */
+    private int[] prioridadPorRecorrido(AdaptadorGraficaDeHorarios grafica, GraficaHorarioCompacta compacta) {
+        int[] prioridad = new int[compacta.obtenerNumeroNodos()];
+        int orden = 0;
+        for (String id : grafica.obtenerAdyacencias().keySet()) {
+            prioridad[compacta.indiceDe(id)] = orden++;
+        }
+        return prioridad;
+    }
+    
+    /**
+     * Intenta reducir la coloracion a los dias disponibles con busqueda tabu (TabuCol).
+     * Los bloques que no se logren ubicar quedan con color -1 (sin asignar).
+     */
+    private void repararConTabuCol(
+            GraficaHorarioCompacta compacta,
+            Map<String, Integer> colores,
+            CatalogoRecursos catalogo,
+            List<String> dias,
+            CancelacionGeneracion cancelacion,
+            ReparadorTabuCol.Avance avance) {
         
-        while (colores.size() < nodos.size()) {
-            
-            String siguiente = nodos.stream()
-                    .filter(id -> !colores.containsKey(id))
-                    .max(Comparator
-                            .comparingInt((String id) -> saturacion.get(id).size())
-                            .thenComparingInt(id -> adyacencias.get(id).size()))
-                    .orElse(null);
-            
-            if (siguiente == null) break;
-            
-            int colorAsignado = asignarMejorColor(
-                    siguiente, grafica, colores, dias, saturacion.get(siguiente));
-            
-            colores.put(siguiente, colorAsignado);
-            
-            for (String vecino : adyacencias.get(siguiente)) {
-                if (!colores.containsKey(vecino)) {
-                    saturacion.get(vecino).add(colorAsignado);
-                }
-            }
+        int n = compacta.obtenerNumeroNodos();
+        int[] iniciales = new int[n];
+        for (int i = 0; i < n; i++) {
+            iniciales[i] = colores.get(compacta.idDe(i));
         }
+        long[] permitidos = calcularDiasPermitidos(compacta, catalogo, dias);
         
-        return colores;
+        int[] reparados = reparador.reparar(compacta, iniciales, dias.size(), permitidos, cancelacion, avance);
+        for (int i = 0; i < n; i++) {
+            colores.put(compacta.idDe(i), reparados[i]);
+        }
     }
     
     /**
      * Selecciona el mejor color (dia) posible para un bloque respetando disponibilidad.
      */
     private int asignarMejorColor(
-            String bloqueId,
-            AdaptadorGraficaDeHorarios grafica,
-            Map<String, Integer> coloresAsignados,
+            BloqueHorario bloque,
+            CatalogoRecursos catalogo,
             List<String> dias,
-            Set<Integer> coloresVecinos) {
+            IntPredicate coloresVecinos) {
         
-        BloqueHorario bloque = grafica.obtenerBloque(bloqueId);
-        CatalogoRecursos catalogo = grafica.getCatalogo();
-        
-        Set<String> diasDisponiblesProfesor = getDiasDisponiblesProfesor(bloque, catalogo);
+        long diasProfesor = mascaraDiasProfesor(bloque, catalogo, dias);
         
         for (int color = 0; color < dias.size() * 2; color++) {
             
-            if (coloresVecinos.contains(color)) {
+            if (coloresVecinos.test(color)) {
                 continue;
             }
             
-            if (color < dias.size()) {
-                String dia = dias.get(color);
-                
-                if (!esDiaValidoParaBloque(bloque, dia, coloresVecinos, diasDisponiblesProfesor)) {
-                    continue;
-                }
+            if (color < dias.size() && (diasProfesor & (1L << color)) == 0) {
+                continue;
             }
             
             return color;
         }
         
         int color = 0;
-        while (coloresVecinos.contains(color)) {
+        while (coloresVecinos.test(color)) {
             color++;
         }
-        System.out.println("  ADVERTENCIA: No se encontro dia disponible para " + 
-                         bloque.getMateria() + ", asignando color " + color);
         return color;
     }
 
     /**
-     * Valida si un dia es aceptable para un bloque (disponibilidad y conflictos previos).
+     * Mascara de dias en los que puede ir el bloque segun su profesor (todos si no hay restriccion).
      */
-    private boolean esDiaValidoParaBloque(BloqueHorario bloque, String dia, Set<Integer> coloresVecinos, Set<String> diasDisponiblesProfesor) {
-        int color = Arrays.asList("Lunes", "Martes", "Miercoles", "Jueves", "Viernes").indexOf(dia);
-        if (coloresVecinos.contains(color)) {
-            return false;
-        }
-        return diasDisponiblesProfesor.isEmpty() || diasDisponiblesProfesor.contains(dia);
-    }
-
-    /**
-     * Obtiene los dias disponibles del profesor del bloque (vacio si no hay restricciones).
-     */
-    private Set<String> getDiasDisponiblesProfesor(BloqueHorario bloque, CatalogoRecursos catalogo) {
+    private long mascaraDiasProfesor(BloqueHorario bloque, CatalogoRecursos catalogo, List<String> dias) {
+        long todos = (1L << dias.size()) - 1;
         if (bloque.getProfesorId() == null) {
-            return Collections.emptySet();
+            return todos;
         }
         
         Profesor profesor = catalogo.obtenerProfesorPorId(bloque.getProfesorId());
         if (profesor == null) {
-            return Collections.emptySet();
-        }
-        
-        List<String> dias = profesor.getDiasDisponibles();
-        if (dias == null || dias.isEmpty()) {
-            return Collections.emptySet();
+            return todos;
         }
         
-        return new HashSet<>(dias);
+        return profesor.getDisponibilidad().mascaraDias(dias);
     }
     
     /**
@@ -0,0 +1,74 @@
+package src;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Envuelve otra estrategia y reutiliza sus resultados por medio de una
+ * {@link CacheGeneraciones}: si los bloques, la disponibilidad de sus profesores, sus
+ * salones y la configuracion de la estrategia no cambiaron desde una generacion anterior,
+ * los bloques se colocan donde quedaron entonces sin volver a colorear ni asignar horas.
+ * Las generaciones detenidas a peticion no se guardan, porque su resultado es parcial.
+ */
+public class EstrategiaConCache implements EstrategiaGeneracion {
+
+    private final EstrategiaGeneracion estrategia;
+    private final CacheGeneraciones cache;
+
+    /**
+     * @param estrategia estrategia que genera cuando la entrada no esta en la cache
+     * @param cache cache compartible entre estrategias e hilos
+     */
+    public EstrategiaConCache(EstrategiaGeneracion estrategia, CacheGeneraciones cache) {
+        if (estrategia == null || cache == null) {
+            throw new IllegalArgumentException("La estrategia y la cache son obligatorias");
+        }
+        this.estrategia = estrategia;
+        this.cache = cache;
+    }
+
+    @Override
+    public String descripcion() {
+        return estrategia.descripcion();
+    }
+
+    @Override
+    public HorarioSemana generarHorario(AdaptadorGraficaDeHorarios horarioGrafica) {
+        return generarConMetricas(horarioGrafica).getHorario();
+    }
+
+    @Override
+    public ResultadoGeneracion generarConMetricas(AdaptadorGraficaDeHorarios horarioGrafica) {
+        return generarHorario(horarioGrafica, ProgresoGeneracion.NINGUNO, new CancelacionGeneracion());
+    }
+
+    /**
+     * Busca la entrada en la cache; si esta, aplica las posiciones guardadas (el avance pasa
+     * directo a 100) y si no, genera con la estrategia envuelta y guarda el resultado.
+     */
+    @Override
+    public ResultadoGeneracion generarHorario(
+            AdaptadorGraficaDeHorarios horarioGrafica,
+            ProgresoGeneracion progreso,
+            CancelacionGeneracion cancelacion) {
+        long inicio = System.nanoTime();
+        List<BloqueHorario> bloques = horarioGrafica.obtenerTodosLosBloques();
+        String clave = CacheGeneraciones.clave(bloques, horarioGrafica.getCatalogo(), estrategia.descripcion());
+
+        Optional<CacheGeneraciones.Entrada> guardada = cache.buscar(clave);
+        if (guardada.isPresent()) {
+            ResultadoGeneracion resultado = guardada.get().aplicar(bloques);
+            if (resultado != null) {
+                resultado.getMetricas().terminar(inicio);
+                progreso.actualizar(MetricasGeneracion.Fase.VALIDACION, 100, resultado.getMetricas().getConflictos());
+                return resultado;
+            }
+        }
+
+        ResultadoGeneracion resultado = estrategia.generarHorario(horarioGrafica, progreso, cancelacion);
+        if (!resultado.getMetricas().isDetenida()) {
+            cache.guardar(clave, CacheGeneraciones.Entrada.de(resultado));
+        }
+        return resultado;
+    }
+}
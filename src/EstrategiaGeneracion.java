@@ -8,4 +8,42 @@ public interface EstrategiaGeneracion {
      * Ejecuta la generacion de horario tomando la grafica de conflictos como base.
      */
     HorarioSemana generarHorario(AdaptadorGraficaDeHorarios horarioGrafica);
+
+    /**
+     * Tipo y parametros de la estrategia; forma parte de la clave de {@link CacheGeneraciones},
+     * asi que dos estrategias con la misma descripcion deben ser intercambiables. Por defecto
+     * es el nombre de la clase.
+     */
+    default String descripcion() {
+        return getClass().getName();
+    }
+
+    /**
+     * Genera el horario y devuelve tambien sus metricas. Por defecto solo se mide el
+     * tiempo total; las estrategias que conocen sus fases las reportan por separado.
+     */
+    default ResultadoGeneracion generarConMetricas(AdaptadorGraficaDeHorarios horarioGrafica) {
+        MetricasGeneracion metricas = new MetricasGeneracion();
+        long inicio = System.nanoTime();
+        HorarioSemana horario = generarHorario(horarioGrafica);
+        metricas.terminar(inicio);
+        MonitorGeneracion.registrar(metricas);
+        return new ResultadoGeneracion(horario, metricas);
+    }
+
+    /**
+     * Genera el horario informando el avance y deteniendose en cuanto se pida con
+     * {@code cancelacion}; al detenerse se devuelve el horario con la mejor solucion hallada
+     * hasta ese momento. Por defecto solo se informa el inicio y el final, y la cancelacion
+     * se ignora.
+     */
+    default ResultadoGeneracion generarHorario(
+            AdaptadorGraficaDeHorarios horarioGrafica,
+            ProgresoGeneracion progreso,
+            CancelacionGeneracion cancelacion) {
+        progreso.actualizar(MetricasGeneracion.Fase.GRAFICA, 0, -1);
+        ResultadoGeneracion resultado = generarConMetricas(horarioGrafica);
+        progreso.actualizar(MetricasGeneracion.Fase.VALIDACION, 100, resultado.getMetricas().getConflictos());
+        return resultado;
+    }
 }
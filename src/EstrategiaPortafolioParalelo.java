@@ -0,0 +1,307 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Estrategia de coloracion que ejecuta en paralelo varias variantes (DSatur determinista,
+ * DSatur con desempates aleatorios y RLF aleatorio, cada una seguida de reparacion TabuCol)
+ * y se queda con la que deja menos bloques sin dia. En cuanto una variante logra una
+ * 5-coloracion completa, las demas detienen su busqueda; una cancelacion las detiene
+ * a todas y se conserva la mejor variante hasta ese momento.
+ * <p>
+ * Solo la fase de asignacion de dias es paralela; la construccion de la grafica y la
+ * asignacion de horas se heredan de {@link EstrategiaColoracion}.
+ */
+public class EstrategiaPortafolioParalelo extends EstrategiaColoracion {
+
+    private final int variantes;
+    private final int maxIteraciones;
+    private final long tiempoLimiteMs;
+    private final long semilla;
+
+    /**
+     * Crea el portafolio con una variante por nucleo y el presupuesto TabuCol por defecto.
+     */
+    public EstrategiaPortafolioParalelo() {
+        this(Runtime.getRuntime().availableProcessors(),
+             ReparadorTabuCol.ITERACIONES_POR_DEFECTO,
+             ReparadorTabuCol.TIEMPO_POR_DEFECTO_MS,
+             0L);
+    }
+
+    /**
+     * Crea el portafolio con parametros explicitos.
+     * @param variantes numero de variantes a ejecutar (la 0 es siempre el DSatur determinista)
+     * @param maxIteraciones iteraciones maximas de TabuCol por variante
+     * @param tiempoLimiteMs tiempo maximo de TabuCol por variante
+     * @param semilla semilla base; la variante i usa semilla + i
+     */
+    public EstrategiaPortafolioParalelo(int variantes, int maxIteraciones, long tiempoLimiteMs, long semilla) {
+        super(new ReparadorTabuCol(maxIteraciones, tiempoLimiteMs, semilla));
+        if (variantes <= 0) {
+            throw new IllegalArgumentException("Debe haber al menos una variante");
+        }
+        this.variantes = variantes;
+        this.maxIteraciones = maxIteraciones;
+        this.tiempoLimiteMs = tiempoLimiteMs;
+        this.semilla = semilla;
+    }
+
+    @Override
+    public String descripcion() {
+        return super.descripcion() + ";variantes=" + variantes;
+    }
+
+    @Override
+    protected Map<String, Integer> asignarDias(
+            AdaptadorGraficaDeHorarios horarioGrafica,
+            GraficaHorarioCompacta compacta,
+            List<String> dias,
+            ProgresoGeneracion progreso,
+            CancelacionGeneracion cancelacion) {
+
+        int n = compacta.obtenerNumeroNodos();
+        int k = dias.size();
+        Map<String, Integer> base = colorearConDisponibilidad(horarioGrafica, compacta, dias);
+        if (n == 0) {
+            return base;
+        }
+
+        int[] inicial = new int[n];
+        for (int i = 0; i < n; i++) {
+            inicial[i] = base.get(compacta.idDe(i));
+        }
+        long[] permitidos = calcularDiasPermitidos(compacta, horarioGrafica.getCatalogo(), dias);
+
+        AtomicBoolean resuelto = new AtomicBoolean(false);
+        AtomicReference<Candidato> mejor = new AtomicReference<>();
+        BooleanSupplier detener = () -> resuelto.get() || cancelacion.isCancelada();
+        AvanceParalelo avance = new AvanceParalelo(progreso, variantes, PORCENTAJE_COLORACION, PORCENTAJE_HORAS, false);
+
+        ForkJoinPool pool = new ForkJoinPool(Math.min(variantes, Runtime.getRuntime().availableProcessors()));
+        try {
+            List<ForkJoinTask<?>> tareas = new ArrayList<>();
+            for (int v = 0; v < variantes; v++) {
+                final int variante = v;
+                tareas.add(pool.submit(() -> {
+                    Candidato candidato = ejecutarVariante(variante, compacta, inicial, permitidos, k,
+                                                           detener, avance.tarea(variante));
+                    if (candidato.sinAsignar == 0) {
+                        resuelto.set(true);
+                    }
+                    mejor.accumulateAndGet(candidato, Candidato::mejorEntre);
+                }));
+            }
+            for (ForkJoinTask<?> tarea : tareas) {
+                tarea.join();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Candidato ganador = mejor.get();
+
+        Map<String, Integer> colores = new HashMap<>();
+        for (String id : base.keySet()) {
+            colores.put(id, ganador.colores[compacta.indiceDe(id)]);
+        }
+        return colores;
+    }
+
+    /**
+     * Ejecuta una variante: construye una coloracion inicial y la repara con TabuCol.
+     */
+    private Candidato ejecutarVariante(
+            int variante,
+            GraficaHorarioCompacta compacta,
+            int[] inicial,
+            long[] permitidos,
+            int k,
+            BooleanSupplier detener,
+            ReparadorTabuCol.Avance avance) {
+
+        Random random = new Random(semilla + variante);
+        int[] colores;
+        if (variante == 0) {
+            colores = inicial.clone();
+        } else if (variante % 2 == 1) {
+            colores = dsaturAleatorio(compacta, permitidos, k, random);
+        } else {
+            colores = rlfAleatorio(compacta, permitidos, k, random);
+        }
+
+        if (contarSinAsignar(colores, k) > 0 && !detener.getAsBoolean()) {
+            ReparadorTabuCol reparador = new ReparadorTabuCol(maxIteraciones, tiempoLimiteMs, semilla + variante);
+            colores = reparador.reparar(compacta, colores, k, permitidos, detener, avance);
+        } else {
+            // Sin reparacion: se conocen los conflictos solo si la coloracion ya cabe en k dias.
+            avance.reportar(1.0, contarSinAsignar(colores, k) == 0 ? 0 : -1);
+            for (int i = 0; i < colores.length; i++) {
+                if (colores[i] >= k) {
+                    colores[i] = -1;
+                }
+            }
+        }
+        return new Candidato(variante, colores, contarSinAsignar(colores, k));
+    }
+
+    /**
+     * DSatur con desempates en orden aleatorio; cada nodo toma el menor dia permitido libre.
+     */
+    private int[] dsaturAleatorio(GraficaHorarioCompacta compacta, long[] permitidos, int k, Random random) {
+        int n = compacta.obtenerNumeroNodos();
+        int[] prioridad = new int[n];
+        for (int i = 0; i < n; i++) {
+            prioridad[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = prioridad[i];
+            prioridad[i] = prioridad[j];
+            prioridad[j] = tmp;
+        }
+        return new MotorDSatur(compacta).colorear(prioridad, (nodo, prohibido) -> {
+            for (int color = 0; color < k; color++) {
+                if (!prohibido.test(color) && (permitidos[nodo] & (1L << color)) != 0) {
+                    return color;
+                }
+            }
+            int color = k;
+            while (prohibido.test(color)) {
+                color++;
+            }
+            return color;
+        });
+    }
+
+    /**
+     * Recursive Largest First: construye una clase de color (dia) a la vez, eligiendo primero
+     * el nodo con mas vecinos candidatos y despues los que mas vecinos excluidos comparten.
+     * Los nodos que no caben en ningun dia quedan en -1.
+     */
+    private int[] rlfAleatorio(GraficaHorarioCompacta compacta, long[] permitidos, int k, Random random) {
+        int n = compacta.obtenerNumeroNodos();
+        int[] destinos = compacta.destinos();
+        int[] colores = new int[n];
+        Arrays.fill(colores, -1);
+
+        // estado: 0 = candidato, 1 = excluido (vecino de la clase actual), 2 = fuera
+        int[] estado = new int[n];
+        int[] vecinosCandidatos = new int[n];
+        int[] vecinosExcluidos = new int[n];
+
+        for (int color = 0; color < k; color++) {
+            long bit = 1L << color;
+            for (int v = 0; v < n; v++) {
+                estado[v] = colores[v] < 0 && (permitidos[v] & bit) != 0 ? 0 : 2;
+                vecinosExcluidos[v] = 0;
+            }
+            for (int v = 0; v < n; v++) {
+                int total = 0;
+                for (int p = compacta.inicioVecinos(v); p < compacta.finVecinos(v); p++) {
+                    if (estado[destinos[p]] == 0) {
+                        total++;
+                    }
+                }
+                vecinosCandidatos[v] = total;
+            }
+
+            boolean primero = true;
+            while (true) {
+                int elegido = -1;
+                int empates = 0;
+                for (int v = 0; v < n; v++) {
+                    if (estado[v] != 0) {
+                        continue;
+                    }
+                    int comparacion = elegido < 0 ? 1 : compararRlf(v, elegido, primero, vecinosExcluidos, vecinosCandidatos);
+                    if (comparacion > 0) {
+                        elegido = v;
+                        empates = 1;
+                    } else if (comparacion == 0 && random.nextInt(++empates) == 0) {
+                        elegido = v;
+                    }
+                }
+                if (elegido < 0) {
+                    break;
+                }
+                primero = false;
+
+                colores[elegido] = color;
+                estado[elegido] = 2;
+                for (int p = compacta.inicioVecinos(elegido); p < compacta.finVecinos(elegido); p++) {
+                    int u = destinos[p];
+                    if (estado[u] != 0) {
+                        continue;
+                    }
+                    estado[u] = 1;
+                    for (int q = compacta.inicioVecinos(u); q < compacta.finVecinos(u); q++) {
+                        int w = destinos[q];
+                        if (estado[w] == 0) {
+                            vecinosCandidatos[w]--;
+                            vecinosExcluidos[w]++;
+                        }
+                    }
+                }
+            }
+        }
+        return colores;
+    }
+
+    /** Positivo si a es mejor eleccion RLF que b, cero si empatan. */
+    private static int compararRlf(int a, int b, boolean primero, int[] vecinosExcluidos, int[] vecinosCandidatos) {
+        if (primero) {
+            return Integer.compare(vecinosCandidatos[a], vecinosCandidatos[b]);
+        }
+        if (vecinosExcluidos[a] != vecinosExcluidos[b]) {
+            return Integer.compare(vecinosExcluidos[a], vecinosExcluidos[b]);
+        }
+        return Integer.compare(vecinosCandidatos[b], vecinosCandidatos[a]);
+    }
+
+    private static int contarSinAsignar(int[] colores, int k) {
+        int total = 0;
+        for (int c : colores) {
+            if (c < 0 || c >= k) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Resultado de una variante del portafolio.
+     */
+    private static final class Candidato {
+        private final int variante;
+        private final int[] colores;
+        private final int sinAsignar;
+
+        Candidato(int variante, int[] colores, int sinAsignar) {
+            this.variante = variante;
+            this.colores = colores;
+            this.sinAsignar = sinAsignar;
+        }
+
+        /** Menos bloques sin dia gana; en empate, la variante de menor numero. */
+        static Candidato mejorEntre(Candidato a, Candidato b) {
+            if (a == null) {
+                return b;
+            }
+            if (a.sinAsignar != b.sinAsignar) {
+                return a.sinAsignar < b.sinAsignar ? a : b;
+            }
+            return a.variante <= b.variante ? a : b;
+        }
+    }
+}
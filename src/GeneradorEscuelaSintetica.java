@@ -0,0 +1,298 @@
+package src;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Genera escuelas sinteticas reproducibles (misma semilla, mismo proyecto, ids incluidos)
+ * para pruebas de escala y benchmarks: profesores con disponibilidad parcial, salones,
+ * grupos por grado, materias con sus horas y las asignaciones academicas con sus bloques.
+ * <p>
+ * Cada grupo cursa todas las materias en su salon base; cada materia la imparten los
+ * profesores de esa especialidad, repartiendo los grupos al de menor carga. El regimen
+ * controla cuantos dias y horas tiene disponible cada profesor.
+ */
+public class GeneradorEscuelaSintetica {
+
+    /** Disponibilidad de los profesores: holgado genera instancias faciles, ajustado dificiles. */
+    public enum Regimen {
+        HOLGADO(4, 5, 6, 8),
+        AJUSTADO(2, 3, 3, 5);
+
+        private final int minDias;
+        private final int maxDias;
+        private final int minHoras;
+        private final int maxHoras;
+
+        Regimen(int minDias, int maxDias, int minHoras, int maxHoras) {
+            this.minDias = minDias;
+            this.maxDias = maxDias;
+            this.minHoras = minHoras;
+            this.maxHoras = maxHoras;
+        }
+    }
+
+    private static final List<String> DIAS = Arrays.asList("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
+    private static final List<String> HORAS =
+            Arrays.asList("07:00", "08:00", "09:00", "10:00", "11:00", "12:00", "13:00", "14:00");
+    private static final String[] NOMBRES_MATERIAS = {
+            "Matematicas", "Espanol", "Ingles", "Fisica", "Quimica", "Biologia", "Historia de Mexico",
+            "Historia Universal", "Geografia", "Formacion Civica y Etica", "Educacion Fisica", "Artes",
+            "Tecnologia", "Matematicas Aplicadas"
+    };
+    private static final int[] HORAS_MATERIAS = {5, 5, 4, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2};
+    private static final int HORAS_MATERIA_EXTRA = 2;
+
+    private final long semilla;
+    private int gruposPorGrado = 5;
+    private int profesores = 30;
+    private int salones = 15;
+    private int materias = 10;
+    private Regimen regimen = Regimen.HOLGADO;
+
+    /**
+     * Crea el generador con la semilla indicada y tamanos por defecto
+     * (5 grupos por grado, 30 profesores, 15 salones, 10 materias, regimen holgado).
+     */
+    public GeneradorEscuelaSintetica(long semilla) {
+        this.semilla = semilla;
+    }
+
+    public GeneradorEscuelaSintetica setGruposPorGrado(int gruposPorGrado) {
+        this.gruposPorGrado = positivo(gruposPorGrado, "grupos por grado");
+        return this;
+    }
+
+    public GeneradorEscuelaSintetica setProfesores(int profesores) {
+        this.profesores = positivo(profesores, "profesores");
+        return this;
+    }
+
+    public GeneradorEscuelaSintetica setSalones(int salones) {
+        this.salones = positivo(salones, "salones");
+        return this;
+    }
+
+    public GeneradorEscuelaSintetica setMaterias(int materias) {
+        this.materias = positivo(materias, "materias");
+        return this;
+    }
+
+    public GeneradorEscuelaSintetica setRegimen(Regimen regimen) {
+        if (regimen == null) {
+            throw new IllegalArgumentException("El regimen es obligatorio");
+        }
+        this.regimen = regimen;
+        return this;
+    }
+
+    /**
+     * Configuracion del proyecto generado (nombre y grupos por grado).
+     */
+    public ConfiguracionProyecto crearConfiguracion() {
+        ConfiguracionProyecto configuracion = new ConfiguracionProyecto();
+        configuracion.setNombreEscuela(String.format(Locale.ROOT, "Escuela sintetica %s %d",
+                regimen.name().toLowerCase(Locale.ROOT), semilla));
+        for (int grado = 1; grado <= 3; grado++) {
+            configuracion.setCantidadGrupos(grado, gruposPorGrado);
+        }
+        return configuracion;
+    }
+
+    /**
+     * Reemplaza el contenido del catalogo con la escuela generada.
+     */
+    public void poblar(CatalogoRecursos catalogo) {
+        Random random = new Random(semilla);
+
+        List<Materia> listaMaterias = new ArrayList<>();
+        for (int m = 0; m < materias; m++) {
+            boolean base = m < NOMBRES_MATERIAS.length;
+            listaMaterias.add(new Materia(id("M", m),
+                    base ? NOMBRES_MATERIAS[m] : "Optativa " + (m - NOMBRES_MATERIAS.length + 1),
+                    base ? HORAS_MATERIAS[m] : HORAS_MATERIA_EXTRA));
+        }
+
+        // Profesor i imparte la materia i % materias, con dias y horas al azar segun el regimen.
+        List<Profesor> listaProfesores = new ArrayList<>();
+        Map<String, List<Integer>> profesoresPorMateria = new HashMap<>();
+        for (int p = 0; p < profesores; p++) {
+            Materia materia = listaMaterias.get(p % materias);
+            listaProfesores.add(new Profesor(id("P", p), "Profesor " + (p + 1), materia.getNombre(),
+                    subconjunto(DIAS, regimen.minDias, regimen.maxDias, random),
+                    subconjunto(HORAS, regimen.minHoras, regimen.maxHoras, random), 0));
+            profesoresPorMateria.computeIfAbsent(materia.getId(), k -> new ArrayList<>()).add(p);
+        }
+
+        List<Salon> listaSalones = new ArrayList<>();
+        for (int s = 0; s < salones; s++) {
+            listaSalones.add(new Salon(id("S", s), "Salon " + (s + 1), 30 + random.nextInt(11)));
+        }
+
+        List<GrupoEstudiantes> listaGrupos = new ArrayList<>();
+        List<AsignacionAcademica> asignaciones = new ArrayList<>();
+        List<BloqueHorario> bloques = new ArrayList<>();
+        Map<String, List<String>> bloquesPorAsignacion = new HashMap<>();
+        int[] carga = new int[profesores];
+        for (int grado = 1; grado <= 3; grado++) {
+            for (int g = 0; g < gruposPorGrado; g++) {
+                int indiceGrupo = listaGrupos.size();
+                GrupoEstudiantes grupo = new GrupoEstudiantes(id("G", indiceGrupo),
+                        grado + String.valueOf((char) ('A' + g % 26)) + (g >= 26 ? String.valueOf(g / 26) : ""),
+                        grado, new ArrayList<>());
+                listaGrupos.add(grupo);
+                Salon salon = listaSalones.get(indiceGrupo % salones);
+
+                for (Materia materia : listaMaterias) {
+                    int p = menosCargado(profesoresPorMateria.getOrDefault(materia.getId(), Collections.emptyList()), carga);
+                    Profesor profesor = listaProfesores.get(p);
+                    carga[p] += materia.getHorasSugeridas();
+                    grupo.addProfesor(profesor.getId());
+
+                    AsignacionAcademica asignacion = new AsignacionAcademica(id("A", asignaciones.size()),
+                            grupo.getId(), profesor.getId(), materia.getId(), salon.getId(), materia.getHorasSugeridas());
+                    List<BloqueHorario> propios = renombrar(asignacion,
+                            asignacion.construirBloquesRespetandoDisponibilidad(materia.getNombre(), profesor.getHorasDisponibles()));
+                    asignacion.registrarBloques(propios);
+                    asignaciones.add(asignacion);
+                    bloques.addAll(propios);
+                    bloquesPorAsignacion.put(asignacion.getId(), asignacion.getBloqueIds());
+                }
+            }
+        }
+        for (int p = 0; p < profesores; p++) {
+            listaProfesores.get(p).setHorasSemanales(carga[p]);
+        }
+
+        catalogo.restaurarDesdeDatos(listaProfesores, listaSalones, listaGrupos, listaMaterias,
+                asignaciones, bloques, bloquesPorAsignacion);
+    }
+
+    /**
+     * Genera el proyecto completo sobre un catalogo independiente.
+     */
+    public ProyectoDatos generarProyecto() {
+        CatalogoRecursos catalogo = CatalogoRecursos.crearIndependiente();
+        poblar(catalogo);
+        return new ProyectoDatos(crearConfiguracion(), catalogo);
+    }
+
+    /**
+     * Genera el proyecto y lo guarda como JSON en la ruta indicada.
+     */
+    public void guardar(String ruta) throws IOException {
+        new ControladorPersistencia().guardarProyecto(generarProyecto(), ruta);
+    }
+
+    /** Indice del profesor con menos horas asignadas; si la materia no tiene, cualquiera. */
+    private int menosCargado(List<Integer> candidatos, int[] carga) {
+        if (candidatos.isEmpty()) {
+            int elegido = 0;
+            for (int p = 1; p < carga.length; p++) {
+                if (carga[p] < carga[elegido]) {
+                    elegido = p;
+                }
+            }
+            return elegido;
+        }
+        int elegido = candidatos.get(0);
+        for (int p : candidatos) {
+            if (carga[p] < carga[elegido]) {
+                elegido = p;
+            }
+        }
+        return elegido;
+    }
+
+    /** Los bloques nuevos traen ids aleatorios; se reemplazan por ids derivados de la asignacion. */
+    private static List<BloqueHorario> renombrar(AsignacionAcademica asignacion, List<BloqueHorario> bloques) {
+        List<BloqueHorario> renombrados = new ArrayList<>(bloques.size());
+        for (int i = 0; i < bloques.size(); i++) {
+            BloqueHorario bloque = bloques.get(i);
+            renombrados.add(new BloqueHorario(asignacion.getId() + "-" + (i + 1),
+                    bloque.getHoraInicio(), bloque.getHoraFin(), bloque.getMateria(),
+                    bloque.getProfesorId(), bloque.getSalonId(), bloque.getGrupoId(), true));
+        }
+        return renombrados;
+    }
+
+    /** Entre min y max valores al azar, conservando el orden original. */
+    private static List<String> subconjunto(List<String> valores, int min, int max, Random random) {
+        int cantidad = min + random.nextInt(max - min + 1);
+        List<String> mezclados = new ArrayList<>(valores);
+        Collections.shuffle(mezclados, random);
+        List<String> elegidos = new ArrayList<>(mezclados.subList(0, cantidad));
+        elegidos.sort((a, b) -> Integer.compare(valores.indexOf(a), valores.indexOf(b)));
+        return elegidos;
+    }
+
+    private static String id(String prefijo, int indice) {
+        return String.format(Locale.ROOT, "%s%05d", prefijo, indice + 1);
+    }
+
+    private static int positivo(int valor, String nombre) {
+        if (valor <= 0) {
+            throw new IllegalArgumentException("La cantidad de " + nombre + " debe ser positiva");
+        }
+        return valor;
+    }
+
+    /**
+     * Genera instancias desde linea de comandos, una por semilla consecutiva.
+     * Uso: {@code java src.GeneradorEscuelaSintetica [--grupos-por-grado n] [--profesores n]
+     * [--salones n] [--materias n] [--regimen holgado|ajustado] [--semilla s] [--instancias k] directorio}
+     */
+    public static void main(String[] args) throws IOException {
+        int gruposPorGrado = 5;
+        int profesores = 30;
+        int salones = 15;
+        int materias = 10;
+        Regimen regimen = Regimen.HOLGADO;
+        long semilla = 1L;
+        int instancias = 1;
+        Path destino = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--grupos-por-grado" -> gruposPorGrado = Integer.parseInt(args[++i]);
+                case "--profesores" -> profesores = Integer.parseInt(args[++i]);
+                case "--salones" -> salones = Integer.parseInt(args[++i]);
+                case "--materias" -> materias = Integer.parseInt(args[++i]);
+                case "--regimen" -> regimen = Regimen.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                case "--semilla" -> semilla = Long.parseLong(args[++i]);
+                case "--instancias" -> instancias = Integer.parseInt(args[++i]);
+                default -> destino = Paths.get(args[i]);
+            }
+        }
+        if (destino == null) {
+            System.err.println("Uso: GeneradorEscuelaSintetica [--grupos-por-grado n] [--profesores n] [--salones n]"
+                    + " [--materias n] [--regimen holgado|ajustado] [--semilla s] [--instancias k] directorio");
+            System.exit(2);
+        }
+
+        Files.createDirectories(destino);
+        for (int k = 0; k < instancias; k++) {
+            long semillaInstancia = semilla + k;
+            Path archivo = destino.resolve(String.format(Locale.ROOT, "escuela-%s-%d.json",
+                    regimen.name().toLowerCase(Locale.ROOT), semillaInstancia));
+            new GeneradorEscuelaSintetica(semillaInstancia)
+                    .setGruposPorGrado(gruposPorGrado)
+                    .setProfesores(profesores)
+                    .setSalones(salones)
+                    .setMaterias(materias)
+                    .setRegimen(regimen)
+                    .guardar(archivo.toString());
+            System.out.println("Generado " + archivo);
+        }
+    }
+}
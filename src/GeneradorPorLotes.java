@@ -0,0 +1,345 @@
+package src;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Generacion de horarios sin interfaz: carga proyectos (JSON o .hrb de {@link ProyectoDatos}),
+ * genera el horario por grado o de toda la escuela y guarda el proyecto resultante junto
+ * con un resumen de tiempos y calidad. Varios proyectos se procesan en paralelo con un
+ * numero fijo de hilos; cada uno usa su propio catalogo, asi que no comparten estado.
+ * <p>
+ * Uso: {@code java src.GeneradorPorLotes [--salida dir] [--hilos n] [--modo grado|escuela]
+ * [--estrategia coloracion|portafolio] [--cache dir] archivo.json|archivo.hrb|directorio ...}
+ * <p>
+ * Con {@code --cache} los horarios generados se guardan en ese directorio
+ * ({@link CacheGeneraciones}) y las ejecuciones siguientes reutilizan los de grados o
+ * proyectos cuyos datos no cambiaron.
+ */
+public class GeneradorPorLotes {
+
+    /** Alcance de cada generacion. */
+    public enum Modo { GRADO, ESCUELA }
+
+    private static final String SUFIJO_SALIDA = ".horario.json";
+    private static final String ARCHIVO_RESUMEN = "resumen.json";
+    /** Entradas de la cache que se conservan en memoria y en disco con {@code --cache}. */
+    private static final int CAPACIDAD_CACHE = 256;
+    private static final int CAPACIDAD_CACHE_DISCO = 4096;
+
+    private final Path salida;
+    private final int hilos;
+    private final Modo modo;
+    private final Supplier<EstrategiaGeneracion> estrategias;
+
+    /**
+     * Crea el generador.
+     * @param salida directorio donde se escriben los resultados y el resumen
+     * @param hilos numero maximo de proyectos procesados a la vez
+     * @param modo generar por grado o toda la escuela en una sola grafica
+     * @param estrategias fabrica de estrategias (una por generacion, no se comparten entre hilos)
+     */
+    public GeneradorPorLotes(Path salida, int hilos, Modo modo, Supplier<EstrategiaGeneracion> estrategias) {
+        if (salida == null || modo == null || estrategias == null) {
+            throw new IllegalArgumentException("Salida, modo y estrategia son obligatorios");
+        }
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("Debe haber al menos un hilo");
+        }
+        this.salida = salida;
+        this.hilos = hilos;
+        this.modo = modo;
+        this.estrategias = estrategias;
+    }
+
+    /**
+     * Procesa los proyectos indicados y escribe el resumen. Los resultados conservan el
+     * orden de entrada; un proyecto que falla se reporta con su error sin detener al resto.
+     */
+    public List<Resultado> procesar(List<Path> proyectos) throws IOException {
+        Files.createDirectories(salida);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(Math.min(hilos, Math.max(1, proyectos.size())));
+        List<Resultado> resultados = new ArrayList<>();
+        try {
+            List<Future<Resultado>> pendientes = new ArrayList<>();
+            for (Path proyecto : proyectos) {
+                pendientes.add(ejecutor.submit(() -> procesarProyecto(proyecto)));
+            }
+            for (int i = 0; i < pendientes.size(); i++) {
+                try {
+                    resultados.add(pendientes.get(i).get());
+                } catch (ExecutionException e) {
+                    resultados.add(Resultado.conError(proyectos.get(i), e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Procesamiento interrumpido", e);
+                }
+            }
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        escribirResumen(salida.resolve(ARCHIVO_RESUMEN), resultados);
+        return resultados;
+    }
+
+    /** Genera el horario de un proyecto y guarda el resultado. */
+    private Resultado procesarProyecto(Path archivo) {
+        long inicio = System.nanoTime();
+        try {
+            ControladorPersistencia persistencia = new ControladorPersistencia();
+            ProyectoDatos datos = persistencia.cargarProyecto(archivo.toString());
+            CatalogoRecursos catalogo = datos.crearCatalogo();
+            long carga = System.nanoTime();
+
+            long[] nanosPorFase = new long[MetricasGeneracion.Fase.values().length];
+            if (modo == Modo.ESCUELA) {
+                generar(catalogo.getTodosLosBloques(), catalogo, nanosPorFase);
+            } else {
+                TreeSet<Integer> grados = new TreeSet<>();
+                for (GrupoEstudiantes grupo : catalogo.getTodosLosGrupos()) {
+                    grados.add(grupo.getGrado());
+                }
+                for (int grado : grados) {
+                    List<String> idsGrupos = catalogo.getGruposPorGrado(grado).stream()
+                            .map(GrupoEstudiantes::getId)
+                            .collect(Collectors.toList());
+                    generar(catalogo.getBloquesByGrupoIds(idsGrupos), catalogo, nanosPorFase);
+                }
+            }
+            long generacion = System.nanoTime();
+
+            // Los bloques del catalogo quedan con su dia y horas; se guarda el proyecto completo.
+            Path destino = salida.resolve(nombreBase(archivo) + SUFIJO_SALIDA);
+            persistencia.guardarProyecto(new ProyectoDatos(datos.getConfiguracion(), catalogo), destino.toString());
+
+            List<BloqueHorario> bloques = catalogo.getTodosLosBloques();
+            List<BloqueHorario> asignados = new ArrayList<>();
+            for (BloqueHorario bloque : bloques) {
+                if (bloque.getDia() != null && bloque.getHoraInicio() != null && bloque.getHoraFin() != null) {
+                    asignados.add(bloque);
+                }
+            }
+            int conflictos = new MotorValidacionBarrido(asignados).paresEnConflicto().size();
+            return new Resultado(archivo, destino, bloques.size(), asignados.size(), conflictos,
+                    milis(inicio, carga), milis(carga, generacion), milis(inicio, System.nanoTime()), nanosPorFase, null);
+        } catch (Exception e) {
+            return Resultado.conError(archivo, e);
+        }
+    }
+
+    /** Genera un conjunto de bloques y suma el tiempo de cada fase. */
+    private void generar(List<BloqueHorario> bloques, CatalogoRecursos catalogo, long[] nanosPorFase) {
+        if (bloques.isEmpty()) {
+            return;
+        }
+        MetricasGeneracion metricas = estrategias.get()
+                .generarConMetricas(new AdaptadorGraficaDeHorarios(bloques, catalogo)).getMetricas();
+        for (MetricasGeneracion.Fase fase : MetricasGeneracion.Fase.values()) {
+            nanosPorFase[fase.ordinal()] += metricas.getNanos(fase);
+        }
+    }
+
+    private static String nombreBase(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        String minusculas = nombre.toLowerCase(Locale.ROOT);
+        if (minusculas.endsWith(".json")) {
+            return nombre.substring(0, nombre.length() - ".json".length());
+        }
+        if (minusculas.endsWith(ControladorPersistencia.EXTENSION_BINARIA)) {
+            return nombre.substring(0, nombre.length() - ControladorPersistencia.EXTENSION_BINARIA.length());
+        }
+        return nombre;
+    }
+
+    private static long milis(long desde, long hasta) {
+        return (hasta - desde) / 1_000_000L;
+    }
+
+    private void escribirResumen(Path archivo, List<Resultado> resultados) throws IOException {
+        try (BufferedWriter destino = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            EscritorJson json = new EscritorJson(destino);
+            json.inicioObjeto()
+                .campo("modo", modo.name().toLowerCase(Locale.ROOT))
+                .nombre("proyectos").inicioArreglo();
+            for (Resultado resultado : resultados) {
+                resultado.escribirJson(json);
+            }
+            json.finArreglo().finObjeto();
+            json.flush();
+        }
+    }
+
+    /**
+     * Resultado de generar un proyecto: totales de bloques, conflictos restantes y tiempos.
+     */
+    public static final class Resultado {
+        private final Path origen;
+        private final Path destino;
+        private final int bloques;
+        private final int asignados;
+        private final int conflictos;
+        private final long msCarga;
+        private final long msGeneracion;
+        private final long msTotal;
+        private final long[] nanosPorFase;
+        private final String error;
+
+        private Resultado(Path origen, Path destino, int bloques, int asignados, int conflictos,
+                          long msCarga, long msGeneracion, long msTotal, long[] nanosPorFase, String error) {
+            this.origen = origen;
+            this.destino = destino;
+            this.bloques = bloques;
+            this.asignados = asignados;
+            this.conflictos = conflictos;
+            this.msCarga = msCarga;
+            this.msGeneracion = msGeneracion;
+            this.msTotal = msTotal;
+            this.nanosPorFase = nanosPorFase != null ? nanosPorFase.clone() : new long[MetricasGeneracion.Fase.values().length];
+            this.error = error;
+        }
+
+        private static Resultado conError(Path origen, Throwable causa) {
+            String mensaje = causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+            return new Resultado(origen, null, 0, 0, 0, 0, 0, 0, null, mensaje);
+        }
+
+        public Path getOrigen() { return origen; }
+        public Path getDestino() { return destino; }
+        public int getBloques() { return bloques; }
+        public int getAsignados() { return asignados; }
+        public int getSinAsignar() { return bloques - asignados; }
+        public int getConflictos() { return conflictos; }
+        public long getMsCarga() { return msCarga; }
+        public long getMsGeneracion() { return msGeneracion; }
+        public long getMsTotal() { return msTotal; }
+        public long getMsFase(MetricasGeneracion.Fase fase) { return nanosPorFase[fase.ordinal()] / 1_000_000L; }
+        public String getError() { return error; }
+        public boolean isExitoso() { return error == null; }
+
+        private void escribirJson(EscritorJson json) throws IOException {
+            json.inicioObjeto().campo("origen", origen.toString());
+            if (error != null) {
+                json.campo("error", error).finObjeto();
+                return;
+            }
+            json.campo("destino", destino.toString())
+                .campo("bloques", bloques)
+                .campo("asignados", asignados)
+                .campo("sinAsignar", getSinAsignar())
+                .campo("conflictos", conflictos)
+                .campo("msCarga", msCarga)
+                .campo("msGeneracion", msGeneracion)
+                .campo("msTotal", msTotal)
+                .nombre("msPorFase").inicioObjeto();
+            for (MetricasGeneracion.Fase fase : MetricasGeneracion.Fase.values()) {
+                json.campo(fase.name().toLowerCase(Locale.ROOT), getMsFase(fase));
+            }
+            json.finObjeto().finObjeto();
+        }
+
+        @Override
+        public String toString() {
+            if (error != null) {
+                return origen.getFileName() + ": ERROR " + error;
+            }
+            return origen.getFileName() + ": " + asignados + "/" + bloques + " bloques asignados, "
+                    + conflictos + " conflictos, " + msGeneracion + " ms de generacion (" + msTotal + " ms total)";
+        }
+    }
+
+    /**
+     * Punto de entrada de linea de comandos.
+     */
+    public static void main(String[] args) throws IOException {
+        Path salida = Paths.get("resultados");
+        int hilos = Runtime.getRuntime().availableProcessors();
+        Modo modo = Modo.GRADO;
+        String estrategia = "coloracion";
+        Path directorioCache = null;
+        List<Path> proyectos = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--salida" -> salida = Paths.get(valor(args, ++i));
+                case "--hilos" -> hilos = Integer.parseInt(valor(args, ++i));
+                case "--modo" -> modo = Modo.valueOf(valor(args, ++i).toUpperCase(Locale.ROOT));
+                case "--estrategia" -> estrategia = valor(args, ++i);
+                case "--cache" -> directorioCache = Paths.get(valor(args, ++i));
+                default -> agregarEntrada(Paths.get(args[i]), proyectos);
+            }
+        }
+        if (proyectos.isEmpty()) {
+            System.err.println("Uso: GeneradorPorLotes [--salida dir] [--hilos n] [--modo grado|escuela]"
+                    + " [--estrategia coloracion|portafolio] [--cache dir] archivo.json|archivo.hrb|directorio ...");
+            System.exit(2);
+        }
+
+        Supplier<EstrategiaGeneracion> base = switch (estrategia) {
+            case "coloracion" -> EstrategiaColoracion::new;
+            case "portafolio" -> EstrategiaPortafolioParalelo::new;
+            default -> throw new IllegalArgumentException("Estrategia desconocida: " + estrategia);
+        };
+        CacheGeneraciones cache = directorioCache != null
+                ? new CacheGeneraciones(CAPACIDAD_CACHE, directorioCache, CAPACIDAD_CACHE_DISCO)
+                : null;
+        Supplier<EstrategiaGeneracion> fabrica = cache != null ? () -> new EstrategiaConCache(base.get(), cache) : base;
+
+        List<Resultado> resultados = new GeneradorPorLotes(salida, hilos, modo, fabrica).procesar(proyectos);
+
+        int fallidos = 0;
+        for (Resultado resultado : resultados) {
+            System.out.println(resultado);
+            if (!resultado.isExitoso()) {
+                fallidos++;
+            }
+        }
+        if (cache != null) {
+            System.out.println("Cache: " + cache.getAciertos() + " reutilizados, " + cache.getFallos() + " generados");
+        }
+        System.out.println("Resumen en " + salida.resolve(ARCHIVO_RESUMEN));
+        if (fallidos > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String valor(String[] args, int indice) {
+        if (indice >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de " + args[indice - 1]);
+        }
+        return args[indice];
+    }
+
+    /** Un directorio aporta sus archivos .json y .hrb (sin resultados previos) en orden alfabetico. */
+    private static void agregarEntrada(Path entrada, List<Path> proyectos) throws IOException {
+        if (!Files.isDirectory(entrada)) {
+            proyectos.add(entrada);
+            return;
+        }
+        List<Path> archivos = new ArrayList<>();
+        try (DirectoryStream<Path> contenido = Files.newDirectoryStream(entrada, "*.{json,hrb}")) {
+            for (Path archivo : contenido) {
+                if (!archivo.getFileName().toString().endsWith(SUFIJO_SALIDA)
+                        && !archivo.getFileName().toString().equals(ARCHIVO_RESUMEN)) {
+                    archivos.add(archivo);
+                }
+            }
+        }
+        archivos.sort(null);
+        proyectos.addAll(archivos);
+    }
+}
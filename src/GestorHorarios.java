@@ -14,15 +14,30 @@ public class GestorHorarios implements
     private static GestorHorarios instance;
     
     private final Map<String, HorarioSemana> horariosPorGrupo;
+    /** Indice id de bloque -> grupo cuyo horario lo contiene (se verifica en cada busqueda). */
+    private final Map<String, String> grupoPorBloque;
     private final List<HorarioChangeListener> listeners;
     private final List<ValidationListener> validationListeners;
-    private final ControladorValidacion controladorValidacion;
+    private final ValidacionIncremental validacionIncremental;
+
+    /** Estado del lote activo: profundidad de anidamiento, eventos y validaciones pendientes. */
+    private int profundidadLote;
+    private boolean cambioGlobalPendiente;
+    private final Map<String, EventoPendiente> eventosPendientes;
+    private final Set<String> validacionesPendientes;
+    /** Bloques que cambiaron desde la ultima validacion de su grupo (grupo -> id -> bloque). */
+    private final Map<String, Map<String, BloqueHorario>> bloquesPorValidar;
 
     private GestorHorarios() {
         horariosPorGrupo = new HashMap<>();
+        grupoPorBloque = new HashMap<>();
         listeners = new ArrayList<>();
         validationListeners = new ArrayList<>();
-        controladorValidacion = new ControladorValidacion();
+        validacionIncremental = new ValidacionIncremental();
+        eventosPendientes = new LinkedHashMap<>();
+        validacionesPendientes = new LinkedHashSet<>();
+        bloquesPorValidar = new HashMap<>();
+        CatalogoRecursos.getInstance().addCambioListener(this::onCatalogoCambiado);
     }
     
     /**
@@ -35,6 +50,17 @@ public class GestorHorarios implements
         return instance;
     }
 
+    /**
+     * Las advertencias guardadas dependen de la disponibilidad de los profesores del catalogo.
+     */
+    private void onCatalogoCambiado(CatalogoRecursos.Entidad entidad, String id) {
+        if (entidad == CatalogoRecursos.Entidad.PROFESOR) {
+            validacionIncremental.invalidarProfesor(id);
+        } else if (entidad == CatalogoRecursos.Entidad.TODO) {
+            validacionIncremental.olvidarTodo();
+        }
+    }
+
     // ========== Listeners de Validacion ==========
 
     public interface ValidationListener {
@@ -85,10 +111,15 @@ public class GestorHorarios implements
         if (anterior != null) {
             anterior.removeListener(this);
             desregistrarBloquesDeHorario(anterior);
+            validacionIncremental.olvidar(anterior);
+            bloquesPorValidar.remove(grupoId);
         }
         
         horarioSemana.addListener(this);
         horariosPorGrupo.put(grupoId, horarioSemana);
+        for (BloqueHorario bloque : horarioSemana.getBloques()) {
+            grupoPorBloque.put(bloque.getId(), grupoId);
+        }
         
         registrarBloquesDeHorario(horarioSemana);
         
@@ -124,6 +155,7 @@ public class GestorHorarios implements
         HorarioSemana semana = getHorarioSemana(grupoId);
         bloque.addListener(this);
         semana.agregar(bloque);
+        grupoPorBloque.put(bloque.getId(), grupoId);
     }
     
     /**
@@ -135,6 +167,8 @@ public class GestorHorarios implements
         if (semana != null) {
             bloque.removeListener(this);
             semana.eliminarBloque(bloque.getId());
+            grupoPorBloque.remove(bloque.getId(), grupoId);
+            registrarCambio(grupoId, bloque);
         }
     }
     
@@ -142,6 +176,8 @@ public class GestorHorarios implements
     
     /**
      * Actualiza la posicion (dia/hora) del bloque y dispara validacion/notificacion.
+     * La validacion es incremental: solo se revalidan el bloque movido (y los que cambiaron
+     * desde la ultima validacion del grupo) contra sus vecinos del mismo dia y recurso.
      */
     public void actualizarPosicionBloque(BloqueHorario bloque, String dia, LocalTime horaInicio) {
         java.time.Duration duracion = bloque.getDuracion();
@@ -166,13 +202,58 @@ public class GestorHorarios implements
         }
         
         bloque.actualizarPosicion(dia, horaInicioFinal, horaFin);
+        registrarCambio(grupoId, bloque);
         
         notifyBloquesChanged(grupoId, TipoCambio.BLOQUE_MODIFICADO, bloque);
 
-        List<ResultadoValidacion> resultados = controladorValidacion.validarTodo(semana);
-        notifyValidationListeners(resultados);
+        if (profundidadLote > 0) {
+            // Se reinserta para que, al confirmar, el ultimo grupo movido sea el ultimo en notificarse.
+            validacionesPendientes.remove(grupoId);
+            validacionesPendientes.add(grupoId);
+            return;
+        }
+        notifyValidationListeners(validarCambios(grupoId, semana));
+    }
+
+    /** Anota un bloque para revalidarlo en la siguiente validacion de su grupo. */
+    private void registrarCambio(String grupoId, BloqueHorario bloque) {
+        if (grupoId != null) {
+            bloquesPorValidar.computeIfAbsent(grupoId, k -> new LinkedHashMap<>()).put(bloque.getId(), bloque);
+        }
+    }
+
+    /** Valida el horario del grupo revisando solo los bloques anotados desde la ultima vez. */
+    private List<ResultadoValidacion> validarCambios(String grupoId, HorarioSemana semana) {
+        Map<String, BloqueHorario> cambiados = bloquesPorValidar.remove(grupoId);
+        if (cambiados == null) {
+            return validacionIncremental.validar(semana);
+        }
+        return validacionIncremental.validarCambios(semana, cambiados.values());
     }
     
+    /**
+     * Publica el resultado de una generacion en un solo lote: agrega al horario de su grupo
+     * los bloques que aun no esten y ubica cada uno en el dia y hora que le asigno el
+     * generador (sin dia queda sin asignar). Al terminar se emite un evento y una
+     * validacion por grupo afectado.
+     */
+    public void publicarGeneracion(Collection<BloqueHorario> generados) {
+        enLote(() -> {
+            for (BloqueHorario generado : generados) {
+                // Se lee antes de agregar: al entrar al horario el bloque queda sin dia.
+                String dia = generado.getDia();
+                LocalTime horaInicio = generado.getHoraInicio();
+                String grupoId = generado.getGrupoId();
+                BloqueHorario bloque = buscarBloqueEnGrupo(grupoId, generado.getId()).orElse(null);
+                if (bloque == null) {
+                    agregarBloque(generado, grupoId);
+                    bloque = generado;
+                }
+                actualizarPosicionBloque(bloque, dia, horaInicio);
+            }
+        });
+    }
+
     /**
      * Mueve un bloque a un dia especifico sin cambiar horas.
      */
@@ -183,6 +264,93 @@ public class GestorHorarios implements
         }
     }
     
+    // ========== Lotes de cambios ==========
+
+    /**
+     * Ejecuta la accion como un lote: las notificaciones se acumulan y al terminar se emite
+     * un solo evento por grupo afectado (y una validacion por grupo movido).
+     */
+    public void enLote(Runnable accion) {
+        Lote lote = iniciarLote();
+        try {
+            accion.run();
+        } finally {
+            lote.close();
+        }
+    }
+
+    /**
+     * Abre un lote para usar con try-with-resources. Los lotes se pueden anidar; los eventos
+     * se emiten al cerrar el mas externo.
+     */
+    public Lote iniciarLote() {
+        profundidadLote++;
+        return new Lote();
+    }
+
+    /**
+     * Lote de cambios abierto; al cerrarlo se emiten los eventos acumulados.
+     */
+    public final class Lote implements AutoCloseable {
+        private boolean cerrado;
+
+        private Lote() {
+        }
+
+        @Override
+        public void close() {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            if (--profundidadLote == 0) {
+                emitirPendientes();
+            }
+        }
+    }
+
+    /** Evento acumulado de un grupo: se conserva tal cual si fue el unico del lote. */
+    private static final class EventoPendiente {
+        private final TipoCambio tipoCambio;
+        private final BloqueHorario bloque;
+        private final boolean multiple;
+
+        EventoPendiente(TipoCambio tipoCambio, BloqueHorario bloque, boolean multiple) {
+            this.tipoCambio = tipoCambio;
+            this.bloque = bloque;
+            this.multiple = multiple;
+        }
+    }
+
+    private void emitirPendientes() {
+        boolean global = cambioGlobalPendiente;
+        List<Map.Entry<String, EventoPendiente>> eventos = new ArrayList<>(eventosPendientes.entrySet());
+        List<String> porValidar = new ArrayList<>(validacionesPendientes);
+        cambioGlobalPendiente = false;
+        eventosPendientes.clear();
+        validacionesPendientes.clear();
+
+        if (global) {
+            notifyBloquesChanged(null, TipoCambio.REEMPLAZO_COMPLETO, null);
+        } else {
+            for (Map.Entry<String, EventoPendiente> entrada : eventos) {
+                EventoPendiente evento = entrada.getValue();
+                if (evento.multiple) {
+                    notifyBloquesChanged(entrada.getKey(), TipoCambio.REEMPLAZO_COMPLETO, null);
+                } else {
+                    notifyBloquesChanged(entrada.getKey(), evento.tipoCambio, evento.bloque);
+                }
+            }
+        }
+
+        for (String grupoId : porValidar) {
+            HorarioSemana semana = horariosPorGrupo.get(grupoId);
+            if (semana != null) {
+                notifyValidationListeners(validarCambios(grupoId, semana));
+            }
+        }
+    }
+
     // ========== Observer Nivel 1: BloqueHorario ==========
     
     @Override
@@ -195,6 +363,8 @@ public class GestorHorarios implements
                               propiedad.equals("materia") ||
                               propiedad.equals("profesorId");
         
+        registrarCambio(grupoPorBloque.getOrDefault(bloque.getId(), bloque.getGrupoId()), bloque);
+
         if (cambioVisual) {
             String grupoId = bloque.getGrupoId();
             
@@ -223,6 +393,7 @@ public class GestorHorarios implements
         if (bloque == null) return;
         
         String grupoId = bloque.getGrupoId();
+        registrarCambio(grupoId, bloque);
         
         TipoCambio tipoCambio = switch (tipoEvento) {
             case BLOQUE_ASIGNADO, BLOQUE_DESASIGNADO -> TipoCambio.BLOQUE_MODIFICADO;
@@ -273,6 +444,15 @@ public class GestorHorarios implements
     }
     
     private void notifyBloquesChanged(String grupoId, TipoCambio tipoCambio, BloqueHorario bloque) {
+        if (profundidadLote > 0) {
+            if (grupoId == null) {
+                cambioGlobalPendiente = true;
+            } else {
+                eventosPendientes.merge(grupoId, new EventoPendiente(tipoCambio, bloque, false),
+                        (anterior, nuevo) -> new EventoPendiente(TipoCambio.REEMPLAZO_COMPLETO, null, true));
+            }
+            return;
+        }
         List<HorarioChangeListener> listenersCopy = new ArrayList<>(listeners);
         
         for (HorarioChangeListener listener : listenersCopy) {
@@ -308,18 +488,40 @@ public class GestorHorarios implements
     // ========== Utilidades ==========
     
     /**
-     * Busca un bloque por ID en todos los grupos.
+     * Busca un bloque por ID en todos los grupos. Primero consulta el indice id -> grupo
+     * (O(1) si el bloque esta donde indica); si no, recorre los horarios de todos los grupos.
+     * Cuando se conoce el grupo conviene {@link #buscarBloqueEnGrupo}.
      */
     public Optional<BloqueHorario> buscarBloquePorId(String bloqueId) {
-        for (HorarioSemana semana : horariosPorGrupo.values()) {
-            Optional<BloqueHorario> resultado = semana.obtenerBloquePorID(bloqueId);
+        String grupoId = grupoPorBloque.get(bloqueId);
+        HorarioSemana indicada = grupoId != null ? horariosPorGrupo.get(grupoId) : null;
+        if (indicada != null) {
+            Optional<BloqueHorario> resultado = indicada.obtenerBloquePorID(bloqueId);
             if (resultado.isPresent()) {
                 return resultado;
             }
         }
+        for (Map.Entry<String, HorarioSemana> entrada : horariosPorGrupo.entrySet()) {
+            Optional<BloqueHorario> resultado = entrada.getValue().obtenerBloquePorID(bloqueId);
+            if (resultado.isPresent()) {
+                grupoPorBloque.put(bloqueId, entrada.getKey());
+                return resultado;
+            }
+        }
+        if (grupoId != null) {
+            grupoPorBloque.remove(bloqueId);
+        }
         return Optional.empty();
     }
     
+    /**
+     * Busca un bloque por ID solo en el horario de un grupo (sin crearlo si no existe).
+     */
+    public Optional<BloqueHorario> buscarBloqueEnGrupo(String grupoId, String bloqueId) {
+        HorarioSemana semana = horariosPorGrupo.get(grupoId);
+        return semana != null ? semana.obtenerBloquePorID(bloqueId) : Optional.empty();
+    }
+
     /**
      * IDs de grupos que tienen horarios cargados.
      */
@@ -337,6 +539,7 @@ public class GestorHorarios implements
         }
         
         horariosPorGrupo.clear();
+        grupoPorBloque.clear();
         notifyBloquesChanged(null, TipoCambio.REEMPLAZO_COMPLETO, null);
     }
     
@@ -348,6 +551,7 @@ public class GestorHorarios implements
         if (semana != null) {
             semana.removeListener(this);
             desregistrarBloquesDeHorario(semana);
+            grupoPorBloque.values().removeIf(grupoId::equals);
             notifyBloquesChanged(grupoId, TipoCambio.REEMPLAZO_COMPLETO, null);
         }
     }
@@ -0,0 +1,269 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Grafica de conflictos inmutable con indices enteros densos y vecinos en formato
+ * CSR (offsets + destinos). Los indices se asignan en orden lexicografico de id,
+ * de modo que los desempates por indice coinciden con los desempates por id.
+ * Pensada para que los algoritmos de coloracion recorran vecinos sin hashing.
+ */
+public class GraficaHorarioCompacta implements GraficaHorario {
+
+    private final String[] ids;
+    private final BloqueHorario[] bloques;
+    private final Map<String, Integer> indicePorId;
+    private final int[] offsets;
+    private final int[] destinos;
+    private final int numAristas;
+
+    /**
+     * Crea la version compacta de una grafica existente (copia nodos y aristas una sola vez).
+     */
+    public GraficaHorarioCompacta(GraficaHorario origen) {
+        Map<String, Set<String>> adyacencias = origen.obtenerAdyacencias();
+        int n = adyacencias.size();
+
+        this.ids = adyacencias.keySet().toArray(new String[0]);
+        Arrays.sort(ids);
+
+        this.bloques = new BloqueHorario[n];
+        this.indicePorId = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indicePorId.put(ids[i], i);
+            bloques[i] = origen.obtenerBloque(ids[i]);
+        }
+
+        this.offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + adyacencias.get(ids[i]).size();
+        }
+
+        this.destinos = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int pos = offsets[i];
+            for (String vecino : adyacencias.get(ids[i])) {
+                destinos[pos++] = indicePorId.get(vecino);
+            }
+            Arrays.sort(destinos, offsets[i], offsets[i + 1]);
+        }
+
+        this.numAristas = destinos.length / 2;
+    }
+
+    private GraficaHorarioCompacta(String[] ids, BloqueHorario[] bloques, int[] offsets, int[] destinos) {
+        this.ids = ids;
+        this.bloques = bloques;
+        this.offsets = offsets;
+        this.destinos = destinos;
+        this.numAristas = destinos.length / 2;
+        this.indicePorId = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            indicePorId.put(ids[i], i);
+        }
+    }
+
+    /**
+     * Componentes conexas de la grafica. Cada componente es la lista ascendente de sus
+     * indices; las componentes se ordenan por su indice menor.
+     */
+    public List<int[]> componentesConexas() {
+        int n = ids.length;
+        boolean[] visitado = new boolean[n];
+        int[] cola = new int[n];
+        List<int[]> componentes = new ArrayList<>();
+
+        for (int inicio = 0; inicio < n; inicio++) {
+            if (visitado[inicio]) {
+                continue;
+            }
+            int cabeza = 0;
+            int fin = 0;
+            cola[fin++] = inicio;
+            visitado[inicio] = true;
+            while (cabeza < fin) {
+                int nodo = cola[cabeza++];
+                for (int k = offsets[nodo]; k < offsets[nodo + 1]; k++) {
+                    int vecino = destinos[k];
+                    if (!visitado[vecino]) {
+                        visitado[vecino] = true;
+                        cola[fin++] = vecino;
+                    }
+                }
+            }
+            int[] componente = Arrays.copyOf(cola, fin);
+            Arrays.sort(componente);
+            componentes.add(componente);
+        }
+        return componentes;
+    }
+
+    /**
+     * Subgrafica inducida por una componente conexa (indices ascendentes, sin vecinos fuera
+     * de la lista). Los indices locales conservan el orden de los originales.
+     */
+    public GraficaHorarioCompacta subgrafica(int[] nodos) {
+        int n = nodos.length;
+        String[] subIds = new String[n];
+        BloqueHorario[] subBloques = new BloqueHorario[n];
+        int[] subOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            subIds[i] = ids[nodos[i]];
+            subBloques[i] = bloques[nodos[i]];
+            subOffsets[i + 1] = subOffsets[i] + grado(nodos[i]);
+        }
+
+        int[] subDestinos = new int[subOffsets[n]];
+        for (int i = 0; i < n; i++) {
+            int pos = subOffsets[i];
+            for (int k = offsets[nodos[i]]; k < offsets[nodos[i] + 1]; k++) {
+                int local = Arrays.binarySearch(nodos, destinos[k]);
+                if (local < 0) {
+                    throw new IllegalArgumentException("Los nodos no forman una componente cerrada");
+                }
+                subDestinos[pos++] = local;
+            }
+        }
+        return new GraficaHorarioCompacta(subIds, subBloques, subOffsets, subDestinos);
+    }
+
+    /**
+     * Indice denso de un bloque, o -1 si no pertenece a la grafica.
+     */
+    public int indiceDe(String bloqueId) {
+        Integer indice = indicePorId.get(bloqueId);
+        return indice != null ? indice : -1;
+    }
+
+    /**
+     * Id del bloque asociado a un indice.
+     */
+    public String idDe(int indice) {
+        return ids[indice];
+    }
+
+    /**
+     * Bloque asociado a un indice.
+     */
+    public BloqueHorario bloqueDe(int indice) {
+        return bloques[indice];
+    }
+
+    /**
+     * Numero de vecinos de un nodo.
+     */
+    public int grado(int indice) {
+        return offsets[indice + 1] - offsets[indice];
+    }
+
+    /**
+     * Posicion en {@link #destinos()} donde empiezan los vecinos del nodo.
+     */
+    public int inicioVecinos(int indice) {
+        return offsets[indice];
+    }
+
+    /**
+     * Posicion en {@link #destinos()} donde terminan (exclusivo) los vecinos del nodo.
+     */
+    public int finVecinos(int indice) {
+        return offsets[indice + 1];
+    }
+
+    /**
+     * Arreglo de destinos CSR; los vecinos de cada nodo estan ordenados ascendentemente.
+     * Se devuelve el arreglo interno para recorridos sin copia: no debe modificarse.
+     */
+    public int[] destinos() {
+        return destinos;
+    }
+
+    /**
+     * Indica si dos nodos son vecinos (busqueda binaria en la fila del primero).
+     */
+    public boolean sonAdyacentes(int a, int b) {
+        return Arrays.binarySearch(destinos, offsets[a], offsets[a + 1], b) >= 0;
+    }
+
+    /**
+     * La grafica compacta es inmutable.
+     */
+    @Override
+    public void agregarNodo(String bloqueId, BloqueHorario bloque) {
+        throw new UnsupportedOperationException("La grafica compacta es inmutable");
+    }
+
+    /**
+     * La grafica compacta es inmutable.
+     */
+    @Override
+    public void agregarArista(String bloqueIdA, String bloqueIdB) {
+        throw new UnsupportedOperationException("La grafica compacta es inmutable");
+    }
+
+    /**
+     * Muestra en consola un resumen de nodos y conflictos.
+     */
+    @Override
+    public void mostrar() {
+        System.out.println("=== Grafica de Conflictos (compacta) ===");
+        System.out.println("Nodos: " + ids.length);
+        System.out.println("Aristas: " + numAristas);
+    }
+
+    /**
+     * Reconstruye el mapa id -> ids vecinos (solo para consumidores que requieren strings).
+     */
+    @Override
+    public Map<String, Set<String>> obtenerAdyacencias() {
+        Map<String, Set<String>> mapa = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            Set<String> vecinos = new LinkedHashSet<>();
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                vecinos.add(ids[destinos[k]]);
+            }
+            mapa.put(ids[i], Collections.unmodifiableSet(vecinos));
+        }
+        return Collections.unmodifiableMap(mapa);
+    }
+
+    /**
+     * Obtiene un bloque por su id.
+     */
+    @Override
+    public BloqueHorario obtenerBloque(String id) {
+        int indice = indiceDe(id);
+        return indice >= 0 ? bloques[indice] : null;
+    }
+
+    /**
+     * Numero total de nodos.
+     */
+    @Override
+    public int obtenerNumeroNodos() {
+        return ids.length;
+    }
+
+    /**
+     * Numero total de aristas.
+     */
+    @Override
+    public int obtenerNumeroAristas() {
+        return numAristas;
+    }
+
+    /**
+     * Lista de ids en orden de indice.
+     */
+    public List<String> obtenerIds() {
+        return List.of(ids);
+    }
+}
@@ -1,24 +1,50 @@
 package src;
 
+import java.lang.ref.WeakReference;
+import java.time.LocalTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 /**
  * Representa un dia del horario (lista de bloques asignados) dentro del composite.
+ * <p>
+ * Los bloques se guardan por id en orden de insercion y, ademas, en un arbol ordenado por
+ * hora de inicio, de modo que agregar, eliminar y detectar traslapes cuesta O(log n + k)
+ * en lugar de recorrer todo el dia. El arbol se mantiene al dia escuchando los cambios de
+ * intervalo de cada bloque.
  */
 public class HorarioDia implements HorarioComponente, java.io.Serializable {
 
     private static final long serialVersionUID = 1L;
+    private static final long NANOS_DIA = 24L * 60 * 60 * 1_000_000_000L;
+    private static final Comparator<Clave> ORDEN_CLAVES =
+            Comparator.<Clave>comparingLong(c -> c.inicio).thenComparing(c -> c.id);
 
     private String dia;
-    private List<BloqueHorario> bloquesHorario;
+    private final LinkedHashMap<String, BloqueHorario> bloquesHorario;
+
+    private transient TreeMap<Clave, BloqueHorario> porInicio;
+    private transient Map<String, Clave> clavePorId;
+    private transient long maxDuracion;
+    private transient Observador observador;
+    private transient BloquesView vista;
+    /** Cuenta las altas, bajas y reordenamientos; {@link HorarioSemana} lo usa para validar su indice. */
+    private transient long modificaciones;
 
     /**
      * Crea un dia con su etiqueta (ej. "Lunes") y sin bloques.
      */
     public HorarioDia(String dia) {
         this.dia = dia;
-        this.bloquesHorario = new ArrayList<>();
+        this.bloquesHorario = new LinkedHashMap<>();
     }
 
     /**
@@ -36,11 +62,39 @@ public class HorarioDia implements HorarioComponente, java.io.Serializable {
     }
 
     /**
-     * Lista de bloques asignados al dia.
+     * Lista de bloques asignados al dia, en orden de insercion. Es una vista modificable:
+     * agregar, quitar, reemplazar u ordenar en ella actualiza el dia (sin revisar
+     * traslapes, como antes).
+     * <p>
+     * A diferencia de la lista original, un dia no guarda dos bloques con el mismo id:
+     * agregar (con {@code add} o {@code set}) un bloque cuyo id ya esta en el dia quita la
+     * entrada anterior, de modo que la lista no crece. Con {@code add(e)} el bloque queda
+     * al final y con {@code add(i, e)} o {@code set(i, e)} en la posicion indicada.
      */
     @Override
     public List<BloqueHorario> getBloques() {
-        return bloquesHorario;
+        if (vista == null) {
+            vista = new BloquesView();
+        }
+        return vista;
+    }
+
+    /** Numero de cambios en los bloques del dia; crece con cada alta, baja o reordenamiento. */
+    long getModificaciones() {
+        return modificaciones;
+    }
+
+    /**
+     * Bloques con hora de inicio ordenados por esa hora, seguidos de los que no la tienen.
+     */
+    public List<BloqueHorario> getBloquesOrdenados() {
+        List<BloqueHorario> ordenados = new ArrayList<>(porInicio().values());
+        for (BloqueHorario bloque : bloquesHorario.values()) {
+            if (bloque.getHoraInicio() == null) {
+                ordenados.add(bloque);
+            }
+        }
+        return ordenados;
     }
 
     /**
@@ -58,9 +112,9 @@ public class HorarioDia implements HorarioComponente, java.io.Serializable {
             return false;
         }
 
-        bloquesHorario.removeIf(b -> b.getId().equals(bloque.getId()));
+        quitar(bloque.getId());
         bloque.setDia(this.dia);
-        bloquesHorario.add(bloque);
+        insertar(bloque);
         return true;
     }
 
@@ -74,7 +128,7 @@ public class HorarioDia implements HorarioComponente, java.io.Serializable {
         }
 
         BloqueHorario bloque = (BloqueHorario) comp;
-        boolean removed = bloquesHorario.removeIf(b -> b.getId().equals(bloque.getId()));
+        boolean removed = quitar(bloque.getId()) != null;
 
         if (removed) {
             bloque.setDia(null);
@@ -87,20 +141,25 @@ public class HorarioDia implements HorarioComponente, java.io.Serializable {
     @Override
     public void mostrarInfo() {
         System.out.println("Horario del dia: " + dia);
-        for (BloqueHorario bloque : bloquesHorario) {
+        for (BloqueHorario bloque : bloquesHorario.values()) {
             bloque.mostrarInfo();
         }
     }
 
     /**
-     * Comprueba que un bloque no se traslapa con los ya asignados.
+     * Comprueba que un bloque no se traslapa con los ya asignados. Solo revisa los bloques
+     * cuyo inicio cae en la ventana [inicio - duracion maxima, fin) del nuevo bloque.
      */
     private boolean checkNoTraslape(BloqueHorario nuevo) {
-        for (BloqueHorario existente : bloquesHorario) {
-            if (nuevo.getHoraInicio() == null || existente.getHoraInicio() == null) {
-                continue;
-            }
-
+        if (nuevo.getHoraInicio() == null) {
+            return true;
+        }
+        NavigableMap<Clave, BloqueHorario> candidatos = porInicio();
+        if (nuevo.getHoraFin() != null) {
+            long desde = Math.max(0, nanos(nuevo.getHoraInicio()) - maxDuracion);
+            candidatos = candidatos.subMap(new Clave(desde, ""), true, new Clave(nanos(nuevo.getHoraFin()), ""), false);
+        }
+        for (BloqueHorario existente : candidatos.values()) {
             if (existente.getId().equals(nuevo.getId())) continue;
 
             boolean seTraslapan =
@@ -113,4 +172,260 @@ public class HorarioDia implements HorarioComponente, java.io.Serializable {
         }
         return true;
     }
+
+    private void insertar(BloqueHorario bloque) {
+        modificaciones++;
+        bloquesHorario.put(bloque.getId(), bloque);
+        porInicio();
+        indexar(bloque);
+        bloque.addListener(observador());
+        if (vista != null) {
+            vista.invalidar();
+        }
+    }
+
+    /** Reacomoda el orden de insercion; {@code orden} debe tener los mismos bloques del dia. */
+    private void reordenar(List<BloqueHorario> orden) {
+        modificaciones++;
+        bloquesHorario.clear();
+        for (BloqueHorario bloque : orden) {
+            bloquesHorario.put(bloque.getId(), bloque);
+        }
+        if (vista != null) {
+            vista.invalidar();
+        }
+    }
+
+    private BloqueHorario quitar(String id) {
+        BloqueHorario quitado = bloquesHorario.remove(id);
+        if (quitado != null) {
+            modificaciones++;
+            desindexar(id);
+            quitado.removeListener(observador());
+            if (vista != null) {
+                vista.invalidar();
+            }
+        }
+        return quitado;
+    }
+
+    /** Arbol por hora de inicio; se construye en la primera consulta. */
+    private TreeMap<Clave, BloqueHorario> porInicio() {
+        if (porInicio == null) {
+            porInicio = new TreeMap<>(ORDEN_CLAVES);
+            clavePorId = new HashMap<>();
+            maxDuracion = 0;
+            for (BloqueHorario bloque : bloquesHorario.values()) {
+                indexar(bloque);
+                bloque.addListener(observador());
+            }
+        }
+        return porInicio;
+    }
+
+    private void indexar(BloqueHorario bloque) {
+        LocalTime inicio = bloque.getHoraInicio();
+        if (inicio == null) {
+            return;
+        }
+        Clave clave = new Clave(nanos(inicio), bloque.getId());
+        porInicio.put(clave, bloque);
+        clavePorId.put(bloque.getId(), clave);
+        // Un bloque sin fin se revisa desde cualquier hora anterior, como en la comparacion original.
+        long duracion = bloque.getHoraFin() != null ? nanos(bloque.getHoraFin()) - clave.inicio : NANOS_DIA;
+        maxDuracion = Math.max(maxDuracion, duracion);
+    }
+
+    private void desindexar(String id) {
+        if (porInicio == null) {
+            return;
+        }
+        Clave clave = clavePorId.remove(id);
+        if (clave != null) {
+            porInicio.remove(clave);
+        }
+    }
+
+    /** Reubica un bloque en el arbol cuando cambia su intervalo. */
+    private void reindexar(BloqueHorario bloque) {
+        if (porInicio != null && bloquesHorario.get(bloque.getId()) == bloque) {
+            desindexar(bloque.getId());
+            indexar(bloque);
+        }
+    }
+
+    private Observador observador() {
+        if (observador == null) {
+            observador = new Observador(this);
+        }
+        return observador;
+    }
+
+    private static long nanos(LocalTime hora) {
+        return hora.toNanoOfDay();
+    }
+
+    /** Clave del arbol: inicio en nanosegundos del dia y id para desempatar. */
+    private static final class Clave {
+        private final long inicio;
+        private final String id;
+
+        Clave(long inicio, String id) {
+            this.inicio = inicio;
+            this.id = id;
+        }
+    }
+
+    /**
+     * Escucha cambios de intervalo de los bloques del dia. Guarda una referencia debil al
+     * dia para no retenerlo si se descarta; en ese caso se desregistra al siguiente aviso.
+     */
+    private static final class Observador implements BloqueHorario.BloqueChangeListener {
+        private final WeakReference<HorarioDia> dia;
+
+        Observador(HorarioDia dia) {
+            this.dia = new WeakReference<>(dia);
+        }
+
+        @Override
+        public void onBloqueChanged(BloqueHorario bloque, String propiedad, Object valorAnterior, Object valorNuevo) {
+            HorarioDia horarioDia = dia.get();
+            if (horarioDia == null) {
+                bloque.removeListener(this);
+                return;
+            }
+            switch (propiedad) {
+                case "horaInicio", "horaFin", "intervalo", "posicion" -> horarioDia.reindexar(bloque);
+                default -> { }
+            }
+        }
+    }
+
+    /**
+     * Vista de lista sobre los bloques del dia (orden de insercion). El acceso por indice
+     * usa un arreglo que se reconstruye solo despues de una modificacion.
+     */
+    private final class BloquesView extends AbstractList<BloqueHorario> {
+        private BloqueHorario[] arreglo;
+
+        void invalidar() {
+            arreglo = null;
+            modCount++;
+        }
+
+        private BloqueHorario[] arreglo() {
+            if (arreglo == null) {
+                arreglo = bloquesHorario.values().toArray(new BloqueHorario[0]);
+            }
+            return arreglo;
+        }
+
+        @Override
+        public BloqueHorario get(int index) {
+            if (index < 0 || index >= bloquesHorario.size()) {
+                throw new IndexOutOfBoundsException("Indice: " + index + ", tamano: " + bloquesHorario.size());
+            }
+            return arreglo()[index];
+        }
+
+        @Override
+        public int size() {
+            return bloquesHorario.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof BloqueHorario && bloquesHorario.get(((BloqueHorario) o).getId()) == o;
+        }
+
+        /** Agrega al final sin revisar traslapes; un bloque con el mismo id se reemplaza. */
+        @Override
+        public boolean add(BloqueHorario bloque) {
+            quitar(bloque.getId());
+            insertar(bloque);
+            return true;
+        }
+
+        /** Inserta en la posicion; un bloque con el mismo id se quita antes. */
+        @Override
+        public void add(int index, BloqueHorario bloque) {
+            if (index < 0 || index > size()) {
+                throw new IndexOutOfBoundsException("Indice: " + index + ", tamano: " + size());
+            }
+            List<BloqueHorario> orden = new ArrayList<>(this);
+            int anterior = indiceDe(orden, bloque.getId());
+            if (anterior >= 0) {
+                orden.remove(anterior);
+                if (anterior < index) {
+                    index--;
+                }
+            }
+            orden.add(index, bloque);
+            quitar(bloque.getId());
+            insertar(bloque);
+            reordenar(orden);
+        }
+
+        /** Reemplaza el bloque de la posicion; otro bloque con el mismo id se quita. */
+        @Override
+        public BloqueHorario set(int index, BloqueHorario bloque) {
+            BloqueHorario reemplazado = get(index);
+            if (reemplazado == bloque) {
+                return reemplazado;
+            }
+            List<BloqueHorario> orden = new ArrayList<>(this);
+            int repetido = reemplazado.getId().equals(bloque.getId()) ? -1 : indiceDe(orden, bloque.getId());
+            orden.set(index, bloque);
+            if (repetido >= 0) {
+                orden.remove(repetido);
+            }
+            quitar(reemplazado.getId());
+            quitar(bloque.getId());
+            insertar(bloque);
+            reordenar(orden);
+            return reemplazado;
+        }
+
+        /** Cambia el orden de insercion; los bloques y sus horas no cambian. */
+        @Override
+        public void sort(Comparator<? super BloqueHorario> comparador) {
+            List<BloqueHorario> orden = new ArrayList<>(this);
+            orden.sort(comparador);
+            reordenar(orden);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends BloqueHorario> bloques) {
+            for (BloqueHorario bloque : new ArrayList<>(bloques)) {
+                add(bloque);
+            }
+            return !bloques.isEmpty();
+        }
+
+        @Override
+        public BloqueHorario remove(int index) {
+            return quitar(get(index).getId());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return contains(o) && quitar(((BloqueHorario) o).getId()) != null;
+        }
+
+        private int indiceDe(List<BloqueHorario> orden, String id) {
+            for (int i = 0; i < orden.size(); i++) {
+                if (orden.get(i).getId().equals(id)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public void clear() {
+            for (BloqueHorario bloque : new ArrayList<>(bloquesHorario.values())) {
+                quitar(bloque.getId());
+            }
+        }
+    }
 }
@@ -18,6 +18,12 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
     private List<BloqueHorario> bloquesSinAsignar;           
     private Map<String, String> asignaciones;                
 
+    /** Indice id -> bloque de todos los bloques de la semana; se reconstruye si se desincroniza. */
+    private transient Map<String, BloqueHorario> bloquesPorId;
+    /** Dias y su contador de modificaciones cuando el indice se sincronizo por ultima vez. */
+    private transient HorarioDia[] diasIndexados;
+    private transient long[] modificacionesIndexadas;
+
     private transient List<HorarioSemanaChangeListener> listeners;
 
     public interface HorarioSemanaChangeListener {
@@ -115,13 +121,21 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
 
     public void agregarDia(HorarioDia dia) {
         if (!diasSemana.contains(dia)) {
+            descartarIndiceSiCambio();
             diasSemana.add(dia);
+            for (BloqueHorario bloque : dia.getBloques()) {
+                indexar(bloque);
+            }
+            sellarIndice();
             notifyChange(EventoSemana.DIA_AGREGADO, null, null, dia.getDia());
         }
     }
 
     public void eliminarDia(HorarioDia dia) {
+        descartarIndiceSiCambio();
         if (diasSemana.remove(dia)) {
+            // Sus bloques siguen en el indice: pasan a sin asignar.
+            sellarIndice();
             List<BloqueHorario> bloquesDelDia = new ArrayList<>(dia.getBloques());
             for (BloqueHorario bloque : bloquesDelDia) {
                 agregarBloqueSinAsignar(bloque);
@@ -138,6 +152,7 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
                 .orElseThrow(() -> new IllegalArgumentException("Dia no encontrado: " + diaDestino));
 
         String diaAnterior = asignaciones.get(bloque.getId());
+        descartarIndiceSiCambio();
 
         // Paso 1: limpiar cualquier posicion previa (sin asignar o en otros dias)
         bloquesSinAsignar.removeIf(b -> b.getId().equals(bloque.getId()));
@@ -147,6 +162,7 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
 
         // Paso 2: intentar agregar al nuevo dia
         boolean agregadoConExito = horarioDiaDestino.agregar(bloque);
+        indexar(bloque);
 
         // Paso 3: actualizar estado/notify segun resultado
         if (agregadoConExito) {
@@ -173,6 +189,7 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
      * Envia un bloque a la lista de sin asignar y limpia registros previos.
      */
     public void agregarBloqueSinAsignar(BloqueHorario bloque) {
+        descartarIndiceSiCambio();
         String diaAnterior = asignaciones.remove(bloque.getId());
         for (HorarioDia hd : diasSemana) {
             hd.eliminar(bloque);
@@ -180,6 +197,7 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
         
         bloquesSinAsignar.removeIf(b -> b.getId().equals(bloque.getId()));
         bloquesSinAsignar.add(bloque);
+        indexar(bloque);
         
         bloque.setDia(null);
         
@@ -214,6 +232,8 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
         } else {
             bloquesSinAsignar.remove(bloque);
         }
+        // El bloque sigue en el indice (se busco arriba, asi que estaba al dia).
+        sellarIndice();
 
         agregarBloqueEnDia(dia, bloque);
     }
@@ -260,29 +280,91 @@ public class HorarioSemana implements HorarioComponente, java.io.Serializable {
         } else {
             bloquesSinAsignar.remove(bloque);
         }
+        if (bloquesPorId != null) {
+            bloquesPorId.remove(idBloque);
+            sellarIndice();
+        }
 
         notifyChange(EventoSemana.BLOQUE_ELIMINADO, bloque, diaActual, null);
     }
 
     /**
-     * Busca un bloque por ID en dias y sin asignar.
+     * Busca un bloque por ID en dias y sin asignar (O(1) mediante el indice por id).
      */
     public Optional<BloqueHorario> obtenerBloquePorID(String id) {
-        for (HorarioDia dia : diasSemana) {
-            for (BloqueHorario b : dia.getBloques()) {
-                if (b.getId().equals(id)) {
-                    return Optional.of(b);
+        return Optional.ofNullable(indice().get(id));
+    }
+
+    /** Agrega el bloque al indice (si existe) despues de un cambio hecho por la semana. */
+    private void indexar(BloqueHorario bloque) {
+        if (bloquesPorId != null) {
+            bloquesPorId.put(bloque.getId(), bloque);
+            sellarIndice();
+        }
+    }
+
+    /**
+     * Indice id -> bloque. Los metodos de la semana lo mantienen al dia; si algun dia cambio
+     * por fuera (p. ej. se agregaron o quitaron bloques directamente en un HorarioDia, o
+     * cambio la lista de dias) se reconstruye.
+     */
+    private Map<String, BloqueHorario> indice() {
+        if (bloquesPorId == null || !indiceVigente()) {
+            Map<String, BloqueHorario> nuevo = new HashMap<>();
+            // Se recorre en orden inverso para que, ante ids repetidos, gane el primero (como la busqueda lineal).
+            for (int i = bloquesSinAsignar.size() - 1; i >= 0; i--) {
+                nuevo.put(bloquesSinAsignar.get(i).getId(), bloquesSinAsignar.get(i));
+            }
+            for (int d = diasSemana.size() - 1; d >= 0; d--) {
+                List<BloqueHorario> bloquesDia = diasSemana.get(d).getBloques();
+                for (int i = bloquesDia.size() - 1; i >= 0; i--) {
+                    nuevo.put(bloquesDia.get(i).getId(), bloquesDia.get(i));
                 }
             }
+            bloquesPorId = nuevo;
+            sellarIndice();
         }
+        return bloquesPorId;
+    }
 
-        for (BloqueHorario b : bloquesSinAsignar) {
-            if (b.getId().equals(id)) {
-                return Optional.of(b);
+    /** True si los dias y sus contadores son los mismos que cuando se sello el indice. */
+    private boolean indiceVigente() {
+        if (diasIndexados == null || diasIndexados.length != diasSemana.size()) {
+            return false;
+        }
+        for (int i = 0; i < diasIndexados.length; i++) {
+            HorarioDia dia = diasSemana.get(i);
+            if (dia != diasIndexados[i] || dia.getModificaciones() != modificacionesIndexadas[i]) {
+                return false;
             }
         }
+        return true;
+    }
+
+    /**
+     * Descarta el indice si un dia cambio por fuera de la semana; se llama antes de cada
+     * cambio que la semana refleja en el indice, para no sellar un indice desactualizado.
+     */
+    private void descartarIndiceSiCambio() {
+        if (bloquesPorId != null && !indiceVigente()) {
+            bloquesPorId = null;
+        }
+    }
 
-        return Optional.empty();
+    /** Registra el estado actual de los dias como sincronizado con el indice. */
+    private void sellarIndice() {
+        if (bloquesPorId == null) {
+            return;
+        }
+        int cantidad = diasSemana.size();
+        if (diasIndexados == null || diasIndexados.length != cantidad) {
+            diasIndexados = new HorarioDia[cantidad];
+            modificacionesIndexadas = new long[cantidad];
+        }
+        for (int i = 0; i < cantidad; i++) {
+            diasIndexados[i] = diasSemana.get(i);
+            modificacionesIndexadas[i] = diasIndexados[i].getModificaciones();
+        }
     }
 
     /**
@@ -1,11 +1,16 @@
 package src;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -19,6 +24,7 @@ public class InterfazGrafica extends JFrame implements GestorHorarios.Validation
 
     private JTabbedPane tabbedPanelHorarios;
     private JButton btnCrearHorario;
+    private JButton btnCrearHorarioEscuela;
     private JButton btnConfiguracion;
     private JButton btnExportar;
     private JComboBox<Integer> cmbGradoSelector;
@@ -37,6 +43,14 @@ public class InterfazGrafica extends JFrame implements GestorHorarios.Validation
     private final GestorHorarios gestor = GestorHorarios.getInstance();
     private ConfiguracionProyecto configuracionProyecto = new ConfiguracionProyecto();
     private final ControladorPersistencia persistenciaController = new ControladorPersistencia();
+
+    /** Directorio del diario de cambios que respalda la sesion entre guardados. */
+    private static final Path DIRECTORIO_AUTOGUARDADO =
+            Paths.get(System.getProperty("user.dir"), ".autoguardado");
+    private DiarioCambios diarioCambios;
+
+    /** Horarios generados en la sesion; evita regenerar un grado cuyos datos no cambiaron. */
+    private final CacheGeneraciones cacheGeneraciones = new CacheGeneraciones(32);
     
 
     public InterfazGrafica() {
@@ -52,10 +66,65 @@ public class InterfazGrafica extends JFrame implements GestorHorarios.Validation
         // Registrarse para escuchar resultados de validación
         gestor.addValidationListener(this);
 
-        if (catalogo.getTodosLosGrupos().isEmpty()) {
-            mostrarPlaceholderCrearHorario();
-        } else {
-            recargarDesdeCatalogo();
+        if (!recuperarAutoguardado()) {
+            if (catalogo.getTodosLosGrupos().isEmpty()) {
+                mostrarPlaceholderCrearHorario();
+            } else {
+                recargarDesdeCatalogo();
+            }
+        }
+        iniciarAutoguardado();
+    }
+
+    /**
+     * Si la sesion anterior dejo un autoguardado con grupos, ofrece restaurarlo.
+     * @return true si se restauro
+     */
+    private boolean recuperarAutoguardado() {
+        try {
+            Optional<ProyectoDatos> recuperado = DiarioCambios.recuperar(DIRECTORIO_AUTOGUARDADO);
+            if (recuperado.isEmpty() || recuperado.get().getGrupos().isEmpty()) {
+                return false;
+            }
+            int opcion = JOptionPane.showConfirmDialog(this,
+                    "Se encontró un autoguardado de la sesión anterior.\n¿Desea recuperarlo?",
+                    "Recuperar sesión", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE);
+            if (opcion != JOptionPane.YES_OPTION) {
+                return false;
+            }
+            gestor.limpiarTodo();
+            catalogo.reset();
+            recuperado.get().restaurarEn(this, catalogo);
+            lblEstado.setText("Estado: Sesión anterior recuperada del autoguardado.");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Inicia el diario de cambios con el estado actual como base; cada cambio del catalogo
+     * o del horario se agrega al diario en lugar de reescribir el proyecto.
+     */
+    private void iniciarAutoguardado() {
+        try {
+            diarioCambios = new DiarioCambios(DIRECTORIO_AUTOGUARDADO,
+                    () -> new ProyectoDatos(configuracionProyecto, catalogo));
+            diarioCambios.conectar(catalogo, gestor);
+            addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowClosing(WindowEvent e) {
+                    try {
+                        diarioCambios.close();
+                    } catch (IOException ex) {
+                        ex.printStackTrace();
+                    }
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+            lblEstado.setText("Estado: Autoguardado desactivado (" + e.getMessage() + ").");
         }
     }
 
@@ -68,37 +137,40 @@ public class InterfazGrafica extends JFrame implements GestorHorarios.Validation
     private void sincronizarCatalogoConGestor() {
         List<GrupoEstudiantes> grupos = catalogo.getTodosLosGrupos();
         
-        for (GrupoEstudiantes grupo : grupos) {
-            String grupoId = grupo.getId();
+        // Un solo evento por grupo al terminar, en lugar de uno por bloque.
+        gestor.enLote(() -> {
+            for (GrupoEstudiantes grupo : grupos) {
+                String grupoId = grupo.getId();
             
-            List<BloqueHorario> bloquesDelGrupo = catalogo.getBloquesByGrupoId(grupoId);
+                List<BloqueHorario> bloquesDelGrupo = catalogo.getBloquesByGrupoId(grupoId);
             
             
-            HorarioSemana semana = gestor.getHorarioSemana(grupoId);
-            // --- Sincronización no destructiva para preservar posiciones manuales ---
-            // 1) Agregar los bloques nuevos que estén en catálogo y no en el gestor.
-            var existentes = new ArrayList<>(semana.getBloques());
-            var idsExistentes = existentes.stream().map(BloqueHorario::getId).collect(Collectors.toSet());
-            for (BloqueHorario bloque : bloquesDelGrupo) {
-                if (!idsExistentes.contains(bloque.getId())) {
-                    gestor.agregarBloque(bloque, grupoId);
-                }
-                // Reaplicar la posición almacenada (si la hay) sin borrar otras posiciones.
-                if (bloque.getDia() != null && bloque.getHoraInicio() != null) {
-                    gestor.actualizarPosicionBloque(bloque, bloque.getDia(), bloque.getHoraInicio());
-                } else if (bloque.getDia() == null) {
-                    semana.agregarBloqueSinAsignar(bloque);
+                HorarioSemana semana = gestor.getHorarioSemana(grupoId);
+                // --- Sincronización no destructiva para preservar posiciones manuales ---
+                // 1) Agregar los bloques nuevos que estén en catálogo y no en el gestor.
+                var existentes = new ArrayList<>(semana.getBloques());
+                var idsExistentes = existentes.stream().map(BloqueHorario::getId).collect(Collectors.toSet());
+                for (BloqueHorario bloque : bloquesDelGrupo) {
+                    if (!idsExistentes.contains(bloque.getId())) {
+                        gestor.agregarBloque(bloque, grupoId);
+                    }
+                    // Reaplicar la posición almacenada (si la hay) sin borrar otras posiciones.
+                    if (bloque.getDia() != null && bloque.getHoraInicio() != null) {
+                        gestor.actualizarPosicionBloque(bloque, bloque.getDia(), bloque.getHoraInicio());
+                    } else if (bloque.getDia() == null) {
+                        semana.agregarBloqueSinAsignar(bloque);
+                    }
                 }
-            }
 
-            // 2) Remover bloques que ya no existan en catálogo.
-            var idsCatalogo = bloquesDelGrupo.stream().map(BloqueHorario::getId).collect(Collectors.toSet());
-            for (BloqueHorario bloqueExistente : existentes) {
-                if (!idsCatalogo.contains(bloqueExistente.getId())) {
-                    semana.eliminarBloque(bloqueExistente.getId());
+                // 2) Remover bloques que ya no existan en catálogo.
+                var idsCatalogo = bloquesDelGrupo.stream().map(BloqueHorario::getId).collect(Collectors.toSet());
+                for (BloqueHorario bloqueExistente : existentes) {
+                    if (!idsCatalogo.contains(bloqueExistente.getId())) {
+                        semana.eliminarBloque(bloqueExistente.getId());
+                    }
                 }
             }
-        }
+        });
     }
 
     private void cargarPestanasDeGrupos() {
@@ -165,12 +237,13 @@ public class InterfazGrafica extends JFrame implements GestorHorarios.Validation
         
         lblEstado.setText("Estado: Generando horario para " + grado + "Grado...");
 
-        // Mostrar un diálogo de "cargando" para bloquear la UI
-        JDialog dlgCargando = crearDialogoCargando("Generando para " + grado + "Grado...");
+        // Mostrar el avance en un diálogo modal que permite detener y conservar lo mejor hallado
+        DialogoProgresoGeneracion dlgCargando = new DialogoProgresoGeneracion(this, "Generando para " + grado + "Grado...");
+        CancelacionGeneracion cancelacion = dlgCargando.getCancelacion();
         
-        SwingWorker<HorarioSemana, Void> worker = new SwingWorker<>() {
+        SwingWorker<ResultadoGeneracion, DialogoProgresoGeneracion.Aviso> worker = new SwingWorker<>() {
             @Override
-            protected HorarioSemana doInBackground() throws Exception {
+            protected ResultadoGeneracion doInBackground() throws Exception {
                 List<GrupoEstudiantes> gruposDelGrado = catalogo.getGruposPorGrado(grado);
                 List<String> idsGrupos = gruposDelGrado.stream()
                     .map(GrupoEstudiantes::getId)
@@ -178,27 +251,38 @@ public class InterfazGrafica extends JFrame implements GestorHorarios.Validation
                 List<BloqueHorario> bloquesDelGrado = catalogo.getBloquesByGrupoIds(idsGrupos);
 
                 AdaptadorGraficaDeHorarios adaptador = new AdaptadorGraficaDeHorarios(bloquesDelGrado, catalogo);
-                EstrategiaGeneracion estrategia = new EstrategiaColoracion();
-                return estrategia.generarHorario(adaptador);
+                EstrategiaGeneracion estrategia = new EstrategiaConCache(new EstrategiaPortafolioParalelo(), cacheGeneraciones);
+                return estrategia.generarHorario(adaptador,
+                    (fase, porcentaje, conflictos) -> publish(new DialogoProgresoGeneracion.Aviso(fase, porcentaje, conflictos)),
+                    cancelacion);
+            }
+
+            @Override
+            protected void process(List<DialogoProgresoGeneracion.Aviso> avisos) {
+                dlgCargando.mostrar(avisos.get(avisos.size() - 1));
             }
 
             @Override
             protected void done() {
                 try {
                     dlgCargando.setVisible(false); // Ocultar diálgoo al iniciar procesamiento
-                    HorarioSemana horarioGenerado = get();
-                    lblEstado.setText("Estado: Generación completada. Iniciando animación...");
+                    ResultadoGeneracion resultado = get();
+                    HorarioSemana horarioGenerado = resultado.getHorario();
+                    lblEstado.setText("Estado: Generación " + (resultado.getMetricas().isDetenida() ? "detenida"
+                            : resultado.getMetricas().isDesdeCache() ? "reutilizada (sin cambios)" : "completada")
+                            + " en " + resultado.getMetricas().getMilisTotal() + " ms. Iniciando animación...");
 
                     List<BloqueHorario> bloques = horarioGenerado.getBloques();
                     
-                    for (BloqueHorario bloque : bloques) {
-                        String grupoId = bloque.getGrupoId();
-                        
-                        
-                        if (!gestor.buscarBloquePorId(bloque.getId()).isPresent()) {
-                            gestor.agregarBloque(bloque, grupoId);
+                    gestor.enLote(() -> {
+                        for (BloqueHorario bloque : bloques) {
+                            String grupoId = bloque.getGrupoId();
+
+                            if (gestor.buscarBloqueEnGrupo(grupoId, bloque.getId()).isEmpty()) {
+                                gestor.agregarBloque(bloque, grupoId);
+                            }
                         }
-                    }
+                    });
 
                     AnimadorHorario animador = new AnimadorHorario(
                         bloques, 
@@ -236,26 +320,79 @@ public class InterfazGrafica extends JFrame implements GestorHorarios.Validation
         dlgCargando.setVisible(true);
     }
 
-    private JDialog crearDialogoCargando(String titulo) {
-        JDialog dialog = new JDialog(this, "Procesando...", true);
-        JPanel panel = new JPanel(new BorderLayout(20, 20));
-        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
-        panel.add(new JLabel(titulo, SwingConstants.CENTER), BorderLayout.NORTH);
-        panel.add(new JProgressBar(0, 0) {{ setIndeterminate(true); }}, BorderLayout.CENTER);
-        dialog.add(panel);
-        dialog.pack();
-        dialog.setLocationRelativeTo(this);
-        dialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
-        return dialog;
+    /**
+     * Genera el horario de todos los grados a la vez: una sola grafica de conflictos con los
+     * bloques de todos los grupos, de modo que los profesores y salones compartidos entre
+     * grados no choquen. El resultado se publica en el gestor en un solo lote, sin animacion.
+     */
+    private void onCrearHorarioEscuela() {
+        if (catalogo.getTodosLosBloques().isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    "No hay asignaciones académicas creadas. Vaya a 'Catálogo de recursos' para crearlas.",
+                    "Advertencia", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int totalGrupos = catalogo.getTodosLosGrupos().size();
+        lblEstado.setText("Estado: Generando horario de toda la escuela (" + totalGrupos + " grupos)...");
+
+        DialogoProgresoGeneracion dlgCargando = new DialogoProgresoGeneracion(this,
+                "Generando para toda la escuela (" + totalGrupos + " grupos)...");
+        CancelacionGeneracion cancelacion = dlgCargando.getCancelacion();
+
+        SwingWorker<ResultadoGeneracion, DialogoProgresoGeneracion.Aviso> worker = new SwingWorker<>() {
+            @Override
+            protected ResultadoGeneracion doInBackground() throws Exception {
+                AdaptadorGraficaDeHorarios adaptador =
+                    new AdaptadorGraficaDeHorarios(catalogo.getTodosLosBloques(), catalogo);
+                EstrategiaGeneracion estrategia = new EstrategiaConCache(new EstrategiaPortafolioParalelo(), cacheGeneraciones);
+                return estrategia.generarHorario(adaptador,
+                    (fase, porcentaje, conflictos) -> publish(new DialogoProgresoGeneracion.Aviso(fase, porcentaje, conflictos)),
+                    cancelacion);
+            }
+
+            @Override
+            protected void process(List<DialogoProgresoGeneracion.Aviso> avisos) {
+                dlgCargando.mostrar(avisos.get(avisos.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                dlgCargando.dispose();
+                try {
+                    ResultadoGeneracion resultado = get();
+                    gestor.publicarGeneracion(resultado.getHorario().getBloques());
+                    refrescarDatosYBloquesExistentes();
+
+                    MetricasGeneracion metricas = resultado.getMetricas();
+                    lblEstado.setText("Estado: Escuela " + (metricas.isDetenida() ? "generada parcialmente"
+                            : metricas.isDesdeCache() ? "reutilizada (sin cambios)" : "generada")
+                            + " en " + metricas.getMilisTotal() + " ms: " + totalGrupos + " grupos, "
+                            + (metricas.getBloquesSinDia() + metricas.getBloquesSinHora()) + " bloques sin ubicar, "
+                            + metricas.getConflictos() + " conflictos.");
+                } catch (Exception e) {
+                    lblEstado.setText("Estado: Error en la generación del horario.");
+                    e.printStackTrace();
+                    JOptionPane.showMessageDialog(InterfazGrafica.this,
+                        "Error al generar horario: " + e.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+
+        worker.execute();
+        dlgCargando.setVisible(true);
     }
 
     private void sincronizarBloquesGenerados(List<BloqueHorario> bloquesGenerados) {
-        for (BloqueHorario bloque : bloquesGenerados) {
-            BloqueHorario bloqueEnGestor = gestor.buscarBloquePorId(bloque.getId()).orElse(null);
-            if (bloqueEnGestor != null) {
-                gestor.actualizarPosicionBloque(bloqueEnGestor, bloque.getDia(), bloque.getHoraInicio());
+        gestor.enLote(() -> {
+            for (BloqueHorario bloque : bloquesGenerados) {
+                BloqueHorario bloqueEnGestor = gestor.buscarBloqueEnGrupo(bloque.getGrupoId(), bloque.getId()).orElse(null);
+                if (bloqueEnGestor != null) {
+                    gestor.actualizarPosicionBloque(bloqueEnGestor, bloque.getDia(), bloque.getHoraInicio());
+                }
             }
-        }
+        });
     }
 
     private void onExportar() {
@@ -468,6 +605,9 @@ private void mostrarPlaceholderCrearHorario() {
         } else {
             configuracionProyecto = nuevaConfig;
         }
+        if (diarioCambios != null) {
+            diarioCambios.registrarConfiguracion(configuracionProyecto);
+        }
         actualizarTituloProyecto();
     }
 
@@ -643,7 +783,7 @@ private void mostrarPlaceholderCrearHorario() {
     private void onGuardarProyecto() {
         JFileChooser chooser = new JFileChooser();
         chooser.setDialogTitle("Guardar proyecto");
-        chooser.setFileFilter(new FileNameExtensionFilter("Archivo de proyecto JSON", "json"));
+        chooser.setFileFilter(new FileNameExtensionFilter("Archivo de proyecto (JSON o binario .hrb)", "json", "hrb"));
         // Proponer nombre preliminar basado en el proyecto
         String nombreBase = "horario";
         if (configuracionProyecto != null && configuracionProyecto.getNombreEscuela() != null && !configuracionProyecto.getNombreEscuela().isBlank()) {
@@ -653,7 +793,8 @@ private void mostrarPlaceholderCrearHorario() {
 
         if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
             File archivo = chooser.getSelectedFile();
-            if (!archivo.getName().toLowerCase().endsWith(".json")) {
+            String nombreArchivo = archivo.getName().toLowerCase();
+            if (!nombreArchivo.endsWith(".json") && !nombreArchivo.endsWith(ControladorPersistencia.EXTENSION_BINARIA)) {
                 archivo = new File(archivo.getParentFile(), archivo.getName() + ".json");
             }
 
@@ -675,7 +816,7 @@ private void mostrarPlaceholderCrearHorario() {
     private void onAbrirProyecto() {
         JFileChooser chooser = new JFileChooser();
         chooser.setDialogTitle("Abrir proyecto");
-        chooser.setFileFilter(new FileNameExtensionFilter("Archivo de proyecto JSON", "json"));
+        chooser.setFileFilter(new FileNameExtensionFilter("Archivo de proyecto (JSON o binario .hrb)", "json", "hrb"));
 
         if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
             File archivo = chooser.getSelectedFile();
@@ -715,16 +856,19 @@ private void mostrarPlaceholderCrearHorario() {
 
         btnConfiguracion = crearBoton("Catalogo de recursos", COLOR_ACCION_PRINCIPAL);
         btnCrearHorario = crearBoton("Generar Horario", COLOR_ACCION_ALERTA);
+        btnCrearHorarioEscuela = crearBoton("Generar Escuela", COLOR_ACCION_ALERTA);
         btnExportar = crearBoton("Exportar Horario", COLOR_ACCION_DORADO);
         btnReiniciar = crearBoton("Reiniciar Horario", new Color(220, 53, 69));
 
         btnConfiguracion.addActionListener(e -> abrirCatalogoRecursos());
         btnCrearHorario.addActionListener(e -> onCrearHorario());
+        btnCrearHorarioEscuela.addActionListener(e -> onCrearHorarioEscuela());
         btnExportar.addActionListener(e -> onExportar());
         btnReiniciar.addActionListener(e -> onReiniciarHorario());
 
         botonesPanel.add(btnConfiguracion);
         botonesPanel.add(btnCrearHorario);
+        botonesPanel.add(btnCrearHorarioEscuela);
         botonesPanel.add(btnExportar);
 
         panel.add(botonesPanel, BorderLayout.WEST);
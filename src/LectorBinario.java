@@ -0,0 +1,149 @@
+package src;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector del formato binario de proyecto (.hrb) escrito por {@link EscritorBinario}. Lee
+ * directamente de un {@link ByteBuffer} (normalmente un archivo mapeado en memoria):
+ * solo la tabla de cadenas se decodifica, una vez; los registros son enteros, bytes y
+ * shorts leidos en su posicion, sin interpretar texto.
+ */
+final class LectorBinario {
+
+    /** Lee un registro de ancho fijo. */
+    @FunctionalInterface
+    interface Registro {
+        void leer();
+    }
+
+    private final ByteBuffer datos;
+    private final String[] cadenas;
+    private final String[] dias;
+
+    /**
+     * Valida la cabecera y carga las tablas; deja {@code datos} al inicio del cuerpo.
+     * @throws IllegalArgumentException si no es un archivo .hrb o su version no se soporta
+     */
+    LectorBinario(ByteBuffer datos) {
+        this.datos = datos;
+        try {
+            if (datos.remaining() < 8 || datos.getInt() != EscritorBinario.MAGIA) {
+                throw new IllegalArgumentException("El archivo no tiene el formato binario de proyecto");
+            }
+            short version = datos.getShort();
+            if (version != EscritorBinario.VERSION) {
+                throw new IllegalArgumentException("Version de archivo binario no soportada: " + version);
+            }
+            datos.getShort();
+
+            cadenas = new String[cantidad(datos.getInt())];
+            byte[] bytes = new byte[256];
+            for (int i = 0; i < cadenas.length; i++) {
+                int largo = cantidad(datos.getInt());
+                if (largo > bytes.length) {
+                    bytes = new byte[Math.max(largo, bytes.length * 2)];
+                }
+                datos.get(bytes, 0, largo);
+                cadenas[i] = new String(bytes, 0, largo, StandardCharsets.UTF_8);
+            }
+            dias = new String[cantidad(datos.get())];
+            for (int i = 0; i < dias.length; i++) {
+                dias[i] = cadenaEn(datos.getInt());
+            }
+            if (cantidad(datos.getInt()) > datos.remaining()) {
+                throw new IllegalArgumentException("Archivo binario incompleto");
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Archivo binario incompleto", e);
+        }
+    }
+
+    int entero() {
+        try {
+            return datos.getInt();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Archivo binario incompleto", e);
+        }
+    }
+
+    /** Cadena referenciada por el siguiente indice (null si es {@link EscritorBinario#NULO}). */
+    String cadena() {
+        return cadenaEn(entero());
+    }
+
+    /** Lista de cadenas (cantidad y referencias). */
+    List<String> lista() {
+        int cantidad = cantidad(entero());
+        List<String> valores = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            valores.add(cadena());
+        }
+        return valores;
+    }
+
+    String dia() {
+        int indice = datos.get();
+        if (indice == EscritorBinario.NULO) {
+            return null;
+        }
+        if (indice < 0 || indice >= dias.length) {
+            throw new IllegalArgumentException("Dia fuera de rango en archivo binario: " + indice);
+        }
+        return dias[indice];
+    }
+
+    LocalTime hora() {
+        int minutos = datos.getShort();
+        if (minutos == EscritorBinario.NULO) {
+            return null;
+        }
+        if (minutos < 0 || minutos >= 24 * 60) {
+            throw new IllegalArgumentException("Hora fuera de rango en archivo binario: " + minutos);
+        }
+        return LocalTime.of(minutos / 60, minutos % 60);
+    }
+
+    /**
+     * Recorre una seccion de registros de ancho fijo. Cada registro empieza en su posicion
+     * calculada, asi que los campos agregados por versiones posteriores se ignoran.
+     */
+    void registros(Registro registro) {
+        int cantidad = cantidad(entero());
+        int bytesPorRegistro = cantidad(entero());
+        int inicio = datos.position();
+        if ((long) cantidad * bytesPorRegistro > datos.remaining()) {
+            throw new IllegalArgumentException("Archivo binario incompleto");
+        }
+        for (int i = 0; i < cantidad; i++) {
+            int posicion = inicio + i * bytesPorRegistro;
+            datos.position(posicion);
+            registro.leer();
+            if (datos.position() > posicion + bytesPorRegistro) {
+                throw new IllegalArgumentException("Registro mas corto que sus campos en archivo binario");
+            }
+        }
+        datos.position(inicio + cantidad * bytesPorRegistro);
+    }
+
+    private String cadenaEn(int indice) {
+        if (indice == EscritorBinario.NULO) {
+            return null;
+        }
+        if (indice < 0 || indice >= cadenas.length) {
+            throw new IllegalArgumentException("Cadena fuera de rango en archivo binario: " + indice);
+        }
+        return cadenas[indice];
+    }
+
+    private static int cantidad(int valor) {
+        if (valor < 0) {
+            throw new IllegalArgumentException("Cantidad negativa en archivo binario: " + valor);
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,293 @@
+package src;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lector JSON de extraccion (pull): recorre el texto una sola vez desde un {@link Reader}
+ * con su propio buffer y entrega propiedades y valores a medida que aparecen, sin armar
+ * un arbol intermedio. Quien lo usa construye sus objetos directamente en los
+ * callbacks de {@link #objeto(Propiedad)} y {@link #arreglo(Elemento)}.
+ * <p>
+ * Es tolerante igual que el parser anterior: un numero leido como cadena se entrega
+ * como texto, una cadena leida como entero se convierte (0 si no es numero), null se
+ * lee como "" o 0, y un objeto o arreglo donde no se esperaba se salta.
+ */
+final class LectorJson {
+
+    /** Tipo del siguiente valor. */
+    enum Tipo { OBJETO, ARREGLO, CADENA, NUMERO, BOOLEANO, NULO, FIN }
+
+    /** Recibe cada propiedad de un objeto; debe consumir su valor (o llamar a {@link #saltar()}). */
+    @FunctionalInterface
+    interface Propiedad {
+        void leer(String nombre) throws IOException;
+    }
+
+    /** Recibe cada elemento de un arreglo; debe consumir el valor. */
+    @FunctionalInterface
+    interface Elemento {
+        void leer() throws IOException;
+    }
+
+    private final Reader origen;
+    private final char[] buffer = new char[8192];
+    private int posicion;
+    private int limite;
+    private final StringBuilder texto = new StringBuilder();
+
+    LectorJson(Reader origen) {
+        this.origen = origen;
+    }
+
+    /** Tipo del siguiente valor, sin consumirlo. */
+    Tipo siguienteTipo() throws IOException {
+        int c = siguienteNoBlanco();
+        if (c < 0) {
+            return Tipo.FIN;
+        }
+        return switch (c) {
+            case '{' -> Tipo.OBJETO;
+            case '[' -> Tipo.ARREGLO;
+            case '"' -> Tipo.CADENA;
+            case 't', 'f' -> Tipo.BOOLEANO;
+            case 'n' -> Tipo.NULO;
+            default -> {
+                if (c == '-' || Character.isDigit(c)) {
+                    yield Tipo.NUMERO;
+                }
+                throw new IllegalArgumentException("Caracter inesperado en JSON: " + (char) c);
+            }
+        };
+    }
+
+    /**
+     * Recorre las propiedades del objeto siguiente. Si el valor no es un objeto se salta y
+     * no se invoca {@code propiedad}.
+     */
+    void objeto(Propiedad propiedad) throws IOException {
+        if (siguienteTipo() != Tipo.OBJETO) {
+            saltar();
+            return;
+        }
+        posicion++;
+        if (siguienteNoBlanco() == '}') {
+            posicion++;
+            return;
+        }
+        while (true) {
+            if (siguienteNoBlanco() != '"') {
+                throw new IllegalArgumentException("Se esperaba '\"' en JSON");
+            }
+            posicion++;
+            String nombre = leerCadena();
+            esperar(':');
+            propiedad.leer(nombre);
+            int c = siguienteNoBlanco();
+            posicion++;
+            if (c == '}') {
+                return;
+            }
+            if (c != ',') {
+                throw new IllegalArgumentException("Se esperaba ',' en JSON");
+            }
+        }
+    }
+
+    /**
+     * Recorre los elementos del arreglo siguiente. Si el valor no es un arreglo se salta y
+     * no se invoca {@code elemento}.
+     */
+    void arreglo(Elemento elemento) throws IOException {
+        if (siguienteTipo() != Tipo.ARREGLO) {
+            saltar();
+            return;
+        }
+        posicion++;
+        if (siguienteNoBlanco() == ']') {
+            posicion++;
+            return;
+        }
+        while (true) {
+            elemento.leer();
+            int c = siguienteNoBlanco();
+            posicion++;
+            if (c == ']') {
+                return;
+            }
+            if (c != ',') {
+                throw new IllegalArgumentException("Se esperaba ',' en JSON");
+            }
+        }
+    }
+
+    /** Lee el valor siguiente como texto ("" si es null, un objeto o un arreglo). */
+    String cadena() throws IOException {
+        switch (siguienteTipo()) {
+            case CADENA:
+                posicion++;
+                return leerCadena();
+            case NUMERO:
+                return String.valueOf(leerNumero());
+            case BOOLEANO:
+                return String.valueOf(leerBooleano());
+            default:
+                saltar();
+                return "";
+        }
+    }
+
+    /** Lee el valor siguiente como entero (0 si no es un numero valido). */
+    int entero() throws IOException {
+        switch (siguienteTipo()) {
+            case NUMERO:
+                return leerNumero().intValue();
+            case CADENA:
+                posicion++;
+                String valor = leerCadena();
+                try {
+                    return valor.isBlank() ? 0 : Integer.parseInt(valor);
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            default:
+                saltar();
+                return 0;
+        }
+    }
+
+    /** Consume el valor siguiente completo, sea cual sea su tipo. */
+    void saltar() throws IOException {
+        switch (siguienteTipo()) {
+            case OBJETO -> objeto(nombre -> saltar());
+            case ARREGLO -> arreglo(this::saltar);
+            case CADENA -> {
+                posicion++;
+                leerCadena();
+            }
+            case NUMERO -> leerNumero();
+            case BOOLEANO -> leerBooleano();
+            case NULO -> literal("null");
+            case FIN -> throw new IllegalArgumentException("JSON incompleto");
+        }
+    }
+
+    /** Lee el resto de una cadena (la comilla inicial ya se consumio) y la decodifica. */
+    private String leerCadena() throws IOException {
+        texto.setLength(0);
+        while (true) {
+            if (posicion == limite && !llenar()) {
+                throw new IllegalArgumentException("JSON incompleto");
+            }
+            // Copia de una vez el tramo sin comillas ni escapes.
+            int inicio = posicion;
+            while (posicion < limite && buffer[posicion] != '"' && buffer[posicion] != '\\') {
+                posicion++;
+            }
+            texto.append(buffer, inicio, posicion - inicio);
+            if (posicion == limite) {
+                continue;
+            }
+            char c = buffer[posicion++];
+            if (c == '"') {
+                return texto.toString();
+            }
+            char escape = (char) leerCaracter();
+            switch (escape) {
+                case 'b' -> texto.append('\b');
+                case 'f' -> texto.append('\f');
+                case 'n' -> texto.append('\n');
+                case 'r' -> texto.append('\r');
+                case 't' -> texto.append('\t');
+                case 'u' -> {
+                    int codigo = 0;
+                    for (int i = 0; i < 4; i++) {
+                        codigo = codigo * 16 + Character.digit(leerCaracter(), 16);
+                    }
+                    texto.append((char) codigo);
+                }
+                default -> texto.append(escape);
+            }
+        }
+    }
+
+    /** Lee un numero: Integer, Long o Double segun su forma, como el parser anterior. */
+    private Number leerNumero() throws IOException {
+        texto.setLength(0);
+        while (true) {
+            if (posicion == limite && !llenar()) {
+                break;
+            }
+            char c = buffer[posicion];
+            if (!(Character.isDigit(c) || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E')) {
+                break;
+            }
+            texto.append(c);
+            posicion++;
+        }
+        String numero = texto.toString();
+        if (numero.contains(".") || numero.contains("e") || numero.contains("E")) {
+            return Double.parseDouble(numero);
+        }
+        try {
+            return Integer.parseInt(numero);
+        } catch (NumberFormatException e) {
+            return Long.parseLong(numero);
+        }
+    }
+
+    private boolean leerBooleano() throws IOException {
+        if (buffer[posicion] == 't') {
+            literal("true");
+            return true;
+        }
+        literal("false");
+        return false;
+    }
+
+    private void literal(String esperado) throws IOException {
+        for (int i = 0; i < esperado.length(); i++) {
+            if (leerCaracter() != esperado.charAt(i)) {
+                throw new IllegalArgumentException("Se esperaba " + esperado + " en JSON");
+            }
+        }
+    }
+
+    private void esperar(char esperado) throws IOException {
+        if (siguienteNoBlanco() != esperado) {
+            throw new IllegalArgumentException("Se esperaba '" + esperado + "' en JSON");
+        }
+        posicion++;
+    }
+
+    /** Salta espacios y devuelve el siguiente caracter sin consumirlo (-1 al final). */
+    private int siguienteNoBlanco() throws IOException {
+        while (true) {
+            if (posicion == limite && !llenar()) {
+                return -1;
+            }
+            char c = buffer[posicion];
+            if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            posicion++;
+        }
+    }
+
+    private int leerCaracter() throws IOException {
+        if (posicion == limite && !llenar()) {
+            throw new IllegalArgumentException("JSON incompleto");
+        }
+        return buffer[posicion++];
+    }
+
+    private boolean llenar() throws IOException {
+        int leidos = origen.read(buffer, 0, buffer.length);
+        if (leidos <= 0) {
+            return false;
+        }
+        posicion = 0;
+        limite = leidos;
+        return true;
+    }
+}
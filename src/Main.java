@@ -4,10 +4,15 @@ import javax.swing.*;
 
 /**
  * Punto de entrada de la aplicacion Swing: inicializa L&F y abre la ventana principal.
+ * Con {@code --lote} delega en {@link GeneradorPorLotes} sin abrir la interfaz.
  */
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "--lote".equals(args[0])) {
+            GeneradorPorLotes.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
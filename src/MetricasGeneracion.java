@@ -0,0 +1,127 @@
+package src;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tiempos por fase y contadores de una generacion de horario: tamano de la grafica,
+ * colores usados, intentos de colocacion, invocaciones de validadores, bloques que
+ * quedaron sin dia o sin hora y conflictos restantes. Los contadores que se incrementan
+ * dentro de ciclos son seguros entre hilos.
+ */
+public class MetricasGeneracion {
+
+    /** Fases cronometradas de la generacion. */
+    public enum Fase { GRAFICA, COLORACION, HORAS, VALIDACION }
+
+    private final Map<Fase, Long> nanosPorFase = new EnumMap<>(Fase.class);
+    private long nanosTotal;
+    private int nodos;
+    private int aristas;
+    private int coloresUsados;
+    private int bloquesSinDia;
+    private int conflictos;
+    private volatile boolean detenida;
+    private boolean desdeCache;
+    private final LongAdder intentosColocacion = new LongAdder();
+    private final LongAdder invocacionesValidador = new LongAdder();
+    private final LongAdder bloquesSinHora = new LongAdder();
+
+    /**
+     * Suma el tiempo transcurrido desde {@code inicio} a la fase y devuelve el instante
+     * actual, para encadenar fases.
+     */
+    public long terminarFase(Fase fase, long inicio) {
+        long ahora = System.nanoTime();
+        nanosPorFase.merge(fase, ahora - inicio, Long::sum);
+        return ahora;
+    }
+
+    /** Registra el tiempo total de la generacion desde {@code inicio}. */
+    public void terminar(long inicio) {
+        nanosTotal = System.nanoTime() - inicio;
+    }
+
+    void registrarGrafica(int nodos, int aristas) {
+        this.nodos = nodos;
+        this.aristas = aristas;
+    }
+
+    void registrarColoracion(int coloresUsados, int bloquesSinDia) {
+        this.coloresUsados = coloresUsados;
+        this.bloquesSinDia = bloquesSinDia;
+    }
+
+    void registrarConflictos(int conflictos) {
+        this.conflictos = conflictos;
+    }
+
+    void marcarDetenida() {
+        detenida = true;
+    }
+
+    /** Marca un resultado reutilizado de {@link CacheGeneraciones} (sin fases ejecutadas). */
+    void marcarDesdeCache() {
+        desdeCache = true;
+    }
+
+    void contarIntentoColocacion() {
+        intentosColocacion.increment();
+    }
+
+    /** Suma invocaciones de validadores (incluye las reglas resueltas con mascaras de bits). */
+    void contarInvocacionesValidador(int cantidad) {
+        invocacionesValidador.add(cantidad);
+    }
+
+    void contarBloqueSinHora() {
+        bloquesSinHora.increment();
+    }
+
+    void registrarBloquesSinHora(long cantidad) {
+        bloquesSinHora.add(cantidad);
+    }
+
+    /** Milisegundos de una fase (0 si no se ejecuto). */
+    public long getMilis(Fase fase) {
+        return getNanos(fase) / 1_000_000L;
+    }
+
+    public long getNanos(Fase fase) {
+        return nanosPorFase.getOrDefault(fase, 0L);
+    }
+
+    public long getMilisTotal() {
+        return nanosTotal / 1_000_000L;
+    }
+
+    public long getNanosTotal() {
+        return nanosTotal;
+    }
+
+    public int getNodos() { return nodos; }
+    public int getAristas() { return aristas; }
+    public int getColoresUsados() { return coloresUsados; }
+    public int getBloquesSinDia() { return bloquesSinDia; }
+    public long getBloquesSinHora() { return bloquesSinHora.sum(); }
+    public int getConflictos() { return conflictos; }
+    public long getIntentosColocacion() { return intentosColocacion.sum(); }
+    public long getInvocacionesValidador() { return invocacionesValidador.sum(); }
+    /** True si la generacion se detuvo a peticion antes de agotar la busqueda. */
+    public boolean isDetenida() { return detenida; }
+    /** True si el horario se tomo de la cache en lugar de generarse. */
+    public boolean isDesdeCache() { return desdeCache; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%d ms (grafica %d, coloracion %d, horas %d, validacion %d); %d nodos, %d aristas, %d colores,"
+                        + " %d intentos, %d validaciones, %d sin dia, %d sin hora, %d conflictos",
+                getMilisTotal(), getMilis(Fase.GRAFICA), getMilis(Fase.COLORACION), getMilis(Fase.HORAS),
+                getMilis(Fase.VALIDACION), nodos, aristas, coloresUsados, getIntentosColocacion(),
+                getInvocacionesValidador(), bloquesSinDia, getBloquesSinHora(), conflictos)
+                + (detenida ? " (detenida)" : "") + (desdeCache ? " (cache)" : "");
+    }
+}
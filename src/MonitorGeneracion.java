@@ -0,0 +1,140 @@
+package src;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Acumula las metricas de todas las generaciones y las publica por JMX como
+ * {@code src:type=MonitorGeneracion}. La publicacion es opcional: se activa con la
+ * propiedad de sistema {@code horarios.jmx=true} o llamando a {@link #publicar()};
+ * mientras no este activa, {@link #registrar} no hace nada.
+ */
+public final class MonitorGeneracion implements MonitorGeneracionMBean {
+
+    private static final String NOMBRE_JMX = "src:type=MonitorGeneracion";
+    private static final MonitorGeneracion INSTANCIA = new MonitorGeneracion();
+    private static volatile boolean activo = Boolean.getBoolean("horarios.jmx");
+    private static volatile boolean registradoEnJmx;
+
+    private final AtomicLong generaciones = new AtomicLong();
+    private final AtomicLong nanosTotales = new AtomicLong();
+    private final AtomicLong[] nanosPorFase = new AtomicLong[MetricasGeneracion.Fase.values().length];
+    private final AtomicLong intentosColocacion = new AtomicLong();
+    private final AtomicLong invocacionesValidador = new AtomicLong();
+    private final AtomicReference<MetricasGeneracion> ultima = new AtomicReference<>();
+
+    private MonitorGeneracion() {
+        for (int i = 0; i < nanosPorFase.length; i++) {
+            nanosPorFase[i] = new AtomicLong();
+        }
+    }
+
+    /** Instancia unica del monitor. */
+    public static MonitorGeneracion getInstance() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Activa el monitor y lo registra en el servidor MBean de la plataforma.
+     */
+    public static synchronized void publicar() {
+        activo = true;
+        if (registradoEnJmx) {
+            return;
+        }
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (!servidor.isRegistered(nombre)) {
+                servidor.registerMBean(INSTANCIA, nombre);
+            }
+            registradoEnJmx = true;
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudo registrar el monitor JMX", e);
+        }
+    }
+
+    /**
+     * Acumula las metricas de una generacion si el monitor esta activo.
+     */
+    public static void registrar(MetricasGeneracion metricas) {
+        if (!activo || metricas == null) {
+            return;
+        }
+        if (!registradoEnJmx) {
+            publicar();
+        }
+        INSTANCIA.acumular(metricas);
+    }
+
+    private void acumular(MetricasGeneracion metricas) {
+        generaciones.incrementAndGet();
+        nanosTotales.addAndGet(metricas.getNanosTotal());
+        for (MetricasGeneracion.Fase fase : MetricasGeneracion.Fase.values()) {
+            nanosPorFase[fase.ordinal()].addAndGet(metricas.getNanos(fase));
+        }
+        intentosColocacion.addAndGet(metricas.getIntentosColocacion());
+        invocacionesValidador.addAndGet(metricas.getInvocacionesValidador());
+        ultima.set(metricas);
+    }
+
+    private long milis(MetricasGeneracion.Fase fase) {
+        return nanosPorFase[fase.ordinal()].get() / 1_000_000L;
+    }
+
+    @Override public long getGeneraciones() { return generaciones.get(); }
+    @Override public long getMilisTotales() { return nanosTotales.get() / 1_000_000L; }
+    @Override public long getMilisGrafica() { return milis(MetricasGeneracion.Fase.GRAFICA); }
+    @Override public long getMilisColoracion() { return milis(MetricasGeneracion.Fase.COLORACION); }
+    @Override public long getMilisHoras() { return milis(MetricasGeneracion.Fase.HORAS); }
+    @Override public long getMilisValidacion() { return milis(MetricasGeneracion.Fase.VALIDACION); }
+    @Override public long getIntentosColocacion() { return intentosColocacion.get(); }
+    @Override public long getInvocacionesValidador() { return invocacionesValidador.get(); }
+
+    @Override
+    public long getUltimaDuracionMs() {
+        MetricasGeneracion metricas = ultima.get();
+        return metricas != null ? metricas.getMilisTotal() : 0;
+    }
+
+    @Override
+    public int getUltimosBloquesSinDia() {
+        MetricasGeneracion metricas = ultima.get();
+        return metricas != null ? metricas.getBloquesSinDia() : 0;
+    }
+
+    @Override
+    public long getUltimosBloquesSinHora() {
+        MetricasGeneracion metricas = ultima.get();
+        return metricas != null ? metricas.getBloquesSinHora() : 0;
+    }
+
+    @Override
+    public int getUltimosConflictos() {
+        MetricasGeneracion metricas = ultima.get();
+        return metricas != null ? metricas.getConflictos() : 0;
+    }
+
+    @Override
+    public String getUltimoResumen() {
+        MetricasGeneracion metricas = ultima.get();
+        return metricas != null ? metricas.toString() : "";
+    }
+
+    @Override
+    public void reiniciar() {
+        generaciones.set(0);
+        nanosTotales.set(0);
+        for (AtomicLong nanos : nanosPorFase) {
+            nanos.set(0);
+        }
+        intentosColocacion.set(0);
+        invocacionesValidador.set(0);
+        ultima.set(null);
+    }
+}
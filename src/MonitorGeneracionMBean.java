@@ -0,0 +1,21 @@
+package src;
+
+/**
+ * Atributos JMX acumulados de las generaciones de horario (ver {@link MonitorGeneracion}).
+ */
+public interface MonitorGeneracionMBean {
+    long getGeneraciones();
+    long getMilisTotales();
+    long getMilisGrafica();
+    long getMilisColoracion();
+    long getMilisHoras();
+    long getMilisValidacion();
+    long getIntentosColocacion();
+    long getInvocacionesValidador();
+    long getUltimaDuracionMs();
+    int getUltimosBloquesSinDia();
+    long getUltimosBloquesSinHora();
+    int getUltimosConflictos();
+    String getUltimoResumen();
+    void reiniciar();
+}
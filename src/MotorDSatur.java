@@ -0,0 +1,228 @@
+package src;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Motor DSatur sobre una {@link GraficaHorarioCompacta}. Mantiene la saturacion de
+ * cada nodo con bitsets de colores prohibidos actualizados incrementalmente y elige
+ * el siguiente nodo con un heap indexado, en O((n + m) log n).
+ * <p>
+ * Orden de seleccion: mayor saturacion, luego mayor grado y, en empate, menor prioridad
+ * (por defecto el indice del nodo, es decir, el id lexicograficamente menor).
+ */
+public class MotorDSatur {
+
+    /**
+     * Estrategia para escoger el color de un nodo dado su conjunto de colores prohibidos.
+     */
+    @FunctionalInterface
+    public interface ElectorColor {
+        /**
+         * @param nodo indice del nodo a colorear
+         * @param prohibido indica si un color ya lo usa algun vecino coloreado
+         * @return color elegido (no negativo)
+         */
+        int elegirColor(int nodo, IntPredicate prohibido);
+    }
+
+    /** Elige el menor color que no use ningun vecino. */
+    public static final ElectorColor MENOR_COLOR_LIBRE = (nodo, prohibido) -> {
+        int color = 0;
+        while (prohibido.test(color)) {
+            color++;
+        }
+        return color;
+    };
+
+    private final GraficaHorarioCompacta grafica;
+    private final int n;
+
+    private int[] prioridad;
+    private int[] saturacion;
+    private int[] colores;
+    private long[] prohibidos;
+    private int palabrasPorNodo;
+
+    private int[] heap;
+    private int[] posicionEnHeap;
+    private int tamanoHeap;
+
+    /**
+     * Crea el motor para la grafica indicada.
+     */
+    public MotorDSatur(GraficaHorarioCompacta grafica) {
+        this.grafica = grafica;
+        this.n = grafica.obtenerNumeroNodos();
+    }
+
+    /**
+     * Colorea con el menor color libre y desempate por indice.
+     * @return color por indice de nodo
+     */
+    public int[] colorear() {
+        return colorear(null, MENOR_COLOR_LIBRE);
+    }
+
+    /**
+     * Colorea usando una prioridad de desempate y un elector de color personalizados.
+     * @param prioridad valor de desempate por nodo (menor gana); null usa el indice
+     * @param elector estrategia de eleccion de color
+     * @return color por indice de nodo
+     */
+    public int[] colorear(int[] prioridad, ElectorColor elector) {
+        if (prioridad != null && prioridad.length != n) {
+            throw new IllegalArgumentException("La prioridad debe tener un valor por nodo");
+        }
+        inicializar(prioridad);
+
+        int[] destinos = grafica.destinos();
+        while (tamanoHeap > 0) {
+            int nodo = extraerMaximo();
+            final int actual = nodo;
+            int color = elector.elegirColor(nodo, c -> estaProhibido(actual, c));
+            if (color < 0) {
+                throw new IllegalStateException("El elector devolvio un color negativo: " + color);
+            }
+            colores[nodo] = color;
+            asegurarCapacidad(color);
+
+            for (int k = grafica.inicioVecinos(nodo); k < grafica.finVecinos(nodo); k++) {
+                int vecino = destinos[k];
+                if (colores[vecino] < 0 && marcarProhibido(vecino, color)) {
+                    saturacion[vecino]++;
+                    subir(posicionEnHeap[vecino]);
+                }
+            }
+        }
+        return colores;
+    }
+
+    private void inicializar(int[] prioridadExterna) {
+        this.prioridad = prioridadExterna;
+        if (this.prioridad == null) {
+            this.prioridad = new int[n];
+            for (int i = 0; i < n; i++) {
+                this.prioridad[i] = i;
+            }
+        }
+
+        saturacion = new int[n];
+        colores = new int[n];
+        Arrays.fill(colores, -1);
+
+        int gradoMaximo = 0;
+        for (int i = 0; i < n; i++) {
+            gradoMaximo = Math.max(gradoMaximo, grafica.grado(i));
+        }
+        palabrasPorNodo = Math.max(1, (gradoMaximo + 64) / 64);
+        prohibidos = new long[n * palabrasPorNodo];
+
+        heap = new int[n];
+        posicionEnHeap = new int[n];
+        for (int i = 0; i < n; i++) {
+            heap[i] = i;
+            posicionEnHeap[i] = i;
+        }
+        tamanoHeap = n;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            bajar(i);
+        }
+    }
+
+    private boolean estaProhibido(int nodo, int color) {
+        int palabra = color >>> 6;
+        if (palabra >= palabrasPorNodo) {
+            return false;
+        }
+        return (prohibidos[nodo * palabrasPorNodo + palabra] & (1L << color)) != 0;
+    }
+
+    /** Marca el color como prohibido; devuelve true si es nuevo para el nodo. */
+    private boolean marcarProhibido(int nodo, int color) {
+        int indice = nodo * palabrasPorNodo + (color >>> 6);
+        long mascara = 1L << color;
+        if ((prohibidos[indice] & mascara) != 0) {
+            return false;
+        }
+        prohibidos[indice] |= mascara;
+        return true;
+    }
+
+    /** Amplia los bitsets si el elector uso un color fuera del rango previsto. */
+    private void asegurarCapacidad(int color) {
+        int palabrasNecesarias = (color >>> 6) + 1;
+        if (palabrasNecesarias <= palabrasPorNodo) {
+            return;
+        }
+        long[] nuevos = new long[n * palabrasNecesarias];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(prohibidos, i * palabrasPorNodo, nuevos, i * palabrasNecesarias, palabrasPorNodo);
+        }
+        prohibidos = nuevos;
+        palabrasPorNodo = palabrasNecesarias;
+    }
+
+    // ===== Heap indexado (maximo segun saturacion, grado y prioridad) =====
+
+    /** Indica si el nodo a debe colorearse antes que b. */
+    private boolean antesQue(int a, int b) {
+        if (saturacion[a] != saturacion[b]) {
+            return saturacion[a] > saturacion[b];
+        }
+        int gradoA = grafica.grado(a);
+        int gradoB = grafica.grado(b);
+        if (gradoA != gradoB) {
+            return gradoA > gradoB;
+        }
+        return prioridad[a] < prioridad[b];
+    }
+
+    private int extraerMaximo() {
+        int raiz = heap[0];
+        tamanoHeap--;
+        if (tamanoHeap > 0) {
+            heap[0] = heap[tamanoHeap];
+            posicionEnHeap[heap[0]] = 0;
+            bajar(0);
+        }
+        posicionEnHeap[raiz] = -1;
+        return raiz;
+    }
+
+    private void subir(int pos) {
+        int nodo = heap[pos];
+        while (pos > 0) {
+            int padre = (pos - 1) >>> 1;
+            if (!antesQue(nodo, heap[padre])) {
+                break;
+            }
+            heap[pos] = heap[padre];
+            posicionEnHeap[heap[pos]] = pos;
+            pos = padre;
+        }
+        heap[pos] = nodo;
+        posicionEnHeap[nodo] = pos;
+    }
+
+    private void bajar(int pos) {
+        int nodo = heap[pos];
+        while (true) {
+            int hijo = 2 * pos + 1;
+            if (hijo >= tamanoHeap) {
+                break;
+            }
+            if (hijo + 1 < tamanoHeap && antesQue(heap[hijo + 1], heap[hijo])) {
+                hijo++;
+            }
+            if (!antesQue(heap[hijo], nodo)) {
+                break;
+            }
+            heap[pos] = heap[hijo];
+            posicionEnHeap[heap[pos]] = pos;
+            pos = hijo;
+        }
+        heap[pos] = nodo;
+        posicionEnHeap[nodo] = pos;
+    }
+}
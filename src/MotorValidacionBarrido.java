@@ -0,0 +1,96 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encuentra los pares de bloques que comparten profesor, salon o grupo y se solapan
+ * en el mismo dia, sin comparar todos contra todos. Agrupa los bloques por dia y recurso,
+ * los ordena por hora de inicio y barre cada grupo comparando un bloque solo con los que
+ * empiezan antes de que termine: O(n log n + pares candidatos).
+ * <p>
+ * Requiere que todos los bloques tengan dia, hora de inicio y hora de fin.
+ */
+public class MotorValidacionBarrido {
+
+    private static final char SEPARADOR = '\u0000';
+
+    private final List<BloqueHorario> bloques;
+
+    /**
+     * Crea el motor sobre una lista de bloques; los indices de los pares se refieren a ella.
+     */
+    public MotorValidacionBarrido(List<BloqueHorario> bloques) {
+        this.bloques = bloques;
+    }
+
+    /**
+     * Pares {i, j} con i menor que j, sin repetir, ordenados por i y luego por j (el mismo
+     * orden que un doble ciclo sobre la lista), de bloques del mismo dia que se solapan
+     * y comparten al menos un recurso.
+     */
+    public List<int[]> paresEnConflicto() {
+        long[] codigos = new long[16];
+        int total = 0;
+
+        for (Function<BloqueHorario, String> recurso : List.<Function<BloqueHorario, String>>of(
+                BloqueHorario::getProfesorId, BloqueHorario::getSalonId, BloqueHorario::getGrupoId)) {
+            for (List<Integer> grupo : agrupar(recurso).values()) {
+                if (grupo.size() < 2) {
+                    continue;
+                }
+                grupo.sort(Comparator.comparing(i -> bloques.get(i).getHoraInicio()));
+                for (int x = 0; x < grupo.size(); x++) {
+                    BloqueHorario a = bloques.get(grupo.get(x));
+                    for (int y = x + 1; y < grupo.size(); y++) {
+                        BloqueHorario b = bloques.get(grupo.get(y));
+                        if (!b.getHoraInicio().isBefore(a.getHoraFin())) {
+                            break;
+                        }
+                        if (!a.getHoraInicio().isBefore(b.getHoraFin())) {
+                            continue;
+                        }
+                        if (total == codigos.length) {
+                            codigos = Arrays.copyOf(codigos, total * 2);
+                        }
+                        codigos[total++] = codificar(grupo.get(x), grupo.get(y));
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(codigos, 0, total);
+        List<int[]> pares = new ArrayList<>();
+        for (int k = 0; k < total; k++) {
+            if (k > 0 && codigos[k] == codigos[k - 1]) {
+                continue;
+            }
+            pares.add(new int[]{(int) (codigos[k] >>> 32), (int) codigos[k]});
+        }
+        return pares;
+    }
+
+    /** Agrupa indices de bloques por (dia, recurso); omite bloques sin ese recurso. */
+    private Map<String, List<Integer>> agrupar(Function<BloqueHorario, String> recurso) {
+        Map<String, List<Integer>> grupos = new HashMap<>();
+        for (int i = 0; i < bloques.size(); i++) {
+            BloqueHorario bloque = bloques.get(i);
+            String id = recurso.apply(bloque);
+            if (id != null) {
+                grupos.computeIfAbsent(bloque.getDia() + SEPARADOR + id, k -> new ArrayList<>()).add(i);
+            }
+        }
+        return grupos;
+    }
+
+    private static long codificar(int a, int b) {
+        int menor = Math.min(a, b);
+        int mayor = Math.max(a, b);
+        return ((long) menor << 32) | mayor;
+    }
+}
@@ -195,6 +195,8 @@ public class PanelConfiguracion extends JPanel implements GestorHorarios.Horario
             profesorEnEdicion.setDiasDisponibles(dias);
             profesorEnEdicion.setHorasDisponibles(horasSeleccionadas);
             profesorEnEdicion.setHorasSemanales(horas);
+            // Se vuelve a registrar para que el cambio se notifique (p. ej. al autoguardado).
+            catalogo.addProfesor(profesorEnEdicion);
             profesorEnEdicion = null;
         }
 
@@ -531,21 +533,24 @@ public class PanelConfiguracion extends JPanel implements GestorHorarios.Horario
         }
 
         // Generar bloques sin posición inicial (serán colocados vía drag & drop o automáticamente)
-        for (int i = 0; i < asignacion.getHorasSemanales(); i++) {
-            // Crear bloque sin hora (será asignada luego vía UI o automáticamente)
-            BloqueHorario bloque = new BloqueHorario(
-                    null,  // horaInicio - será asignada luego
-                    null,  // horaFin - será asignada luego
-                    materia.getNombre(),
-                    asignacion.getProfesorId(),
-                    asignacion.getSalonId(),
-                    asignacion.getGrupoId(),
-                    true   // ids = true para indicar que los últimos 3 parámetros son IDs
-            );
+        // En lote: la vista del grupo se refresca una vez y no por cada bloque.
+        gestorHorarios.enLote(() -> {
+            for (int i = 0; i < asignacion.getHorasSemanales(); i++) {
+                // Crear bloque sin hora (será asignada luego vía UI o automáticamente)
+                BloqueHorario bloque = new BloqueHorario(
+                        null,  // horaInicio - será asignada luego
+                        null,  // horaFin - será asignada luego
+                        materia.getNombre(),
+                        asignacion.getProfesorId(),
+                        asignacion.getSalonId(),
+                        asignacion.getGrupoId(),
+                        true   // ids = true para indicar que los últimos 3 parámetros son IDs
+                );
             
-            // Agregar el bloque al gestor (automáticamente registra listeners)
-            gestorHorarios.agregarBloque(bloque, asignacion.getGrupoId());
-        }
+                // Agregar el bloque al gestor (automáticamente registra listeners)
+                gestorHorarios.agregarBloque(bloque, asignacion.getGrupoId());
+            }
+        });
     }
 
     private void editarAsignacionSeleccionada() {
@@ -8,12 +8,18 @@ import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
  * Vista de horario por grupo. Soporta drag & drop y mantiene el panel de "sin asignar" fijo.
+ * Los cambios de un solo bloque se aplican como delta (se mueve su panel y se recalculan las
+ * uniones de las columnas tocadas); los reemplazos completos reconstruyen la grilla.
  */
 public class PanelHorario extends JPanel implements GestorHorarios.HorarioChangeListener {
 
@@ -24,6 +30,16 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
     private final JPanel gridPanel;
     private final PanelSinAsignar panelSinAsignar;
     private final List<CeldaHorario> celdas = new ArrayList<>();
+    private final CeldaHorario[][] rejilla = new CeldaHorario[DIAS_SEMANA.length][HORAS_DIA.length];
+    private final Map<String, Integer> columnaPorDia = new HashMap<>();
+    private final Map<LocalTime, Integer> filaPorHora = new HashMap<>();
+
+    /** Paneles reutilizables por id de bloque, con la firma del contenido que muestran. */
+    private final Map<String, PanelCacheado> panelesPorId = new HashMap<>();
+    /** Celda donde se muestra cada bloque colocado en la grilla. */
+    private final Map<String, CeldaHorario> celdaPorBloque = new HashMap<>();
+    /** Bloques con celda valida que quedaron en "sin asignar" porque la celda ya estaba ocupada. */
+    private final Set<String> desplazados = new HashSet<>();
     private final DropTargetListener dropListenerCelda;
 
     private final GestorHorarios gestor;
@@ -58,13 +74,19 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
             gridPanel.add(crearCabeceraDia(dia));
         }
 
-        for (LocalTime hora : HORAS_DIA) {
+        for (int d = 0; d < DIAS_SEMANA.length; d++) {
+            columnaPorDia.put(DIAS_SEMANA[d].toLowerCase(Locale.ROOT), d);
+        }
+        for (int h = 0; h < HORAS_DIA.length; h++) {
+            LocalTime hora = HORAS_DIA[h];
+            filaPorHora.put(hora, h);
             gridPanel.add(crearCabeceraHora(formatearHora(hora)));
-            for (String dia : DIAS_SEMANA) {
-                CeldaHorario celda = new CeldaHorario(dia, hora);
+            for (int d = 0; d < DIAS_SEMANA.length; d++) {
+                CeldaHorario celda = new CeldaHorario(DIAS_SEMANA[d], hora);
                 celda.setPanelSinAsignar(panelSinAsignar);
                 celda.setDropListener(dropListenerCelda);
                 celdas.add(celda);
+                rejilla[d][h] = celda;
                 gridPanel.add(celda);
             }
         }
@@ -88,7 +110,67 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
     @Override
     public void onBloquesChanged(String grupoIdAfectado, GestorHorarios.TipoCambio tipoCambio, BloqueHorario bloqueAfectado) {
         if (grupoIdAfectado == null || grupoIdAfectado.equals(this.grupoId)) {
-            SwingUtilities.invokeLater(this::refrescarVista);
+            boolean cambioDeUnBloque = grupoIdAfectado != null && bloqueAfectado != null
+                    && tipoCambio != GestorHorarios.TipoCambio.REEMPLAZO_COMPLETO
+                    && tipoCambio != GestorHorarios.TipoCambio.ESTRUCTURA_CAMBIADA;
+            if (cambioDeUnBloque) {
+                SwingUtilities.invokeLater(() -> aplicarCambio(bloqueAfectado));
+            } else {
+                SwingUtilities.invokeLater(this::refrescarVista);
+            }
+        }
+    }
+
+    /**
+     * Aplica el cambio de un bloque sin reconstruir la grilla: lo quita de donde se mostraba,
+     * lo coloca segun su estado actual y recalcula las uniones de las columnas tocadas.
+     * Si hay choques de celda (el resultado depende del orden de los bloques) se hace el
+     * refresco completo.
+     */
+    private void aplicarCambio(BloqueHorario bloque) {
+        if (refrescando) return;
+        if (!desplazados.isEmpty()) {
+            refrescarVista();
+            return;
+        }
+
+        String id = bloque.getId();
+        Optional<BloqueHorario> enGrupo = gestor.buscarBloqueEnGrupo(grupoId, id);
+        CeldaHorario destino = enGrupo.map(this::getCelda).orElse(null);
+        BloquePanel ocupante = destino != null ? destino.obtenerBloquePanel() : null;
+        if (ocupante != null && !ocupante.getBloque().getId().equals(id)) {
+            refrescarVista();
+            return;
+        }
+
+        try {
+            refrescando = true;
+
+            CeldaHorario anterior = celdaPorBloque.remove(id);
+            if (anterior != null) {
+                anterior.reset();
+            } else {
+                panelSinAsignar.quitarBloquePanel(id);
+            }
+
+            if (enGrupo.isEmpty()) {
+                panelesPorId.remove(id);
+            } else if (destino != null) {
+                destino.colocarBloque(obtenerPanel(enGrupo.get()));
+                celdaPorBloque.put(id, destino);
+            } else {
+                agregarBloqueSinAsignar(enGrupo.get());
+            }
+
+            if (anterior != null) {
+                actualizarMergesColumna(columnaPorDia.get(anterior.dia.toLowerCase(Locale.ROOT)));
+            }
+            if (destino != null && destino != anterior) {
+                actualizarMergesColumna(columnaPorDia.get(destino.dia.toLowerCase(Locale.ROOT)));
+            }
+            panelSinAsignar.actualizarEstadoVacio();
+        } finally {
+            refrescando = false;
         }
     }
 
@@ -101,30 +183,31 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
 
             celdas.forEach(CeldaHorario::reset);
             panelSinAsignar.resetContenido();
+            celdaPorBloque.clear();
+            desplazados.clear();
 
             List<BloqueHorario> bloques = gestor.getBloquesGrupo(grupoId);
             Set<String> asignados = new HashSet<>();
+            Set<String> vigentes = new HashSet<>();
 
             for (BloqueHorario bloque : bloques) {
-                LocalTime horaInicio = bloque.getHoraInicio();
-                LocalTime horaNormalizada = horaInicio != null ? horaInicio.withSecond(0).withNano(0) : null;
-
-                if (bloque.getDia() != null && horaNormalizada != null) {
-                    CeldaHorario celda = getCelda(bloque.getDia(), horaNormalizada);
-                    if (celda != null) {
-                        BloquePanel existente = celda.obtenerBloquePanel();
-                        if (existente == null || existente.getBloque().getId().equals(bloque.getId())) {
-                            BloquePanel panel = new BloquePanel(bloque);
-                            celda.colocarBloque(panel);
-                            asignados.add(bloque.getId());
-                            continue;
-                        }
+                vigentes.add(bloque.getId());
+                CeldaHorario celda = getCelda(bloque);
+                if (celda != null) {
+                    BloquePanel existente = celda.obtenerBloquePanel();
+                    if (existente == null || existente.getBloque().getId().equals(bloque.getId())) {
+                        celda.colocarBloque(obtenerPanel(bloque));
+                        celdaPorBloque.put(bloque.getId(), celda);
+                        asignados.add(bloque.getId());
+                        continue;
                     }
+                    desplazados.add(bloque.getId());
                 }
                 if (!asignados.contains(bloque.getId())) {
                     agregarBloqueSinAsignar(bloque);
                 }
             }
+            panelesPorId.keySet().retainAll(vigentes);
 
             actualizarMerges();
             panelSinAsignar.actualizarEstadoVacio();
@@ -136,19 +219,61 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
         }
     }
 
-    /** Obtiene la celda de la grilla para un dia/hora. */
+    /** Obtiene la celda de la grilla para un dia/hora (O(1) por indices). */
     private CeldaHorario getCelda(String dia, LocalTime hora) {
-        for (CeldaHorario celda : celdas) {
-            if (celda.dia.equalsIgnoreCase(dia) && celda.hora.equals(hora)) {
-                return celda;
-            }
+        Integer columna = columnaPorDia.get(dia.toLowerCase(Locale.ROOT));
+        Integer fila = filaPorHora.get(hora);
+        return (columna != null && fila != null) ? rejilla[columna][fila] : null;
+    }
+
+    /** Celda donde corresponde mostrar el bloque segun su dia y hora de inicio, o null. */
+    private CeldaHorario getCelda(BloqueHorario bloque) {
+        LocalTime horaInicio = bloque.getHoraInicio();
+        if (bloque.getDia() == null || horaInicio == null) {
+            return null;
+        }
+        return getCelda(bloque.getDia(), horaInicio.withSecond(0).withNano(0));
+    }
+
+    /**
+     * Panel del bloque; se reutiliza mientras el bloque y el contenido mostrado no cambien.
+     */
+    private BloquePanel obtenerPanel(BloqueHorario bloque) {
+        String firma = firmaVisual(bloque);
+        PanelCacheado cacheado = panelesPorId.get(bloque.getId());
+        if (cacheado == null || cacheado.panel.getBloque() != bloque || !cacheado.firma.equals(firma)) {
+            cacheado = new PanelCacheado(new BloquePanel(bloque), firma);
+            panelesPorId.put(bloque.getId(), cacheado);
+        }
+        return cacheado.panel;
+    }
+
+    /** Datos que BloquePanel pinta (materia, nombres y profesor para el color). */
+    private String firmaVisual(BloqueHorario bloque) {
+        CatalogoRecursos catalogo = CatalogoRecursos.getInstance();
+        Profesor profesor = catalogo.obtenerProfesorPorId(bloque.getProfesorId());
+        Salon salon = catalogo.obtenerSalonPorId(bloque.getSalonId());
+        GrupoEstudiantes grupo = catalogo.obtenerGrupoPorId(bloque.getGrupoId());
+        return bloque.getMateria() + '\u0000' + bloque.getProfesorId() + '\u0000'
+                + (profesor != null ? profesor.getNombre() : null) + '\u0000'
+                + (salon != null ? salon.getNombre() : null) + '\u0000'
+                + (grupo != null ? grupo.getNombre() : null);
+    }
+
+    /** Panel guardado junto con la firma del contenido que muestra. */
+    private static final class PanelCacheado {
+        private final BloquePanel panel;
+        private final String firma;
+
+        PanelCacheado(BloquePanel panel, String firma) {
+            this.panel = panel;
+            this.firma = firma;
         }
-        return null;
     }
 
     /** Agrega un bloque al panel de sin asignar. */
     private void agregarBloqueSinAsignar(BloqueHorario bloque) {
-        BloquePanel panel = new BloquePanel(bloque);
+        BloquePanel panel = obtenerPanel(bloque);
         panel.setAlignmentX(Component.CENTER_ALIGNMENT);
         panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 70));
         panelSinAsignar.addBloquePanel(panel);
@@ -162,22 +287,7 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
         Profesor profesor = catalogo.obtenerProfesorPorId(profesorId);
         if (profesor == null) return true;
 
-        List<String> diasDisponibles = profesor.getDiasDisponibles();
-        if (diasDisponibles != null && !diasDisponibles.isEmpty()) {
-            boolean diaEncontrado = diasDisponibles.stream()
-                    .anyMatch(d -> d.equalsIgnoreCase(dia));
-            if (!diaEncontrado) {
-                return false;
-            }
-        }
-
-        String horaFormateada = hora.format(DateTimeFormatter.ofPattern("H:mm"));
-        List<String> horasDisponibles = profesor.getHorasDisponibles();
-        if (horasDisponibles != null && !horasDisponibles.isEmpty()) {
-            return horasDisponibles.contains(horaFormateada);
-        }
-
-        return true;
+        return profesor.getDisponibilidad().disponible(dia, hora);
     }
 
     /** Revisa solapes con bloques de otros grupos que compartan profesor/salon. */
@@ -214,7 +324,15 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
 
     /** Actualiza el estado visual de union entre bloques consecutivos. */
     public void actualizarMerges() {
-        for (CeldaHorario celda : celdas) {
+        for (int columna = 0; columna < DIAS_SEMANA.length; columna++) {
+            actualizarMergesColumna(columna);
+        }
+    }
+
+    /** Recalcula las uniones de una sola columna (dia) de la grilla. */
+    private void actualizarMergesColumna(int columna) {
+        CeldaHorario[] celdasDia = rejilla[columna];
+        for (CeldaHorario celda : celdasDia) {
             BloquePanel panel = celda.obtenerBloquePanel();
             if (panel != null) {
                 panel.resetMergeState();
@@ -222,22 +340,19 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
             celda.actualizarBorde(false, false);
         }
 
-        for (String dia : DIAS_SEMANA) {
-            for (int i = 0; i < HORAS_DIA.length; i++) {
-                CeldaHorario actual = getCelda(dia, HORAS_DIA[i]);
-                if (actual == null) continue;
-                BloquePanel panelActual = actual.obtenerBloquePanel();
-                if (panelActual == null) continue;
+        for (int i = 0; i < celdasDia.length; i++) {
+            CeldaHorario actual = celdasDia[i];
+            BloquePanel panelActual = actual.obtenerBloquePanel();
+            if (panelActual == null) continue;
 
-                CeldaHorario arriba = (i > 0) ? getCelda(dia, HORAS_DIA[i - 1]) : null;
-                CeldaHorario abajo = (i + 1 < HORAS_DIA.length) ? getCelda(dia, HORAS_DIA[i + 1]) : null;
+            CeldaHorario arriba = (i > 0) ? celdasDia[i - 1] : null;
+            CeldaHorario abajo = (i + 1 < celdasDia.length) ? celdasDia[i + 1] : null;
 
-                boolean mergeTop = arriba != null && debenUnirse(arriba.obtenerBloquePanel(), panelActual);
-                boolean mergeBottom = abajo != null && debenUnirse(panelActual, abajo.obtenerBloquePanel());
+            boolean mergeTop = arriba != null && debenUnirse(arriba.obtenerBloquePanel(), panelActual);
+            boolean mergeBottom = abajo != null && debenUnirse(panelActual, abajo.obtenerBloquePanel());
 
-                panelActual.setMergeState(mergeTop, mergeBottom);
-                actual.actualizarBorde(mergeTop, mergeBottom);
-            }
+            panelActual.setMergeState(mergeTop, mergeBottom);
+            actual.actualizarBorde(mergeTop, mergeBottom);
         }
     }
 
@@ -419,11 +534,8 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
                 dtde.acceptDrop(DnDConstants.ACTION_MOVE);
                 aceptado = true;
 
-                refrescando = true;
+                // El evento del gestor aplica el delta de este bloque en la vista.
                 gestor.actualizarPosicionBloque(bloqueTransferido, celda.dia, celda.hora);
-                refrescando = false;
-
-                SwingUtilities.invokeLater(PanelHorario.this::refrescarVista);
 
                     dtde.dropComplete(true);
 
@@ -485,6 +597,13 @@ public class PanelHorario extends JPanel implements GestorHorarios.HorarioChange
             repaint();
         }
 
+        /** Quita del listado el panel del bloque indicado, si esta. */
+        void quitarBloquePanel(String bloqueId) {
+            eliminarDuplicado(bloqueId);
+            revalidate();
+            repaint();
+        }
+
         private void eliminarDuplicado(String bloqueId) {
             for (Component comp : getComponents()) {
                 if (comp instanceof BloquePanel) {
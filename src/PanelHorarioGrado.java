@@ -168,27 +168,29 @@ public class PanelHorarioGrado extends JPanel implements GestorHorarios.HorarioC
         Map<String, List<BloqueHorario>> bloquesPorGrupo = bloques.stream()
             .collect(Collectors.groupingBy(BloqueHorario::getGrupoId));
         
-        for (String grupoId : grupoIds) {
-            HorarioSemana semana = gestor.getHorarioSemana(grupoId);
+        gestor.enLote(() -> {
+            for (String grupoId : grupoIds) {
+                HorarioSemana semana = gestor.getHorarioSemana(grupoId);
             
-            List<BloqueHorario> bloquesExistentes = new ArrayList<>(semana.getBloques());
-            for (BloqueHorario bloqueExistente : bloquesExistentes) {
-                semana.eliminarBloque(bloqueExistente.getId());
-            }
+                List<BloqueHorario> bloquesExistentes = new ArrayList<>(semana.getBloques());
+                for (BloqueHorario bloqueExistente : bloquesExistentes) {
+                    semana.eliminarBloque(bloqueExistente.getId());
+                }
             
-            List<BloqueHorario> bloquesGrupo = bloquesPorGrupo.getOrDefault(grupoId, new ArrayList<>());
-            for (BloqueHorario bloque : bloquesGrupo) {
-                gestor.agregarBloque(bloque, grupoId);
+                List<BloqueHorario> bloquesGrupo = bloquesPorGrupo.getOrDefault(grupoId, new ArrayList<>());
+                for (BloqueHorario bloque : bloquesGrupo) {
+                    gestor.agregarBloque(bloque, grupoId);
                 
-                if (bloque.getDia() != null && bloque.getHoraInicio() != null) {
-                    gestor.actualizarPosicionBloque(bloque, 
-                        bloque.getDia(), 
-                        bloque.getHoraInicio());
+                    if (bloque.getDia() != null && bloque.getHoraInicio() != null) {
+                        gestor.actualizarPosicionBloque(bloque, 
+                            bloque.getDia(), 
+                            bloque.getHoraInicio());
+                    }
                 }
             }
-        }
+        });
         
-        // El observer refrescara la vista
+        // El observer refrescara la vista (un evento por grupo al cerrar el lote)
     }
 
     /**
@@ -1,8 +1,14 @@
 package src;
 
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -20,6 +26,9 @@ public class Profesor {
     private List<String> horasDisponibles; 
     private int horasSemanales;
 
+    /** Disponibilidad precompilada; se invalida al cambiar dias u horas. */
+    private volatile Disponibilidad disponibilidad;
+
     /**
      * Crea un profesor con ID generado y datos completos.
      */
@@ -70,30 +79,156 @@ public class Profesor {
     public void setMateriaAsignada(String materiaAsignada) { this.materiaAsignada = materiaAsignada; }
     public void setDiasDisponibles(List<String> diasDisponibles) {
         this.diasDisponibles = diasDisponibles != null ? new ArrayList<>(diasDisponibles) : new ArrayList<>();
+        this.disponibilidad = null;
     }
     public void setHorasDisponibles(List<String> horasDisponibles) {
         this.horasDisponibles = horasDisponibles != null ? new ArrayList<>(horasDisponibles) : new ArrayList<>();
+        this.disponibilidad = null;
     }
     public void setHorasSemanales(int horasSemanales) {
         this.horasSemanales = horasSemanales > 0 ? horasSemanales : HORAS_POR_DEFECTO;
     }
 
+    /**
+     * Disponibilidad precompilada del profesor (se calcula una vez y se reutiliza
+     * hasta que cambian los dias u horas disponibles).
+     */
+    public Disponibilidad getDisponibilidad() {
+        Disponibilidad actual = disponibilidad;
+        if (actual == null) {
+            actual = new Disponibilidad(diasDisponibles, horasDisponibles);
+            disponibilidad = actual;
+        }
+        return actual;
+    }
+
     /**
      * Indica si el profesor esta disponible el dia indicado.
      */
     public boolean disponibleEn(String dia) {
-        return diasDisponibles.isEmpty() || diasDisponibles.contains(dia);
+        return getDisponibilidad().diaPermitido(dia);
     }
     
     /**
      * Indica si el profesor esta disponible a la hora indicada.
      */
     public boolean disponibleA(String hora) {
-        return horasDisponibles.isEmpty() || horasDisponibles.contains(hora);
+        return getDisponibilidad().horaListada(hora);
     }
 
     @Override
     public String toString() {
         return nombre != null ? nombre : "Profesor";
     }
+
+    /**
+     * Matriz de disponibilidad inmutable (dia x minuto del dia) compilada a partir de las
+     * listas de texto. Las consultas son O(1): conjuntos hash para los dias y un bitmap de
+     * 1440 minutos para las horas de inicio permitidas.
+     */
+    public static final class Disponibilidad {
+        private static final DateTimeFormatter FORMATO_HORA = DateTimeFormatter.ofPattern("H:mm");
+        private static final int MINUTOS_DIA = 24 * 60;
+
+        private final boolean restriccionDias;
+        private final boolean restriccionHoras;
+        private final Set<String> dias;
+        private final Set<String> diasMinusculas;
+        private final Set<String> horasTexto;
+        private final long[] minutosPermitidos;
+        private final List<LocalTime> horasPreferidas;
+
+        private Disponibilidad(List<String> diasDisponibles, List<String> horasDisponibles) {
+            this.restriccionDias = !diasDisponibles.isEmpty();
+            this.restriccionHoras = !horasDisponibles.isEmpty();
+            this.dias = new HashSet<>(diasDisponibles);
+            this.diasMinusculas = new HashSet<>();
+            for (String dia : diasDisponibles) {
+                if (dia != null) {
+                    diasMinusculas.add(dia.toLowerCase(Locale.ROOT));
+                }
+            }
+
+            this.horasTexto = new HashSet<>(horasDisponibles);
+            this.minutosPermitidos = new long[(MINUTOS_DIA + 63) / 64];
+            List<LocalTime> horas = new ArrayList<>();
+            for (String horaStr : horasDisponibles) {
+                try {
+                    LocalTime hora = LocalTime.parse(horaStr, FORMATO_HORA);
+                    horas.add(hora);
+                    // Solo cuenta como hora exacta si coincide con su forma "H:mm" (p. ej. "8:00", no "08:00").
+                    if (hora.format(FORMATO_HORA).equals(horaStr)) {
+                        int minuto = minutoDelDia(hora);
+                        minutosPermitidos[minuto >>> 6] |= 1L << minuto;
+                    }
+                } catch (DateTimeParseException | NullPointerException e) {
+                    System.err.println("Error parseando hora: " + horaStr);
+                }
+            }
+            horas.sort(LocalTime::compareTo);
+            this.horasPreferidas = Collections.unmodifiableList(horas);
+        }
+
+        /** Indica si hay dias restringidos (lista no vacia). */
+        public boolean tieneRestriccionDias() {
+            return restriccionDias;
+        }
+
+        /** Indica si hay horas restringidas (lista no vacia). */
+        public boolean tieneRestriccionHoras() {
+            return restriccionHoras;
+        }
+
+        /** Dia permitido comparando el nombre exacto; sin restricciones siempre es true. */
+        public boolean diaPermitido(String dia) {
+            return !restriccionDias || dias.contains(dia);
+        }
+
+        /** Dia permitido sin distinguir mayusculas; sin restricciones siempre es true. */
+        public boolean diaPermitidoIgnorandoMayusculas(String dia) {
+            return !restriccionDias || (dia != null && diasMinusculas.contains(dia.toLowerCase(Locale.ROOT)));
+        }
+
+        /** Indica si el texto de hora aparece tal cual en la lista; sin restricciones siempre es true. */
+        public boolean horaListada(String hora) {
+            return !restriccionHoras || horasTexto.contains(hora);
+        }
+
+        /** Hora de inicio permitida (su forma "H:mm" esta en la lista); sin restricciones siempre es true. */
+        public boolean horaPermitida(LocalTime hora) {
+            if (!restriccionHoras) {
+                return true;
+            }
+            int minuto = minutoDelDia(hora);
+            return (minutosPermitidos[minuto >>> 6] & (1L << minuto)) != 0;
+        }
+
+        /** Disponibilidad en un dia (sin distinguir mayusculas) y hora de inicio. */
+        public boolean disponible(String dia, LocalTime hora) {
+            return diaPermitidoIgnorandoMayusculas(dia) && horaPermitida(hora);
+        }
+
+        /**
+         * Mascara de dias permitidos: bit i encendido si {@code dias.get(i)} esta permitido
+         * (comparacion exacta). Sin restricciones se encienden todos.
+         */
+        public long mascaraDias(List<String> diasSemana) {
+            long mascara = 0;
+            for (int i = 0; i < diasSemana.size(); i++) {
+                if (diaPermitido(diasSemana.get(i))) {
+                    mascara |= 1L << i;
+                }
+            }
+            return mascara;
+        }
+
+        /** Horas de la lista que se pudieron interpretar, ordenadas ascendentemente. */
+        public List<LocalTime> getHorasPreferidas() {
+            return horasPreferidas;
+        }
+
+        private static int minutoDelDia(LocalTime hora) {
+            return hora.getHour() * 60 + hora.getMinute();
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package src;
+
+/**
+ * Recibe el avance de una generacion. Se invoca desde el hilo que genera (o sus hilos
+ * auxiliares), con una frecuencia limitada; quien actualice la interfaz debe pasar a su hilo.
+ */
+@FunctionalInterface
+public interface ProgresoGeneracion {
+
+    /** Implementacion que ignora los avisos. */
+    ProgresoGeneracion NINGUNO = (fase, porcentaje, conflictos) -> { };
+
+    /**
+     * @param fase fase en curso
+     * @param porcentaje avance total estimado, de 0 a 100
+     * @param conflictos conflictos de la mejor solucion hasta el momento (durante la coloracion,
+     *                   aristas con el mismo dia; al final, pares de bloques en conflicto); -1 si aun
+     *                   no se conocen
+     */
+    void actualizar(MetricasGeneracion.Fase fase, int porcentaje, int conflictos);
+}
@@ -1,18 +1,27 @@
 package src;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * Representa un snapshot completo del proyecto actual para permitir guardarlo y restaurarlo.
  */
 public class ProyectoDatos {
 
+    /** Bytes de un bloque en el formato binario: 9 referencias, el dia y dos horas. */
+    private static final int BYTES_REGISTRO_BLOQUE = 9 * Integer.BYTES + 1 + 2 * Short.BYTES;
+
     private final ConfiguracionProyecto configuracion;
     private final List<Profesor> profesores;
     private final List<Salon> salones;
@@ -60,7 +69,8 @@ public class ProyectoDatos {
         this.asignaciones = copiarAsignaciones(catalogo.getAsignaciones(), bloquesPorId, this.asignacionBloques);
     }
 
-    private ProyectoDatos(ConfiguracionProyecto configuracion,
+    /** Snapshot con las listas dadas, sin copiarlas (para lectores y el diario de cambios). */
+    ProyectoDatos(ConfiguracionProyecto configuracion,
                           List<Profesor> profesores,
                           List<Salon> salones,
                           List<GrupoEstudiantes> grupos,
@@ -86,6 +96,60 @@ public class ProyectoDatos {
             throw new IllegalArgumentException("Interfaz y catÃ¡logo son obligatorios");
         }
 
+        restaurarCatalogo(catalogo);
+
+        GestorHorarios.getInstance().limpiarTodo();
+        interfaz.establecerConfiguracionProyecto(copiarConfiguracion(this.configuracion));
+        interfaz.recargarDesdeCatalogo();
+    }
+
+    /**
+     * Crea un catalogo independiente del singleton con una copia de los datos del proyecto
+     * (para generar horarios sin interfaz, p. ej. en procesos por lotes).
+     */
+    public CatalogoRecursos crearCatalogo() {
+        CatalogoRecursos catalogo = CatalogoRecursos.crearIndependiente();
+        restaurarCatalogo(catalogo);
+        return catalogo;
+    }
+
+    /** Copia de la configuracion del proyecto. */
+    public ConfiguracionProyecto getConfiguracion() {
+        return copiarConfiguracion(configuracion);
+    }
+
+    // Vistas de solo lectura de los datos del snapshot (sin copia), para el diario de cambios.
+
+    List<Profesor> getProfesores() {
+        return Collections.unmodifiableList(profesores);
+    }
+
+    List<Salon> getSalones() {
+        return Collections.unmodifiableList(salones);
+    }
+
+    List<GrupoEstudiantes> getGrupos() {
+        return Collections.unmodifiableList(grupos);
+    }
+
+    List<Materia> getMaterias() {
+        return Collections.unmodifiableList(materias);
+    }
+
+    List<AsignacionAcademica> getAsignaciones() {
+        return Collections.unmodifiableList(asignaciones);
+    }
+
+    List<BloqueHorario> getBloques() {
+        return Collections.unmodifiableList(bloques);
+    }
+
+    Map<String, List<String>> getAsignacionBloques() {
+        return Collections.unmodifiableMap(asignacionBloques);
+    }
+
+    /** Vuelca copias de los datos del snapshot en el catalogo dado. */
+    private void restaurarCatalogo(CatalogoRecursos catalogo) {
         Map<String, BloqueHorario> bloquesPorId = new HashMap<>();
         List<BloqueHorario> bloquesClon = copiarBloques(this.bloques, bloquesPorId);
         Map<String, List<String>> mapaAsignaciones = copiarMapaAsignacion(this.asignacionBloques);
@@ -100,183 +164,350 @@ public class ProyectoDatos {
                 bloquesClon,
                 mapaAsignaciones
         );
-
-        GestorHorarios.getInstance().limpiarTodo();
-        interfaz.establecerConfiguracionProyecto(copiarConfiguracion(this.configuracion));
-        interfaz.recargarDesdeCatalogo();
     }
 
     /** Serializa el snapshot a un JSON plano. */
     public String toJson() {
-        StringBuilder sb = new StringBuilder();
+        StringWriter destino = new StringWriter();
+        try {
+            escribirJson(destino);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return destino.toString();
+    }
+
+    /**
+     * Escribe el snapshot como JSON directamente en {@code destino}, elemento por elemento,
+     * sin armar el documento en memoria. El resultado es identico a {@link #toJson()}.
+     * No cierra el destino.
+     */
+    public void escribirJson(Writer destino) throws IOException {
+        EscritorJson json = new EscritorJson(destino);
         Map<String, String> bloqueAsignacion = crearMapaBloqueAsignacion(asignacionBloques);
 
-        sb.append("{");
-        sb.append("\"configuracion\":").append(configuracionToJson());
-        sb.append(",\"profesores\":").append(arrayToJson(profesores, this::profesorToJson));
-        sb.append(",\"salones\":").append(arrayToJson(salones, this::salonToJson));
-        sb.append(",\"grupos\":").append(arrayToJson(grupos, this::grupoToJson));
-        sb.append(",\"materias\":").append(arrayToJson(materias, this::materiaToJson));
-        sb.append(",\"asignaciones\":").append(arrayToJson(asignaciones, this::asignacionToJson));
-        sb.append(",\"bloques\":").append(arrayToJson(bloques, b -> bloqueToJson(b, bloqueAsignacion)));
-        sb.append("}");
-        return sb.toString();
+        json.inicioObjeto();
+        json.nombre("configuracion");
+        escribirConfiguracion(json, configuracion);
+        json.nombre("profesores");
+        escribirArreglo(json, profesores, ProyectoDatos::escribirProfesor);
+        json.nombre("salones");
+        escribirArreglo(json, salones, ProyectoDatos::escribirSalon);
+        json.nombre("grupos");
+        escribirArreglo(json, grupos, ProyectoDatos::escribirGrupo);
+        json.nombre("materias");
+        escribirArreglo(json, materias, ProyectoDatos::escribirMateria);
+        json.nombre("asignaciones");
+        escribirArreglo(json, asignaciones, ProyectoDatos::escribirAsignacion);
+        json.nombre("bloques");
+        escribirArreglo(json, bloques, (escritor, b) -> escribirBloque(escritor, b, bloqueAsignacion.get(b.getId())));
+        json.finObjeto();
+        json.flush();
     }
 
     /** Deserializa un JSON plano y reconstruye el snapshot. */
     public static ProyectoDatos fromJson(String json) {
-        SimpleJsonParser parser = new SimpleJsonParser(json);
-        Object rootObj = parser.parse();
-        if (!(rootObj instanceof Map)) {
-            throw new IllegalArgumentException("El formato del archivo no es vÃ¡lido");
+        try {
+            return leerJson(new StringReader(json != null ? json : ""));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        Map<String, Object> root = castToMap(rootObj);
+    }
 
-        ConfiguracionProyecto configuracion = parseConfiguracion(castToMap(root.get("configuracion")));
-        List<Profesor> profesores = parseProfesores(castToList(root.get("profesores")));
-        List<Salon> salones = parseSalones(castToList(root.get("salones")));
-        List<GrupoEstudiantes> grupos = parseGrupos(castToList(root.get("grupos")));
-        List<Materia> materias = parseMaterias(castToList(root.get("materias")));
-        List<AsignacionAcademica> asignaciones = parseAsignaciones(castToList(root.get("asignaciones")));
+    /**
+     * Lee el snapshot desde {@code origen} en una sola pasada: cada profesor, salon, grupo,
+     * materia, asignacion y bloque se construye en cuanto se terminan de leer sus campos,
+     * sin arbol intermedio. No cierra el origen.
+     */
+    public static ProyectoDatos leerJson(Reader origen) throws IOException {
+        LectorJson lector = new LectorJson(origen);
+        if (lector.siguienteTipo() != LectorJson.Tipo.OBJETO) {
+            throw new IllegalArgumentException("El formato del archivo no es vÃ¡lido");
+        }
 
+        ConfiguracionProyecto[] configuracion = {null};
+        List<Profesor> profesores = new ArrayList<>();
+        List<Salon> salones = new ArrayList<>();
+        List<GrupoEstudiantes> grupos = new ArrayList<>();
+        List<Materia> materias = new ArrayList<>();
+        List<AsignacionAcademica> asignaciones = new ArrayList<>();
+        List<BloqueHorario> bloques = new ArrayList<>();
         Map<String, BloqueHorario> bloquesPorId = new HashMap<>();
         Map<String, List<String>> asignacionBloques = new HashMap<>();
-        List<BloqueHorario> bloques = parseBloques(castToList(root.get("bloques")), bloquesPorId, asignacionBloques);
 
-        if (!asignaciones.isEmpty()) {
-            for (AsignacionAcademica asignacion : asignaciones) {
-                List<String> ids = asignacionBloques.get(asignacion.getId());
-                if (ids == null || ids.isEmpty()) {
-                    continue;
-                }
-                List<BloqueHorario> asociados = new ArrayList<>();
-                for (String id : ids) {
-                    BloqueHorario bloque = bloquesPorId.get(id);
-                    if (bloque != null) {
-                        asociados.add(bloque);
-                    }
-                }
-                if (!asociados.isEmpty()) {
-                    asignacion.registrarBloques(asociados);
-                }
+        lector.objeto(nombre -> {
+            switch (nombre) {
+                case "configuracion" -> configuracion[0] = leerConfiguracion(lector);
+                case "profesores" -> lector.arreglo(() -> profesores.add(leerProfesor(lector)));
+                case "salones" -> lector.arreglo(() -> salones.add(leerSalon(lector)));
+                case "grupos" -> lector.arreglo(() -> grupos.add(leerGrupo(lector)));
+                case "materias" -> lector.arreglo(() -> materias.add(leerMateria(lector)));
+                case "asignaciones" -> lector.arreglo(() -> asignaciones.add(leerAsignacion(lector)));
+                case "bloques" -> lector.arreglo(() -> bloques.add(leerBloque(lector, bloquesPorId, asignacionBloques)));
+                default -> lector.saltar();
             }
+        });
+
+        vincularBloques(asignaciones, bloquesPorId, asignacionBloques);
+        ConfiguracionProyecto config = configuracion[0] != null ? configuracion[0] : configuracionVacia();
+        return new ProyectoDatos(config, profesores, salones, grupos, materias, asignaciones, bloques, asignacionBloques);
+    }
+
+    /**
+     * Escribe el snapshot en el formato binario .hrb ({@link EscritorBinario}): ids y nombres
+     * en una tabla de cadenas y los bloques en registros de ancho fijo. Las horas se guardan
+     * en minutos. No cierra el destino.
+     */
+    public void escribirBinario(OutputStream destino) throws IOException {
+        EscritorBinario bin = new EscritorBinario();
+        ConfiguracionProyecto config = configuracion != null ? configuracion : new ConfiguracionProyecto();
+        bin.cadena(config.getNombreEscuela());
+        for (int grado = 1; grado <= 3; grado++) {
+            bin.entero(config.getCantidadGrupos(grado));
+        }
+
+        bin.entero(profesores.size());
+        for (Profesor profesor : profesores) {
+            bin.cadena(profesor.getId());
+            bin.cadena(profesor.getNombre());
+            bin.cadena(profesor.getMateriaAsignada());
+            bin.lista(profesor.getDiasDisponibles());
+            bin.lista(profesor.getHorasDisponibles());
+            bin.entero(profesor.getHorasSemanales());
+        }
+        bin.entero(salones.size());
+        for (Salon salon : salones) {
+            bin.cadena(salon.getId());
+            bin.cadena(salon.getNombre());
+            bin.entero(salon.getCapacidad());
+        }
+        bin.entero(grupos.size());
+        for (GrupoEstudiantes grupo : grupos) {
+            bin.cadena(grupo.getId());
+            bin.cadena(grupo.getNombre());
+            bin.entero(grupo.getGrado());
+            bin.lista(grupo.getProfesorIds());
+        }
+        bin.entero(materias.size());
+        for (Materia materia : materias) {
+            bin.cadena(materia.getId());
+            bin.cadena(materia.getNombre());
+            bin.entero(materia.getHorasSugeridas());
+        }
+        bin.entero(asignaciones.size());
+        for (AsignacionAcademica asignacion : asignaciones) {
+            bin.cadena(asignacion.getId());
+            bin.cadena(asignacion.getGrupoId());
+            bin.cadena(asignacion.getProfesorId());
+            bin.cadena(asignacion.getMateriaId());
+            bin.cadena(asignacion.getSalonId());
+            bin.entero(asignacion.getHorasSemanales());
         }
 
+        Map<String, String> bloqueAsignacion = crearMapaBloqueAsignacion(asignacionBloques);
+        bin.registros(bloques.size(), BYTES_REGISTRO_BLOQUE);
+        for (BloqueHorario bloque : bloques) {
+            bin.cadena(bloque.getId());
+            bin.cadena(bloque.getMateria());
+            bin.dia(bloque.getDia());
+            bin.hora(bloque.getHoraInicio());
+            bin.hora(bloque.getHoraFin());
+            bin.cadena(bloque.getProfesorId());
+            bin.cadena(bloque.getSalonId());
+            bin.cadena(bloque.getGrupoId());
+            bin.cadena(bloque.getProfesor());
+            bin.cadena(bloque.getSalon());
+            bin.cadena(bloque.getGrupo());
+            bin.cadena(bloqueAsignacion.get(bloque.getId()));
+        }
+        bin.volcar(destino);
+    }
+
+    /**
+     * Lee un snapshot en formato binario .hrb desde {@code datos} (por ejemplo un archivo
+     * mapeado en memoria), a partir de su posicion actual.
+     * @throws IllegalArgumentException si los datos no son un .hrb valido
+     */
+    public static ProyectoDatos leerBinario(ByteBuffer datos) {
+        LectorBinario bin = new LectorBinario(datos);
+        ConfiguracionProyecto configuracion = new ConfiguracionProyecto();
+        configuracion.setNombreEscuela(bin.cadena());
+        for (int grado = 1; grado <= 3; grado++) {
+            configuracion.setCantidadGrupos(grado, bin.entero());
+        }
+
+        List<Profesor> profesores = new ArrayList<>();
+        for (int i = bin.entero(); i > 0; i--) {
+            profesores.add(new Profesor(bin.cadena(), bin.cadena(), bin.cadena(), bin.lista(), bin.lista(), bin.entero()));
+        }
+        List<Salon> salones = new ArrayList<>();
+        for (int i = bin.entero(); i > 0; i--) {
+            salones.add(new Salon(bin.cadena(), bin.cadena(), bin.entero()));
+        }
+        List<GrupoEstudiantes> grupos = new ArrayList<>();
+        for (int i = bin.entero(); i > 0; i--) {
+            grupos.add(new GrupoEstudiantes(bin.cadena(), bin.cadena(), bin.entero(), bin.lista()));
+        }
+        List<Materia> materias = new ArrayList<>();
+        for (int i = bin.entero(); i > 0; i--) {
+            materias.add(new Materia(bin.cadena(), bin.cadena(), bin.entero()));
+        }
+        List<AsignacionAcademica> asignaciones = new ArrayList<>();
+        for (int i = bin.entero(); i > 0; i--) {
+            asignaciones.add(new AsignacionAcademica(bin.cadena(), bin.cadena(), bin.cadena(), bin.cadena(),
+                    bin.cadena(), bin.entero()));
+        }
+
+        List<BloqueHorario> bloques = new ArrayList<>();
+        Map<String, BloqueHorario> bloquesPorId = new HashMap<>();
+        Map<String, List<String>> asignacionBloques = new HashMap<>();
+        bin.registros(() -> {
+            String id = bin.cadena();
+            String materia = bin.cadena();
+            String dia = bin.dia();
+            LocalTime inicio = bin.hora();
+            LocalTime fin = bin.hora();
+            String profesorId = bin.cadena();
+            String salonId = bin.cadena();
+            String grupoId = bin.cadena();
+            BloqueHorario bloque = new BloqueHorario(id, inicio, fin, materia, bin.cadena(), bin.cadena(), bin.cadena());
+            bloque.setProfesorId(profesorId);
+            bloque.setSalonId(salonId);
+            bloque.setGrupoId(grupoId);
+            bloque.setDia(dia);
+            bloques.add(bloque);
+            bloquesPorId.put(id, bloque);
+            String asignacionId = bin.cadena();
+            if (asignacionId != null) {
+                asignacionBloques.computeIfAbsent(asignacionId, k -> new ArrayList<>()).add(id);
+            }
+        });
+
+        vincularBloques(asignaciones, bloquesPorId, asignacionBloques);
         return new ProyectoDatos(configuracion, profesores, salones, grupos, materias, asignaciones, bloques, asignacionBloques);
     }
 
-    /** Serializa la configuracion del proyecto a JSON. */
-    private String configuracionToJson() {
+    /** Registra en cada asignacion los bloques leidos que le corresponden. */
+    static void vincularBloques(List<AsignacionAcademica> asignaciones,
+                                        Map<String, BloqueHorario> bloquesPorId,
+                                        Map<String, List<String>> asignacionBloques) {
+        for (AsignacionAcademica asignacion : asignaciones) {
+            List<String> ids = asignacionBloques.get(asignacion.getId());
+            if (ids == null || ids.isEmpty()) {
+                continue;
+            }
+            List<BloqueHorario> asociados = new ArrayList<>();
+            for (String id : ids) {
+                BloqueHorario bloque = bloquesPorId.get(id);
+                if (bloque != null) {
+                    asociados.add(bloque);
+                }
+            }
+            if (!asociados.isEmpty()) {
+                asignacion.registrarBloques(asociados);
+            }
+        }
+    }
+
+    /** Escribe la configuracion del proyecto. */
+    static void escribirConfiguracion(EscritorJson json, ConfiguracionProyecto configuracion) throws IOException {
         ConfiguracionProyecto config = configuracion != null ? configuracion : new ConfiguracionProyecto();
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        sb.append("\"nombreEscuela\":\"").append(escape(nullToEmpty(config.getNombreEscuela()))).append("\",");
-        sb.append("\"grupos\":{");
+        json.inicioObjeto();
+        json.campo("nombreEscuela", nullToEmpty(config.getNombreEscuela()));
+        json.nombre("grupos").inicioObjeto();
         for (int grado = 1; grado <= 3; grado++) {
-            if (grado > 1) {
-                sb.append(",");
-            }
-            sb.append("\"").append(grado).append("\":").append(config.getCantidadGrupos(grado));
-        }
-        sb.append("}");
-        sb.append("}");
-        return sb.toString();
-    }
-
-    /** Serializa un profesor a JSON. */
-    private String profesorToJson(Profesor profesor) {
-        return new StringBuilder()
-                .append("{")
-                .append("\"id\":\"").append(escape(profesor.getId())).append("\",")
-                .append("\"nombre\":\"").append(escape(nullToEmpty(profesor.getNombre()))).append("\",")
-                .append("\"materia\":\"").append(escape(nullToEmpty(profesor.getMateriaAsignada()))).append("\",")
-                .append("\"dias\":\"").append(escape(joinList(profesor.getDiasDisponibles()))).append("\",")
-                .append("\"horas\":\"").append(escape(joinList(profesor.getHorasDisponibles()))).append("\",")
-                .append("\"horasSemanales\":").append(profesor.getHorasSemanales())
-                .append("}")
-                .toString();
-    }
-
-    /** Serializa un salon a JSON. */
-    private String salonToJson(Salon salon) {
-        return new StringBuilder()
-                .append("{")
-                .append("\"id\":\"").append(escape(salon.getId())).append("\",")
-                .append("\"nombre\":\"").append(escape(nullToEmpty(salon.getNombre()))).append("\",")
-                .append("\"capacidad\":").append(salon.getCapacidad())
-                .append("}")
-                .toString();
-    }
-
-    /** Serializa un grupo a JSON. */
-    private String grupoToJson(GrupoEstudiantes grupo) {
-        return new StringBuilder()
-                .append("{")
-                .append("\"id\":\"").append(escape(grupo.getId())).append("\",")
-                .append("\"nombre\":\"").append(escape(nullToEmpty(grupo.getNombre()))).append("\",")
-                .append("\"grado\":").append(grupo.getGrado()).append(",")
-                .append("\"profesores\":\"").append(escape(joinList(grupo.getProfesorIds()))).append("\"")
-                .append("}")
-                .toString();
-    }
-
-    /** Serializa una materia a JSON. */
-    private String materiaToJson(Materia materia) {
-        return new StringBuilder()
-                .append("{")
-                .append("\"id\":\"").append(escape(materia.getId())).append("\",")
-                .append("\"nombre\":\"").append(escape(nullToEmpty(materia.getNombre()))).append("\",")
-                .append("\"horas\":").append(materia.getHorasSugeridas())
-                .append("}")
-                .toString();
-    }
-
-    /** Serializa una asignacion academica a JSON. */
-    private String asignacionToJson(AsignacionAcademica asignacion) {
-        return new StringBuilder()
-                .append("{")
-                .append("\"id\":\"").append(escape(asignacion.getId())).append("\",")
-                .append("\"grupoId\":\"").append(escape(nullToEmpty(asignacion.getGrupoId()))).append("\",")
-                .append("\"profesorId\":\"").append(escape(nullToEmpty(asignacion.getProfesorId()))).append("\",")
-                .append("\"materiaId\":\"").append(escape(nullToEmpty(asignacion.getMateriaId()))).append("\",")
-                .append("\"salonId\":\"").append(escape(nullToEmpty(asignacion.getSalonId()))).append("\",")
-                .append("\"horasSemanales\":").append(asignacion.getHorasSemanales())
-                .append("}")
-                .toString();
-    }
-    /** Serializa un bloque de horario a JSON (incluyendo asignacion asociada). */
-    private String bloqueToJson(BloqueHorario bloque, Map<String, String> asignacionPorBloque) {
-        return new StringBuilder()
-                .append("{")
-                .append("\"id\":\"").append(escape(bloque.getId())).append("\",")
-                .append("\"materia\":\"").append(escape(nullToEmpty(bloque.getMateria()))).append("\",")
-                .append("\"dia\":\"").append(escape(nullToEmpty(bloque.getDia()))).append("\",")
-                .append("\"horaInicio\":\"").append(escape(formatHora(bloque.getHoraInicio()))).append("\",")
-                .append("\"horaFin\":\"").append(escape(formatHora(bloque.getHoraFin()))).append("\",")
-                .append("\"profesorId\":\"").append(escape(nullToEmpty(bloque.getProfesorId()))).append("\",")
-                .append("\"salonId\":\"").append(escape(nullToEmpty(bloque.getSalonId()))).append("\",")
-                .append("\"grupoId\":\"").append(escape(nullToEmpty(bloque.getGrupoId()))).append("\",")
-                .append("\"profesor\":\"").append(escape(nullToEmpty(bloque.getProfesor()))).append("\",")
-                .append("\"salon\":\"").append(escape(nullToEmpty(bloque.getSalon()))).append("\",")
-                .append("\"grupo\":\"").append(escape(nullToEmpty(bloque.getGrupo()))).append("\",")
-                .append("\"asignacionId\":\"").append(escape(nullToEmpty(asignacionPorBloque.get(bloque.getId())))).append("\"")
-                .append("}")
-                .toString();
-    }
-
-    /** Serializa una lista usando el mapper indicado. */
-    private <T> String arrayToJson(List<T> datos, Function<T, String> mapper) {
-        StringBuilder sb = new StringBuilder("[");
+            json.campo(String.valueOf(grado), config.getCantidadGrupos(grado));
+        }
+        json.finObjeto();
+        json.finObjeto();
+    }
+
+    /** Escribe un profesor. */
+    static void escribirProfesor(EscritorJson json, Profesor profesor) throws IOException {
+        json.inicioObjeto()
+                .campo("id", profesor.getId())
+                .campo("nombre", nullToEmpty(profesor.getNombre()))
+                .campo("materia", nullToEmpty(profesor.getMateriaAsignada()))
+                .campo("dias", joinList(profesor.getDiasDisponibles()))
+                .campo("horas", joinList(profesor.getHorasDisponibles()))
+                .campo("horasSemanales", profesor.getHorasSemanales())
+                .finObjeto();
+    }
+
+    /** Escribe un salon. */
+    static void escribirSalon(EscritorJson json, Salon salon) throws IOException {
+        json.inicioObjeto()
+                .campo("id", salon.getId())
+                .campo("nombre", nullToEmpty(salon.getNombre()))
+                .campo("capacidad", salon.getCapacidad())
+                .finObjeto();
+    }
+
+    /** Escribe un grupo. */
+    static void escribirGrupo(EscritorJson json, GrupoEstudiantes grupo) throws IOException {
+        json.inicioObjeto()
+                .campo("id", grupo.getId())
+                .campo("nombre", nullToEmpty(grupo.getNombre()))
+                .campo("grado", grupo.getGrado())
+                .campo("profesores", joinList(grupo.getProfesorIds()))
+                .finObjeto();
+    }
+
+    /** Escribe una materia. */
+    static void escribirMateria(EscritorJson json, Materia materia) throws IOException {
+        json.inicioObjeto()
+                .campo("id", materia.getId())
+                .campo("nombre", nullToEmpty(materia.getNombre()))
+                .campo("horas", materia.getHorasSugeridas())
+                .finObjeto();
+    }
+
+    /** Escribe una asignacion academica. */
+    static void escribirAsignacion(EscritorJson json, AsignacionAcademica asignacion) throws IOException {
+        json.inicioObjeto()
+                .campo("id", asignacion.getId())
+                .campo("grupoId", nullToEmpty(asignacion.getGrupoId()))
+                .campo("profesorId", nullToEmpty(asignacion.getProfesorId()))
+                .campo("materiaId", nullToEmpty(asignacion.getMateriaId()))
+                .campo("salonId", nullToEmpty(asignacion.getSalonId()))
+                .campo("horasSemanales", asignacion.getHorasSemanales())
+                .finObjeto();
+    }
+
+    /** Escribe un bloque de horario (incluyendo asignacion asociada, o null). */
+    static void escribirBloque(EscritorJson json, BloqueHorario bloque, String asignacionId) throws IOException {
+        json.inicioObjeto()
+                .campo("id", bloque.getId())
+                .campo("materia", nullToEmpty(bloque.getMateria()))
+                .campo("dia", nullToEmpty(bloque.getDia()))
+                .campo("horaInicio", formatHora(bloque.getHoraInicio()))
+                .campo("horaFin", formatHora(bloque.getHoraFin()))
+                .campo("profesorId", nullToEmpty(bloque.getProfesorId()))
+                .campo("salonId", nullToEmpty(bloque.getSalonId()))
+                .campo("grupoId", nullToEmpty(bloque.getGrupoId()))
+                .campo("profesor", nullToEmpty(bloque.getProfesor()))
+                .campo("salon", nullToEmpty(bloque.getSalon()))
+                .campo("grupo", nullToEmpty(bloque.getGrupo()))
+                .campo("asignacionId", nullToEmpty(asignacionId))
+                .finObjeto();
+    }
+
+    /** Escribe una lista como arreglo usando el escritor de elementos indicado. */
+    private static <T> void escribirArreglo(EscritorJson json, List<T> datos, EscritorElemento<T> escritor)
+            throws IOException {
+        json.inicioArreglo();
         if (datos != null) {
-            for (int i = 0; i < datos.size(); i++) {
-                if (i > 0) {
-                    sb.append(",");
-                }
-                sb.append(mapper.apply(datos.get(i)));
+            for (T dato : datos) {
+                escritor.escribir(json, dato);
             }
         }
-        sb.append("]");
-        return sb.toString();
+        json.finArreglo();
+    }
+
+    /** Escribe un elemento de un arreglo. */
+    @FunctionalInterface
+    private interface EscritorElemento<T> {
+        void escribir(EscritorJson json, T dato) throws IOException;
     }
 
     /** Crea una copia defensiva de la configuracion. */
@@ -441,180 +672,167 @@ public class ProyectoDatos {
         return inverso;
     }
 
-    /** Deserializa ConfiguracionProyecto desde mapa parsed JSON. */
-    private static ConfiguracionProyecto parseConfiguracion(Map<String, Object> data) {
+    /** Configuracion de un archivo sin la seccion "configuracion": sin nombre ni grupos. */
+    private static ConfiguracionProyecto configuracionVacia() {
         ConfiguracionProyecto configuracion = new ConfiguracionProyecto();
-        configuracion.setNombreEscuela(asString(data.get("nombreEscuela")));
-        Map<String, Object> grupos = castToMap(data.get("grupos"));
+        configuracion.setNombreEscuela("");
         for (int grado = 1; grado <= 3; grado++) {
-            String key = String.valueOf(grado);
-            configuracion.setCantidadGrupos(grado, parseInt(grupos.get(key)));
+            configuracion.setCantidadGrupos(grado, 0);
         }
         return configuracion;
     }
 
-    /** Deserializa profesores desde lista de mapas. */
-    private static List<Profesor> parseProfesores(List<Object> data) {
-        List<Profesor> profesores = new ArrayList<>();
-        for (Object item : data) {
-            Map<String, Object> valores = castToMap(item);
-            profesores.add(new Profesor(
-                    asString(valores.get("id")),
-                    asString(valores.get("nombre")),
-                    asString(valores.get("materia")),
-                    parseLista(asString(valores.get("dias"))),
-                    parseLista(asString(valores.get("horas"))),
-                    parseInt(valores.get("horasSemanales"))
-            ));
-        }
-        return profesores;
-    }
-
-    /** Deserializa salones desde lista de mapas. */
-    private static List<Salon> parseSalones(List<Object> data) {
-        List<Salon> salones = new ArrayList<>();
-        for (Object item : data) {
-            Map<String, Object> valores = castToMap(item);
-            salones.add(new Salon(
-                    asString(valores.get("id")),
-                    asString(valores.get("nombre")),
-                    parseInt(valores.get("capacidad"))
-            ));
-        }
-        return salones;
-    }
-
-    /** Deserializa grupos desde lista de mapas. */
-    private static List<GrupoEstudiantes> parseGrupos(List<Object> data) {
-        List<GrupoEstudiantes> grupos = new ArrayList<>();
-        for (Object item : data) {
-            Map<String, Object> valores = castToMap(item);
-            grupos.add(new GrupoEstudiantes(
-                    asString(valores.get("id")),
-                    asString(valores.get("nombre")),
-                    parseInt(valores.get("grado")),
-                    parseLista(asString(valores.get("profesores")))
-            ));
-        }
-        return grupos;
-    }
-
-    /** Deserializa materias desde lista de mapas. */
-    private static List<Materia> parseMaterias(List<Object> data) {
-        List<Materia> materias = new ArrayList<>();
-        for (Object item : data) {
-            Map<String, Object> valores = castToMap(item);
-            materias.add(new Materia(
-                    asString(valores.get("id")),
-                    asString(valores.get("nombre")),
-                    parseInt(valores.get("horas"))
-            ));
-        }
-        return materias;
+    /** Lee la configuracion del proyecto. */
+    static ConfiguracionProyecto leerConfiguracion(LectorJson lector) throws IOException {
+        ConfiguracionProyecto configuracion = configuracionVacia();
+        lector.objeto(nombre -> {
+            switch (nombre) {
+                case "nombreEscuela" -> configuracion.setNombreEscuela(lector.cadena());
+                case "grupos" -> lector.objeto(grado -> {
+                    int numero = grado.equals("1") ? 1 : grado.equals("2") ? 2 : grado.equals("3") ? 3 : 0;
+                    if (numero == 0) {
+                        lector.saltar();
+                    } else {
+                        configuracion.setCantidadGrupos(numero, lector.entero());
+                    }
+                });
+                default -> lector.saltar();
+            }
+        });
+        return configuracion;
     }
 
-    /** Deserializa asignaciones desde lista de mapas. */
-    private static List<AsignacionAcademica> parseAsignaciones(List<Object> data) {
-        List<AsignacionAcademica> asignaciones = new ArrayList<>();
-        for (Object item : data) {
-            Map<String, Object> valores = castToMap(item);
-            asignaciones.add(new AsignacionAcademica(
-                    asString(valores.get("id")),
-                    asString(valores.get("grupoId")),
-                    asString(valores.get("profesorId")),
-                    asString(valores.get("materiaId")),
-                    emptyToNull(asString(valores.get("salonId"))),
-                    parseInt(valores.get("horasSemanales"))
-            ));
-        }
-        return asignaciones;
-    }
-
-    /** Deserializa bloques y rellena mapas auxiliares. */
-    private static List<BloqueHorario> parseBloques(List<Object> data,
-                                                    Map<String, BloqueHorario> bloquesPorId,
-                                                    Map<String, List<String>> asignacionBloques) {
-        List<BloqueHorario> bloques = new ArrayList<>();
-        for (Object item : data) {
-            Map<String, Object> valores = castToMap(item);
-            String id = asString(valores.get("id"));
-            String materia = asString(valores.get("materia"));
-            LocalTime inicio = parseHora(asString(valores.get("horaInicio")));
-            LocalTime fin = parseHora(asString(valores.get("horaFin")));
-            String profesorNombre = asString(valores.get("profesor"));
-            String salonNombre = asString(valores.get("salon"));
-            String grupoNombre = asString(valores.get("grupo"));
-
-            BloqueHorario bloque = new BloqueHorario(
-                    id,
-                    inicio,
-                    fin,
-                    materia,
-                    profesorNombre,
-                    salonNombre,
-                    grupoNombre
-            );
-            bloque.setProfesorId(emptyToNull(asString(valores.get("profesorId"))));
-            bloque.setSalonId(emptyToNull(asString(valores.get("salonId"))));
-            bloque.setGrupoId(emptyToNull(asString(valores.get("grupoId"))));
-            bloque.setDia(emptyToNull(asString(valores.get("dia"))));
-
-            bloques.add(bloque);
-            if (bloquesPorId != null) {
-                bloquesPorId.put(bloque.getId(), bloque);
+    /** Lee un profesor. */
+    static Profesor leerProfesor(LectorJson lector) throws IOException {
+        String[] texto = {"", "", "", "", ""};
+        int[] horasSemanales = {0};
+        lector.objeto(nombre -> {
+            switch (nombre) {
+                case "id" -> texto[0] = lector.cadena();
+                case "nombre" -> texto[1] = lector.cadena();
+                case "materia" -> texto[2] = lector.cadena();
+                case "dias" -> texto[3] = lector.cadena();
+                case "horas" -> texto[4] = lector.cadena();
+                case "horasSemanales" -> horasSemanales[0] = lector.entero();
+                default -> lector.saltar();
             }
-
-            String asignacionId = emptyToNull(asString(valores.get("asignacionId")));
-            if (asignacionId != null) {
-                asignacionBloques.computeIfAbsent(asignacionId, k -> new ArrayList<>()).add(bloque.getId());
+        });
+        return new Profesor(texto[0], texto[1], texto[2], parseLista(texto[3]), parseLista(texto[4]), horasSemanales[0]);
+    }
+
+    /** Lee un salon. */
+    static Salon leerSalon(LectorJson lector) throws IOException {
+        String[] texto = {"", ""};
+        int[] capacidad = {0};
+        lector.objeto(nombre -> {
+            switch (nombre) {
+                case "id" -> texto[0] = lector.cadena();
+                case "nombre" -> texto[1] = lector.cadena();
+                case "capacidad" -> capacidad[0] = lector.entero();
+                default -> lector.saltar();
             }
-        }
-        return bloques;
-    }
-    /** Intenta castear a Map, devolviendo copia defensiva o vacio. */
-    private static Map<String, Object> castToMap(Object value) {
-        if (value instanceof Map<?, ?> map) {
-            Map<String, Object> copy = new HashMap<>();
-            map.forEach((k, v) -> copy.put(String.valueOf(k), v));
-            return copy;
-        }
-        return Collections.emptyMap();
-    }
-
-    /** Intenta castear a List, devolviendo copia defensiva o vacio. */
-    private static List<Object> castToList(Object value) {
-        if (value instanceof List<?> list) {
-            return new ArrayList<>(list);
-        }
-        return Collections.emptyList();
-    }
-
-    private static String asString(Object value) {
-        if (value == null) {
-            return "";
-        }
-        if (value instanceof String) {
-            return (String) value;
-        }
-        return String.valueOf(value);
-    }
-
-    private static int parseInt(Object value) {
-        if (value == null) {
-            return 0;
-        }
-        if (value instanceof Number) {
-            return ((Number) value).intValue();
-        }
-        try {
-            String texto = asString(value);
-            if (texto.isBlank()) {
-                return 0;
+        });
+        return new Salon(texto[0], texto[1], capacidad[0]);
+    }
+
+    /** Lee un grupo. */
+    static GrupoEstudiantes leerGrupo(LectorJson lector) throws IOException {
+        String[] texto = {"", "", ""};
+        int[] grado = {0};
+        lector.objeto(nombre -> {
+            switch (nombre) {
+                case "id" -> texto[0] = lector.cadena();
+                case "nombre" -> texto[1] = lector.cadena();
+                case "grado" -> grado[0] = lector.entero();
+                case "profesores" -> texto[2] = lector.cadena();
+                default -> lector.saltar();
+            }
+        });
+        return new GrupoEstudiantes(texto[0], texto[1], grado[0], parseLista(texto[2]));
+    }
+
+    /** Lee una materia. */
+    static Materia leerMateria(LectorJson lector) throws IOException {
+        String[] texto = {"", ""};
+        int[] horas = {0};
+        lector.objeto(nombre -> {
+            switch (nombre) {
+                case "id" -> texto[0] = lector.cadena();
+                case "nombre" -> texto[1] = lector.cadena();
+                case "horas" -> horas[0] = lector.entero();
+                default -> lector.saltar();
             }
-            return Integer.parseInt(texto);
-        } catch (NumberFormatException e) {
-            return 0;
+        });
+        return new Materia(texto[0], texto[1], horas[0]);
+    }
+
+    /** Lee una asignacion academica. */
+    static AsignacionAcademica leerAsignacion(LectorJson lector) throws IOException {
+        String[] texto = {"", "", "", "", ""};
+        int[] horasSemanales = {0};
+        lector.objeto(nombre -> {
+            switch (nombre) {
+                case "id" -> texto[0] = lector.cadena();
+                case "grupoId" -> texto[1] = lector.cadena();
+                case "profesorId" -> texto[2] = lector.cadena();
+                case "materiaId" -> texto[3] = lector.cadena();
+                case "salonId" -> texto[4] = lector.cadena();
+                case "horasSemanales" -> horasSemanales[0] = lector.entero();
+                default -> lector.saltar();
+            }
+        });
+        return new AsignacionAcademica(texto[0], texto[1], texto[2], texto[3], emptyToNull(texto[4]), horasSemanales[0]);
+    }
+
+    /** Lee un bloque y rellena los mapas auxiliares. */
+    static BloqueHorario leerBloque(LectorJson lector,
+                                           Map<String, BloqueHorario> bloquesPorId,
+                                           Map<String, List<String>> asignacionBloques) throws IOException {
+        // id, materia, dia, horaInicio, horaFin, profesorId, salonId, grupoId, profesor, salon, grupo, asignacionId
+        String[] texto = {"", "", "", "", "", "", "", "", "", "", "", ""};
+        lector.objeto(nombre -> {
+            int campo = switch (nombre) {
+                case "id" -> 0;
+                case "materia" -> 1;
+                case "dia" -> 2;
+                case "horaInicio" -> 3;
+                case "horaFin" -> 4;
+                case "profesorId" -> 5;
+                case "salonId" -> 6;
+                case "grupoId" -> 7;
+                case "profesor" -> 8;
+                case "salon" -> 9;
+                case "grupo" -> 10;
+                case "asignacionId" -> 11;
+                default -> -1;
+            };
+            if (campo < 0) {
+                lector.saltar();
+            } else {
+                texto[campo] = lector.cadena();
+            }
+        });
+
+        BloqueHorario bloque = new BloqueHorario(
+                texto[0],
+                parseHora(texto[3]),
+                parseHora(texto[4]),
+                texto[1],
+                texto[8],
+                texto[9],
+                texto[10]
+        );
+        bloque.setProfesorId(emptyToNull(texto[5]));
+        bloque.setSalonId(emptyToNull(texto[6]));
+        bloque.setGrupoId(emptyToNull(texto[7]));
+        bloque.setDia(emptyToNull(texto[2]));
+
+        bloquesPorId.put(bloque.getId(), bloque);
+        String asignacionId = emptyToNull(texto[11]);
+        if (asignacionId != null) {
+            asignacionBloques.computeIfAbsent(asignacionId, k -> new ArrayList<>()).add(bloque.getId());
         }
+        return bloque;
     }
 
     private static LocalTime parseHora(String valor) {
@@ -660,253 +878,4 @@ public class ProyectoDatos {
     private static String formatHora(LocalTime hora) {
         return hora == null ? "" : hora.toString();
     }
-
-    private static String escape(String valor) {
-        if (valor == null) {
-            return "";
-        }
-        StringBuilder sb = new StringBuilder();
-        for (char c : valor.toCharArray()) {
-            switch (c) {
-                case '\\':
-                    sb.append("\\\\");
-                    break;
-                case '"':
-                    sb.append("\\\"");
-                    break;
-                case '\n':
-                    sb.append("\\n");
-                    break;
-                case '\r':
-                    sb.append("\\r");
-                    break;
-                case '\t':
-                    sb.append("\\t");
-                    break;
-                case '\b':
-                    sb.append("\\b");
-                    break;
-                case '\f':
-                    sb.append("\\f");
-                    break;
-                default:
-                    if (c < 32) {
-                        sb.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
-                    } else {
-                        sb.append(c);
-                    }
-                    break;
-            }
-        }
-        return sb.toString();
-    }
-    /** Parser JSON muy simple para las estructuras serializadas del proyecto. */
-    private static final class SimpleJsonParser {
-        private final String text;
-        private int index;
-
-        SimpleJsonParser(String text) {
-            this.text = text != null ? text.trim() : "";
-            this.index = 0;
-        }
-
-        Object parse() {
-            skipWhitespace();
-            Object value = parseValue();
-            skipWhitespace();
-            return value;
-        }
-
-        private Object parseValue() {
-            skipWhitespace();
-            if (index >= text.length()) {
-                return null;
-            }
-            char c = text.charAt(index);
-            switch (c) {
-                case '{':
-                    return parseObject();
-                case '[':
-                    return parseArray();
-                case '"':
-                    return parseString();
-                case 't':
-                    return parseLiteral("true", Boolean.TRUE);
-                case 'f':
-                    return parseLiteral("false", Boolean.FALSE);
-                case 'n':
-                    return parseLiteral("null", null);
-                default:
-                    if (c == '-' || Character.isDigit(c)) {
-                        return parseNumber();
-                    }
-                    throw new IllegalArgumentException("CarÃ¡cter inesperado en JSON: " + c);
-            }
-        }
-
-        private Map<String, Object> parseObject() {
-            Map<String, Object> map = new HashMap<>();
-            expect('{');
-            skipWhitespace();
-            if (peek() == '}') {
-                index++;
-                return map;
-            }
-            while (index < text.length()) {
-                String key = parseString();
-                skipWhitespace();
-                expect(':');
-                Object value = parseValue();
-                map.put(key, value);
-                skipWhitespace();
-                char c = peek();
-                if (c == '}') {
-                    index++;
-                    break;
-                }
-                expect(',');
-                skipWhitespace();
-            }
-            return map;
-        }
-
-        private List<Object> parseArray() {
-            List<Object> list = new ArrayList<>();
-            expect('[');
-            skipWhitespace();
-            if (peek() == ']') {
-                index++;
-                return list;
-            }
-            while (index < text.length()) {
-                Object value = parseValue();
-                list.add(value);
-                skipWhitespace();
-                char c = peek();
-                if (c == ']') {
-                    index++;
-                    break;
-                }
-                expect(',');
-                skipWhitespace();
-            }
-            return list;
-        }
-
-        private Object parseNumber() {
-            int start = index;
-            if (text.charAt(index) == '-') {
-                index++;
-            }
-            while (index < text.length() && Character.isDigit(text.charAt(index))) {
-                index++;
-            }
-            if (index < text.length() && text.charAt(index) == '.') {
-                index++;
-                while (index < text.length() && Character.isDigit(text.charAt(index))) {
-                    index++;
-                }
-            }
-            if (index < text.length() && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
-                index++;
-                if (text.charAt(index) == '+' || text.charAt(index) == '-') {
-                    index++;
-                }
-                while (index < text.length() && Character.isDigit(text.charAt(index))) {
-                    index++;
-                }
-            }
-            String numero = text.substring(start, index);
-            if (numero.contains(".") || numero.contains("e") || numero.contains("E")) {
-                return Double.parseDouble(numero);
-            }
-            try {
-                return Integer.parseInt(numero);
-            } catch (NumberFormatException e) {
-                return Long.parseLong(numero);
-            }
-        }
-
-        private String parseString() {
-            expect('"');
-            StringBuilder sb = new StringBuilder();
-            while (index < text.length()) {
-                char c = text.charAt(index++);
-                if (c == '"') {
-                    break;
-                }
-                if (c == '\\') {
-                    if (index >= text.length()) {
-                        break;
-                    }
-                    char escape = text.charAt(index++);
-                    switch (escape) {
-                        case '"':
-                        case '\\':
-                        case '/':
-                            sb.append(escape);
-                            break;
-                        case 'b':
-                            sb.append('\b');
-                            break;
-                        case 'f':
-                            sb.append('\f');
-                            break;
-                        case 'n':
-                            sb.append('\n');
-                            break;
-                        case 'r':
-                            sb.append('\r');
-                            break;
-                        case 't':
-                            sb.append('\t');
-                            break;
-                        case 'u':
-                            if (index + 4 <= text.length()) {
-                                String hex = text.substring(index, index + 4);
-                                sb.append((char) Integer.parseInt(hex, 16));
-                                index += 4;
-                            }
-                            break;
-                        default:
-                            sb.append(escape);
-                            break;
-                    }
-                } else {
-                    sb.append(c);
-                }
-            }
-            return sb.toString();
-        }
-
-        private Object parseLiteral(String literal, Object value) {
-            if (text.startsWith(literal, index)) {
-                index += literal.length();
-                return value;
-            }
-            throw new IllegalArgumentException("Se esperaba " + literal + " en JSON");
-        }
-
-        private void skipWhitespace() {
-            while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
-                index++;
-            }
-        }
-
-        private void expect(char esperado) {
-            if (index >= text.length() || text.charAt(index) != esperado) {
-                throw new IllegalArgumentException("Se esperaba '" + esperado + "' en JSON");
-            }
-            index++;
-        }
-
-        private char peek() {
-            return index < text.length() ? text.charAt(index) : '\0';
-        }
-    }
 }
-
-
-
-
-
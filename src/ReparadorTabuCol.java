@@ -0,0 +1,329 @@
+package src;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Busqueda tabu (TabuCol) que intenta reparar una coloracion para que use solo
+ * k colores (dias). Mantiene una tabla incremental de conflictos por nodo y color,
+ * respeta los colores permitidos de cada nodo (disponibilidad del profesor) y se
+ * detiene al agotar un presupuesto de iteraciones o de tiempo.
+ */
+public class ReparadorTabuCol {
+
+    /** Iteraciones maximas por defecto. */
+    public static final int ITERACIONES_POR_DEFECTO = 20_000;
+    /** Tiempo maximo por defecto en milisegundos. */
+    public static final long TIEMPO_POR_DEFECTO_MS = 2_000;
+
+    private final int maxIteraciones;
+    private final long tiempoLimiteMs;
+    private final long semilla;
+
+    /**
+     * Crea el reparador con presupuesto y semilla por defecto.
+     */
+    public ReparadorTabuCol() {
+        this(ITERACIONES_POR_DEFECTO, TIEMPO_POR_DEFECTO_MS, 0L);
+    }
+
+    /**
+     * Crea el reparador con presupuesto configurable.
+     * @param maxIteraciones iteraciones maximas de busqueda
+     * @param tiempoLimiteMs tiempo maximo en milisegundos
+     * @param semilla semilla del generador aleatorio (resultados reproducibles)
+     */
+    public ReparadorTabuCol(int maxIteraciones, long tiempoLimiteMs, long semilla) {
+        if (maxIteraciones < 0 || tiempoLimiteMs < 0) {
+            throw new IllegalArgumentException("El presupuesto de busqueda no puede ser negativo");
+        }
+        this.maxIteraciones = maxIteraciones;
+        this.tiempoLimiteMs = tiempoLimiteMs;
+        this.semilla = semilla;
+    }
+
+    @Override
+    public String toString() {
+        return "TabuCol(iteraciones=" + maxIteraciones + ", tiempoMs=" + tiempoLimiteMs + ", semilla=" + semilla + ")";
+    }
+
+    /**
+     * Repara una coloracion para usar solo colores en [0, k).
+     * @param grafica grafica de conflictos compacta
+     * @param coloresIniciales coloracion de partida (p. ej. DSatur); colores fuera de rango o -1 = sin asignar
+     * @param k numero de colores disponibles (maximo 64)
+     * @param permitidos mascara de colores permitidos por nodo (bit c = color c permitido)
+     * @return coloracion sin conflictos; -1 indica nodo sin asignar. Nunca deja mas nodos
+     *         sin asignar que la coloracion inicial.
+     */
+    public int[] reparar(GraficaHorarioCompacta grafica, int[] coloresIniciales, int k, long[] permitidos) {
+        return reparar(grafica, coloresIniciales, k, permitidos, () -> false);
+    }
+
+    /**
+     * Igual que {@link #reparar(GraficaHorarioCompacta, int[], int, long[])}, pero la busqueda
+     * termina antes si {@code cancelado} devuelve true (se conserva la mejor coloracion hallada).
+     */
+    public int[] reparar(GraficaHorarioCompacta grafica, int[] coloresIniciales, int k, long[] permitidos,
+                         BooleanSupplier cancelado) {
+        return reparar(grafica, coloresIniciales, k, permitidos, cancelado, Avance.NINGUNO);
+    }
+
+    /**
+     * Igual que {@link #reparar(GraficaHorarioCompacta, int[], int, long[], BooleanSupplier)}, e
+     * informa periodicamente a {@code avance} la fraccion consumida del presupuesto y los
+     * conflictos de la mejor coloracion.
+     */
+    public int[] reparar(GraficaHorarioCompacta grafica, int[] coloresIniciales, int k, long[] permitidos,
+                         BooleanSupplier cancelado, Avance avance) {
+        if (k <= 0 || k > 64) {
+            throw new IllegalArgumentException("k debe estar entre 1 y 64");
+        }
+        int n = grafica.obtenerNumeroNodos();
+        int[] inicialRecortada = recortar(coloresIniciales, k, permitidos);
+        if (n == 0 || contarSinAsignar(inicialRecortada) == 0) {
+            return inicialRecortada;
+        }
+
+        Estado estado = new Estado(grafica, k, permitidos, coloresIniciales);
+        int[] mejor = estado.buscar(maxIteraciones, tiempoLimiteMs, new Random(semilla), cancelado, avance);
+        int[] reparada = new Estado(grafica, k, permitidos, mejor).quitarConflictos();
+
+        return contarSinAsignar(reparada) <= contarSinAsignar(inicialRecortada) ? reparada : inicialRecortada;
+    }
+
+    /** Recibe el avance de la busqueda; se invoca desde el hilo que repara. */
+    @FunctionalInterface
+    public interface Avance {
+
+        /** Implementacion que ignora los avisos. */
+        Avance NINGUNO = (fraccion, mejoresConflictos) -> { };
+
+        /**
+         * @param fraccion fraccion consumida del presupuesto (iteraciones o tiempo), de 0 a 1
+         * @param mejoresConflictos aristas en conflicto de la mejor coloracion hasta el momento
+         */
+        void reportar(double fraccion, int mejoresConflictos);
+    }
+
+    /** Deja en -1 los nodos con color fuera de rango o no permitido. */
+    private int[] recortar(int[] colores, int k, long[] permitidos) {
+        int[] resultado = new int[colores.length];
+        for (int i = 0; i < colores.length; i++) {
+            int c = colores[i];
+            boolean valido = c >= 0 && c < k && (permitidos[i] & (1L << c)) != 0;
+            resultado[i] = valido ? c : -1;
+        }
+        return resultado;
+    }
+
+    private static int contarSinAsignar(int[] colores) {
+        int total = 0;
+        for (int c : colores) {
+            if (c < 0) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Estado de la busqueda: coloracion actual, tabla de conflictos y nodos en conflicto.
+     */
+    private static final class Estado {
+        private final GraficaHorarioCompacta grafica;
+        private final int[] destinos;
+        private final int n;
+        private final int k;
+        private final long[] permitidos;
+
+        private final int[] colores;
+        /** conflictos[v * k + c] = vecinos activos de v con color c. */
+        private final int[] conflictos;
+        private int aristasEnConflicto;
+
+        private final int[] enConflicto;
+        private final int[] posicionEnConflicto;
+        private int totalEnConflicto;
+
+        Estado(GraficaHorarioCompacta grafica, int k, long[] permitidos, int[] coloresIniciales) {
+            this.grafica = grafica;
+            this.destinos = grafica.destinos();
+            this.n = grafica.obtenerNumeroNodos();
+            this.k = k;
+            this.permitidos = permitidos;
+            this.colores = new int[n];
+            this.conflictos = new int[n * k];
+            this.enConflicto = new int[n];
+            this.posicionEnConflicto = new int[n];
+            Arrays.fill(posicionEnConflicto, -1);
+
+            // Primero los nodos con color valido; despues se ubican los restantes con el menor conflicto.
+            for (int v = 0; v < n; v++) {
+                int c = coloresIniciales[v];
+                boolean valido = c >= 0 && c < k && (permitidos[v] & (1L << c)) != 0;
+                colores[v] = valido ? c : -1;
+                if (valido) {
+                    sumarVecinos(v, c, 1);
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                if (colores[v] < 0 && permitidos[v] != 0) {
+                    int elegido = menorConflicto(v);
+                    colores[v] = elegido;
+                    sumarVecinos(v, elegido, 1);
+                }
+            }
+
+            for (int v = 0; v < n; v++) {
+                if (colores[v] >= 0) {
+                    aristasEnConflicto += conflictos[v * k + colores[v]];
+                    actualizarEstadoConflicto(v);
+                }
+            }
+            aristasEnConflicto /= 2;
+        }
+
+        /** Ejecuta TabuCol y devuelve la mejor coloracion encontrada. */
+        int[] buscar(int maxIteraciones, long tiempoLimiteMs, Random random, BooleanSupplier cancelado,
+                     Avance avance) {
+            long[] tabuHasta = new long[n * k];
+            int[] mejor = colores.clone();
+            int mejorConflicto = aristasEnConflicto;
+            long inicio = System.nanoTime();
+            long duracion = tiempoLimiteMs * 1_000_000L;
+            long limite = inicio + duracion;
+
+            for (int iteracion = 0; iteracion < maxIteraciones && aristasEnConflicto > 0; iteracion++) {
+                if ((iteracion & 0xFF) == 0) {
+                    long ahora = System.nanoTime();
+                    if (ahora > limite || cancelado.getAsBoolean()) {
+                        break;
+                    }
+                    double porTiempo = duracion == 0 ? 1.0 : (double) (ahora - inicio) / duracion;
+                    avance.reportar(Math.max((double) iteracion / maxIteraciones, porTiempo), mejorConflicto);
+                }
+
+                int mejorNodo = -1;
+                int mejorColor = -1;
+                int mejorDelta = Integer.MAX_VALUE;
+                int empates = 0;
+
+                for (int i = 0; i < totalEnConflicto; i++) {
+                    int v = enConflicto[i];
+                    int actual = colores[v];
+                    int base = v * k;
+                    for (int c = 0; c < k; c++) {
+                        if (c == actual || (permitidos[v] & (1L << c)) == 0) {
+                            continue;
+                        }
+                        int delta = conflictos[base + c] - conflictos[base + actual];
+                        boolean aspiracion = aristasEnConflicto + delta < mejorConflicto;
+                        if (tabuHasta[base + c] > iteracion && !aspiracion) {
+                            continue;
+                        }
+                        if (delta < mejorDelta) {
+                            mejorDelta = delta;
+                            mejorNodo = v;
+                            mejorColor = c;
+                            empates = 1;
+                        } else if (delta == mejorDelta && random.nextInt(++empates) == 0) {
+                            mejorNodo = v;
+                            mejorColor = c;
+                        }
+                    }
+                }
+
+                if (mejorNodo < 0) {
+                    continue;
+                }
+
+                int anterior = colores[mejorNodo];
+                mover(mejorNodo, mejorColor);
+                int permanencia = random.nextInt(10) + (int) (0.6 * totalEnConflicto);
+                tabuHasta[mejorNodo * k + anterior] = iteracion + 1L + permanencia;
+
+                if (aristasEnConflicto < mejorConflicto) {
+                    mejorConflicto = aristasEnConflicto;
+                    System.arraycopy(colores, 0, mejor, 0, n);
+                }
+            }
+            avance.reportar(1.0, mejorConflicto);
+            return mejor;
+        }
+
+        /** Quita (deja en -1) los nodos con mas conflictos hasta que no quede ninguno. */
+        int[] quitarConflictos() {
+            while (totalEnConflicto > 0) {
+                int peor = -1;
+                int peorConflicto = -1;
+                for (int i = 0; i < totalEnConflicto; i++) {
+                    int v = enConflicto[i];
+                    int valor = conflictos[v * k + colores[v]];
+                    if (valor > peorConflicto || (valor == peorConflicto && v < peor)) {
+                        peor = v;
+                        peorConflicto = valor;
+                    }
+                }
+                int color = colores[peor];
+                colores[peor] = -1;
+                aristasEnConflicto -= peorConflicto;
+                sumarVecinos(peor, color, -1);
+                actualizarEstadoConflicto(peor);
+                for (int p = grafica.inicioVecinos(peor); p < grafica.finVecinos(peor); p++) {
+                    actualizarEstadoConflicto(destinos[p]);
+                }
+            }
+            return colores;
+        }
+
+        private void mover(int v, int nuevo) {
+            int anterior = colores[v];
+            aristasEnConflicto += conflictos[v * k + nuevo] - conflictos[v * k + anterior];
+            sumarVecinos(v, anterior, -1);
+            colores[v] = nuevo;
+            sumarVecinos(v, nuevo, 1);
+
+            actualizarEstadoConflicto(v);
+            for (int p = grafica.inicioVecinos(v); p < grafica.finVecinos(v); p++) {
+                int u = destinos[p];
+                if (colores[u] == anterior || colores[u] == nuevo) {
+                    actualizarEstadoConflicto(u);
+                }
+            }
+        }
+
+        private void sumarVecinos(int v, int color, int delta) {
+            for (int p = grafica.inicioVecinos(v); p < grafica.finVecinos(v); p++) {
+                conflictos[destinos[p] * k + color] += delta;
+            }
+        }
+
+        private int menorConflicto(int v) {
+            int elegido = -1;
+            int minimo = Integer.MAX_VALUE;
+            for (int c = 0; c < k; c++) {
+                if ((permitidos[v] & (1L << c)) != 0 && conflictos[v * k + c] < minimo) {
+                    minimo = conflictos[v * k + c];
+                    elegido = c;
+                }
+            }
+            return elegido;
+        }
+
+        private void actualizarEstadoConflicto(int v) {
+            boolean conflicto = colores[v] >= 0 && conflictos[v * k + colores[v]] > 0;
+            int pos = posicionEnConflicto[v];
+            if (conflicto && pos < 0) {
+                enConflicto[totalEnConflicto] = v;
+                posicionEnConflicto[v] = totalEnConflicto++;
+            } else if (!conflicto && pos >= 0) {
+                int ultimo = enConflicto[--totalEnConflicto];
+                enConflicto[pos] = ultimo;
+                posicionEnConflicto[ultimo] = pos;
+                posicionEnConflicto[v] = -1;
+            }
+        }
+    }
+}
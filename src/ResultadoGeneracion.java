@@ -0,0 +1,23 @@
+package src;
+
+/**
+ * Horario generado junto con las metricas de su generacion.
+ */
+public class ResultadoGeneracion {
+
+    private final HorarioSemana horario;
+    private final MetricasGeneracion metricas;
+
+    public ResultadoGeneracion(HorarioSemana horario, MetricasGeneracion metricas) {
+        this.horario = horario;
+        this.metricas = metricas;
+    }
+
+    public HorarioSemana getHorario() {
+        return horario;
+    }
+
+    public MetricasGeneracion getMetricas() {
+        return metricas;
+    }
+}
@@ -0,0 +1,439 @@
+package src;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Validacion incremental de horarios: mantiene, por cada HorarioSemana, el conjunto de
+ * pares en conflicto indexado por id de bloque, y guarda los resultados de los validadores
+ * unitarios por bloque y los de conflicto por par. Cuando se indica que bloques cambiaron
+ * ({@link #validarMovimiento}, {@link #validarCambios}) solo se retiran sus conflictos viejos
+ * y se comparan con los bloques que comparten profesor, salon o grupo en su dia nuevo; los
+ * validadores solo se ejecutan sobre esos bloques y pares.
+ * <p>
+ * El resultado es el mismo (contenido y orden) que {@link ValidadorDeHorarios#validar}.
+ * Las advertencias de preferencia se recalculan cuando cambia el bloque o cuando se informa
+ * que cambio su profesor ({@link #invalidarProfesor}).
+ */
+public class ValidacionIncremental {
+
+    private static final char SEPARADOR = '\u0000';
+    private static final Comparator<Par> ORDEN_PARES =
+            Comparator.<Par>comparingLong(p -> p.posicionA).thenComparingLong(p -> p.posicionB);
+
+    private final ValidadorDeHorarios validador;
+    private final Map<HorarioSemana, Indice> indices;
+    private final MetricasGeneracion metricas;
+
+    /**
+     * Crea el servicio con un validador por defecto.
+     */
+    public ValidacionIncremental() {
+        this(new ValidadorDeHorarios());
+    }
+
+    /**
+     * Crea el servicio usando el validador indicado para reglas unitarias y de conflicto.
+     */
+    public ValidacionIncremental(ValidadorDeHorarios validador) {
+        this.validador = Objects.requireNonNull(validador, "validador");
+        this.indices = new WeakHashMap<>();
+        this.metricas = new MetricasGeneracion();
+    }
+
+    /**
+     * Contadores acumulados del servicio; {@link MetricasGeneracion#getInvocacionesValidador}
+     * cuenta cada validador ejecutado sobre un bloque o un par.
+     */
+    public MetricasGeneracion getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Valida el horario reutilizando lo calculado en la llamada anterior. Recorre todos los
+     * bloques para detectar cuales cambiaron (dia, horas o recursos) y solo revalida esos.
+     * La primera vez (o si hay bloques sin hora de fin o ids repetidos) se hace la validacion
+     * completa.
+     */
+    public List<ResultadoValidacion> validar(HorarioSemana horario) {
+        List<BloqueHorario> asignados = new ArrayList<>();
+        Map<String, Long> posiciones = new HashMap<>();
+        for (BloqueHorario bloque : horario.getBloques()) {
+            if (bloque.getDia() == null || bloque.getHoraInicio() == null) {
+                continue;
+            }
+            if (bloque.getHoraFin() == null || posiciones.put(bloque.getId(), (long) asignados.size()) != null) {
+                // Sin hora de fin o con ids repetidos no se puede indexar: validacion completa.
+                indices.remove(horario);
+                return validador.validar(horario);
+            }
+            asignados.add(bloque);
+        }
+
+        Indice indice = indices.get(horario);
+        if (indice == null) {
+            indice = new Indice();
+            indice.construir(asignados);
+            indices.put(horario, indice);
+        } else {
+            indice.actualizar(asignados, posiciones);
+        }
+        return indice.ensamblar(horario, posiciones);
+    }
+
+    /**
+     * Valida el horario despues de mover un solo bloque (cambio de dia, horas o recursos).
+     * Equivale a {@link #validarCambios} con ese bloque.
+     */
+    public List<ResultadoValidacion> validarMovimiento(HorarioSemana horario, BloqueHorario movido) {
+        return validarCambios(horario, List.of(movido));
+    }
+
+    /**
+     * Valida el horario sabiendo que, desde la validacion anterior, solo cambiaron (o se
+     * quitaron) los bloques indicados: se retiran sus conflictos, se comparan con sus vecinos
+     * de cubeta en el dia nuevo y se reutiliza todo lo demas, sin recorrer el horario. Si el
+     * horario no tiene indice, o el indice no coincide con el horario (cambios no
+     * informados), se hace {@link #validar}.
+     */
+    public List<ResultadoValidacion> validarCambios(HorarioSemana horario, Collection<BloqueHorario> cambiados) {
+        Indice indice = indices.get(horario);
+        if (indice == null) {
+            return validar(horario);
+        }
+        for (BloqueHorario bloque : cambiados) {
+            indice.retirar(bloque.getId());
+        }
+        for (BloqueHorario bloque : cambiados) {
+            if (bloque.getDia() == null || bloque.getHoraInicio() == null
+                    || horario.obtenerBloquePorID(bloque.getId()).orElse(null) != bloque) {
+                continue;
+            }
+            if (bloque.getHoraFin() == null || indice.huellas.containsKey(bloque.getId())) {
+                return validar(horario);
+            }
+            indice.reubicar(bloque);
+        }
+        Map<String, Long> posiciones = indice.posicionesEn(horario);
+        return posiciones != null ? indice.ensamblar(horario, posiciones) : validar(horario);
+    }
+
+    /**
+     * Descarta el indice de un horario (la siguiente validacion sera completa).
+     */
+    public void olvidar(HorarioSemana horario) {
+        indices.remove(horario);
+    }
+
+    /**
+     * Descarta los indices de todos los horarios.
+     */
+    public void olvidarTodo() {
+        indices.clear();
+    }
+
+    /**
+     * Recalcula las advertencias guardadas de los bloques del profesor indicado (por ejemplo,
+     * porque cambio su disponibilidad); los conflictos no dependen de el y se conservan.
+     */
+    public void invalidarProfesor(String profesorId) {
+        for (Indice indice : indices.values()) {
+            for (Huella huella : indice.huellas.values()) {
+                if (Objects.equals(profesorId, huella.profesorId)) {
+                    indice.unitarios.remove(huella.bloque.getId());
+                    indice.validarUnitarios(huella.bloque);
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado indexado de un horario: huellas, cubetas por dia y recurso, conflictos, y los
+     * resultados guardados de los validadores unitarios (solo bloques con advertencias) y
+     * de conflicto (por par).
+     */
+    private final class Indice {
+        private final Map<String, Huella> huellas = new HashMap<>();
+        private final Map<String, Map<String, BloqueHorario>> cubetas = new HashMap<>();
+        private final Map<String, Set<String>> conflictos = new HashMap<>();
+        private final Map<String, List<ResultadoValidacion>> unitarios = new HashMap<>();
+        private final Map<String, ParValidado> pares = new HashMap<>();
+
+        /** Indexa todos los bloques y obtiene los conflictos con el barrido completo. */
+        void construir(List<BloqueHorario> asignados) {
+            for (BloqueHorario bloque : asignados) {
+                indexar(bloque);
+                validarUnitarios(bloque);
+            }
+            for (int[] par : new MotorValidacionBarrido(asignados).paresEnConflicto()) {
+                enlazar(asignados.get(par[0]).getId(), asignados.get(par[1]).getId());
+            }
+        }
+
+        /** Reindexa solo los bloques nuevos, eliminados o cuya huella cambio. */
+        void actualizar(List<BloqueHorario> asignados, Map<String, Long> posiciones) {
+            List<BloqueHorario> modificados = new ArrayList<>();
+            int vigentes = 0;
+            for (BloqueHorario bloque : asignados) {
+                Huella huella = huellas.get(bloque.getId());
+                if (huella != null && huella.coincide(bloque)) {
+                    vigentes++;
+                } else {
+                    if (huella != null) {
+                        retirar(bloque.getId());
+                    }
+                    modificados.add(bloque);
+                }
+            }
+            if (huellas.size() > vigentes) {
+                // Quedan huellas de bloques que ya no estan asignados en el horario.
+                for (String id : new ArrayList<>(huellas.keySet())) {
+                    if (!posiciones.containsKey(id)) {
+                        retirar(id);
+                    }
+                }
+            }
+            for (BloqueHorario bloque : modificados) {
+                reubicar(bloque);
+            }
+        }
+
+        /** Indexa un bloque retirado (o nuevo) y lo valida contra sus vecinos de cubeta. */
+        void reubicar(BloqueHorario bloque) {
+            for (String clave : indexar(bloque)) {
+                for (BloqueHorario vecino : cubetas.get(clave).values()) {
+                    if (vecino != bloque && seSolapan(bloque, vecino)) {
+                        enlazar(bloque.getId(), vecino.getId());
+                    }
+                }
+            }
+            validarUnitarios(bloque);
+        }
+
+        /**
+         * Posiciones, en el orden de {@link HorarioSemana#getBloques}, de los bloques con
+         * advertencias o conflictos. Solo recorre los dias donde estan; devuelve null si
+         * alguno ya no esta en el horario tal como se indexo.
+         */
+        Map<String, Long> posicionesEn(HorarioSemana horario) {
+            Set<String> involucrados = new HashSet<>(unitarios.keySet());
+            involucrados.addAll(conflictos.keySet());
+            Map<String, Long> posiciones = new HashMap<>();
+            if (involucrados.isEmpty()) {
+                return posiciones;
+            }
+            Set<String> diasPorRecorrer = new HashSet<>();
+            for (String id : involucrados) {
+                diasPorRecorrer.add(huellas.get(id).dia);
+            }
+            List<HorarioDia> dias = horario.getDiasSemana();
+            for (int d = 0; d < dias.size(); d++) {
+                if (diasPorRecorrer.contains(dias.get(d).getDia())) {
+                    ubicar(dias.get(d).getBloques(), d, involucrados, posiciones);
+                }
+            }
+            if (posiciones.size() < involucrados.size()) {
+                ubicar(horario.getBloquesSinAsignar(), dias.size(), involucrados, posiciones);
+            }
+            return posiciones.size() == involucrados.size() ? posiciones : null;
+        }
+
+        private void ubicar(List<BloqueHorario> bloques, int lista, Set<String> involucrados,
+                            Map<String, Long> posiciones) {
+            int i = 0;
+            for (BloqueHorario bloque : bloques) {
+                if (involucrados.contains(bloque.getId()) && huellas.get(bloque.getId()).coincide(bloque)) {
+                    posiciones.putIfAbsent(bloque.getId(), ((long) lista << 32) | i);
+                }
+                i++;
+            }
+        }
+
+        /**
+         * Arma la lista de resultados como la validacion completa: advertencias por bloque y
+         * luego conflictos por par, ambos en el orden de las posiciones. Solo ejecuta los
+         * validadores de conflicto para pares nuevos o cuyo orden se invirtio.
+         */
+        List<ResultadoValidacion> ensamblar(HorarioSemana horario, Map<String, Long> posiciones) {
+            List<ResultadoValidacion> resultados = new ArrayList<>();
+            List<String> conAdvertencias = new ArrayList<>(unitarios.keySet());
+            conAdvertencias.sort(Comparator.comparing(posiciones::get));
+            for (String id : conAdvertencias) {
+                resultados.addAll(unitarios.get(id));
+            }
+
+            List<Par> ordenados = new ArrayList<>();
+            for (Map.Entry<String, Set<String>> entrada : conflictos.entrySet()) {
+                long a = posiciones.get(entrada.getKey());
+                for (String otro : entrada.getValue()) {
+                    long b = posiciones.get(otro);
+                    if (a < b) {
+                        ordenados.add(new Par(entrada.getKey(), otro, a, b));
+                    }
+                }
+            }
+            ordenados.sort(ORDEN_PARES);
+            for (Par par : ordenados) {
+                resultados.addAll(resultadosDe(par, horario));
+            }
+
+            if (resultados.isEmpty()) {
+                resultados.add(ResultadoValidacion.ofSuccess(ValidadorDeHorarios.MENSAJE_SIN_CONFLICTOS));
+            }
+            return resultados;
+        }
+
+        private List<ResultadoValidacion> resultadosDe(Par par, HorarioSemana horario) {
+            String clave = clavePar(par.idA, par.idB);
+            ParValidado guardado = pares.get(clave);
+            if (guardado != null && guardado.primero.equals(par.idA)) {
+                return guardado.resultados;
+            }
+            List<ResultadoValidacion> resultados = new ArrayList<>();
+            metricas.contarInvocacionesValidador(validador.validarPar(
+                    huellas.get(par.idA).bloque, huellas.get(par.idB).bloque, horario, resultados));
+            pares.put(clave, new ParValidado(par.idA, resultados));
+            return resultados;
+        }
+
+        private void validarUnitarios(BloqueHorario bloque) {
+            List<ResultadoValidacion> resultados = new ArrayList<>();
+            metricas.contarInvocacionesValidador(validador.validarBloque(bloque, resultados));
+            if (!resultados.isEmpty()) {
+                unitarios.put(bloque.getId(), resultados);
+            }
+        }
+
+        /** Guarda la huella del bloque y lo agrega a sus cubetas; devuelve las claves usadas. */
+        private List<String> indexar(BloqueHorario bloque) {
+            Huella huella = new Huella(bloque);
+            huellas.put(bloque.getId(), huella);
+            for (String clave : huella.claves) {
+                cubetas.computeIfAbsent(clave, k -> new LinkedHashMap<>()).put(bloque.getId(), bloque);
+            }
+            return huella.claves;
+        }
+
+        /** Quita el bloque de sus cubetas y retira sus conflictos y resultados guardados. */
+        void retirar(String id) {
+            Huella huella = huellas.remove(id);
+            if (huella == null) {
+                return;
+            }
+            unitarios.remove(id);
+            for (String clave : huella.claves) {
+                Map<String, BloqueHorario> cubeta = cubetas.get(clave);
+                cubeta.remove(id);
+                if (cubeta.isEmpty()) {
+                    cubetas.remove(clave);
+                }
+            }
+            Set<String> vecinos = conflictos.remove(id);
+            if (vecinos != null) {
+                for (String vecino : vecinos) {
+                    pares.remove(clavePar(id, vecino));
+                    Set<String> delVecino = conflictos.get(vecino);
+                    delVecino.remove(id);
+                    if (delVecino.isEmpty()) {
+                        conflictos.remove(vecino);
+                    }
+                }
+            }
+        }
+
+        private void enlazar(String a, String b) {
+            conflictos.computeIfAbsent(a, k -> new HashSet<>()).add(b);
+            conflictos.computeIfAbsent(b, k -> new HashSet<>()).add(a);
+        }
+    }
+
+    private static boolean seSolapan(BloqueHorario a, BloqueHorario b) {
+        return a.getHoraInicio().isBefore(b.getHoraFin()) && b.getHoraInicio().isBefore(a.getHoraFin());
+    }
+
+    /** Clave de un par sin importar el orden de los ids. */
+    private static String clavePar(String a, String b) {
+        return a.compareTo(b) < 0 ? a + SEPARADOR + b : b + SEPARADOR + a;
+    }
+
+    /** Par en conflicto con las posiciones de sus bloques (a va antes que b). */
+    private static final class Par {
+        private final String idA;
+        private final String idB;
+        private final long posicionA;
+        private final long posicionB;
+
+        Par(String idA, String idB, long posicionA, long posicionB) {
+            this.idA = idA;
+            this.idB = idB;
+            this.posicionA = posicionA;
+            this.posicionB = posicionB;
+        }
+    }
+
+    /** Resultados de los validadores de conflicto para un par, con el bloque que fue primero. */
+    private static final class ParValidado {
+        private final String primero;
+        private final List<ResultadoValidacion> resultados;
+
+        ParValidado(String primero, List<ResultadoValidacion> resultados) {
+            this.primero = primero;
+            this.resultados = resultados;
+        }
+    }
+
+    /** Copia de los datos de un bloque que determinan sus conflictos y sus mensajes. */
+    private static final class Huella {
+        private final BloqueHorario bloque;
+        private final String dia;
+        private final LocalTime inicio;
+        private final LocalTime fin;
+        private final String profesorId;
+        private final String salonId;
+        private final String grupoId;
+        private final String grupo;
+        private final List<String> claves;
+
+        Huella(BloqueHorario bloque) {
+            this.bloque = bloque;
+            this.dia = bloque.getDia();
+            this.inicio = bloque.getHoraInicio();
+            this.fin = bloque.getHoraFin();
+            this.profesorId = bloque.getProfesorId();
+            this.salonId = bloque.getSalonId();
+            this.grupoId = bloque.getGrupoId();
+            this.grupo = bloque.getGrupo();
+            this.claves = new ArrayList<>(3);
+            agregarClave('P', profesorId);
+            agregarClave('S', salonId);
+            agregarClave('G', grupoId);
+        }
+
+        private void agregarClave(char tipo, String recurso) {
+            if (recurso != null) {
+                claves.add(dia + SEPARADOR + tipo + SEPARADOR + recurso);
+            }
+        }
+
+        boolean coincide(BloqueHorario actual) {
+            return actual == bloque
+                    && Objects.equals(dia, actual.getDia())
+                    && Objects.equals(inicio, actual.getHoraInicio())
+                    && Objects.equals(fin, actual.getHoraFin())
+                    && Objects.equals(profesorId, actual.getProfesorId())
+                    && Objects.equals(salonId, actual.getSalonId())
+                    && Objects.equals(grupoId, actual.getGrupoId())
+                    && Objects.equals(grupo, actual.getGrupo());
+        }
+    }
+}
@@ -3,13 +3,15 @@ package src;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Ejecuta las validaciones (unitarias y de conflicto) sobre un horario semanal.
  */
 public class ValidadorDeHorarios {
 
+    /** Mensaje que se devuelve cuando no hay errores ni advertencias. */
+    static final String MENSAJE_SIN_CONFLICTOS = "Validación completada: No se detectaron conflictos ni advertencias.";
+
     private final List<Validador> validadoresDeConflicto;
     private final List<UnaryValidator> validadoresUnitarios;
 
@@ -34,36 +36,70 @@ public class ValidadorDeHorarios {
     public List<ResultadoValidacion> validar(HorarioSemana horario) {
         List<ResultadoValidacion> resultados = new ArrayList<>();
         
-        List<BloqueHorario> bloquesAsignados = horario.getBloques().stream()
-                .filter(b -> b.getDia() != null && b.getHoraInicio() != null)
-                .collect(Collectors.toList());
+        List<BloqueHorario> bloquesAsignados = new ArrayList<>();
+        boolean todosConHoraFin = true;
+        for (BloqueHorario bloque : horario.getBloques()) {
+            if (bloque.getDia() != null && bloque.getHoraInicio() != null) {
+                bloquesAsignados.add(bloque);
+                todosConHoraFin &= bloque.getHoraFin() != null;
+            }
+        }
 
         // 1. Ejecutar validadores unitarios sobre cada bloque (buscando advertencias)
         for (BloqueHorario bloque : bloquesAsignados) {
-            for (UnaryValidator validador : validadoresUnitarios) {
-                resultados.addAll(validador.validar(bloque));
+            validarBloque(bloque, resultados);
+        }
+
+        // 2. Ejecutar validadores de conflicto solo sobre los pares que se solapan y comparten
+        //    recurso (barrido por dia y recurso), en el mismo orden que la comparacion de todos los pares
+        if (todosConHoraFin) {
+            for (int[] par : new MotorValidacionBarrido(bloquesAsignados).paresEnConflicto()) {
+                validarPar(bloquesAsignados.get(par[0]), bloquesAsignados.get(par[1]), horario, resultados);
             }
+        } else {
+            validarTodosLosPares(bloquesAsignados, horario, resultados);
         }
+        
+        if (resultados.isEmpty()) {
+            resultados.add(ResultadoValidacion.ofSuccess(MENSAJE_SIN_CONFLICTOS));
+        }
+
+        return resultados;
+    }
 
-        // 2. Ejecutar validadores de conflicto entre pares de bloques (buscando errores)
+    /** Ejecuta los validadores unitarios sobre un bloque; devuelve cuantos ejecuto. */
+    int validarBloque(BloqueHorario bloque, List<ResultadoValidacion> resultados) {
+        for (UnaryValidator validador : validadoresUnitarios) {
+            resultados.addAll(validador.validar(bloque));
+        }
+        return validadoresUnitarios.size();
+    }
+
+    /**
+     * Ejecuta los validadores de conflicto sobre un par (a va antes que b en el horario);
+     * devuelve cuantos ejecuto.
+     */
+    int validarPar(BloqueHorario bloqueA, BloqueHorario bloqueB, HorarioSemana horario,
+                   List<ResultadoValidacion> resultados) {
+        for (Validador validador : validadoresDeConflicto) {
+            resultados.addAll(validador.validar(bloqueA, bloqueB, horario));
+        }
+        return validadoresDeConflicto.size();
+    }
+
+    /** Comparacion de todos los pares; se usa si algun bloque no tiene hora de fin. */
+    private void validarTodosLosPares(List<BloqueHorario> bloquesAsignados, HorarioSemana horario,
+                                      List<ResultadoValidacion> resultados) {
         for (int i = 0; i < bloquesAsignados.size(); i++) {
             for (int j = i + 1; j < bloquesAsignados.size(); j++) {
                 BloqueHorario bloqueA = bloquesAsignados.get(i);
                 BloqueHorario bloqueB = bloquesAsignados.get(j);
 
                 if (seSolapanEnTiempo(bloqueA, bloqueB)) {
-                    for (Validador validador : validadoresDeConflicto) {
-                        resultados.addAll(validador.validar(bloqueA, bloqueB, horario));
-                    }
+                    validarPar(bloqueA, bloqueB, horario, resultados);
                 }
             }
         }
-        
-        if (resultados.isEmpty()) {
-            resultados.add(ResultadoValidacion.ofSuccess("Validación completada: No se detectaron conflictos ni advertencias."));
-        }
-
-        return resultados;
     }
 
     /**
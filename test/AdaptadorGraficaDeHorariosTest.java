@@ -0,0 +1,162 @@
+package test;
+
+import org.junit.Before;
+import org.junit.Test;
+import src.AdaptadorGraficaDeHorarios;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.GraficaHorarioCompacta;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class AdaptadorGraficaDeHorariosTest {
+
+    private CatalogoRecursos catalogo;
+    private List<BloqueHorario> bloques;
+
+    @Before
+    public void setUp() {
+        catalogo = CatalogoRecursos.getInstance();
+        catalogo.reset();
+        bloques = crearBloquesAleatorios(new Random(7), 120);
+    }
+
+    @Test
+    public void testAristasCoincidenConComparacionDePares() {
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(bloques, catalogo);
+        grafica.construirGraficaAutomaticamente();
+
+        int esperadas = 0;
+        for (int i = 0; i < bloques.size(); i++) {
+            for (int j = i + 1; j < bloques.size(); j++) {
+                BloqueHorario a = bloques.get(i);
+                BloqueHorario b = bloques.get(j);
+                boolean conflicto = grafica.hayConflicto(a, b);
+                if (conflicto) {
+                    esperadas++;
+                }
+                assertEquals("Arista inesperada o faltante entre " + a.getId() + " y " + b.getId(),
+                        conflicto, grafica.sonAdyacentes(a.getId(), b.getId()));
+            }
+        }
+        assertEquals(esperadas, grafica.obtenerNumeroAristas());
+        assertTrue("El escenario debe producir conflictos", esperadas > 0);
+    }
+
+    @Test
+    public void testBloquesSinRecursosEnComunNoSeConectan() {
+        BloqueHorario a = new BloqueHorario(LocalTime.of(8, 0), LocalTime.of(9, 0), "A", "p1", "s1", "g1", true);
+        BloqueHorario b = new BloqueHorario(LocalTime.of(8, 0), LocalTime.of(9, 0), "B", "p2", "s2", "g2", true);
+        BloqueHorario c = new BloqueHorario(LocalTime.of(8, 0), LocalTime.of(9, 0), "C", "p1", "s3", "g3", true);
+
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(List.of(a, b, c), catalogo);
+        grafica.construirGraficaAutomaticamente();
+
+        assertFalse(grafica.sonAdyacentes(a.getId(), b.getId()));
+        assertTrue(grafica.sonAdyacentes(a.getId(), c.getId()));
+        assertEquals(1, grafica.obtenerNumeroAristas());
+    }
+
+    @Test
+    public void testAdyacenciasSonVistaVivaDeSoloLectura() {
+        BloqueHorario a = new BloqueHorario(LocalTime.of(8, 0), LocalTime.of(9, 0), "A", "p1", "s1", "g1", true);
+        BloqueHorario b = new BloqueHorario(LocalTime.of(8, 0), LocalTime.of(9, 0), "B", "p2", "s2", "g2", true);
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(List.of(a, b), catalogo);
+        Map<String, Set<String>> adyacencias = grafica.obtenerAdyacencias();
+
+        grafica.agregarArista(a.getId(), b.getId());
+
+        Set<String> vecinos = adyacencias.get(a.getId());
+        assertEquals(Set.of(b.getId()), vecinos);
+        assertThrows(UnsupportedOperationException.class, () -> vecinos.clear());
+        assertThrows(UnsupportedOperationException.class,
+                () -> adyacencias.values().iterator().next().add("x"));
+        assertThrows(UnsupportedOperationException.class, () -> adyacencias.remove(a.getId()));
+        assertEquals(1, grafica.obtenerNumeroAristas());
+        assertTrue(grafica.sonAdyacentes(b.getId(), a.getId()));
+    }
+
+    @Test
+    public void testGraficaCompactaConservaAristas() {
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(bloques, catalogo);
+        grafica.construirGraficaAutomaticamente();
+        GraficaHorarioCompacta compacta = grafica.compactar();
+
+        assertEquals(grafica.obtenerNumeroNodos(), compacta.obtenerNumeroNodos());
+        assertEquals(grafica.obtenerNumeroAristas(), compacta.obtenerNumeroAristas());
+        assertEquals(grafica.obtenerAdyacencias(), compacta.obtenerAdyacencias());
+
+        for (BloqueHorario bloque : bloques) {
+            int indice = compacta.indiceDe(bloque.getId());
+            assertEquals(bloque.getId(), compacta.idDe(indice));
+            assertSame(bloque, compacta.bloqueDe(indice));
+            assertEquals(grafica.obtenerAdyacencias().get(bloque.getId()).size(), compacta.grado(indice));
+        }
+        assertEquals(-1, compacta.indiceDe("id-no-existe"));
+    }
+
+    @Test
+    public void testComponentesConexasYSubgraficas() {
+        List<BloqueHorario> dosEscuelas = new ArrayList<>();
+        dosEscuelas.addAll(crearBloquesConPrefijo(new Random(1), "a", 40));
+        dosEscuelas.addAll(crearBloquesConPrefijo(new Random(2), "b", 40));
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(dosEscuelas, catalogo);
+        grafica.construirGraficaAutomaticamente();
+        GraficaHorarioCompacta compacta = grafica.compactar();
+
+        List<int[]> componentes = compacta.componentesConexas();
+        assertTrue(componentes.size() >= 2);
+
+        int nodos = 0;
+        int aristas = 0;
+        for (int[] componente : componentes) {
+            GraficaHorarioCompacta sub = compacta.subgrafica(componente);
+            nodos += sub.obtenerNumeroNodos();
+            aristas += sub.obtenerNumeroAristas();
+            for (int i = 0; i < componente.length; i++) {
+                assertEquals(compacta.idDe(componente[i]), sub.idDe(i));
+                for (int j = 0; j < componente.length; j++) {
+                    assertEquals(compacta.sonAdyacentes(componente[i], componente[j]), sub.sonAdyacentes(i, j));
+                }
+            }
+        }
+        assertEquals(compacta.obtenerNumeroNodos(), nodos);
+        assertEquals(compacta.obtenerNumeroAristas(), aristas);
+    }
+
+    private List<BloqueHorario> crearBloquesConPrefijo(Random random, String prefijo, int cantidad) {
+        List<BloqueHorario> lista = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            lista.add(new BloqueHorario(LocalTime.of(8, 0), LocalTime.of(9, 0), "Materia " + i,
+                    prefijo + "p" + random.nextInt(6), prefijo + "s" + random.nextInt(4),
+                    prefijo + "g" + random.nextInt(3), true));
+        }
+        return lista;
+    }
+
+    private List<BloqueHorario> crearBloquesAleatorios(Random random, int cantidad) {
+        String[] dias = {null, "Lunes", "Martes"};
+        List<BloqueHorario> lista = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            int hora = 7 + random.nextInt(8);
+            BloqueHorario bloque = new BloqueHorario(
+                    LocalTime.of(hora, 0),
+                    LocalTime.of(hora + 1, 0),
+                    "Materia " + i,
+                    random.nextInt(5) == 0 ? null : "p" + random.nextInt(10),
+                    random.nextInt(5) == 0 ? null : "s" + random.nextInt(8),
+                    "g" + random.nextInt(6),
+                    true);
+            bloque.setDia(dias[random.nextInt(dias.length)]);
+            lista.add(bloque);
+        }
+        return lista;
+    }
+}
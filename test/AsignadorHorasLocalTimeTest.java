@@ -0,0 +1,152 @@
+package test;
+
+import org.junit.Test;
+import src.AsignacionAcademica;
+import src.AsignadorHorasLocalTime;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.GeneradorEscuelaSintetica;
+import src.HorarioDia;
+import src.HorarioSemana;
+import src.MetricasGeneracion;
+import src.ValidadorPorHora;
+import src.ValidadorPorProfesor;
+import src.ValidadorPorSalon;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AsignadorHorasLocalTimeTest {
+
+    private static final List<String> DIAS = List.of("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
+
+    /**
+     * Colocaciones obtenidas con la version que recorria los bloques del dia en cada
+     * intento (huella de posiciones, bloques sin hora e intentos) para cada semilla, regimen
+     * y numero de materias, con una semana para toda la escuela o una por grupo.
+     */
+    private static final Map<String, String> COLOCACIONES = Map.ofEntries(
+            Map.entry("HOLGADO 1 escuela", "-1532211752/179/2741"),
+            Map.entry("HOLGADO 1 grupos", "800252529/68/1542"),
+            Map.entry("HOLGADO 1 pocas escuela", "588576470/53/814"),
+            Map.entry("HOLGADO 1 pocas grupos", "-696752332/9/311"),
+            Map.entry("HOLGADO 2 escuela", "1181746544/177/2747"),
+            Map.entry("HOLGADO 2 grupos", "-25517062/64/1528"),
+            Map.entry("HOLGADO 2 pocas escuela", "953190498/47/790"),
+            Map.entry("HOLGADO 2 pocas grupos", "1147850841/6/293"),
+            Map.entry("HOLGADO 3 escuela", "9945121/176/2818"),
+            Map.entry("HOLGADO 3 grupos", "-1927945525/64/1597"),
+            Map.entry("HOLGADO 3 pocas escuela", "990929914/48/829"),
+            Map.entry("HOLGADO 3 pocas grupos", "1438763670/3/284"),
+            Map.entry("AJUSTADO 1 escuela", "1871997695/185/1973"),
+            Map.entry("AJUSTADO 1 grupos", "421422333/129/1415"),
+            Map.entry("AJUSTADO 1 pocas escuela", "1389037227/56/626"),
+            Map.entry("AJUSTADO 1 pocas grupos", "2144971868/34/407"),
+            Map.entry("AJUSTADO 2 escuela", "-441502161/186/2063"),
+            Map.entry("AJUSTADO 2 grupos", "-2132224634/124/1437"),
+            Map.entry("AJUSTADO 2 pocas escuela", "-2078753576/55/618"),
+            Map.entry("AJUSTADO 2 pocas grupos", "-944999409/32/386"),
+            Map.entry("AJUSTADO 3 escuela", "2071543384/184/2082"),
+            Map.entry("AJUSTADO 3 grupos", "-945664127/114/1369"),
+            Map.entry("AJUSTADO 3 pocas escuela", "126455919/51/590"),
+            Map.entry("AJUSTADO 3 pocas grupos", "1325351705/28/346"));
+
+    @Test
+    public void testMismaColocacionQueElRecorridoPorDia() {
+        for (GeneradorEscuelaSintetica.Regimen regimen : GeneradorEscuelaSintetica.Regimen.values()) {
+            for (long semilla = 1; semilla <= 3; semilla++) {
+                String caso = regimen + " " + semilla;
+                assertEquals(caso, COLOCACIONES.get(caso + " escuela"), colocar(semilla, regimen, 10, false));
+                assertEquals(caso, COLOCACIONES.get(caso + " grupos"), colocar(semilla, regimen, 10, true));
+                // Con dos materias hay rachas largas de la misma materia en un dia.
+                assertEquals(caso, COLOCACIONES.get(caso + " pocas escuela"), colocar(semilla, regimen, 2, false));
+                assertEquals(caso, COLOCACIONES.get(caso + " pocas grupos"), colocar(semilla, regimen, 2, true));
+            }
+        }
+    }
+
+    @Test
+    public void testRespetaLosLimitesPorMateria() {
+        CatalogoRecursos catalogo = poblar(4L, GeneradorEscuelaSintetica.Regimen.HOLGADO, 10);
+        List<HorarioSemana> semanas = repartir(catalogo, new Random(4L), true);
+        for (HorarioSemana semana : semanas) {
+            nuevoAsignador(catalogo).asignarHoras(semana, new MetricasGeneracion());
+            for (HorarioDia dia : semana.getDiasSemana()) {
+                Map<String, Long> minutos = new HashMap<>();
+                for (BloqueHorario bloque : dia.getBloques()) {
+                    if (bloque.getHoraInicio() != null) {
+                        minutos.merge(bloque.getMateria(),
+                                Duration.between(bloque.getHoraInicio(), bloque.getHoraFin()).toMinutes(), Long::sum);
+                    }
+                }
+                for (long total : minutos.values()) {
+                    assertTrue(total <= 300);
+                }
+            }
+        }
+    }
+
+    /** Huella de la colocacion: posiciones de cada bloque, bloques sin hora e intentos. */
+    private String colocar(long semilla, GeneradorEscuelaSintetica.Regimen regimen, int materias, boolean porGrupo) {
+        CatalogoRecursos catalogo = poblar(semilla, regimen, materias);
+        MetricasGeneracion metricas = new MetricasGeneracion();
+        StringBuilder posiciones = new StringBuilder();
+        for (HorarioSemana semana : repartir(catalogo, new Random(semilla), porGrupo)) {
+            nuevoAsignador(catalogo).asignarHoras(semana, metricas);
+            for (HorarioDia dia : semana.getDiasSemana()) {
+                for (BloqueHorario bloque : dia.getBloques()) {
+                    posiciones.append(bloque.getGrupoId()).append(' ').append(bloque.getMateria()).append(' ')
+                            .append(dia.getDia()).append(' ').append(bloque.getHoraInicio()).append('-')
+                            .append(bloque.getHoraFin()).append('\n');
+                }
+            }
+        }
+        return posiciones.toString().hashCode() + "/" + metricas.getBloquesSinHora()
+                + "/" + metricas.getIntentosColocacion();
+    }
+
+    private static CatalogoRecursos poblar(long semilla, GeneradorEscuelaSintetica.Regimen regimen, int materias) {
+        CatalogoRecursos catalogo = CatalogoRecursos.crearIndependiente();
+        new GeneradorEscuelaSintetica(semilla).setGruposPorGrado(2).setMaterias(materias).setRegimen(regimen)
+                .poblar(catalogo);
+        return catalogo;
+    }
+
+    /**
+     * Reparte los bloques (en el orden de sus asignaciones) en dias al azar, sin revisar
+     * traslapes: una sola semana para toda la escuela o una por grupo.
+     */
+    private static List<HorarioSemana> repartir(CatalogoRecursos catalogo, Random random, boolean porGrupo) {
+        List<AsignacionAcademica> asignaciones = catalogo.getAsignaciones();
+        asignaciones.sort(Comparator.comparing(AsignacionAcademica::getId));
+        Map<String, HorarioSemana> semanas = new LinkedHashMap<>();
+        for (AsignacionAcademica asignacion : asignaciones) {
+            HorarioSemana semana = semanas.computeIfAbsent(porGrupo ? asignacion.getGrupoId() : "", k -> {
+                HorarioSemana nueva = new HorarioSemana();
+                nueva.inicializarDias(DIAS);
+                return nueva;
+            });
+            for (String id : asignacion.getBloqueIds()) {
+                BloqueHorario bloque = catalogo.getBloqueHorarioById(id);
+                String dia = DIAS.get(random.nextInt(DIAS.size()));
+                bloque.setDia(dia);
+                semana.obtenerDiaPorNombre(dia).orElseThrow().getBloques().add(bloque);
+            }
+        }
+        return new ArrayList<>(semanas.values());
+    }
+
+    private static AsignadorHorasLocalTime nuevoAsignador(CatalogoRecursos catalogo) {
+        return new AsignadorHorasLocalTime(catalogo, LocalTime.of(7, 0), LocalTime.of(15, 0),
+                List.of(new ValidadorPorProfesor(), new ValidadorPorSalon(), new ValidadorPorHora()));
+    }
+}
@@ -0,0 +1,118 @@
+package test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import src.AsignacionAcademica;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.ConfiguracionProyecto;
+import src.DiarioCambios;
+import src.GestorHorarios;
+import src.GrupoEstudiantes;
+import src.Profesor;
+import src.ProyectoDatos;
+import src.Salon;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class DiarioCambiosTest {
+
+    private final GestorHorarios gestor = GestorHorarios.getInstance();
+    private final ConfiguracionProyecto configuracion = new ConfiguracionProyecto();
+    private CatalogoRecursos catalogo;
+    private Path directorio;
+    private DiarioCambios diario;
+
+    @Before
+    public void setUp() throws IOException {
+        gestor.limpiarTodo();
+        directorio = Files.createTempDirectory("diario");
+        catalogo = CatalogoRecursos.crearIndependiente();
+        catalogo.addProfesor(new Profesor("P0", "Base", "Matematicas", List.of(), List.of(), 5));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (diario != null) {
+            diario.close();
+        }
+        gestor.limpiarTodo();
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testRecuperaBaseMasCambiosDelCatalogoYDelGestor() throws IOException {
+        diario = new DiarioCambios(directorio, () -> new ProyectoDatos(configuracion, catalogo));
+        diario.conectar(catalogo, gestor);
+
+        BloqueHorario movido = crearAsignacionConBloques();
+        catalogo.removeProfesor("P0");
+        catalogo.addSalon(new Salon("S2", "Temporal", 10));
+        catalogo.removeSalon("S2");
+        gestor.agregarBloque(movido, "G1");
+        gestor.actualizarPosicionBloque(movido, "Martes", LocalTime.of(10, 0));
+        diario.sincronizar();
+
+        CatalogoRecursos recuperado = DiarioCambios.recuperar(directorio).orElseThrow().crearCatalogo();
+
+        assertNull(recuperado.obtenerProfesorPorId("P0"));
+        assertEquals("Ana", recuperado.obtenerProfesorPorId("P1").getNombre());
+        assertNull(recuperado.obtenerSalonPorId("S2"));
+        assertEquals(3, recuperado.getBloquesByGrupoId("G1").size());
+        assertEquals(3, recuperado.getAsignaciones().get(0).getBloqueIds().size());
+        BloqueHorario bloque = recuperado.getBloqueHorarioById(movido.getId());
+        assertEquals("Martes", bloque.getDia());
+        assertEquals(LocalTime.of(10, 0), bloque.getHoraInicio());
+    }
+
+    @Test
+    public void testCompactarDejaUnaBaseYDescartaLineaIncompleta() throws IOException {
+        diario = new DiarioCambios(directorio, () -> new ProyectoDatos(configuracion, catalogo), 256);
+        diario.conectar(catalogo, gestor);
+
+        crearAsignacionConBloques();
+        for (int i = 0; i < 20; i++) {
+            catalogo.addProfesor(new Profesor("P" + (10 + i), "Profesor " + i, "Matematicas", List.of(), List.of(), 5));
+            diario.sincronizar();
+        }
+        diario.compactar();
+        Path actual;
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            List<String> nombres = archivos.map(p -> p.getFileName().toString()).sorted().collect(Collectors.toList());
+            assertEquals(1, nombres.stream().filter(n -> n.startsWith("base-")).count());
+            actual = directorio.resolve(nombres.get(nombres.size() - 1));
+        }
+        Files.writeString(actual, "{\"entidad\":\"profesor\",\"datos\":{\"id\":\"PX\",\"nom",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        CatalogoRecursos recuperado = DiarioCambios.recuperar(directorio).orElseThrow().crearCatalogo();
+
+        assertEquals(22, recuperado.getTodosLosProfesores().size());
+        assertNull(recuperado.obtenerProfesorPorId("PX"));
+        assertEquals(3, recuperado.getTodosLosBloques().size());
+    }
+
+    /** Agrega profesor, salon, grupo y una asignacion de 3 horas; devuelve uno de sus bloques. */
+    private BloqueHorario crearAsignacionConBloques() {
+        catalogo.addProfesor(new Profesor("P1", "Ana", "Matematicas", List.of(), List.of(), 5));
+        catalogo.addSalon(new Salon("S1", "Aula 1", 30));
+        catalogo.addGrupo(new GrupoEstudiantes("G1", "A", 1, List.of()));
+        String materiaId = catalogo.findMateriaByName("Matematicas").orElseThrow().getId();
+        catalogo.addAsignacionAcademica(new AsignacionAcademica("A1", "G1", "P1", materiaId, "S1", 3));
+        return catalogo.getBloquesByGrupoId("G1").get(0);
+    }
+}
@@ -0,0 +1,119 @@
+package test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import src.AdaptadorGraficaDeHorarios;
+import src.BloqueHorario;
+import src.CacheGeneraciones;
+import src.CatalogoRecursos;
+import src.EstrategiaColoracion;
+import src.EstrategiaConCache;
+import src.GeneradorEscuelaSintetica;
+import src.Profesor;
+import src.ReparadorTabuCol;
+import src.ResultadoGeneracion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class EstrategiaConCacheTest {
+
+    private final EstrategiaColoracion coloracion = new EstrategiaColoracion(new ReparadorTabuCol(500, 200, 3L));
+    private CatalogoRecursos catalogo;
+    private Path directorio;
+
+    @Before
+    public void setUp() throws IOException {
+        catalogo = CatalogoRecursos.crearIndependiente();
+        new GeneradorEscuelaSintetica(11L).setGruposPorGrado(2).poblar(catalogo);
+        directorio = Files.createTempDirectory("cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReutilizaPosicionesSiLaEntradaNoCambia() {
+        CacheGeneraciones cache = new CacheGeneraciones(4);
+        List<BloqueHorario> bloques = bloquesDelPrimerGrado();
+        ResultadoGeneracion primero = generar(new EstrategiaConCache(coloracion, cache), bloques);
+        Map<String, String> posiciones = posiciones(bloques);
+
+        for (BloqueHorario bloque : bloques) {
+            bloque.actualizarPosicion(null, bloque.getHoraInicio(), bloque.getHoraFin());
+        }
+        ResultadoGeneracion segundo = generar(new EstrategiaConCache(coloracion, cache), bloques);
+
+        assertFalse(primero.getMetricas().isDesdeCache());
+        assertTrue(segundo.getMetricas().isDesdeCache());
+        assertEquals(1, cache.getAciertos());
+        assertEquals(posiciones, posiciones(bloques));
+        assertEquals(primero.getHorario().getBloques().size(), segundo.getHorario().getBloques().size());
+        assertEquals(primero.getMetricas().getConflictos(), segundo.getMetricas().getConflictos());
+    }
+
+    @Test
+    public void testClaveCambiaConDisponibilidadYParametros() {
+        List<BloqueHorario> bloques = bloquesDelPrimerGrado();
+        String clave = CacheGeneraciones.clave(bloques, catalogo, coloracion.descripcion());
+
+        bloques.get(0).actualizarPosicion("Viernes", bloques.get(0).getHoraInicio(), bloques.get(0).getHoraFin());
+        assertEquals(clave, CacheGeneraciones.clave(bloques, catalogo, coloracion.descripcion()));
+
+        String otraEstrategia = new EstrategiaColoracion(new ReparadorTabuCol(500, 200, 4L)).descripcion();
+        assertNotEquals(clave, CacheGeneraciones.clave(bloques, catalogo, otraEstrategia));
+
+        Profesor profesor = catalogo.obtenerProfesorPorId(bloques.get(0).getProfesorId());
+        profesor.setDiasDisponibles(List.of("Lunes", "Martes"));
+        assertNotEquals(clave, CacheGeneraciones.clave(bloques, catalogo, coloracion.descripcion()));
+    }
+
+    @Test
+    public void testEntradasEnDiscoSobrevivenALaInstancia() {
+        List<BloqueHorario> bloques = bloquesDelPrimerGrado();
+        generar(new EstrategiaConCache(coloracion, new CacheGeneraciones(4, directorio, 8)), bloques);
+        Map<String, String> posiciones = posiciones(bloques);
+        for (BloqueHorario bloque : bloques) {
+            bloque.actualizarPosicion(null, bloque.getHoraInicio(), bloque.getHoraFin());
+        }
+
+        CacheGeneraciones nueva = new CacheGeneraciones(4, directorio, 8);
+        ResultadoGeneracion resultado = generar(new EstrategiaConCache(coloracion, nueva), bloques);
+
+        assertTrue(resultado.getMetricas().isDesdeCache());
+        assertEquals(posiciones, posiciones(bloques));
+        nueva.limpiar();
+        assertEquals(0, nueva.getTamano());
+        assertEquals(0, directorio.toFile().list().length);
+    }
+
+    private ResultadoGeneracion generar(EstrategiaConCache estrategia, List<BloqueHorario> bloques) {
+        return estrategia.generarConMetricas(new AdaptadorGraficaDeHorarios(bloques, catalogo));
+    }
+
+    private List<BloqueHorario> bloquesDelPrimerGrado() {
+        return catalogo.getBloquesByGrupoIds(List.of(catalogo.getGruposPorGrado(1).get(0).getId(),
+                catalogo.getGruposPorGrado(1).get(1).getId()));
+    }
+
+    private static Map<String, String> posiciones(List<BloqueHorario> bloques) {
+        Map<String, String> posiciones = new LinkedHashMap<>();
+        for (BloqueHorario bloque : bloques) {
+            posiciones.put(bloque.getId(), bloque.getDia() + " " + bloque.getHoraInicio() + "-" + bloque.getHoraFin());
+        }
+        return posiciones;
+    }
+}
@@ -0,0 +1,59 @@
+package test;
+
+import org.junit.Test;
+import src.CatalogoRecursos;
+import src.GeneradorEscuelaSintetica;
+import src.Profesor;
+import src.ProyectoDatos;
+
+import static org.junit.Assert.*;
+
+public class GeneradorEscuelaSinteticaTest {
+
+    @Test
+    public void testMismaSemillaMismoProyecto() {
+        String primero = generador(7L, GeneradorEscuelaSintetica.Regimen.HOLGADO).generarProyecto().toJson();
+        String segundo = generador(7L, GeneradorEscuelaSintetica.Regimen.HOLGADO).generarProyecto().toJson();
+        String otraSemilla = generador(8L, GeneradorEscuelaSintetica.Regimen.HOLGADO).generarProyecto().toJson();
+
+        assertEquals(primero, segundo);
+        assertNotEquals(primero, otraSemilla);
+    }
+
+    @Test
+    public void testTamanosYRegimenes() {
+        CatalogoRecursos holgado = CatalogoRecursos.crearIndependiente();
+        generador(3L, GeneradorEscuelaSintetica.Regimen.HOLGADO).poblar(holgado);
+        CatalogoRecursos ajustado = CatalogoRecursos.crearIndependiente();
+        generador(3L, GeneradorEscuelaSintetica.Regimen.AJUSTADO).poblar(ajustado);
+
+        // 4 grupos por grado x 6 materias (5+5+4+3+3+3 = 23 horas por grupo).
+        assertEquals(12, holgado.getTodosLosGrupos().size());
+        assertEquals(4, holgado.getGruposPorGrado(2).size());
+        assertEquals(72, holgado.getAsignaciones().size());
+        assertEquals(12 * 23, holgado.getTodosLosBloques().size());
+        assertEquals(12 * 23, ajustado.getTodosLosBloques().size());
+
+        for (Profesor profesor : holgado.getTodosLosProfesores()) {
+            assertTrue(profesor.getDiasDisponibles().size() >= 4);
+        }
+        for (Profesor profesor : ajustado.getTodosLosProfesores()) {
+            assertTrue(profesor.getDiasDisponibles().size() <= 3);
+            assertTrue(profesor.getHorasDisponibles().size() <= 5);
+        }
+
+        // El proyecto se puede serializar y volver a cargar sin perder bloques.
+        CatalogoRecursos recargado = ProyectoDatos.fromJson(
+                generador(3L, GeneradorEscuelaSintetica.Regimen.AJUSTADO).generarProyecto().toJson()).crearCatalogo();
+        assertEquals(12 * 23, recargado.getTodosLosBloques().size());
+    }
+
+    private GeneradorEscuelaSintetica generador(long semilla, GeneradorEscuelaSintetica.Regimen regimen) {
+        return new GeneradorEscuelaSintetica(semilla)
+                .setGruposPorGrado(4)
+                .setProfesores(12)
+                .setSalones(6)
+                .setMaterias(6)
+                .setRegimen(regimen);
+    }
+}
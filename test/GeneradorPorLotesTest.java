@@ -0,0 +1,115 @@
+package test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.ConfiguracionProyecto;
+import src.ControladorPersistencia;
+import src.EstrategiaColoracion;
+import src.GeneradorPorLotes;
+import src.GrupoEstudiantes;
+import src.Profesor;
+import src.ProyectoDatos;
+import src.Salon;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class GeneradorPorLotesTest {
+
+    private Path directorio;
+
+    @Before
+    public void setUp() throws IOException {
+        directorio = Files.createTempDirectory("lote");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> archivos = Files.walk(directorio)) {
+            archivos.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testGeneraVariosProyectosEnParalelo() throws IOException {
+        Path a = guardarProyecto("a.json", 2);
+        Path b = guardarProyecto("b.json", 3);
+        Path faltante = directorio.resolve("no-existe.json");
+        Path salida = directorio.resolve("salida");
+
+        List<GeneradorPorLotes.Resultado> resultados = new GeneradorPorLotes(
+                salida, 2, GeneradorPorLotes.Modo.GRADO, EstrategiaColoracion::new)
+                .procesar(Arrays.asList(a, b, faltante));
+
+        assertEquals(3, resultados.size());
+        assertEquals(16, resultados.get(0).getBloques());
+        assertEquals(24, resultados.get(1).getBloques());
+        for (GeneradorPorLotes.Resultado resultado : resultados.subList(0, 2)) {
+            assertTrue(resultado.toString(), resultado.isExitoso());
+            assertEquals(0, resultado.getSinAsignar());
+            assertEquals(0, resultado.getConflictos());
+            assertTrue(Files.exists(resultado.getDestino()));
+        }
+        assertFalse(resultados.get(2).isExitoso());
+        assertTrue(Files.readString(salida.resolve("resumen.json")).contains("\"conflictos\":0"));
+
+        // El resultado guardado se puede volver a cargar con sus dias asignados.
+        CatalogoRecursos cargado = new ControladorPersistencia()
+                .cargarProyecto(resultados.get(0).getDestino().toString()).crearCatalogo();
+        for (BloqueHorario bloque : cargado.getTodosLosBloques()) {
+            assertNotNull(bloque.getDia());
+        }
+    }
+
+    @Test
+    public void testResumenEscapaCaracteresDeControl() throws IOException {
+        Path faltante = directorio.resolve("linea\nuno\tdos.json");
+        Path salida = directorio.resolve("salida");
+
+        new GeneradorPorLotes(salida, 1, GeneradorPorLotes.Modo.GRADO, EstrategiaColoracion::new)
+                .procesar(List.of(faltante));
+
+        String resumen = Files.readString(salida.resolve("resumen.json"));
+        assertTrue(resumen, resumen.contains("linea\\nuno\\tdos.json"));
+        assertFalse(resumen.contains("\n"));
+        assertFalse(resumen.contains("\t"));
+        assertTrue(resumen.startsWith("{\"modo\":\"grado\",\"proyectos\":[{\"origen\":"));
+    }
+
+    /** Proyecto con dos grados; cada grupo lleva cuatro bloques con el mismo profesor y salon. */
+    private Path guardarProyecto(String nombre, int gruposPorGrado) throws IOException {
+        CatalogoRecursos catalogo = CatalogoRecursos.crearIndependiente();
+        List<String> dias = Arrays.asList("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
+        List<String> horas = Arrays.asList("07:00", "08:00", "09:00", "10:00", "11:00", "12:00", "13:00", "14:00");
+        ConfiguracionProyecto configuracion = new ConfiguracionProyecto();
+        for (int grado = 1; grado <= 2; grado++) {
+            configuracion.setCantidadGrupos(grado, gruposPorGrado);
+            for (int g = 0; g < gruposPorGrado; g++) {
+                Profesor profesor = new Profesor("Prof " + grado + g, "Materia", dias, horas);
+                Salon salon = new Salon("Salon " + grado + g, 30);
+                GrupoEstudiantes grupo = new GrupoEstudiantes("Grupo " + grado + g, grado);
+                catalogo.addProfesor(profesor);
+                catalogo.addSalon(salon);
+                catalogo.addGrupo(grupo);
+                for (int i = 0; i < 4; i++) {
+                    catalogo.addBloqueHorario(new BloqueHorario(LocalTime.of(7, 0), LocalTime.of(8, 0),
+                            "Materia " + i, profesor.getId(), salon.getId(), grupo.getId(), true));
+                }
+            }
+        }
+        Path archivo = directorio.resolve(nombre);
+        new ControladorPersistencia().guardarProyecto(new ProyectoDatos(configuracion, catalogo), archivo.toString());
+        return archivo;
+    }
+}
@@ -0,0 +1,128 @@
+package test;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.GestorHorarios;
+import src.Profesor;
+import src.ResultadoValidacion;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class GestorHorariosTest {
+
+    private final GestorHorarios gestor = GestorHorarios.getInstance();
+    private final List<String> eventos = new ArrayList<>();
+    private final List<List<ResultadoValidacion>> validaciones = new ArrayList<>();
+    private final GestorHorarios.HorarioChangeListener listener =
+            (grupoId, tipoCambio, bloque) -> eventos.add(grupoId + ":" + tipoCambio);
+    private final GestorHorarios.ValidationListener validationListener = validaciones::add;
+
+    @Before
+    public void setUp() {
+        gestor.limpiarTodo();
+        gestor.addListener(listener);
+        gestor.addValidationListener(validationListener);
+        eventos.clear();
+    }
+
+    @After
+    public void tearDown() {
+        gestor.removeListener(listener);
+        gestor.removeValidationListener(validationListener);
+        gestor.limpiarTodo();
+    }
+
+    @Test
+    public void testLoteEmiteUnEventoPorGrupo() {
+        gestor.enLote(() -> {
+            for (int i = 0; i < 5; i++) {
+                BloqueHorario bloque = bloque("g1");
+                gestor.agregarBloque(bloque, "g1");
+                gestor.actualizarPosicionBloque(bloque, "Lunes", LocalTime.of(7 + i, 0));
+            }
+            gestor.agregarBloque(bloque("g2"), "g2");
+            assertTrue(eventos.isEmpty());
+            assertTrue(validaciones.isEmpty());
+        });
+
+        assertEquals(List.of("g1:REEMPLAZO_COMPLETO", "g2:REEMPLAZO_COMPLETO"), eventos);
+        assertEquals(1, validaciones.size());
+        assertEquals(5, gestor.getBloquesGrupo("g1").size());
+    }
+
+    @Test
+    @SuppressWarnings("try")
+    public void testLotesAnidadosEmitenAlCerrarElExterno() {
+        try (GestorHorarios.Lote externo = gestor.iniciarLote()) {
+            try (GestorHorarios.Lote interno = gestor.iniciarLote()) {
+                gestor.agregarBloque(bloque("g1"), "g1");
+            }
+            assertTrue(eventos.isEmpty());
+            gestor.limpiarGrupo("g1");
+        }
+        assertEquals(List.of("g1:REEMPLAZO_COMPLETO"), eventos);
+
+        // Fuera del lote cada cambio vuelve a notificarse por separado.
+        gestor.agregarBloque(bloque("g1"), "g1");
+        assertTrue(eventos.size() > 2);
+    }
+
+    @Test
+    public void testPublicarGeneracionUbicaBloquesEnUnLote() {
+        BloqueHorario existente = bloque("g1");
+        gestor.agregarBloque(existente, "g1");
+        eventos.clear();
+
+        BloqueHorario nuevo = bloque("g2");
+        nuevo.actualizarPosicion("Martes", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        BloqueHorario sinDia = bloque("g3");
+        existente.actualizarPosicion("Lunes", LocalTime.of(8, 0), LocalTime.of(9, 0));
+        eventos.clear();
+
+        gestor.publicarGeneracion(List.of(existente, nuevo, sinDia));
+
+        assertEquals(List.of("g1:REEMPLAZO_COMPLETO", "g2:REEMPLAZO_COMPLETO", "g3:REEMPLAZO_COMPLETO"), eventos);
+        assertEquals(3, validaciones.size());
+        assertEquals(Optional.of("Lunes"), gestor.getHorarioSemana("g1").getDiaAsignado(existente.getId()));
+        assertEquals(Optional.of("Martes"), gestor.getHorarioSemana("g2").getDiaAsignado(nuevo.getId()));
+        assertEquals(1, gestor.getHorarioSemana("g3").getBloquesSinAsignar().size());
+    }
+
+    @Test
+    public void testCambioDeDisponibilidadRecalculaAdvertencias() {
+        CatalogoRecursos catalogo = CatalogoRecursos.getInstance();
+        catalogo.addProfesor(new Profesor("pDisp", "Ana", "Materia", List.of("Lunes"), null, 5));
+        try {
+            BloqueHorario b1 = new BloqueHorario(LocalTime.of(7, 0), LocalTime.of(8, 0),
+                    "Materia", "pDisp", "s1", "g1", true);
+            BloqueHorario b2 = bloque("g1");
+            gestor.agregarBloque(b1, "g1");
+            gestor.agregarBloque(b2, "g1");
+
+            gestor.actualizarPosicionBloque(b1, "Martes", LocalTime.of(7, 0));
+            assertTrue(tieneAdvertencia(validaciones.get(validaciones.size() - 1)));
+
+            catalogo.addProfesor(new Profesor("pDisp", "Ana", "Materia", List.of("Lunes", "Martes"), null, 5));
+            gestor.actualizarPosicionBloque(b2, "Lunes", LocalTime.of(9, 0));
+            assertFalse(tieneAdvertencia(validaciones.get(validaciones.size() - 1)));
+        } finally {
+            catalogo.removeProfesor("pDisp");
+        }
+    }
+
+    private static boolean tieneAdvertencia(List<ResultadoValidacion> resultados) {
+        return resultados.stream().anyMatch(r -> r.getSeveridad() == ResultadoValidacion.Severidad.WARNING);
+    }
+
+    private BloqueHorario bloque(String grupoId) {
+        return new BloqueHorario(LocalTime.of(7, 0), LocalTime.of(8, 0), "Materia", "p1", "s1", grupoId, true);
+    }
+}
@@ -0,0 +1,95 @@
+package test;
+
+import org.junit.Test;
+import src.BloqueHorario;
+import src.HorarioDia;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class HorarioDiaTest {
+
+    @Test
+    public void testTraslapeConsideraCambiosDeIntervalo() {
+        HorarioDia dia = new HorarioDia("Lunes");
+        BloqueHorario primero = bloque("A", 8, 9);
+        BloqueHorario segundo = bloque("B", 10, 11);
+        assertTrue(dia.agregar(primero));
+        assertTrue(dia.agregar(segundo));
+
+        // Tras mover el primero a las 12:00 el arbol debe reubicarlo.
+        primero.actualizarIntervalo(LocalTime.of(12, 0), LocalTime.of(14, 0));
+        assertTrue(dia.agregar(bloque("C", 8, 9)));
+        assertFalse(dia.agregar(bloque("D", 13, 15)));
+        assertFalse(dia.agregar(bloque("E", 9, 11)));
+
+        dia.eliminar(primero);
+        assertNull(primero.getDia());
+        assertTrue(dia.agregar(bloque("F", 13, 15)));
+    }
+
+    @Test
+    public void testVistaDeBloquesYOrden() {
+        HorarioDia dia = new HorarioDia("Martes");
+        BloqueHorario tarde = bloque("Tarde", 12, 13);
+        BloqueHorario manana = bloque("Manana", 8, 9);
+        BloqueHorario sinHora = new BloqueHorario(null, null, "SinHora", "p", "s", "g", true);
+        dia.agregar(tarde);
+        dia.agregar(manana);
+        dia.agregar(sinHora);
+
+        assertEquals(Arrays.asList(tarde, manana, sinHora), dia.getBloques());
+        assertEquals(Arrays.asList(manana, tarde, sinHora), dia.getBloquesOrdenados());
+
+        List<BloqueHorario> vista = dia.getBloques();
+        vista.clear();
+        vista.addAll(Arrays.asList(manana, tarde));
+        assertEquals(2, dia.getBloques().size());
+        assertSame(manana, dia.getBloques().get(0));
+        assertFalse(dia.agregar(bloque("Choque", 8, 10)));
+    }
+
+    @Test
+    public void testVistaConservaContratoDeListaSinIdsRepetidos() {
+        HorarioDia dia = new HorarioDia("Miercoles");
+        BloqueHorario a = bloque("A", 8, 9);
+        BloqueHorario b = bloque("B", 9, 10);
+        BloqueHorario c = bloque("C", 10, 11);
+        List<BloqueHorario> vista = dia.getBloques();
+        vista.add(a);
+        vista.add(b);
+
+        vista.add(0, c);
+        assertEquals(Arrays.asList(c, a, b), vista);
+
+        // Un id repetido no duplica la entrada: add la mueve al final, add(i) a la posicion.
+        vista.add(c);
+        assertEquals(Arrays.asList(a, b, c), vista);
+        vista.add(1, c);
+        assertEquals(Arrays.asList(a, c, b), vista);
+
+        BloqueHorario d = bloque("D", 13, 14);
+        assertSame(c, vista.set(1, d));
+        assertEquals(Arrays.asList(a, d, b), vista);
+        assertFalse(vista.contains(c));
+        assertSame(a, vista.set(0, d));
+        assertEquals(Arrays.asList(d, b), vista);
+
+        vista.add(a);
+        vista.sort(Comparator.comparing(BloqueHorario::getHoraInicio));
+        assertEquals(Arrays.asList(a, b, d), vista);
+        assertEquals(Arrays.asList(a, b, d), dia.getBloquesOrdenados());
+
+        // El arbol por hora sigue al dia despues de reemplazar y ordenar.
+        assertFalse(dia.agregar(bloque("Choque", 13, 15)));
+        assertTrue(dia.agregar(bloque("Libre", 10, 11)));
+    }
+
+    private BloqueHorario bloque(String materia, int inicio, int fin) {
+        return new BloqueHorario(LocalTime.of(inicio, 0), LocalTime.of(fin, 0), materia, "p", "s", "g", true);
+    }
+}
@@ -149,4 +149,42 @@ public class HorarioSemanaTest {
         assertTrue(todos.stream().anyMatch(b -> b.getId().equals(bloque1.getId())));
         assertTrue(todos.stream().anyMatch(b -> b.getId().equals(bloque2.getId())));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIndicePorIdSeMantieneConsistente() {
+        horarioSemana.agregarBloqueEnDia("Lunes", bloque1);
+        assertSame(bloque1, horarioSemana.obtenerBloquePorID(bloque1.getId()).orElse(null));
+
+        horarioSemana.agregarBloqueSinAsignar(bloque1);
+        assertSame(bloque1, horarioSemana.obtenerBloquePorID(bloque1.getId()).orElse(null));
+
+        horarioSemana.eliminarBloque(bloque1.getId());
+        assertFalse(horarioSemana.obtenerBloquePorID(bloque1.getId()).isPresent());
+
+        // Bloques agregados directamente al dia (como al cargar un proyecto) tambien se encuentran.
+        HorarioDia miercoles = new HorarioDia("Miercoles");
+        horarioSemana.agregarDia(miercoles);
+        miercoles.agregar(bloque2);
+        assertSame(bloque2, horarioSemana.obtenerBloquePorID(bloque2.getId()).orElse(null));
+    }
+
+    @Test
+    public void testIndiceDetectaCambiosDirectosConElMismoTotal() {
+        horarioSemana.agregarBloqueEnDia("Lunes", bloque1);
+        assertSame(bloque1, horarioSemana.obtenerBloquePorID(bloque1.getId()).orElse(null));
+
+        // Quitar y agregar directamente en el dia deja el mismo numero de bloques.
+        HorarioDia lunes = horarioSemana.obtenerDiaPorNombre("Lunes").orElseThrow();
+        lunes.getBloques().remove(bloque1);
+        lunes.getBloques().add(bloque2);
+
+        assertFalse(horarioSemana.obtenerBloquePorID(bloque1.getId()).isPresent());
+        assertSame(bloque2, horarioSemana.obtenerBloquePorID(bloque2.getId()).orElse(null));
+
+        // Un cambio de la semana despues del cambio directo no oculta este ultimo.
+        lunes.getBloques().clear();
+        horarioSemana.agregarBloqueSinAsignar(bloque1);
+        assertFalse(horarioSemana.obtenerBloquePorID(bloque2.getId()).isPresent());
+        assertSame(bloque1, horarioSemana.obtenerBloquePorID(bloque1.getId()).orElse(null));
+    }
+}
@@ -4,21 +4,32 @@ import org.junit.Before;
 import org.junit.Test;
 import src.AdaptadorGraficaDeHorarios;
 import src.BloqueHorario;
+import src.CancelacionGeneracion;
 import src.CatalogoRecursos;
 import src.EstrategiaColoracion;
 import src.EstrategiaGeneracion;
+import src.EstrategiaPortafolioParalelo;
+import src.GeneradorEscuelaSintetica;
 import src.GrupoEstudiantes;
 import src.HorarioSemana;
+import src.MetricasGeneracion;
+import src.MonitorGeneracion;
 import src.Profesor;
+import src.ProgresoGeneracion;
+import src.ReparadorTabuCol;
+import src.ResultadoGeneracion;
 import src.Salon;
 import src.ValidadorPorProfesor;
 import src.ValidadorPorSalon;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.management.ObjectName;
+
 import static org.junit.Assert.*;
 
 public class IntegracionGeneracionHorarioTest {
@@ -76,6 +87,83 @@ public class IntegracionGeneracionHorarioTest {
         assertFalse("El horario generado no debería tener conflictos", hayConflictos);
     }
 
+    @Test
+    public void testPortafolioParaleloAsignaTodosLosBloques() {
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(bloques, catalogo);
+
+        EstrategiaGeneracion estrategia = new EstrategiaPortafolioParalelo(4, 1_000, 1_000, 3L);
+        HorarioSemana horario = estrategia.generarHorario(grafica);
+
+        assertEquals(bloques.size(), horario.getBloques().size());
+        assertTrue(horario.getBloquesSinAsignar().isEmpty());
+        for (BloqueHorario a : horario.getBloques()) {
+            for (BloqueHorario b : horario.getBloques()) {
+                if (a != b && grafica.sonAdyacentes(a.getId(), b.getId())) {
+                    assertNotEquals("Bloques en conflicto el mismo dia", a.getDia(), b.getDia());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMetricasPorFase() throws Exception {
+        MonitorGeneracion.publicar();
+        MonitorGeneracion.getInstance().reiniciar();
+
+        ResultadoGeneracion resultado = new EstrategiaColoracion()
+                .generarConMetricas(new AdaptadorGraficaDeHorarios(bloques, catalogo));
+        MetricasGeneracion metricas = resultado.getMetricas();
+
+        assertEquals(bloques.size(), resultado.getHorario().getBloques().size());
+        assertEquals(bloques.size(), metricas.getNodos());
+        assertTrue(metricas.getAristas() > 0);
+        assertTrue(metricas.getColoresUsados() > 1);
+        assertTrue(metricas.getIntentosColocacion() >= bloques.size());
+        assertTrue(metricas.getInvocacionesValidador() > 0);
+        assertEquals(0, metricas.getBloquesSinDia());
+        assertEquals(0, metricas.getConflictos());
+        assertTrue(metricas.getNanosTotal() >= metricas.getNanos(MetricasGeneracion.Fase.COLORACION));
+
+        Object generaciones = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName("src:type=MonitorGeneracion"), "Generaciones");
+        assertEquals(1L, generaciones);
+    }
+
+    @Test
+    public void testCancelarConservaMejorSolucion() {
+        CatalogoRecursos escuela = CatalogoRecursos.crearIndependiente();
+        new GeneradorEscuelaSintetica(5L)
+                .setGruposPorGrado(6)
+                .setProfesores(20)
+                .setSalones(10)
+                .setMaterias(8)
+                .setRegimen(GeneradorEscuelaSintetica.Regimen.AJUSTADO)
+                .poblar(escuela);
+        List<BloqueHorario> todos = escuela.getTodosLosBloques();
+
+        // Presupuesto TabuCol practicamente ilimitado: solo la cancelacion puede detenerlo a tiempo.
+        EstrategiaColoracion estrategia = new EstrategiaColoracion(new ReparadorTabuCol(Integer.MAX_VALUE, 60_000, 0L));
+        CancelacionGeneracion cancelacion = new CancelacionGeneracion();
+        List<Integer> porcentajes = new ArrayList<>();
+        ProgresoGeneracion progreso = (fase, porcentaje, conflictos) -> {
+            porcentajes.add(porcentaje);
+            if (fase == MetricasGeneracion.Fase.COLORACION) {
+                cancelacion.cancelar();
+            }
+        };
+
+        long inicio = System.nanoTime();
+        ResultadoGeneracion resultado = estrategia.generarHorario(
+                new AdaptadorGraficaDeHorarios(todos, escuela), progreso, cancelacion);
+        long milis = (System.nanoTime() - inicio) / 1_000_000L;
+
+        assertTrue("La cancelacion debe detener la busqueda en poco tiempo: " + milis + " ms", milis < 10_000);
+        assertTrue(resultado.getMetricas().isDetenida());
+        assertEquals(todos.size(), resultado.getHorario().getBloques().size());
+        assertEquals(Integer.valueOf(0), porcentajes.get(0));
+        assertEquals(Integer.valueOf(100), porcentajes.get(porcentajes.size() - 1));
+    }
+
     private void crearRecursosEnCatalogo(CatalogoRecursos cat) {
         List<String> todosLosDias = Arrays.asList("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
         List<String> todasLasHoras = Arrays.asList("08:00", "09:00", "10:00", "11:00", "12:00", "13:00", "14:00", "15:00");
@@ -0,0 +1,109 @@
+package test;
+
+import org.junit.Before;
+import org.junit.Test;
+import src.AdaptadorGraficaDeHorarios;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MotorDSaturTest {
+
+    private CatalogoRecursos catalogo;
+
+    @Before
+    public void setUp() {
+        catalogo = CatalogoRecursos.getInstance();
+        catalogo.reset();
+    }
+
+    @Test
+    public void testMismaColoracionQueDSaturPorRecorrido() {
+        for (long semilla = 1; semilla <= 5; semilla++) {
+            AdaptadorGraficaDeHorarios grafica = crearGrafica(new Random(semilla), 150);
+            grafica.construirGraficaAutomaticamente();
+
+            Map<String, Integer> esperado = dsaturPorRecorrido(grafica.obtenerAdyacencias());
+            assertEquals("Semilla " + semilla, esperado, grafica.colorearConDSatur());
+        }
+    }
+
+    @Test
+    public void testColoracionValida() {
+        AdaptadorGraficaDeHorarios grafica = crearGrafica(new Random(42), 300);
+        grafica.construirGraficaAutomaticamente();
+        Map<String, Integer> colores = grafica.colorearConDSatur();
+        Map<String, Set<String>> adyacencias = grafica.obtenerAdyacencias();
+
+        assertEquals(grafica.obtenerNumeroNodos(), colores.size());
+        for (Map.Entry<String, Set<String>> entry : adyacencias.entrySet()) {
+            for (String vecino : entry.getValue()) {
+                assertNotEquals(colores.get(entry.getKey()), colores.get(vecino));
+            }
+        }
+    }
+
+    @Test
+    public void testGraficaVacia() {
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(catalogo);
+        assertTrue(grafica.colorearConDSatur().isEmpty());
+    }
+
+    /** DSatur original: recorrido completo con desempate por id menor. */
+    private Map<String, Integer> dsaturPorRecorrido(Map<String, Set<String>> adyacencias) {
+        Map<String, Integer> colores = new HashMap<>();
+        List<String> pendientes = new ArrayList<>(adyacencias.keySet());
+        Collections.sort(pendientes);
+        Map<String, Set<Integer>> saturacion = new HashMap<>();
+        for (String id : pendientes) {
+            saturacion.put(id, new HashSet<>());
+        }
+
+        while (!pendientes.isEmpty()) {
+            String elegido = null;
+            int maxSat = -1;
+            int maxGrado = -1;
+            for (String id : pendientes) {
+                int sat = saturacion.get(id).size();
+                int grado = adyacencias.get(id).size();
+                if (sat > maxSat || (sat == maxSat && grado > maxGrado)) {
+                    maxSat = sat;
+                    maxGrado = grado;
+                    elegido = id;
+                }
+            }
+            int color = 0;
+            while (saturacion.get(elegido).contains(color)) {
+                color++;
+            }
+            colores.put(elegido, color);
+            pendientes.remove(elegido);
+            for (String vecino : adyacencias.get(elegido)) {
+                if (!colores.containsKey(vecino)) {
+                    saturacion.get(vecino).add(color);
+                }
+            }
+        }
+        return colores;
+    }
+
+    private AdaptadorGraficaDeHorarios crearGrafica(Random random, int cantidad) {
+        List<BloqueHorario> bloques = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            int hora = 7 + random.nextInt(4);
+            bloques.add(new BloqueHorario(
+                    LocalTime.of(hora, 0),
+                    LocalTime.of(hora + 1, 0),
+                    "Materia " + i,
+                    "p" + random.nextInt(12),
+                    "s" + random.nextInt(10),
+                    "g" + random.nextInt(8),
+                    true));
+        }
+        return new AdaptadorGraficaDeHorarios(bloques, catalogo);
+    }
+}
@@ -0,0 +1,59 @@
+package test;
+
+import org.junit.Test;
+import src.Profesor;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ProfesorTest {
+
+    @Test
+    public void testSinRestriccionesTodoDisponible() {
+        Profesor profesor = new Profesor("Prof", "Matematicas");
+        Profesor.Disponibilidad disponibilidad = profesor.getDisponibilidad();
+
+        assertTrue(disponibilidad.disponible("Sabado", LocalTime.of(6, 15)));
+        assertTrue(profesor.disponibleEn("Lunes"));
+        assertTrue(profesor.disponibleA("7:00"));
+        assertEquals(0b11111L, disponibilidad.mascaraDias(dias()));
+    }
+
+    @Test
+    public void testDiasYHorasRestringidos() {
+        Profesor profesor = new Profesor("Prof", "Ciencias",
+                Arrays.asList("Lunes", "Miercoles"), Arrays.asList("8:00", "10:00", "09:00"));
+        Profesor.Disponibilidad disponibilidad = profesor.getDisponibilidad();
+
+        assertTrue(disponibilidad.disponible("lunes", LocalTime.of(8, 0)));
+        assertFalse(disponibilidad.disponible("Martes", LocalTime.of(8, 0)));
+        assertFalse(disponibilidad.disponible("Lunes", LocalTime.of(11, 0)));
+        // "09:00" no coincide con su forma "H:mm", igual que la comparacion por texto original.
+        assertFalse(disponibilidad.horaPermitida(LocalTime.of(9, 0)));
+        assertEquals(Arrays.asList(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                disponibilidad.getHorasPreferidas());
+        assertEquals(0b00101L, disponibilidad.mascaraDias(dias()));
+        assertFalse(profesor.disponibleEn("lunes"));
+    }
+
+    @Test
+    public void testSettersInvalidanDisponibilidad() {
+        Profesor profesor = new Profesor("Prof", "Historia", Arrays.asList("Lunes"), Arrays.asList("8:00"));
+        Profesor.Disponibilidad anterior = profesor.getDisponibilidad();
+        assertSame(anterior, profesor.getDisponibilidad());
+
+        profesor.setDiasDisponibles(Arrays.asList("Viernes"));
+        assertNotSame(anterior, profesor.getDisponibilidad());
+        assertTrue(profesor.getDisponibilidad().disponible("Viernes", LocalTime.of(8, 0)));
+
+        profesor.setHorasDisponibles(null);
+        assertTrue(profesor.getDisponibilidad().disponible("Viernes", LocalTime.of(13, 30)));
+    }
+
+    private List<String> dias() {
+        return Arrays.asList("Lunes", "Martes", "Miercoles", "Jueves", "Viernes");
+    }
+}
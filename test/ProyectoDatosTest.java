@@ -0,0 +1,125 @@
+package test;
+
+import org.junit.Test;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.ConfiguracionProyecto;
+import src.ControladorPersistencia;
+import src.GeneradorEscuelaSintetica;
+import src.Profesor;
+import src.ProyectoDatos;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ProyectoDatosTest {
+
+    private static final String TEXTO_RARO = "Q\"uo\\te\nnl\ttab\u0001 ñ";
+
+    @Test
+    public void testEscribirJsonEscapaEnUnaPasada() throws IOException {
+        ProyectoDatos datos = new ProyectoDatos(new ConfiguracionProyecto(), catalogoConTextoRaro());
+
+        StringWriter destino = new StringWriter();
+        datos.escribirJson(destino);
+
+        assertEquals(datos.toJson(), destino.toString());
+        assertTrue(destino.toString().contains(
+                "{\"id\":\"P1\",\"nombre\":\"Q\\\"uo\\\\te\\nnl\\ttab\\u0001 ñ\",\"materia\":\"Mat\","
+                        + "\"dias\":\"Lunes|Martes\",\"horas\":\"08:00\",\"horasSemanales\":4}"));
+    }
+
+    @Test
+    public void testIdaYVueltaConservaTextos() {
+        String json = new ProyectoDatos(new ConfiguracionProyecto(), catalogoConTextoRaro()).toJson();
+
+        CatalogoRecursos recargado = ProyectoDatos.fromJson(json).crearCatalogo();
+
+        assertEquals(TEXTO_RARO, recargado.obtenerProfesorPorId("P1").getNombre());
+        assertEquals(json, new ProyectoDatos(new ConfiguracionProyecto(), recargado).toJson());
+    }
+
+    @Test
+    public void testLeerJsonToleraEspaciosTiposYCamposDesconocidos() throws IOException {
+        String json = "{\n  \"extra\": {\"a\": [1, 2.5, true, null, {\"b\": \"c\"}]},\n"
+                + "  \"profesores\": [ {\"id\": \"P1\", \"nombre\": \"Ana \\u00f1\", \"horasSemanales\": \"6\","
+                + " \"dias\": \"Lunes|Martes\", \"nuevo\": [] } ],\n"
+                + "  \"bloques\": [ {\"id\": \"B1\", \"materia\": \"Mat\", \"horaInicio\": \"08:00\","
+                + " \"horaFin\": \"09:00\", \"dia\": \"Lunes\", \"grupoId\": 7} ]\n}";
+
+        CatalogoRecursos catalogo = ProyectoDatos.leerJson(new StringReader(json)).crearCatalogo();
+
+        Profesor profesor = catalogo.obtenerProfesorPorId("P1");
+        assertEquals("Ana \u00f1", profesor.getNombre());
+        assertEquals(6, profesor.getHorasSemanales());
+        assertEquals(List.of("Lunes", "Martes"), profesor.getDiasDisponibles());
+        assertEquals(1, catalogo.getTodosLosBloques().size());
+        assertEquals("7", catalogo.getTodosLosBloques().get(0).getGrupoId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLeerJsonRechazaArchivoIncompleto() {
+        ProyectoDatos.fromJson("{\"profesores\": [{\"id\": \"P1\"}");
+    }
+
+    @Test
+    public void testBinarioConservaElProyectoYEsMasChico() throws IOException {
+        ProyectoDatos datos = proyectoSinteticoConPosiciones();
+        ByteArrayOutputStream binario = new ByteArrayOutputStream();
+        datos.escribirBinario(binario);
+
+        ProyectoDatos recargado = ProyectoDatos.leerBinario(ByteBuffer.wrap(binario.toByteArray()));
+
+        String json = datos.toJson();
+        assertEquals(json, recargado.toJson());
+        assertTrue(binario.size() < json.getBytes(StandardCharsets.UTF_8).length / 2);
+    }
+
+    @Test
+    public void testCargarProyectoBinarioMapeado() throws IOException {
+        ProyectoDatos datos = proyectoSinteticoConPosiciones();
+        ControladorPersistencia persistencia = new ControladorPersistencia();
+        Path archivo = Files.createTempFile("proyecto", ControladorPersistencia.EXTENSION_BINARIA);
+        try {
+            persistencia.guardarProyecto(datos, archivo.toString());
+            assertNotEquals('{', Files.readAllBytes(archivo)[0]);
+
+            assertEquals(datos.toJson(), persistencia.cargarProyecto(archivo.toString()).toJson());
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLeerBinarioRechazaOtroFormato() {
+        ProyectoDatos.leerBinario(ByteBuffer.wrap("{\"profesores\": []}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private ProyectoDatos proyectoSinteticoConPosiciones() {
+        GeneradorEscuelaSintetica generador = new GeneradorEscuelaSintetica(7L).setGruposPorGrado(2);
+        CatalogoRecursos catalogo = CatalogoRecursos.crearIndependiente();
+        generador.poblar(catalogo);
+        List<BloqueHorario> bloques = catalogo.getTodosLosBloques();
+        for (int i = 0; i < bloques.size(); i += 3) {
+            bloques.get(i).actualizarPosicion(i % 2 == 0 ? "Lunes" : "Martes",
+                    LocalTime.of(7 + i % 6, 30), LocalTime.of(8 + i % 6, 20));
+        }
+        return new ProyectoDatos(generador.crearConfiguracion(), catalogo);
+    }
+
+    private CatalogoRecursos catalogoConTextoRaro() {
+        CatalogoRecursos catalogo = CatalogoRecursos.crearIndependiente();
+        catalogo.addProfesor(new Profesor("P1", TEXTO_RARO, "Mat", List.of("Lunes", "Martes"), List.of("08:00"), 4));
+        return catalogo;
+    }
+}
@@ -0,0 +1,119 @@
+package test;
+
+import org.junit.Before;
+import org.junit.Test;
+import src.AdaptadorGraficaDeHorarios;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.GraficaHorarioCompacta;
+import src.MotorDSatur;
+import src.ReparadorTabuCol;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ReparadorTabuColTest {
+
+    private static final int K = 5;
+
+    private CatalogoRecursos catalogo;
+
+    @Before
+    public void setUp() {
+        catalogo = CatalogoRecursos.getInstance();
+        catalogo.reset();
+    }
+
+    @Test
+    public void testReduceColoracionACincoDias() {
+        GraficaHorarioCompacta grafica = crearGrafica(new Random(3), 200);
+        int[] dsatur = new MotorDSatur(grafica).colorear();
+        assertTrue("El escenario debe requerir mas de " + K + " colores con DSatur",
+                Arrays.stream(dsatur).max().orElse(0) >= K);
+
+        long[] permitidos = new long[grafica.obtenerNumeroNodos()];
+        Arrays.fill(permitidos, (1L << K) - 1);
+        int[] reparados = new ReparadorTabuCol(5_000, 5_000, 1L).reparar(grafica, dsatur, K, permitidos);
+
+        verificarColoracionParcial(grafica, reparados, permitidos);
+        assertTrue(contarSinAsignar(reparados) <= contarFueraDeRango(dsatur));
+    }
+
+    @Test
+    public void testRespetaDiasPermitidos() {
+        GraficaHorarioCompacta grafica = crearGrafica(new Random(11), 120);
+        int n = grafica.obtenerNumeroNodos();
+        long[] permitidos = new long[n];
+        for (int i = 0; i < n; i++) {
+            permitidos[i] = i % 4 == 0 ? 0b00011L : (1L << K) - 1;
+        }
+        int[] iniciales = new int[n];
+        Arrays.fill(iniciales, K);
+
+        int[] reparados = new ReparadorTabuCol(2_000, 5_000, 7L).reparar(grafica, iniciales, K, permitidos);
+
+        verificarColoracionParcial(grafica, reparados, permitidos);
+        assertTrue(contarSinAsignar(reparados) < n);
+    }
+
+    @Test
+    public void testMismaSemillaMismoResultado() {
+        GraficaHorarioCompacta grafica = crearGrafica(new Random(5), 150);
+        int[] dsatur = new MotorDSatur(grafica).colorear();
+        long[] permitidos = new long[grafica.obtenerNumeroNodos()];
+        Arrays.fill(permitidos, (1L << K) - 1);
+
+        int[] a = new ReparadorTabuCol(1_000, 60_000, 9L).reparar(grafica, dsatur, K, permitidos);
+        int[] b = new ReparadorTabuCol(1_000, 60_000, 9L).reparar(grafica, dsatur, K, permitidos);
+        assertArrayEquals(a, b);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPresupuestoNegativo() {
+        new ReparadorTabuCol(-1, 100, 0L);
+    }
+
+    private void verificarColoracionParcial(GraficaHorarioCompacta grafica, int[] colores, long[] permitidos) {
+        int[] destinos = grafica.destinos();
+        for (int v = 0; v < colores.length; v++) {
+            if (colores[v] < 0) {
+                continue;
+            }
+            assertTrue(colores[v] < K);
+            assertTrue("Color no permitido en nodo " + v, (permitidos[v] & (1L << colores[v])) != 0);
+            for (int p = grafica.inicioVecinos(v); p < grafica.finVecinos(v); p++) {
+                assertNotEquals(colores[v], colores[destinos[p]]);
+            }
+        }
+    }
+
+    private int contarSinAsignar(int[] colores) {
+        return (int) Arrays.stream(colores).filter(c -> c < 0).count();
+    }
+
+    private int contarFueraDeRango(int[] colores) {
+        return (int) Arrays.stream(colores).filter(c -> c < 0 || c >= K).count();
+    }
+
+    private GraficaHorarioCompacta crearGrafica(Random random, int cantidad) {
+        List<BloqueHorario> bloques = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            bloques.add(new BloqueHorario(
+                    LocalTime.of(7, 0),
+                    LocalTime.of(8, 0),
+                    "Materia " + i,
+                    "p" + random.nextInt(15),
+                    "s" + random.nextInt(12),
+                    "g" + random.nextInt(10),
+                    true));
+        }
+        AdaptadorGraficaDeHorarios grafica = new AdaptadorGraficaDeHorarios(bloques, catalogo);
+        grafica.construirGraficaAutomaticamente();
+        return grafica.compactar();
+    }
+}
@@ -0,0 +1,190 @@
+package test;
+
+import org.junit.Before;
+import org.junit.Test;
+import src.BloqueHorario;
+import src.CatalogoRecursos;
+import src.HorarioDia;
+import src.HorarioSemana;
+import src.ResultadoValidacion;
+import src.ValidacionIncremental;
+import src.Validador;
+import src.ValidadorDeHorarios;
+import src.ValidadorPorGrupo;
+import src.ValidadorPorProfesor;
+import src.ValidadorPorSalon;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ValidadorDeHorariosTest {
+
+    private static final String[] DIAS = {"Lunes", "Martes", "Miercoles"};
+
+    @Before
+    public void setUp() {
+        CatalogoRecursos.getInstance().reset();
+    }
+
+    @Test
+    public void testMismosResultadosQueComparacionDePares() {
+        for (long semilla = 1; semilla <= 20; semilla++) {
+            HorarioSemana horario = crearHorario(new Random(semilla), 80);
+            assertEquals("Semilla " + semilla,
+                    formatear(validarPorPares(horario)),
+                    formatear(new ValidadorDeHorarios().validar(horario)));
+        }
+    }
+
+    @Test
+    public void testHorarioSinConflictos() {
+        HorarioSemana horario = new HorarioSemana();
+        horario.agregarDia(new HorarioDia("Lunes"));
+        horario.agregarBloqueEnDia("Lunes",
+                new BloqueHorario(LocalTime.of(8, 0), LocalTime.of(9, 0), "A", "p1", "s1", "g1", true));
+        horario.agregarBloqueEnDia("Lunes",
+                new BloqueHorario(LocalTime.of(9, 0), LocalTime.of(10, 0), "B", "p1", "s1", "g1", true));
+
+        List<ResultadoValidacion> resultados = new ValidadorDeHorarios().validar(horario);
+        assertEquals(1, resultados.size());
+        assertNull(resultados.get(0).getSeveridad());
+    }
+
+    @Test
+    public void testValidacionIncrementalCoincideConCompleta() {
+        Random random = new Random(7);
+        HorarioSemana horario = crearHorario(random, 80);
+        ValidacionIncremental incremental = new ValidacionIncremental();
+        ValidadorDeHorarios completo = new ValidadorDeHorarios();
+        assertEquals(formatear(completo.validar(horario)), formatear(incremental.validar(horario)));
+
+        for (int paso = 0; paso < 200; paso++) {
+            List<BloqueHorario> bloques = horario.getBloques();
+            BloqueHorario bloque = bloques.get(random.nextInt(bloques.size()));
+            LocalTime inicio = LocalTime.of(7 + random.nextInt(6), 15 * random.nextInt(4));
+            switch (random.nextInt(4)) {
+                case 0 -> bloque.actualizarIntervalo(inicio, inicio.plusMinutes(30L * (1 + random.nextInt(4))));
+                case 1 -> {
+                    // Cambio de dia: sin horas se evita el rechazo por traslape y luego se fija la hora.
+                    bloque.actualizarIntervalo(null, null);
+                    horario.agregarBloqueEnDia(DIAS[random.nextInt(DIAS.length)], bloque);
+                    bloque.actualizarIntervalo(inicio, inicio.plusMinutes(60));
+                }
+                case 2 -> horario.agregarBloqueSinAsignar(bloque);
+                default -> bloque.setProfesorId("p" + random.nextInt(10));
+            }
+            assertEquals("Paso " + paso, formatear(completo.validar(horario)), formatear(incremental.validar(horario)));
+        }
+    }
+
+    @Test
+    public void testValidarMovimientoCoincideConCompleta() {
+        Random random = new Random(11);
+        HorarioSemana horario = crearHorario(random, 80);
+        ValidacionIncremental incremental = new ValidacionIncremental();
+        ValidadorDeHorarios completo = new ValidadorDeHorarios();
+        incremental.validar(horario);
+
+        for (int paso = 0; paso < 200; paso++) {
+            List<BloqueHorario> bloques = horario.getBloques();
+            BloqueHorario bloque = bloques.get(random.nextInt(bloques.size()));
+            LocalTime inicio = LocalTime.of(7 + random.nextInt(6), 15 * random.nextInt(4));
+            switch (random.nextInt(4)) {
+                case 0 -> bloque.actualizarIntervalo(inicio, inicio.plusMinutes(30L * (1 + random.nextInt(4))));
+                case 1 -> {
+                    bloque.actualizarIntervalo(null, null);
+                    horario.agregarBloqueEnDia(DIAS[random.nextInt(DIAS.length)], bloque);
+                    bloque.actualizarIntervalo(inicio, inicio.plusMinutes(60));
+                }
+                case 2 -> horario.agregarBloqueSinAsignar(bloque);
+                default -> bloque.setProfesorId("p" + random.nextInt(10));
+            }
+            assertEquals("Paso " + paso, formatear(completo.validar(horario)),
+                    formatear(incremental.validarMovimiento(horario, bloque)));
+        }
+    }
+
+    @Test
+    public void testMovimientoSoloValidaVecinosLocales() {
+        Random random = new Random(5);
+        HorarioSemana horario = crearHorario(random, 2000);
+        ValidacionIncremental incremental = new ValidacionIncremental();
+        incremental.validar(horario);
+        long inicial = incremental.getMetricas().getInvocacionesValidador();
+
+        BloqueHorario bloque = horario.getBloques().get(0);
+        bloque.actualizarIntervalo(null, null);
+        horario.agregarBloqueEnDia(DIAS[2], bloque);
+        bloque.actualizarIntervalo(LocalTime.of(9, 0), LocalTime.of(10, 0));
+        int vecinos = 0;
+        for (BloqueHorario otro : horario.getBloques()) {
+            if (otro != bloque && DIAS[2].equals(otro.getDia()) && otro.seSolapaCon(bloque)
+                    && (Objects.equals(otro.getProfesorId(), bloque.getProfesorId()) && otro.getProfesorId() != null
+                        || Objects.equals(otro.getSalonId(), bloque.getSalonId()) && otro.getSalonId() != null
+                        || otro.getGrupoId().equals(bloque.getGrupoId()))) {
+                vecinos++;
+            }
+        }
+
+        List<ResultadoValidacion> resultados = incremental.validarMovimiento(horario, bloque);
+        long invocaciones = incremental.getMetricas().getInvocacionesValidador() - inicial;
+
+        // Un validador unitario para el bloque movido y tres de conflicto por cada vecino nuevo.
+        assertEquals(1 + 3L * vecinos, invocaciones);
+        assertTrue(invocaciones < inicial / 10);
+        assertEquals(formatear(new ValidadorDeHorarios().validar(horario)), formatear(resultados));
+    }
+
+    /** Referencia: todos los pares del mismo dia que se solapan pasan por los validadores. */
+    private List<ResultadoValidacion> validarPorPares(HorarioSemana horario) {
+        List<Validador> validadores = List.of(new ValidadorPorProfesor(), new ValidadorPorSalon(), new ValidadorPorGrupo());
+        List<BloqueHorario> bloques = horario.getBloques();
+        List<ResultadoValidacion> resultados = new ArrayList<>();
+        for (int i = 0; i < bloques.size(); i++) {
+            for (int j = i + 1; j < bloques.size(); j++) {
+                BloqueHorario a = bloques.get(i);
+                BloqueHorario b = bloques.get(j);
+                if (a.getDia().equals(b.getDia()) && a.seSolapaCon(b)) {
+                    for (Validador validador : validadores) {
+                        resultados.addAll(validador.validar(a, b, horario));
+                    }
+                }
+            }
+        }
+        if (resultados.isEmpty()) {
+            resultados.add(ResultadoValidacion.ofSuccess("Validación completada: No se detectaron conflictos ni advertencias."));
+        }
+        return resultados;
+    }
+
+    private List<String> formatear(List<ResultadoValidacion> resultados) {
+        List<String> lineas = new ArrayList<>();
+        for (ResultadoValidacion resultado : resultados) {
+            lineas.add(resultado + " " + resultado.getIdsBloquesInvolucrados());
+        }
+        return lineas;
+    }
+
+    private HorarioSemana crearHorario(Random random, int cantidad) {
+        HorarioSemana horario = new HorarioSemana();
+        for (String dia : DIAS) {
+            horario.agregarDia(new HorarioDia(dia));
+        }
+        for (int i = 0; i < cantidad; i++) {
+            BloqueHorario bloque = new BloqueHorario(null, null, "Materia " + i,
+                    random.nextInt(4) == 0 ? null : "p" + random.nextInt(10),
+                    random.nextInt(4) == 0 ? null : "s" + random.nextInt(10),
+                    "g" + random.nextInt(8), true);
+            horario.agregarBloqueEnDia(DIAS[random.nextInt(DIAS.length)], bloque);
+            // Se fija la hora despues de agregar para poder provocar solapes dentro del dia.
+            LocalTime inicio = LocalTime.of(7 + random.nextInt(6), 15 * random.nextInt(4));
+            bloque.actualizarIntervalo(inicio, inicio.plusMinutes(30L * (1 + random.nextInt(4))));
+        }
+        return horario;
+    }
+}